@@ -0,0 +1,162 @@
+package com.froy.navigator;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.RoadClass;
+import com.froy.navigator.routing.RoadGraph;
+import com.froy.navigator.routing.RoadGraphBuilder;
+
+import java.util.Random;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks, con una distribución parecida al tráfico real:
+ * la mayoría de las rutas son urbanas (puntos concentrados alrededor del centro de una zona
+ * metropolitana) y una fracción son interurbanas entre ciudades.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Centros de zonas metropolitanas: Guadalajara, Ciudad de México, Monterrey, Puebla, Querétaro.
+     */
+    private static final double[][] METRO_CENTERS = {
+            {20.6736, -103.3440}, {19.4326, -99.1332}, {25.6866, -100.3161}, {19.0414, -98.2063},
+            {20.5888, -100.3899}
+    };
+
+    /** Desviación estándar de los puntos urbanos, en grados (~9 km). */
+    private static final double METRO_SPREAD = 0.08;
+
+    /** Fracción de rutas interurbanas. */
+    private static final double INTERCITY_SHARE = 0.2;
+
+    /** Separación de la malla sintética en grados (~55 m). */
+    private static final double GRID_STEP = 0.0005;
+
+    private BenchmarkData() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Genera solicitudes de ruta con la mezcla urbana/interurbana y modos de transporte uniformes.
+     *
+     * @param count Número de solicitudes.
+     * @param seed Semilla para obtener siempre los mismos datos.
+     * @return Solicitudes generadas.
+     */
+    public static RouteRequest[] routeRequests(int count, long seed) {
+        Random random = new Random(seed);
+        TransportMode[] modes = TransportMode.values();
+        RouteRequest[] requests = new RouteRequest[count];
+        for (int i = 0; i < count; i++) {
+            int originCity = random.nextInt(METRO_CENTERS.length);
+            int destinationCity = random.nextDouble() < INTERCITY_SHARE
+                    ? random.nextInt(METRO_CENTERS.length)
+                    : originCity;
+            requests[i] = new RouteRequest(metroPoint(random, originCity), metroPoint(random, destinationCity),
+                    modes[random.nextInt(modes.length)]);
+        }
+        return requests;
+    }
+
+    /**
+     * Genera solicitudes con origen y destino dentro de la malla de {@link #metroGrid(int)}.
+     *
+     * @param count Número de solicitudes.
+     * @param size Lado de la malla en nodos.
+     * @param mode Modo de transporte de todas las solicitudes.
+     * @param seed Semilla para obtener siempre los mismos datos.
+     * @return Solicitudes generadas.
+     */
+    public static RouteRequest[] gridRequests(int count, int size, TransportMode mode, long seed) {
+        Random random = new Random(seed);
+        double extent = (size - 1) * GRID_STEP;
+        RouteRequest[] requests = new RouteRequest[count];
+        for (int i = 0; i < count; i++) {
+            requests[i] = new RouteRequest(
+                    new GeoPoint(gridOriginLat() + random.nextDouble() * extent,
+                            gridOriginLon() + random.nextDouble() * extent),
+                    new GeoPoint(gridOriginLat() + random.nextDouble() * extent,
+                            gridOriginLon() + random.nextDouble() * extent),
+                    mode);
+        }
+        return requests;
+    }
+
+    /**
+     * Construye una malla vial sintética sobre Guadalajara: calles residenciales cada cuadra, avenidas
+     * primarias cada 10 y secundarias cada 10 en el otro sentido, y una autopista cada 50.
+     *
+     * @param size Lado de la malla en nodos.
+     * @return Grafo de carreteras.
+     */
+    public static RoadGraph metroGrid(int size) {
+        Random random = new Random(7);
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        int[][] nodes = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                nodes[r][c] = builder.addNode((long) r * size + c,
+                        gridOriginLat() + r * GRID_STEP + random.nextDouble() * GRID_STEP * 0.2,
+                        gridOriginLon() + c * GRID_STEP + random.nextDouble() * GRID_STEP * 0.2);
+            }
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (c + 1 < size) {
+                    RoadClass roadClass = r % 50 == 0 ? RoadClass.MOTORWAY
+                            : r % 10 == 0 ? RoadClass.PRIMARY : RoadClass.RESIDENTIAL;
+                    twoWay(builder, nodes[r][c], nodes[r][c + 1], roadClass, "Calle " + r);
+                }
+                if (r + 1 < size) {
+                    RoadClass roadClass = c % 10 == 0 ? RoadClass.SECONDARY : RoadClass.RESIDENTIAL;
+                    twoWay(builder, nodes[r][c], nodes[r + 1][c], roadClass, "Avenida " + c);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void twoWay(RoadGraphBuilder builder, int a, int b, RoadClass roadClass, String name) {
+        builder.addEdge(a, b, roadClass, name);
+        builder.addEdge(b, a, roadClass, name);
+    }
+
+    /**
+     * Perfil de velocidades en CSV con una región de 0.6° × 0.6° por área metropolitana, velocidades
+     * reducidas en las horas pico de lunes a viernes y una velocidad por defecto para el resto.
+     *
+     * @return Contenido para {@code SpeedProfileLoader}.
+     */
+    public static String speedProfileCsv() {
+        StringBuilder csv = new StringBuilder("speed,*,*,*,00:00,24:00,50\n");
+        for (int city = 0; city < METRO_CENTERS.length; city++) {
+            double lat = METRO_CENTERS[city][0];
+            double lon = METRO_CENTERS[city][1];
+            csv.append("region,metro").append(city).append(',').append(lat - 0.3).append(',').append(lon - 0.3)
+                    .append(',').append(lat + 0.3).append(',').append(lon + 0.3).append('\n')
+                    .append("speed,metro").append(city).append(",*,*,00:00,24:00,35\n")
+                    .append("speed,metro").append(city).append(",*,MON-FRI,07:00,09:30,18\n")
+                    .append("speed,metro").append(city).append(",*,MON-FRI,18:00,20:30,15\n");
+        }
+        return csv.toString();
+    }
+
+    private static GeoPoint metroPoint(Random random, int city) {
+        return new GeoPoint(gpsRound(METRO_CENTERS[city][0] + random.nextGaussian() * METRO_SPREAD),
+                gpsRound(METRO_CENTERS[city][1] + random.nextGaussian() * METRO_SPREAD));
+    }
+
+    /** Redondea a seis decimales (~0.1 m), la precisión con la que los clientes envían sus coordenadas. */
+    private static double gpsRound(double coordinate) {
+        return Math.round(coordinate * 1e6) / 1e6;
+    }
+
+    private static double gridOriginLat() {
+        return METRO_CENTERS[0][0] - 0.05;
+    }
+
+    private static double gridOriginLon() {
+        return METRO_CENTERS[0][1] - 0.05;
+    }
+}
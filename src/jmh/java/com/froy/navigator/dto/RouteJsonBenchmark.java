@@ -0,0 +1,73 @@
+package com.froy.navigator.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.froy.navigator.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialización JSON de {@link RouteRequest} y {@link RouteResponse} con un ObjectMapper
+ * configurado como el de Spring Boot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteJsonBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[][] requestBodies;
+    private RouteResponse[] responses;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(RouteRequest.class);
+        responseWriter = objectMapper.writerFor(RouteResponse.class);
+
+        RouteRequest[] requests = BenchmarkData.routeRequests(SAMPLES, 42);
+        requestBodies = new byte[SAMPLES][];
+        responses = new RouteResponse[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            requestBodies[i] = objectMapper.writeValueAsString(requests[i]).getBytes(StandardCharsets.UTF_8);
+            responses[i] = new RouteResponse(12.34 + i, 25 + i % 60, List.of(
+                    "Inicio en " + requests[i].origin(),
+                    "Sal por Av. Vallarta y continúa 300 m",
+                    "Gira a la izquierda en Calle López Cotilla y continúa 1.2 km",
+                    "Llegada a " + requests[i].destination()), requests[i].mode().name());
+        }
+    }
+
+    @Benchmark
+    public RouteRequest readRequest() throws Exception {
+        return requestReader.readValue(requestBodies[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(responses[next++ & (SAMPLES - 1)]);
+    }
+}
@@ -0,0 +1,130 @@
+package com.froy.navigator.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga de lazo cerrado para {@code POST /api/v1/routes/plan} contra un servidor ya
+ * iniciado. Cada cliente envía una petición, espera la respuesta y envía la siguiente.
+ * <p>
+ * Las coordenadas de origen son únicas por petición, así que todas fallan en la caché y hacen las
+ * escrituras de estadísticas y auditoría: mide el camino con E/S de base de datos, que es donde los
+ * hilos virtuales pueden cambiar algo. Solo usa el JDK para poder ejecutarse sin el classpath de la
+ * aplicación; {@code src/jmh/scripts/virtual-threads-load.sh} lo lanza contra cada configuración.
+ * <p>
+ * Uso: {@code PlanLoadGenerator <url base> <clientes> <segundos> <segundos de calentamiento>}
+ * <br>
+ * Imprime una línea con peticiones por segundo, errores y latencias (p50, p99, máxima) medidas
+ * después del calentamiento.
+ */
+public final class PlanLoadGenerator {
+
+    private static final String PLAN_PATH = "/api/v1/routes/plan";
+
+    private PlanLoadGenerator() {
+        // Punto de entrada, no instanciable
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Uso: PlanLoadGenerator <url base> <clientes> <segundos> <segundos de calentamiento>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0] + PLAN_PATH);
+        int clients = Integer.parseInt(args[1]);
+        int seconds = Integer.parseInt(args[2]);
+        int warmupSeconds = Integer.parseInt(args[3]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicLong sequence = new AtomicLong();
+        LongAdder errors = new LongAdder();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + seconds * 1_000_000_000L;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int id = c;
+                executor.submit(() -> {
+                    long[] own = new long[1024];
+                    int n = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(60))
+                                .POST(HttpRequest.BodyPublishers.ofString(body(sequence.incrementAndGet())))
+                                .build();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long done = System.nanoTime();
+                        if (now < measureFrom || done > end) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.increment();
+                        } else {
+                            if (n == own.length) {
+                                own = Arrays.copyOf(own, n * 2);
+                            }
+                            own[n++] = done - now;
+                        }
+                    }
+                    latencies[id] = own;
+                    counts[id] = n;
+                    return null;
+                });
+            }
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf(Locale.ROOT, "clients=%d req/s=%.0f errors=%d p50=%.1fms p99=%.1fms max=%.1fms%n",
+                clients, (double) total / seconds, errors.sum(),
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), percentileMillis(all, 1.0));
+    }
+
+    /**
+     * Cuerpo de la petición número {@code n}: origen único en una malla de ~1 m alrededor de Guadalajara
+     * y destino fijo, en automóvil.
+     */
+    private static String body(long n) {
+        double lat = 20.6 + (n % 10_000) * 1e-5;
+        double lon = -103.3 - (n / 10_000) * 1e-5;
+        return String.format(Locale.ROOT,
+                "{\"origin\":{\"lat\":%.6f,\"lon\":%.6f},\"destination\":{\"lat\":20.7,\"lon\":-103.4},\"mode\":\"CAR\"}",
+                lat, lon);
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = Math.min(sorted.length - 1, (int) (sorted.length * quantile));
+        return sorted[index] / 1e6;
+    }
+}
@@ -0,0 +1,106 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.NavigatorApplication;
+import com.froy.navigator.entity.AuditEntry;
+import com.froy.navigator.entity.RouteStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserciones JPA de {@link RouteStats} y {@link AuditEntry} con varios hilos a la vez: una entidad por
+ * transacción (como el destino write-through y la auditoría síncrona) y {@value #BATCH} entidades por
+ * transacción con {@code saveAll}. El resultado es en filas insertadas por segundo.
+ * Usa la base H2 en memoria de la aplicación, que se vacía al terminar cada iteración; para medir contra
+ * PostgreSQL se pasan las propiedades del DataSource y del dialecto con
+ * {@code -jvmArgsAppend "-Dspring.datasource.url=jdbc:postgresql://... -Dspring.jpa.properties.hibernate.dialect=..."}.
+ * El calentamiento es largo porque el código de Hibernate tarda cerca de un minuto en compilarse con C2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 12, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class RouteStatsInsertBenchmark {
+
+    private static final int BATCH = 50;
+
+    private ConfigurableApplicationContext context;
+    private RouteStatsRepository routeStatsRepository;
+    private AuditEntryRepository auditEntryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Como argumentos y no como propiedades por defecto, para que prevalezcan sobre application.yml
+        context = new SpringApplicationBuilder(NavigatorApplication.class)
+                .run("--server.port=0",
+                        "--navigator.analytics.rebuild-on-startup=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        routeStatsRepository = context.getBean(RouteStatsRepository.class);
+        auditEntryRepository = context.getBean(AuditEntryRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        routeStatsRepository.deleteAllInBatch();
+        auditEntryRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RouteStats routeStatsSave() {
+        return routeStatsRepository.save(newStats());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<RouteStats> routeStatsSaveAll() {
+        List<RouteStats> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(newStats());
+        }
+        return routeStatsRepository.saveAll(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<AuditEntry> auditSaveAll() {
+        List<AuditEntry> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(new AuditEntry("Route Planned", "benchmark"));
+        }
+        return auditEntryRepository.saveAll(batch);
+    }
+
+    private static RouteStats newStats() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new RouteStats(40 + random.nextDouble(), -4 + random.nextDouble(),
+                40 + random.nextDouble(), -4 + random.nextDouble(), "CAR",
+                random.nextDouble(100), random.nextInt(120));
+    }
+}
@@ -0,0 +1,94 @@
+package com.froy.navigator.routing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajuste de puntos a la red con {@link NodeSpatialIndex} frente a un recorrido lineal.
+ * Los nodos se distribuyen como en una ciudad: un centro denso y periferia dispersa en ~40 km.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"250000", "2000000"})
+    int nodes;
+
+    private double[] lat;
+    private double[] lon;
+    private NodeSpatialIndex index;
+    private double[] queryLat;
+    private double[] queryLon;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        lat = new double[nodes];
+        lon = new double[nodes];
+        for (int i = 0; i < nodes; i++) {
+            double spread = i % 4 == 0 ? 0.12 : 0.04;
+            lat[i] = 20.67 + random.nextGaussian() * spread;
+            lon[i] = -103.35 + random.nextGaussian() * spread;
+        }
+        index = NodeSpatialIndex.build(lat, lon);
+
+        queryLat = new double[QUERIES];
+        queryLon = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryLat[i] = 20.67 + random.nextGaussian() * 0.08;
+            queryLon[i] = -103.35 + random.nextGaussian() * 0.08;
+        }
+    }
+
+    @Benchmark
+    public int nearest() {
+        int q = next++ & (QUERIES - 1);
+        return index.nearest(queryLat[q], queryLon[q]);
+    }
+
+    @Benchmark
+    public int[] nearestEightWithin500m() {
+        int q = next++ & (QUERIES - 1);
+        return index.nearest(queryLat[q], queryLon[q], 8, 500);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int q = next++ & (QUERIES - 1);
+        double qLat = queryLat[q];
+        double qLon = queryLon[q];
+        double cosLat = Math.cos(Math.toRadians(qLat));
+        int best = -1;
+        double bestScore = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < nodes; i++) {
+            double dLat = lat[i] - qLat;
+            double dLon = (lon[i] - qLon) * cosLat;
+            double score = dLat * dLat + dLon * dLon;
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
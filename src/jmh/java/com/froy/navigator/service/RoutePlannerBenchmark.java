@@ -0,0 +1,83 @@
+package com.froy.navigator.service;
+
+import com.froy.navigator.BenchmarkData;
+import com.froy.navigator.NavigatorApplication;
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoutePlanner#planRoute} a través del proxy de caché de Spring, con aciertos (un conjunto
+ * pequeño de solicitudes ya calculadas) y con fallos (coordenadas que nunca se repiten).
+ * Arranca la aplicación completa en un puerto libre; las estadísticas se escriben en segundo plano, como en
+ * producción, para medir el planificador y no la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+    private static final int HOT_REQUESTS = 1024;
+
+    private ConfigurableApplicationContext context;
+    private RoutePlanner routePlanner;
+    private RouteRequest[] hotRequests;
+    private RouteRequest[] coldTemplates;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NavigatorApplication.class)
+                .properties("server.port=0",
+                        "navigator.stats.write-mode=write-behind",
+                        "navigator.stats.overflow-policy=DROP",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        routePlanner = context.getBean(RoutePlanner.class);
+        hotRequests = BenchmarkData.routeRequests(HOT_REQUESTS, 42);
+        coldTemplates = BenchmarkData.routeRequests(HOT_REQUESTS, 43);
+        for (RouteRequest request : hotRequests) {
+            routePlanner.planRoute(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RouteResponse cacheHit() {
+        return routePlanner.planRoute(hotRequests[(int) (counter++ & (HOT_REQUESTS - 1))]);
+    }
+
+    @Benchmark
+    public RouteResponse cacheMiss() {
+        long n = counter++;
+        RouteRequest template = coldTemplates[(int) (n & (HOT_REQUESTS - 1))];
+        // Desplazamiento de micrograduaciones para que la llave nunca se repita
+        double offset = (n >>> 10) * 1e-7;
+        GeoPoint origin = new GeoPoint(template.origin().lat() + offset, template.origin().lon());
+        return routePlanner.planRoute(new RouteRequest(origin, template.destination(), template.mode()));
+    }
+}
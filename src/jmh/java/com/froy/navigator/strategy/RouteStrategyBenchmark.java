@@ -0,0 +1,103 @@
+package com.froy.navigator.strategy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.froy.navigator.BenchmarkData;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.GraphRoutingEngine;
+import com.froy.navigator.routing.SpeedProfileStore;
+import com.froy.navigator.service.eta.EtaCorrectionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RouteStrategy#compute} de cada modo, con la estimación en línea recta (sin grafo), con la
+ * estimación en línea recta y un perfil de velocidades por zona y franja cargado, y con el motor de ruteo
+ * sobre una malla vial sintética de 300 × 300 nodos. {@code computeAndWrite} incluye
+ * además la escritura del JSON de respuesta, como en una petición HTTP sin caché.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteStrategyBenchmark {
+
+    private static final int REQUESTS = 1024;
+    private static final int GRID_SIZE = 300;
+
+    @Param({"CAR", "BIKE", "MOTORCYCLE"})
+    TransportMode mode;
+
+    @Param({"STRAIGHT_LINE", "PROFILED", "GRAPH"})
+    String network;
+
+    private RouteStrategy strategy;
+    private ObjectWriter responseWriter;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private RouteRequest[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpeedProfileStore speedProfiles = new SpeedProfileStore("", 0.01, Duration.ZERO, "", null,
+                event -> { }, new SimpleMeterRegistry());
+        if (network.equals("PROFILED")) {
+            Path profile = Files.createTempFile("speed-profile", ".csv");
+            profile.toFile().deleteOnExit();
+            Files.writeString(profile, BenchmarkData.speedProfileCsv());
+            speedProfiles = new SpeedProfileStore(profile.toString(), 0.01, Duration.ZERO, "", null,
+                    event -> { }, new SimpleMeterRegistry());
+            speedProfiles.init();
+        }
+        // Sin observaciones ni ajuste: todos los factores valen 1
+        EtaCorrectionService etaCorrections = new EtaCorrectionService(null, null, null, new SimpleMeterRegistry(),
+                false, Duration.ZERO, Duration.ofDays(14), Duration.ofDays(60), Duration.ZERO, 5, 20, 3, 1000);
+        GraphRoutingEngine engine = new GraphRoutingEngine("", 500, 2_000_000, 16, 0);
+        if (network.equals("GRAPH")) {
+            engine.useGraph(BenchmarkData.metroGrid(GRID_SIZE));
+            requests = BenchmarkData.gridRequests(REQUESTS, GRID_SIZE, mode, 42);
+        } else {
+            requests = BenchmarkData.routeRequests(REQUESTS, 42);
+        }
+        strategy = switch (mode) {
+            case CAR -> new CarRouteStrategy(engine, speedProfiles, etaCorrections);
+            case BIKE -> new BikeRouteStrategy(engine, speedProfiles, etaCorrections);
+            case MOTORCYCLE -> new MotorcycleRouteStrategy(engine, speedProfiles, etaCorrections);
+        };
+        responseWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(RouteResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Benchmark
+    public RouteResponse compute() {
+        return strategy.compute(requests[next++ & (REQUESTS - 1)]);
+    }
+
+    @Benchmark
+    public void computeAndWrite() throws IOException {
+        responseWriter.writeValue(sink, strategy.compute(requests[next++ & (REQUESTS - 1)]));
+    }
+}
@@ -0,0 +1,137 @@
+package com.froy.navigator.util;
+
+import com.froy.navigator.BenchmarkData;
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por par de cada variante de {@link DistanceCalculator}: Haversine sobre {@link GeoPoint} y
+ * sobre primitivos, con trigonometría precalculada ({@link PreparedPoint}), la aproximación
+ * equirectangular y las versiones masivas (un origen contra {@value #PAIRS} destinos), estas últimas
+ * normalizadas por par con {@link OperationsPerInvocation}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceCalculatorBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    private GeoPoint[] origins;
+    private GeoPoint[] destinations;
+    private PreparedPoint[] preparedOrigins;
+    private PreparedPoint[] preparedDestinations;
+    private double[] destinationLats;
+    private double[] destinationLons;
+    private DoubleBuffer destinationCoordinates;
+    private double[] bulkOutput;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RouteRequest[] requests = BenchmarkData.routeRequests(PAIRS, 42);
+        origins = new GeoPoint[PAIRS];
+        destinations = new GeoPoint[PAIRS];
+        preparedOrigins = new PreparedPoint[PAIRS];
+        preparedDestinations = new PreparedPoint[PAIRS];
+        destinationLats = new double[PAIRS];
+        destinationLons = new double[PAIRS];
+        destinationCoordinates = ByteBuffer.allocateDirect(PAIRS * 2 * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (int i = 0; i < PAIRS; i++) {
+            origins[i] = requests[i].origin();
+            destinations[i] = requests[i].destination();
+            preparedOrigins[i] = PreparedPoint.of(origins[i]);
+            preparedDestinations[i] = PreparedPoint.of(destinations[i]);
+            destinationLats[i] = destinations[i].lat();
+            destinationLons[i] = destinations[i].lon();
+            destinationCoordinates.put(destinationLats[i]).put(destinationLons[i]);
+        }
+        bulkOutput = new double[PAIRS];
+    }
+
+    @Benchmark
+    public double haversine() {
+        int i = next++ & (PAIRS - 1);
+        return DistanceCalculator.calculateDistance(origins[i], destinations[i]);
+    }
+
+    @Benchmark
+    public double haversinePrimitive() {
+        int i = next++ & (PAIRS - 1);
+        return DistanceCalculator.calculateDistance(destinationLats[i ^ 1], destinationLons[i ^ 1],
+                destinationLats[i], destinationLons[i]);
+    }
+
+    @Benchmark
+    public double haversinePrepared() {
+        int i = next++ & (PAIRS - 1);
+        return preparedOrigins[i].distanceTo(preparedDestinations[i]);
+    }
+
+    @Benchmark
+    public double equirectangular() {
+        int i = next++ & (PAIRS - 1);
+        return DistanceCalculator.approximateDistance(destinationLats[i ^ 1], destinationLons[i ^ 1],
+                destinationLats[i], destinationLons[i]);
+    }
+
+    @Benchmark
+    public double equirectangularPrepared() {
+        int i = next++ & (PAIRS - 1);
+        return preparedOrigins[i].approximateDistanceTo(preparedDestinations[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double[] haversineBulkArrays() {
+        GeoPoint origin = origins[next++ & (PAIRS - 1)];
+        DistanceCalculator.calculateDistances(origin.lat(), origin.lon(), destinationLats, destinationLons, bulkOutput);
+        return bulkOutput;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double[] haversineBulkBuffer() {
+        GeoPoint origin = origins[next++ & (PAIRS - 1)];
+        DistanceCalculator.calculateDistances(origin.lat(), origin.lon(), destinationCoordinates, bulkOutput);
+        return bulkOutput;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double[] equirectangularBulkArrays() {
+        GeoPoint origin = origins[next++ & (PAIRS - 1)];
+        DistanceCalculator.approximateDistances(origin.lat(), origin.lon(), destinationLats, destinationLons,
+                bulkOutput);
+        return bulkOutput;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double[] equirectangularBulkBuffer() {
+        GeoPoint origin = origins[next++ & (PAIRS - 1)];
+        DistanceCalculator.approximateDistances(origin.lat(), origin.lon(), destinationCoordinates, bulkOutput);
+        return bulkOutput;
+    }
+}
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# Compara el servidor con hilos de plataforma y con hilos virtuales bajo la misma carga de
+# POST /api/v1/routes/plan (ver PlanLoadGenerator): para cada configuración inicia la aplicación,
+# lanza la carga, imprime el resultado y detiene la aplicación.
+#
+# Uso (desde la raíz del proyecto):
+#   src/jmh/scripts/virtual-threads-load.sh [argumentos extra de Spring...]
+#
+# Los argumentos extra se pasan a todas las ejecuciones, p. ej. para medir contra PostgreSQL:
+#   src/jmh/scripts/virtual-threads-load.sh \
+#       --spring.datasource.url=jdbc:postgresql://localhost:5432/navigator \
+#       --spring.datasource.driver-class-name=org.postgresql.Driver \
+#       --spring.datasource.username=navigator --spring.datasource.password=secret
+#
+# Variables de entorno: CLIENTS (400), DURATION en segundos (30), WARMUP en segundos (10),
+# PORT (8080) y SKIP_BUILD=1 para reutilizar el jar y las clases de prueba ya compilados.
+# El generador comparte la máquina con el servidor; con pocos núcleos los resultados solo sirven
+# como comparación relativa (o se ejecuta PlanLoadGenerator desde otra máquina).
+
+set -euo pipefail
+
+CLIENTS=${CLIENTS:-400}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+PORT=${PORT:-8080}
+BASE_URL=http://localhost:$PORT
+
+if [[ "${SKIP_BUILD:-0}" != 1 ]]; then
+    mvn -B -q -Pbenchmark -DskipTests package
+fi
+JAR=$(ls target/navigator-*.jar | grep -v original | head -n 1)
+
+# Nombre y argumentos de cada configuración
+CONFIGS=(
+    "platform-200|--spring.threads.virtual.enabled=false --server.tomcat.threads.max=200"
+    "platform-20|--spring.threads.virtual.enabled=false --server.tomcat.threads.max=20"
+    "virtual|--spring.threads.virtual.enabled=true"
+)
+
+APP_PID=
+stop_app() {
+    if [[ -n "$APP_PID" ]] && kill -0 "$APP_PID" 2>/dev/null; then
+        kill "$APP_PID"
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+    APP_PID=
+}
+trap stop_app EXIT
+
+for config in "${CONFIGS[@]}"; do
+    name=${config%%|*}
+    # shellcheck disable=SC2206
+    args=(${config#*|})
+    log=target/load-$name.log
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false "${args[@]}" "$@" > "$log" 2>&1 &
+    APP_PID=$!
+    for _ in $(seq 1 120); do
+        curl -sf "$BASE_URL/api/v1/greeting" > /dev/null && break
+        kill -0 "$APP_PID" 2>/dev/null || { echo "$name: la aplicación no inició, ver $log" >&2; exit 1; }
+        sleep 1
+    done
+    printf '%-14s ' "$name"
+    java -cp target/test-classes com.froy.navigator.load.PlanLoadGenerator \
+        "$BASE_URL" "$CLIENTS" "$DURATION" "$WARMUP"
+    stop_app
+done
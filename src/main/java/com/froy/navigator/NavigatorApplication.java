@@ -3,12 +3,14 @@ package com.froy.navigator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Punto de entrada principal para la aplicación de navegación.
  */
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class NavigatorApplication {
 
     public static void main(String[] args) {
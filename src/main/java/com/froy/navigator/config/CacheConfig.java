@@ -0,0 +1,176 @@
+package com.froy.navigator.config;
+
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.RouteSteps;
+import com.froy.navigator.service.caching.CoalescingCache;
+import com.froy.navigator.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the bounded Caffeine cache used for planned routes.
+ * Caffeine evicts with W-TinyLFU once the configured size (or weight) is reached and
+ * expires entries after the configured TTL. Statistics are recorded so that hit, miss
+ * and eviction counters are published through the actuator metrics endpoint, together
+ * with a {@code navigator.cache.routes.hit.ratio} gauge.
+ * <p>
+ * Every cache is wrapped in a {@link CoalescingCache}. With {@code navigator.cache.<name>.coalesce}
+ * enabled (the default), concurrent misses on an equal key share one computation of a
+ * {@code @Cacheable(sync = true)} method instead of each running it; with it disabled, every miss runs
+ * its own computation and no lock is held while it runs. Spring Boot only binds cache metrics to plain
+ * {@code CaffeineCache} instances, so {@link #coalescingCacheMeterBinderProvider()} binds the standard
+ * {@code cache.*} meters to the Caffeine cache behind each wrapper.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Name of the cache that stores {@link RouteResponse} objects by route request.
+     */
+    public static final String ROUTES_CACHE = "routes";
+
+    /**
+     * Approximate fixed overhead, in bytes, of a cached route (key, record and list headers).
+     */
+    private static final int ROUTE_ENTRY_OVERHEAD_BYTES = 256;
+
+    /**
+     * Caffeine cache manager that wraps each cache in a {@link CoalescingCache}, coalescing unless
+     * {@code navigator.cache.<name>.coalesce} is {@code false}. Declaring it replaces Spring Boot's
+     * auto-configured manager, so the {@link CacheManagerCustomizer} beans are applied here.
+     *
+     * @param customizers customizers of the Caffeine cache manager, such as the "routes" cache.
+     * @param environment environment used to read the per-cache coalescing flag.
+     * @param meterRegistry Micrometer registry for the coalescing counters.
+     * @return cache manager used by {@code @Cacheable}.
+     */
+    @Bean
+    public CaffeineCacheManager cacheManager(ObjectProvider<CacheManagerCustomizer<CaffeineCacheManager>> customizers,
+                                             Environment environment, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CoalescingCaffeineCacheManager(environment, meterRegistry);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
+    }
+
+    /**
+     * Binds the Caffeine statistics of every {@link CoalescingCache} ({@code cache.gets},
+     * {@code cache.puts}, {@code cache.evictions}, {@code cache.size}, ...) as Spring Boot does for a
+     * plain {@code CaffeineCache}.
+     *
+     * @return meter binder provider picked up by the actuator cache metrics registrar.
+     */
+    @Bean
+    public CacheMeterBinderProvider<CoalescingCache> coalescingCacheMeterBinderProvider() {
+        return new CoalescingCacheMeterBinderProvider();
+    }
+
+    /**
+     * Registers the "routes" cache with its own bounds on the Caffeine cache manager.
+     * When {@code maximum-weight} is greater than zero, entries are weighed by their
+     * approximate size in bytes and {@code maximum-size} is ignored.
+     *
+     * @param maximumSize maximum number of cached routes.
+     * @param maximumWeight maximum approximate size of the cache in bytes (0 = bound by entry count).
+     * @param expireAfterWrite time to live of each entry.
+     * @param meterRegistry Micrometer registry for the hit ratio gauge.
+     * @return customizer applied to the CaffeineCacheManager.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> routesCacheCustomizer(
+            @Value("${navigator.cache.routes.maximum-size:10000}") long maximumSize,
+            @Value("${navigator.cache.routes.maximum-weight:0}") long maximumWeight,
+            @Value("${navigator.cache.routes.expire-after-write:10m}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        return cacheManager -> {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats();
+            if (maximumWeight > 0) {
+                builder.maximumWeight(maximumWeight)
+                        .weigher((key, value) -> estimateRouteWeight(value));
+            } else {
+                builder.maximumSize(maximumSize);
+            }
+            Cache<Object, Object> cache = builder.build();
+            cacheManager.registerCustomCache(ROUTES_CACHE, cache);
+            Gauge.builder("navigator.cache.routes.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Fraction of route lookups served from the cache since startup")
+                    .register(meterRegistry);
+        };
+    }
+
+    private static int estimateRouteWeight(Object value) {
+        int weight = ROUTE_ENTRY_OVERHEAD_BYTES;
+        if (value instanceof RouteResponse response && response.steps() instanceof RouteSteps steps) {
+            // Straight-line steps are built lazily; weigh them without materialising the strings
+            weight += 40 * steps.size() + steps.estimatedLength() * 2;
+        } else if (value instanceof RouteResponse response && response.steps() != null) {
+            for (String step : response.steps()) {
+                weight += 40 + step.length() * 2;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Binds {@link CaffeineCacheMetrics} to the native cache behind a {@link CoalescingCache}.
+     */
+    static final class CoalescingCacheMeterBinderProvider implements CacheMeterBinderProvider<CoalescingCache> {
+
+        @Override
+        public MeterBinder getMeterBinder(CoalescingCache cache, Iterable<Tag> tags) {
+            return new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+        }
+    }
+
+    /**
+     * Adapts every Caffeine cache, registered or created on demand, and adds coalescing where enabled.
+     * Publishes {@code navigator.cache.loads} (computations run) and {@code navigator.cache.coalesced}
+     * (callers that waited for another computation) tagged by cache.
+     */
+    private static final class CoalescingCaffeineCacheManager extends CaffeineCacheManager {
+
+        private final Environment environment;
+        private final MeterRegistry meterRegistry;
+
+        private CoalescingCaffeineCacheManager(Environment environment, MeterRegistry meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+            CaffeineCache adapted = new CaffeineCache(name, cache, isAllowNullValues());
+            if (!environment.getProperty("navigator.cache." + name + ".coalesce", Boolean.class, true)) {
+                return new CoalescingCache(adapted, null);
+            }
+            SingleFlight<Object, Object> singleFlight = new SingleFlight<>();
+            FunctionCounter.builder("navigator.cache.loads", singleFlight, SingleFlight::executedCount)
+                    .description("Cache misses that ran the cached method")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("navigator.cache.coalesced", singleFlight, SingleFlight::coalescedCount)
+                    .description("Cache misses that waited for an in-flight computation of the same key")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            return new CoalescingCache(adapted, singleFlight);
+        }
+    }
+}
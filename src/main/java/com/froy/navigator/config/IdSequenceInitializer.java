@@ -0,0 +1,52 @@
+package com.froy.navigator.config;
+
+import com.froy.navigator.entity.AuditEntry;
+import com.froy.navigator.entity.RouteStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequences past the ids already stored. Tables created while the entities still used
+ * IDENTITY keep their rows, but Hibernate creates the new sequences starting at 1, which would collide
+ * with them. Runs once at startup, after Hibernate has created the sequences and before any insert.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the initializer.
+     *
+     * @param jdbcTemplate JDBC template over the application data source.
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void alignSequences() {
+        align("route_stats", RouteStats.ID_SEQUENCE);
+        align("audit_entries", AuditEntry.ID_SEQUENCE);
+    }
+
+    private void align(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Consumes one value, which is harmless: every value starts a fresh block of ids
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        if (next != null && next <= maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+            log.info("Sequence {} restarted at {} to follow the existing ids of {}", sequence, maxId + 1, table);
+        }
+    }
+}
@@ -40,7 +40,8 @@ public class StartupLogger implements CommandLineRunner {
         log.info("Swagger UI available at: {}", swaggerUiUrl);
         log.info("Available Controllers and Endpoints:");
 
-        RequestMappingHandlerMapping mapping = context.getBean(RequestMappingHandlerMapping.class);
+        // Look the mapping up by name: actuator registers a second RequestMappingHandlerMapping for its endpoints.
+        RequestMappingHandlerMapping mapping = context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
         mapping.getHandlerMethods().forEach((info, method) -> {
             Class<?> controller = method.getBeanType();
             // Add a check to avoid NullPointerException on handlers without a path (e.g., BasicErrorController)
@@ -0,0 +1,57 @@
+package com.froy.navigator.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.jdbc.init.PlatformPlaceholderDatabaseDriverResolver;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the partitioned {@code route_stats} table when {@code navigator.stats.storage=PARTITIONED}.
+ * The schema script is resolved per database platform ({@code db/partitioning/route_stats-<platform>.sql});
+ * only PostgreSQL ships one, so on other databases nothing runs and Hibernate creates the plain table.
+ * Spring Boot detects the initializer and runs it before the JPA entity manager factory, so the table
+ * already exists, partitioned, when Hibernate validates or updates the schema.
+ * <p>
+ * Verified against PostgreSQL 16: the script, partition pre-creation, and retention dropping whole
+ * partitions (see {@code RouteStatsPartitionRepositoryPostgresTest}, which runs when
+ * {@code NAVIGATOR_TEST_POSTGRES_URL} is set).
+ */
+@Configuration
+@ConditionalOnProperty(name = "navigator.stats.storage", havingValue = "PARTITIONED")
+public class StatsPartitioningConfig {
+
+    private static final String SCHEMA_LOCATION = "optional:classpath:db/partitioning/route_stats-@@platform@@.sql";
+
+    /**
+     * Registers the script initializer for the partitioned table.
+     *
+     * @param dataSource Application data source.
+     * @return Initializer that always runs the platform script, if there is one.
+     */
+    @Bean
+    public DataSourceScriptDatabaseInitializer routeStatsPartitioningInitializer(DataSource dataSource) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(new PlatformPlaceholderDatabaseDriverResolver()
+                .resolveAll(dataSource, SCHEMA_LOCATION));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+
+    /**
+     * Makes Hibernate treat PostgreSQL partitioned tables as physical tables. Otherwise schema update
+     * does not read the existing {@code route_stats} indexes and tries to create them again on every start.
+     *
+     * @return Customizer that adds {@code PARTITIONED TABLE} to the physical table types.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer partitionedTableTypeCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.EXTRA_PHYSICAL_TABLE_TYPES, "PARTITIONED TABLE");
+    }
+}
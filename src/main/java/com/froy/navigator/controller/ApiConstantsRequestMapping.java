@@ -12,6 +12,22 @@ public final class ApiConstantsRequestMapping {
 
     public static final String ROUTERESTCONTROLLER_RM_ROUTES_BASE_PATH = "/api/v1/routes";
     public static final String ROUTERESTCONTROLLER_PM_PLAN_ROUTE_PATH = "/plan";
+    public static final String ROUTERESTCONTROLLER_PM_PLAN_ROUTE_BATCH_PATH = "/plan/batch";
+    public static final String ROUTERESTCONTROLLER_PM_MATRIX_PATH = "/matrix";
+    public static final String ROUTERESTCONTROLLER_PM_TOUR_PATH = "/tour";
+    public static final String ROUTERESTCONTROLLER_PM_ISOCHRONE_PATH = "/isochrone";
+    public static final String ROUTERESTCONTROLLER_PM_SESSIONS_PATH = "/sessions";
+    public static final String ROUTERESTCONTROLLER_PM_SESSION_PATH = "/sessions/{sessionId}";
+    public static final String ROUTERESTCONTROLLER_PM_SESSION_POSITIONS_PATH = "/sessions/{sessionId}/positions";
+    public static final String ROUTERESTCONTROLLER_PM_SESSION_EVENTS_PATH = "/sessions/{sessionId}/events";
+
+    public static final String ROUTESTATSRESTCONTROLLER_RM_ROUTE_STATS_BASE_PATH = "/api/v1/route-stats";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_EXPORT_PATH = "/export";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_IMPORT_PATH = "/import";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_SUMMARY_PATH = "/analytics/summary";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_HOURLY_PATH = "/analytics/hourly";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_CELLS_PATH = "/analytics/cells";
+    public static final String ROUTESTATSRESTCONTROLLER_PM_OBSERVATIONS_PATH = "/observations";
 
     public static final String GREETINGRESTCONTROLLER_GREETING_BASE_PATH = "/api/v1/greeting";
 
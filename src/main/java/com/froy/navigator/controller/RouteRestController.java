@@ -1,11 +1,29 @@
 package com.froy.navigator.controller;
 
+import com.froy.navigator.dto.BatchRouteResult;
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.IsochroneRequest;
+import com.froy.navigator.dto.IsochroneResponse;
+import com.froy.navigator.dto.MatrixRequest;
+import com.froy.navigator.dto.MatrixResponse;
+import com.froy.navigator.dto.RouteProgress;
 import com.froy.navigator.dto.RouteRequest;
 import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.TourRequest;
+import com.froy.navigator.dto.TourResponse;
 import com.froy.navigator.exception.ApiError;
+import com.froy.navigator.service.BatchRoutePlanner;
+import com.froy.navigator.service.DistanceMatrixService;
 import com.froy.navigator.service.RoutePlanner;
+import com.froy.navigator.model.TransportMode;
 import com.froy.navigator.service.auditing.AuditOperation;
+import com.froy.navigator.service.isochrone.IsochroneService;
+import com.froy.navigator.service.session.RouteSessionService;
+import com.froy.navigator.service.tour.TourPlanner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,11 +31,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller that manages route planning requests.
@@ -28,7 +58,15 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Routes", description = "Operations for planning routes")
 public class RouteRestController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final RoutePlanner routePlanner;
+    private final BatchRoutePlanner batchRoutePlanner;
+    private final DistanceMatrixService distanceMatrixService;
+    private final RouteSessionService routeSessionService;
+    private final TourPlanner tourPlanner;
+    private final IsochroneService isochroneService;
+    private final Map<TransportMode, Timer> planTimers = new EnumMap<>(TransportMode.class);
 
     // --- OpenAPI Example Constants ---
 
@@ -51,6 +89,34 @@ public class RouteRestController {
               "details": "origin.lat: Invalid latitude; mode: Must be 'driving', 'walking', or 'bicycling'"
             }""";
 
+    private static final String EXAMPLE_BATCH_RESPONSE = """
+            [
+              {
+                "index": 0,
+                "route": {
+                  "distanceKm": 10.5,
+                  "durationMinutes": 25,
+                  "steps": ["Exit Av. Vallarta and continue for 300 m"],
+                  "mode": "CAR"
+                }
+              },
+              {
+                "index": 1,
+                "error": "origin.lat: Latitude must be at most 90"
+              }
+            ]""";
+
+    private static final String EXAMPLE_MATRIX_RESPONSE = """
+            {
+              "rows": 2,
+              "cols": 2,
+              "distancesKm": [0.0, 460.95, 460.95, 0.0],
+              "durationsMinutes": {
+                "CAR": [0, 345, 345, 0],
+                "BIKE": [0, 1843, 1843, 0]
+              }
+            }""";
+
     private static final String EXAMPLE_ROUTE_NOT_FOUND = """
             {
               "timestamp": "2025-08-10T14:01:00Z",
@@ -60,12 +126,32 @@ public class RouteRestController {
             }""";
 
     /**
-     * Creates an instance of RouteRestController with the RoutePlanner service.
+     * Creates an instance of RouteRestController with the route planning services.
      *
      * @param routePlanner Service responsible for planning routes.
+     * @param batchRoutePlanner Service responsible for planning batches of routes.
+     * @param distanceMatrixService Service responsible for many-to-many distance/duration matrices.
+     * @param routeSessionService Service responsible for navigation sessions of moving clients.
+     * @param tourPlanner Service responsible for ordering multi-stop tours.
+     * @param isochroneService Service responsible for reachability grids (isochrones).
+     * @param meterRegistry Micrometer registry for the route planning timers.
      */
-    public RouteRestController(RoutePlanner routePlanner) {
+    public RouteRestController(RoutePlanner routePlanner, BatchRoutePlanner batchRoutePlanner,
+                               DistanceMatrixService distanceMatrixService, RouteSessionService routeSessionService,
+                               TourPlanner tourPlanner, IsochroneService isochroneService,
+                               MeterRegistry meterRegistry) {
         this.routePlanner = routePlanner;
+        this.batchRoutePlanner = batchRoutePlanner;
+        this.distanceMatrixService = distanceMatrixService;
+        this.routeSessionService = routeSessionService;
+        this.tourPlanner = tourPlanner;
+        this.isochroneService = isochroneService;
+        for (TransportMode mode : TransportMode.values()) {
+            planTimers.put(mode, Timer.builder("navigator.route.plan")
+                    .description("Route planning through the routes cache (computation and statistics on a miss)")
+                    .tag("mode", mode.name())
+                    .register(meterRegistry));
+        }
     }
 
     /**
@@ -124,7 +210,280 @@ public class RouteRestController {
             )
     })
     public ResponseEntity<RouteResponse> planRoute(@Valid @RequestBody RouteRequest request) {
+        long start = System.nanoTime();
         RouteResponse response = routePlanner.planRoute(request);
+        planTimers.get(request.mode()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Plans a batch of routes in a single call.
+     * Requests are validated and computed individually in parallel; results are returned
+     * in input order and an invalid item only produces an error for that position.
+     * Statistics are persisted in JDBC batches and a single audit entry is written per batch.
+     *
+     * @param requests list of RouteRequest objects.
+     * @return ResponseEntity with one result per request, in input order.
+     */
+    @PostMapping(value = ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_PLAN_ROUTE_BATCH_PATH,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @AuditOperation("Route Batch Planned")
+    @Operation(summary = "Plan a batch of routes",
+            description = "Calculates many routes in parallel and reports per-item errors without failing the whole batch")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; each item contains either a route or an error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BatchRouteResult.class)),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Example Batch",
+                                            summary = "Mixed successful and failed items",
+                                            value = EXAMPLE_BATCH_RESPONSE)
+                            }
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty batch or batch larger than the configured maximum",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)
+                    )
+            )
+    })
+    public ResponseEntity<List<BatchRouteResult>> planRouteBatch(@RequestBody List<RouteRequest> requests) {
+        return ResponseEntity.ok(batchRoutePlanner.planRoutes(requests));
+    }
+
+    /**
+     * Plans a batch of routes sent as NDJSON (one RouteRequest JSON object per line).
+     * The body is parsed incrementally; results are the same as for the JSON array variant.
+     *
+     * @param body NDJSON request body.
+     * @return ResponseEntity with one result per line, in input order.
+     */
+    @PostMapping(value = ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_PLAN_ROUTE_BATCH_PATH,
+            consumes = APPLICATION_NDJSON_VALUE)
+    @AuditOperation("Route Batch Planned")
+    @Operation(summary = "Plan a batch of routes from NDJSON",
+            description = "Same as the JSON batch endpoint, reading one RouteRequest per line")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item contains either a route or an error",
+            content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = BatchRouteResult.class))
+            )
+    )
+    public ResponseEntity<List<BatchRouteResult>> planRouteBatchNdjson(InputStream body) {
+        return ResponseEntity.ok(batchRoutePlanner.planRoutes(body));
+    }
+
+    /**
+     * Computes a many-to-many distance/duration matrix.
+     * Every (origin, destination) cell is computed for each requested transport mode as the route
+     * strategies estimate a straight-line route: current speed profile and ETA correction, without the
+     * road graph. Values are returned as flat, row-major arrays: the cell for origin {@code i} and destination {@code j} is at {@code i * cols + j}.
+     *
+     * @param request MatrixRequest with origins, destinations and transport modes.
+     * @return ResponseEntity with the distance matrix and one duration matrix per mode.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_MATRIX_PATH)
+    @AuditOperation("Route Matrix Computed")
+    @Operation(summary = "Compute a distance/duration matrix",
+            description = "Calculates distance and duration for every origin/destination pair and transport mode. "
+                    + "Durations are straight-line estimates with the current speed profile and ETA correction; "
+                    + "the road graph is not used")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Matrix calculated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = MatrixResponse.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Example Matrix",
+                                            summary = "Two points, two modes",
+                                            value = EXAMPLE_MATRIX_RESPONSE)
+                            }
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request or matrix larger than the configured maximum",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)
+                    )
+            )
+    })
+    public ResponseEntity<MatrixResponse> computeMatrix(@Valid @RequestBody MatrixRequest request) {
+        return ResponseEntity.ok(distanceMatrixService.computeMatrix(request));
+    }
+
+    /**
+     * Plans a multi-stop tour: orders the waypoints to minimize the total distance and computes every leg.
+     * The order is searched heuristically within a bounded time budget, so it is not guaranteed to be optimal.
+     *
+     * @param request TourRequest with the start point, the waypoints and the transport mode.
+     * @return ResponseEntity with the visiting order, the totals and one route per leg.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_TOUR_PATH)
+    @AuditOperation("Route Tour Planned")
+    @Operation(summary = "Plan a multi-stop tour",
+            description = "Finds a short visiting order for the waypoints (nearest neighbour, 2-opt and Or-opt "
+                    + "within a time budget) and returns the route of every leg")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tour planned successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TourResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request, unsupported mode or more waypoints than the configured maximum",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)
+                    )
+            )
+    })
+    public ResponseEntity<TourResponse> planTour(@Valid @RequestBody TourRequest request) {
+        return ResponseEntity.ok(tourPlanner.planTour(request));
+    }
+
+    /**
+     * Computes the area reachable from a point within a travel time as a grid of minutes per cell.
+     * With a road graph covering the origin this is a single bounded one-to-many expansion over the graph;
+     * otherwise the mode's straight-line estimate is evaluated ring by ring around the origin.
+     *
+     * @param request IsochroneRequest with the origin, the transport mode, the time limit and an optional cell size.
+     * @return ResponseEntity with the reachability grid, trimmed to the reachable cells.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_ISOCHRONE_PATH)
+    @AuditOperation("Route Isochrone Computed")
+    @Operation(summary = "Compute an isochrone",
+            description = "Returns a row-major grid with the minutes needed to reach every cell around the origin "
+                    + "(-1 = not reachable within the time limit)")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Isochrone calculated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = IsochroneResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request or unsupported mode",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)
+                    )
+            )
+    })
+    public ResponseEntity<IsochroneResponse> computeIsochrone(@Valid @RequestBody IsochroneRequest request) {
+        return ResponseEntity.ok(isochroneService.computeIsochrone(request));
+    }
+
+    /**
+     * Opens a navigation session for a moving client.
+     * The route is planned once from the client's current position; later positions are sent to
+     * the positions endpoint and only update the remaining distance, ETA and steps. Statistics are
+     * recorded once, when the session is closed or expires.
+     *
+     * @param request RouteRequest with the current position as origin, the destination and the mode.
+     * @return ResponseEntity with the initial progress, including the session id.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_SESSIONS_PATH)
+    @AuditOperation("Route Session Opened")
+    @Operation(summary = "Open a navigation session",
+            description = "Plans a route from the current position and keeps it for incremental position updates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Session opened",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RouteProgress.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<RouteProgress> openSession(@Valid @RequestBody RouteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(routeSessionService.open(request));
+    }
+
+    /**
+     * Reports the client's current position in a navigation session.
+     * The position is projected onto the session's route; the route is recomputed only when the
+     * client is off-route. The update is also pushed to the session's event stream.
+     *
+     * @param sessionId session identifier returned when the session was opened.
+     * @param position current position of the client.
+     * @return ResponseEntity with the updated progress.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_SESSION_POSITIONS_PATH)
+    @Operation(summary = "Update the position in a navigation session",
+            description = "Updates remaining distance, ETA and steps; reroutes only when the client leaves the route")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RouteProgress.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired session",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<RouteProgress> updatePosition(@PathVariable String sessionId,
+                                                        @Valid @RequestBody GeoPoint position) {
+        return ResponseEntity.ok(routeSessionService.update(sessionId, position));
+    }
+
+    /**
+     * Subscribes to a navigation session as Server-Sent Events.
+     * The latest progress is sent immediately and then every time a position is reported.
+     *
+     * @param sessionId session identifier returned when the session was opened.
+     * @return SSE stream of {@code progress} events.
+     */
+    @GetMapping(value = ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_SESSION_EVENTS_PATH,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream navigation session progress",
+            description = "Server-Sent Events with the progress of the session after each position update")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = RouteProgress.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired session",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public SseEmitter streamSession(@PathVariable String sessionId) {
+        return routeSessionService.subscribe(sessionId);
+    }
+
+    /**
+     * Closes a navigation session, ends its event stream and records its statistics.
+     *
+     * @param sessionId session identifier returned when the session was opened.
+     * @return ResponseEntity with no content.
+     */
+    @DeleteMapping(ApiConstantsRequestMapping.ROUTERESTCONTROLLER_PM_SESSION_PATH)
+    @AuditOperation("Route Session Closed")
+    @Operation(summary = "Close a navigation session", description = "Ends the session and records its statistics")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session closed"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired session",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<Void> closeSession(@PathVariable String sessionId) {
+        routeSessionService.close(sessionId);
+        return ResponseEntity.noContent().build();
+    }
 }
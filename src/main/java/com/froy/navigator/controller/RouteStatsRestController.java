@@ -0,0 +1,332 @@
+package com.froy.navigator.controller;
+
+import com.froy.navigator.dto.CellAnalytics;
+import com.froy.navigator.dto.RouteAnalyticsSummary;
+import com.froy.navigator.dto.RouteStatsRecord;
+import com.froy.navigator.dto.StatsImportResult;
+import com.froy.navigator.dto.TripObservationRequest;
+import com.froy.navigator.exception.ApiError;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.StatsFormat;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import com.froy.navigator.service.auditing.AuditOperation;
+import com.froy.navigator.service.eta.EtaCorrectionService;
+import com.froy.navigator.service.stats.RouteStatsTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for route statistics: bulk export and import, and aggregated analytics.
+ * Both transfer directions stream: the export writes rows as they are read from a database cursor and the
+ * import inserts the body in batches as it is parsed, so memory use does not grow with the table size.
+ * Analytics are answered from incremental hourly rollups, never from the raw table. Observed trip durations
+ * posted here feed the ETA correction model.
+ */
+@RestController
+@RequestMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_RM_ROUTE_STATS_BASE_PATH)
+@Tag(name = "Route Statistics", description = "Bulk export and import of route statistics")
+public class RouteStatsRestController {
+
+    private static final String GZIP = "gzip";
+    private static final int DEFAULT_ANALYTICS_HOURS = 24;
+    private static final int MAX_CELLS = 1000;
+
+    private final RouteStatsTransferService routeStatsTransferService;
+    private final RouteAnalyticsService routeAnalyticsService;
+    private final EtaCorrectionService etaCorrectionService;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param routeStatsTransferService Service responsible for streaming route statistics in and out.
+     * @param routeAnalyticsService Service holding the incremental analytics rollups.
+     * @param etaCorrectionService Service that records observed trips and fits the ETA corrections.
+     */
+    public RouteStatsRestController(RouteStatsTransferService routeStatsTransferService,
+                                    RouteAnalyticsService routeAnalyticsService,
+                                    EtaCorrectionService etaCorrectionService) {
+        this.routeStatsTransferService = routeStatsTransferService;
+        this.routeAnalyticsService = routeAnalyticsService;
+        this.etaCorrectionService = etaCorrectionService;
+    }
+
+    /**
+     * Exports every route statistic as NDJSON or CSV, written to the response while the table is read.
+     *
+     * @param format Output format, NDJSON or CSV (case-insensitive).
+     * @param gzip Whether to compress the output; the file is then served as {@code application/gzip}.
+     * @return ResponseEntity whose body streams the rows as an attachment.
+     */
+    @GetMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_EXPORT_PATH)
+    @AuditOperation("Route Stats Exported")
+    @Operation(summary = "Export route statistics",
+            description = "Streams the whole route_stats table as NDJSON (one RouteStatsRecord per line) or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rows streamed",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = RouteStatsRecord.class)),
+                            @Content(mediaType = "text/csv", schema = @Schema(type = "string")),
+                            @Content(mediaType = "application/gzip", schema = @Schema(type = "string", format = "binary"))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Unsupported format",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportStats(
+            @Parameter(description = "Output format: NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") String format,
+            @Parameter(description = "Compress the output with gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        StatsFormat statsFormat = parseFormat(format);
+        String fileName = "route_stats." + statsFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                routeStatsTransferService.export(statsFormat, compressed);
+                compressed.finish();
+            } else {
+                routeStatsTransferService.export(statsFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : statsFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Imports route statistics from an NDJSON body (one RouteStatsRecord per line).
+     * Send {@code Content-Encoding: gzip} for a compressed body.
+     *
+     * @param body Request body.
+     * @param contentEncoding Content encoding of the body, if any.
+     * @return ResponseEntity with the number of inserted rows.
+     * @throws IOException if the gzip header of the body cannot be read.
+     */
+    @PostMapping(value = ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_IMPORT_PATH,
+            consumes = "application/x-ndjson")
+    @AuditOperation("Route Stats Imported")
+    @Operation(summary = "Import route statistics from NDJSON",
+            description = "Parses the body incrementally and inserts it in JDBC batches; ids are reassigned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rows imported",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatsImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid row; earlier batches remain imported",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<StatsImportResult> importStatsNdjson(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        return ResponseEntity.ok(importStats(StatsFormat.NDJSON, body, contentEncoding));
+    }
+
+    /**
+     * Imports route statistics from a CSV body with a header row; see the export for the column names.
+     * Send {@code Content-Encoding: gzip} for a compressed body.
+     *
+     * @param body Request body.
+     * @param contentEncoding Content encoding of the body, if any.
+     * @return ResponseEntity with the number of inserted rows.
+     * @throws IOException if the gzip header of the body cannot be read.
+     */
+    @PostMapping(value = ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_IMPORT_PATH, consumes = "text/csv")
+    @AuditOperation("Route Stats Imported")
+    @Operation(summary = "Import route statistics from CSV",
+            description = "Same as the NDJSON import, reading a CSV with a header row")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rows imported",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatsImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid row; earlier batches remain imported",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<StatsImportResult> importStatsCsv(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException {
+        return ResponseEntity.ok(importStats(StatsFormat.CSV, body, contentEncoding));
+    }
+
+    /**
+     * Returns trip count, averages and percentiles of distance and duration over a time range.
+     * The range is aligned to whole hours and limited to the analytics retention.
+     *
+     * @param mode Transport mode, or all modes when absent.
+     * @param from Range start (inclusive); defaults to 24 hours before {@code to}.
+     * @param to Range end (exclusive); defaults to now.
+     * @return ResponseEntity with the aggregated summary.
+     */
+    @GetMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_SUMMARY_PATH)
+    @Operation(summary = "Summarize trips over a time range",
+            description = "Trip count, average and p50/p90/p99 distance and duration, answered from hourly rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary computed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RouteAnalyticsSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid mode or range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<RouteAnalyticsSummary> getAnalyticsSummary(
+            @Parameter(description = "Transport mode; all modes when absent") @RequestParam(required = false) String mode,
+            @Parameter(description = "Range start, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = rangeEnd(to);
+        return ResponseEntity.ok(routeAnalyticsService.summary(parseMode(mode), rangeStart(from, end), end));
+    }
+
+    /**
+     * Returns the same aggregates as the summary, one entry per hour with trips.
+     *
+     * @param mode Transport mode, or all modes when absent.
+     * @param from Range start (inclusive); defaults to 24 hours before {@code to}.
+     * @param to Range end (exclusive); defaults to now.
+     * @return ResponseEntity with the hourly series in chronological order.
+     */
+    @GetMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_HOURLY_PATH)
+    @Operation(summary = "Summarize trips hour by hour", description = "One summary per hour with trips")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Series computed",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = RouteAnalyticsSummary.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid mode or range",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<List<RouteAnalyticsSummary>> getAnalyticsHourly(
+            @Parameter(description = "Transport mode; all modes when absent") @RequestParam(required = false) String mode,
+            @Parameter(description = "Range start, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = rangeEnd(to);
+        return ResponseEntity.ok(routeAnalyticsService.hourly(parseMode(mode), rangeStart(from, end), end));
+    }
+
+    /**
+     * Returns the origin grid cells (geohash) with the most trips over a time range.
+     *
+     * @param mode Transport mode, or all modes when absent.
+     * @param from Range start (inclusive); defaults to 24 hours before {@code to}.
+     * @param to Range end (exclusive); defaults to now.
+     * @param limit Maximum number of cells.
+     * @return ResponseEntity with the cells, busiest first.
+     */
+    @GetMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_ANALYTICS_CELLS_PATH)
+    @Operation(summary = "Busiest origin cells", description = "Trip count and averages per origin geohash cell")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cells computed",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CellAnalytics.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid mode, range or limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<List<CellAnalytics>> getAnalyticsCells(
+            @Parameter(description = "Transport mode; all modes when absent") @RequestParam(required = false) String mode,
+            @Parameter(description = "Range start, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, ISO-8601 local date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Maximum number of cells (1-1000)") @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_CELLS) {
+            throw new BusinessException("El límite de celdas debe estar entre 1 y " + MAX_CELLS);
+        }
+        LocalDateTime end = rangeEnd(to);
+        return ResponseEntity.ok(routeAnalyticsService.topCells(parseMode(mode), rangeStart(from, end), end, limit));
+    }
+
+    /**
+     * Records the actual duration of finished trips. The background ETA correction fit reads them and
+     * adjusts the durations estimated for later routes by mode and origin cell.
+     *
+     * @param observations Finished trips with the duration that was estimated and the one observed.
+     * @return ResponseEntity with the number of recorded observations.
+     */
+    @PostMapping(ApiConstantsRequestMapping.ROUTESTATSRESTCONTROLLER_PM_OBSERVATIONS_PATH)
+    @AuditOperation("Trip Observations Recorded")
+    @Operation(summary = "Record observed trip durations",
+            description = "Stores finished trips; the ETA correction model is refitted from them in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Observations recorded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatsImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch, or invalid observation",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiError.class)))
+    })
+    public ResponseEntity<StatsImportResult> recordObservations(
+            @RequestBody List<TripObservationRequest> observations) {
+        return ResponseEntity.ok(new StatsImportResult(etaCorrectionService.recordObservations(observations)));
+    }
+
+    private static LocalDateTime rangeEnd(LocalDateTime to) {
+        return to != null ? to : LocalDateTime.now();
+    }
+
+    private static LocalDateTime rangeStart(LocalDateTime from, LocalDateTime end) {
+        LocalDateTime start = from != null ? from : end.minusHours(DEFAULT_ANALYTICS_HOURS);
+        if (!start.isBefore(end)) {
+            throw new BusinessException("El inicio del intervalo debe ser anterior a su fin");
+        }
+        return start;
+    }
+
+    private static TransportMode parseMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return null;
+        }
+        try {
+            return TransportMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Modo de transporte no soportado: " + mode);
+        }
+    }
+
+    private static StatsFormat parseFormat(String format) {
+        try {
+            return StatsFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Formato no soportado: " + format + ". Use NDJSON o CSV");
+        }
+    }
+
+    private StatsImportResult importStats(StatsFormat format, InputStream body, String contentEncoding)
+            throws IOException {
+        InputStream in = GZIP.equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return new StatsImportResult(routeStatsTransferService.importStats(format, in));
+    }
+}
@@ -0,0 +1,19 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Objeto de Transferencia de Datos con percentiles estimados de una métrica de viajes.
+ * Se calculan a partir de histogramas logarítmicos con un error relativo de hasta 2 %.
+ */
+public record AnalyticsPercentiles(
+        @Schema(description = "Mediana", example = "6.2")
+        double p50,
+
+        @Schema(description = "Percentil 90", example = "14.8")
+        double p90,
+
+        @Schema(description = "Percentil 99", example = "31.5")
+        double p99
+) {
+}
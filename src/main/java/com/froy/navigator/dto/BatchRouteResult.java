@@ -0,0 +1,56 @@
+package com.froy.navigator.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado individual dentro de una planificación de rutas por lotes.
+ * Cada elemento conserva la posición de la solicitud original y contiene
+ * la ruta calculada o bien el error que impidió calcularla.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchRouteResult(
+        @Schema(description = "Posición de la solicitud dentro del lote (base 0)", example = "0")
+        int index,
+
+        @Schema(description = "Ruta calculada; ausente si la solicitud falló")
+        RouteResponse route,
+
+        @Schema(description = "Descripción del error; ausente si la ruta se calculó correctamente",
+                example = "origin.lat: La latitud debe ser como máximo 90")
+        String error
+) {
+
+    /**
+     * Crea un resultado exitoso.
+     *
+     * @param index Posición de la solicitud en el lote.
+     * @param route Ruta calculada.
+     * @return Resultado con la ruta.
+     */
+    public static BatchRouteResult success(int index, RouteResponse route) {
+        return new BatchRouteResult(index, route, null);
+    }
+
+    /**
+     * Crea un resultado fallido.
+     *
+     * @param index Posición de la solicitud en el lote.
+     * @param error Descripción del error.
+     * @return Resultado con el error.
+     */
+    public static BatchRouteResult failure(int index, String error) {
+        return new BatchRouteResult(index, null, error);
+    }
+
+    /**
+     * Indica si la solicitud se procesó correctamente.
+     *
+     * @return true si hay ruta calculada.
+     */
+    @JsonIgnore
+    public boolean isSuccess() {
+        return route != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Objeto de Transferencia de Datos con los agregados de los viajes que salen de una celda geohash.
+ */
+public record CellAnalytics(
+        @Schema(description = "Celda geohash de origen de los viajes", example = "9ewmq")
+        String cell,
+
+        @Schema(description = "Número de viajes", example = "312")
+        long trips,
+
+        @Schema(description = "Distancia promedio en kilómetros", example = "5.2")
+        double avgDistanceKm,
+
+        @Schema(description = "Duración promedio en minutos", example = "7.1")
+        double avgDurationMinutes
+) {
+}
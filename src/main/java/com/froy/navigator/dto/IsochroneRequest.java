@@ -0,0 +1,32 @@
+package com.froy.navigator.dto;
+
+import com.froy.navigator.model.TransportMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Objeto de Transferencia de Datos para solicitar el área alcanzable desde un punto en un tiempo máximo.
+ */
+public record IsochroneRequest(
+        @NotNull @Valid
+        @Schema(description = "Punto de partida")
+        GeoPoint origin,
+
+        @NotNull(message = "El modo de transporte no puede ser nulo")
+        @Schema(description = "Modo de transporte. Valores permitidos: CAR, BIKE, MOTORCYCLE", example = "BIKE")
+        TransportMode mode,
+
+        @Min(value = 1, message = "El tiempo máximo debe ser de al menos 1 minuto")
+        @Max(value = 180, message = "El tiempo máximo no puede exceder 180 minutos")
+        @Schema(description = "Tiempo máximo de viaje en minutos", example = "15")
+        int maxMinutes,
+
+        @Min(value = 10, message = "El tamaño de celda debe ser de al menos 10 metros")
+        @Schema(description = "Tamaño de celda solicitado en metros (opcional); puede agrandarse para respetar "
+                + "el máximo de celdas", example = "100")
+        Integer cellSizeMeters
+) {
+}
@@ -0,0 +1,54 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Objeto de Transferencia de Datos con una rejilla de alcance alrededor de un punto.
+ * Las celdas se devuelven como un arreglo plano en orden por filas (row-major) de sur a norte y de oeste a
+ * este: la celda (fila i, columna j) está en la posición {@code i * cols + j} y cubre las latitudes
+ * {@code [minLat + i * cellLatDegrees, minLat + (i + 1) * cellLatDegrees)} y las longitudes análogas.
+ */
+public record IsochroneResponse(
+        @Schema(description = "Modo de transporte", example = "BIKE")
+        String mode,
+
+        @Schema(description = "Tiempo máximo de viaje en minutos", example = "15")
+        int maxMinutes,
+
+        @Schema(description = "Latitud del borde sur de la rejilla", example = "20.6512")
+        double minLat,
+
+        @Schema(description = "Longitud del borde oeste de la rejilla", example = "-103.3707")
+        double minLon,
+
+        @Schema(description = "Alto de una celda en grados de latitud", example = "0.000898")
+        double cellLatDegrees,
+
+        @Schema(description = "Ancho de una celda en grados de longitud", example = "0.00096")
+        double cellLonDegrees,
+
+        @Schema(description = "Tamaño de celda en metros", example = "100")
+        double cellSizeMeters,
+
+        @Schema(description = "Número de filas", example = "3")
+        int rows,
+
+        @Schema(description = "Número de columnas", example = "3")
+        int cols,
+
+        @Schema(description = "Minutos hasta cada celda en orden por filas; -1 si no se alcanza",
+                example = "[-1, 4, -1, 3, 0, 5, -1, 6, -1]")
+        int[] minutes,
+
+        @Schema(description = "Número de celdas alcanzables", example = "5")
+        int reachableCells,
+
+        @Schema(description = "Si el área se calculó sobre el grafo de carreteras (false = estimación en línea recta)",
+                example = "true")
+        boolean graph,
+
+        @Schema(description = "Si la expansión se cortó por el límite de nodos o de celdas antes de agotar el tiempo",
+                example = "false")
+        boolean truncated
+) {
+}
@@ -0,0 +1,28 @@
+package com.froy.navigator.dto;
+
+import com.froy.navigator.model.TransportMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Objeto de Transferencia de Datos para solicitar una matriz de distancias y duraciones.
+ * Cada celda de la matriz corresponde a un par (origen, destino) para cada modo solicitado.
+ */
+public record MatrixRequest(
+        @NotEmpty(message = "La lista de orígenes no puede estar vacía")
+        @Schema(description = "Puntos de origen (filas de la matriz)")
+        List<@NotNull @Valid GeoPoint> origins,
+
+        @NotEmpty(message = "La lista de destinos no puede estar vacía")
+        @Schema(description = "Puntos de destino (columnas de la matriz)")
+        List<@NotNull @Valid GeoPoint> destinations,
+
+        @NotEmpty(message = "Debe indicarse al menos un modo de transporte")
+        @Schema(description = "Modos de transporte para los que se calculan duraciones", example = "[\"CAR\", \"BIKE\"]")
+        List<@NotNull TransportMode> modes
+) {
+}
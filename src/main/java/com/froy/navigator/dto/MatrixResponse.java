@@ -0,0 +1,27 @@
+package com.froy.navigator.dto;
+
+import com.froy.navigator.model.TransportMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Objeto de Transferencia de Datos con una matriz de distancias y duraciones.
+ * Los valores se devuelven como arreglos planos en orden por filas (row-major):
+ * la celda (origen i, destino j) está en la posición {@code i * cols + j}.
+ */
+public record MatrixResponse(
+        @Schema(description = "Número de filas (orígenes)", example = "2")
+        int rows,
+
+        @Schema(description = "Número de columnas (destinos)", example = "2")
+        int cols,
+
+        @Schema(description = "Distancias en kilómetros, en orden por filas", example = "[0.0, 460.95, 460.95, 0.0]")
+        double[] distancesKm,
+
+        @Schema(description = "Duraciones estimadas en minutos por modo de transporte, en orden por filas",
+                example = "{\"CAR\": [0, 345, 345, 0]}")
+        Map<TransportMode, int[]> durationsMinutes
+) {
+}
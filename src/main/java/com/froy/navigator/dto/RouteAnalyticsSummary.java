@@ -0,0 +1,36 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Objeto de Transferencia de Datos con los agregados de los viajes calculados en un intervalo:
+ * número de viajes, promedios y percentiles de distancia y duración.
+ */
+public record RouteAnalyticsSummary(
+        @Schema(description = "Inicio del intervalo (inclusive), truncado a la hora", example = "2024-05-01T08:00:00")
+        LocalDateTime from,
+
+        @Schema(description = "Fin del intervalo (exclusivo), truncado a la hora", example = "2024-05-01T09:00:00")
+        LocalDateTime to,
+
+        @Schema(description = "Modo de transporte, o ALL para todos", example = "CAR")
+        String mode,
+
+        @Schema(description = "Número de viajes", example = "1520")
+        long trips,
+
+        @Schema(description = "Distancia promedio en kilómetros", example = "7.85")
+        double avgDistanceKm,
+
+        @Schema(description = "Duración promedio en minutos", example = "9.4")
+        double avgDurationMinutes,
+
+        @Schema(description = "Percentiles de la distancia en kilómetros; ausentes si no hay viajes")
+        AnalyticsPercentiles distanceKm,
+
+        @Schema(description = "Percentiles de la duración en minutos; ausentes si no hay viajes")
+        AnalyticsPercentiles durationMinutes
+) {
+}
@@ -0,0 +1,37 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Estado de una sesión de navegación tras la última posición recibida.
+ * Contiene lo que falta por recorrer, la hora estimada de llegada y las instrucciones pendientes.
+ */
+public record RouteProgress(
+        @Schema(description = "Identificador de la sesión", example = "3f1c9a7e-5b2d-4e8a-9c61-0d2f4b7a8e10")
+        String sessionId,
+
+        @Schema(description = "Distancia restante en kilómetros", example = "4.2")
+        double remainingDistanceKm,
+
+        @Schema(description = "Duración restante estimada en minutos", example = "9")
+        int remainingMinutes,
+
+        @Schema(description = "Hora estimada de llegada (ISO-8601, UTC)", example = "2024-06-01T18:42:00Z")
+        Instant eta,
+
+        @Schema(description = "Distancia en metros entre la última posición y la ruta", example = "12.5")
+        double distanceFromRouteMeters,
+
+        @Schema(description = "Indica si la ruta se recalculó porque el cliente se salió de ella", example = "false")
+        boolean rerouted,
+
+        @Schema(description = "Instrucciones pendientes, empezando por la que está en curso")
+        List<String> steps,
+
+        @Schema(description = "Modo de transporte usado", example = "CAR")
+        String mode
+) {
+}
@@ -0,0 +1,39 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Objeto de Transferencia de Datos para una fila de route_stats en la exportación e importación masivas.
+ * En NDJSON cada línea es uno de estos objetos; en CSV sus campos son las columnas, en snake_case.
+ */
+public record RouteStatsRecord(
+        @Schema(description = "Identificador de la fila; se ignora al importar", example = "42")
+        Long id,
+
+        @Schema(description = "Latitud de origen", example = "20.6736")
+        double originLat,
+
+        @Schema(description = "Longitud de origen", example = "-103.344")
+        double originLon,
+
+        @Schema(description = "Latitud de destino", example = "20.7")
+        double destinationLat,
+
+        @Schema(description = "Longitud de destino", example = "-103.3")
+        double destinationLon,
+
+        @Schema(description = "Modo de transporte usado", example = "CAR")
+        String modeUsed,
+
+        @Schema(description = "Distancia total en kilómetros", example = "6.18")
+        double distanceKm,
+
+        @Schema(description = "Duración estimada en minutos", example = "4")
+        int durationMinutes,
+
+        @Schema(description = "Momento del cálculo (ISO-8601, hora local)", example = "2024-05-01T08:30:00")
+        LocalDateTime calculationTime
+) {
+}
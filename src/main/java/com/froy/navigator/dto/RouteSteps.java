@@ -0,0 +1,262 @@
+package com.froy.navigator.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Instrucciones de una ruta estimada en línea recta: "Inicio en &lt;origen&gt;", las instrucciones fijas
+ * de la estrategia y "Llegada a &lt;destino&gt;". En lugar de concatenar un texto por instrucción en cada
+ * cálculo, guarda la plantilla compartida y los dos puntos; los textos se arman solo si alguien los lee
+ * con {@link #get(int)}, y al serializar a JSON se escriben directamente en la salida.
+ * <p>
+ * Se comporta como una lista inmutable de {@code String}: su igualdad, su hash y su JSON coinciden con
+ * los de la lista equivalente construida con {@code List.of}.
+ */
+@JsonSerialize(using = RouteSteps.Serializer.class)
+public final class RouteSteps extends AbstractList<String> implements RandomAccess {
+
+    private static final String ORIGIN_PREFIX = "Inicio en ";
+    private static final String ARRIVAL_PREFIX = "Llegada a ";
+
+    /** Longitud máxima de "GeoPoint[lat=…, lon=…]": cada coordenada ocupa a lo sumo 24 caracteres. */
+    private static final int MAX_POINT_CHARS = 68;
+
+    /** Longitud habitual de "GeoPoint[lat=…, lon=…]" con coordenadas de cuatro a seis decimales. */
+    private static final int TYPICAL_POINT_CHARS = 36;
+
+    /**
+     * Decimales que se prueban antes de recurrir a {@link Double#toString(double)}; los GPS entregan de
+     * cinco a siete. Con magnitudes menores a 10^6, {@code valor * 10^9} sigue siendo un entero exacto.
+     */
+    private static final int MAX_FAST_DECIMALS = 9;
+
+    private final Template template;
+    private final GeoPoint origin;
+    private final GeoPoint destination;
+
+    private RouteSteps(Template template, GeoPoint origin, GeoPoint destination) {
+        this.template = template;
+        this.origin = origin;
+        this.destination = destination;
+    }
+
+    /**
+     * Crea una plantilla con las instrucciones fijas que van entre el inicio y la llegada.
+     * Se espera que cada estrategia cree la suya una sola vez, como constante.
+     *
+     * @param fixedSteps Instrucciones intermedias, iguales para toda ruta de la estrategia.
+     * @return Plantilla reutilizable.
+     */
+    public static Template template(String... fixedSteps) {
+        return new Template(fixedSteps);
+    }
+
+    /**
+     * Instrucción de inicio de una ruta.
+     *
+     * @param origin Punto de origen.
+     * @return "Inicio en &lt;origen&gt;".
+     */
+    public static String originStep(GeoPoint origin) {
+        return ORIGIN_PREFIX + origin;
+    }
+
+    /**
+     * Instrucción de llegada de una ruta.
+     *
+     * @param destination Punto de destino.
+     * @return "Llegada a &lt;destino&gt;".
+     */
+    public static String arrivalStep(GeoPoint destination) {
+        return ARRIVAL_PREFIX + destination;
+    }
+
+    /**
+     * Reemplaza las instrucciones de inicio y llegada de una ruta por las de otros puntos; las intermedias
+     * se conservan. Sirve para entregar una ruta guardada para otro origen y destino cercanos sin exponer
+     * sus coordenadas. Si la lista no empieza y termina con esas instrucciones, se devuelve sin cambios.
+     *
+     * @param steps Instrucciones de la ruta.
+     * @param origin Punto de origen de quien recibe la ruta.
+     * @param destination Punto de destino de quien recibe la ruta.
+     * @return Instrucciones con el inicio y la llegada en los puntos indicados.
+     */
+    public static List<String> withEndpoints(List<String> steps, GeoPoint origin, GeoPoint destination) {
+        if (steps instanceof RouteSteps routeSteps) {
+            return routeSteps.origin.equals(origin) && routeSteps.destination.equals(destination)
+                    ? routeSteps
+                    : routeSteps.template.between(origin, destination);
+        }
+        int last = steps.size() - 1;
+        if (last < 1 || !steps.get(0).startsWith(ORIGIN_PREFIX) || !steps.get(last).startsWith(ARRIVAL_PREFIX)) {
+            return steps;
+        }
+        List<String> relocated = new ArrayList<>(steps);
+        relocated.set(0, originStep(origin));
+        relocated.set(last, arrivalStep(destination));
+        return Collections.unmodifiableList(relocated);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index == 0) {
+            return originStep(origin);
+        }
+        if (index == size() - 1) {
+            return arrivalStep(destination);
+        }
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de rango para " + size() + " pasos");
+        }
+        return template.fixedSteps[index - 1];
+    }
+
+    @Override
+    public int size() {
+        return template.fixedSteps.length + 2;
+    }
+
+    /**
+     * Estimación de la longitud total de los textos, sin armarlos (p. ej. para pesar entradas de caché).
+     *
+     * @return Número aproximado de caracteres de todas las instrucciones.
+     */
+    public int estimatedLength() {
+        return template.fixedLength + ORIGIN_PREFIX.length() + ARRIVAL_PREFIX.length() + 2 * TYPICAL_POINT_CHARS;
+    }
+
+    /**
+     * Instrucciones fijas de una estrategia, con su forma JSON ya codificada.
+     */
+    public static final class Template {
+
+        private final String[] fixedSteps;
+        private final SerializedString[] serializedSteps;
+        private final int fixedLength;
+
+        private Template(String[] fixedSteps) {
+            this.fixedSteps = fixedSteps.clone();
+            this.serializedSteps = new SerializedString[fixedSteps.length];
+            int length = 0;
+            for (int i = 0; i < fixedSteps.length; i++) {
+                serializedSteps[i] = new SerializedString(fixedSteps[i]);
+                length += fixedSteps[i].length();
+            }
+            this.fixedLength = length;
+        }
+
+        /**
+         * Instrucciones de una ruta concreta con esta plantilla.
+         *
+         * @param origin Punto de origen.
+         * @param destination Punto de destino.
+         * @return Lista de instrucciones; no arma ningún texto.
+         */
+        public RouteSteps between(GeoPoint origin, GeoPoint destination) {
+            return new RouteSteps(this, origin, destination);
+        }
+    }
+
+    /**
+     * Escribe las instrucciones como arreglo JSON de textos. Las fijas se copian ya codificadas y las de
+     * inicio y llegada se componen en un único búfer de caracteres, sin crear cadenas intermedias.
+     * El texto de cada punto coincide con {@link GeoPoint#toString()}.
+     */
+    static final class Serializer extends StdSerializer<RouteSteps> {
+
+        private static final char[] ORIGIN_CHARS = (ORIGIN_PREFIX + "GeoPoint[lat=").toCharArray();
+        private static final char[] ARRIVAL_CHARS = (ARRIVAL_PREFIX + "GeoPoint[lat=").toCharArray();
+        private static final char[] LON_CHARS = ", lon=".toCharArray();
+
+        Serializer() {
+            super(RouteSteps.class);
+        }
+
+        @Override
+        public void serialize(RouteSteps steps, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = new char[ORIGIN_PREFIX.length() + MAX_POINT_CHARS];
+            gen.writeStartArray(steps, steps.size());
+            writePointStep(gen, buffer, ORIGIN_CHARS, steps.origin);
+            for (SerializedString step : steps.template.serializedSteps) {
+                gen.writeString(step);
+            }
+            writePointStep(gen, buffer, ARRIVAL_CHARS, steps.destination);
+            gen.writeEndArray();
+        }
+
+        private static void writePointStep(JsonGenerator gen, char[] buffer, char[] prefix, GeoPoint point)
+                throws IOException {
+            System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+            int length = writeCoordinate(buffer, prefix.length, point.lat());
+            System.arraycopy(LON_CHARS, 0, buffer, length, LON_CHARS.length);
+            length = writeCoordinate(buffer, length + LON_CHARS.length, point.lon());
+            buffer[length++] = ']';
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Escribe una coordenada con el mismo texto que {@link Double#toString(double)} sin crear objetos.
+     * Busca la menor cantidad de decimales {@code k} cuyo valor redondeado {@code m / 10^k} vuelve a dar
+     * exactamente el mismo double: como {@code m} y {@code 10^k} son exactos, esa división es la lectura
+     * correctamente redondeada del decimal, que por lo tanto es el más corto que identifica al número.
+     * Los valores con más de {@value #MAX_FAST_DECIMALS} decimales, o que {@code Double.toString} escribe en
+     * notación científica, usan el método estándar.
+     *
+     * @param buffer Búfer de destino.
+     * @param offset Posición donde empezar a escribir.
+     * @param value Coordenada.
+     * @return Posición siguiente al último carácter escrito.
+     */
+    static int writeCoordinate(char[] buffer, int offset, double value) {
+        double magnitude = Math.abs(value);
+        if (magnitude >= 1e-3 && magnitude < 1e6) {
+            long scale = 1;
+            for (int decimals = 1; decimals <= MAX_FAST_DECIMALS; decimals++) {
+                scale *= 10;
+                long scaled = Math.round(magnitude * scale);
+                if (scaled / (double) scale == magnitude) {
+                    return writeDecimal(buffer, offset, value < 0, scaled, scale, decimals);
+                }
+            }
+        }
+        String text = Double.toString(value);
+        text.getChars(0, text.length(), buffer, offset);
+        return offset + text.length();
+    }
+
+    private static int writeDecimal(char[] buffer, int offset, boolean negative, long scaled, long scale,
+                                    int decimals) {
+        long integerPart = scaled / scale;
+        long fraction = scaled % scale;
+        int integerDigits = 1;
+        for (long rest = integerPart; rest >= 10; rest /= 10) {
+            integerDigits++;
+        }
+        int end = offset + (negative ? 1 : 0) + integerDigits + 1 + decimals;
+        int position = end;
+        for (int i = 0; i < decimals; i++) {
+            buffer[--position] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + integerPart % 10);
+            integerPart /= 10;
+        } while (integerPart > 0);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+        return end;
+    }
+}
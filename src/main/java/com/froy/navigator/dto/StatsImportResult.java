@@ -0,0 +1,14 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Objeto de Transferencia de Datos con el resultado de una importación masiva de estadísticas de rutas.
+ *
+ * @param imported Número de filas insertadas.
+ */
+public record StatsImportResult(
+        @Schema(description = "Número de filas insertadas", example = "250000")
+        long imported
+) {
+}
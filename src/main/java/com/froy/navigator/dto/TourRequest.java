@@ -0,0 +1,31 @@
+package com.froy.navigator.dto;
+
+import com.froy.navigator.model.TransportMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Objeto de Transferencia de Datos para solicitar un recorrido con varias paradas.
+ * El servicio decide el orden en que se visitan las paradas.
+ */
+public record TourRequest(
+        @NotNull @Valid
+        @Schema(description = "Punto de partida del recorrido")
+        GeoPoint start,
+
+        @NotEmpty(message = "La lista de paradas no puede estar vacía")
+        @Schema(description = "Paradas a visitar, en cualquier orden")
+        List<@NotNull @Valid GeoPoint> waypoints,
+
+        @NotNull(message = "El modo de transporte no puede ser nulo")
+        @Schema(description = "Modo de transporte. Valores permitidos: CAR, BIKE, MOTORCYCLE", example = "CAR")
+        TransportMode mode,
+
+        @Schema(description = "Si el recorrido vuelve al punto de partida después de la última parada", example = "false")
+        boolean returnToStart
+) {
+}
@@ -0,0 +1,29 @@
+package com.froy.navigator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Objeto de Transferencia de Datos con un recorrido optimizado: el orden de visita de las paradas y
+ * la ruta de cada tramo.
+ *
+ * @param order Índices de las paradas de la solicitud en orden de visita.
+ * @param totalDistanceKm Suma de las distancias de los tramos.
+ * @param totalDurationMinutes Suma de las duraciones de los tramos.
+ * @param legs Ruta de cada tramo, desde el inicio hasta la última parada (o de vuelta al inicio).
+ */
+public record TourResponse(
+        @Schema(description = "Índices (base 0) de las paradas de la solicitud en orden de visita", example = "[2, 0, 1]")
+        List<Integer> order,
+
+        @Schema(description = "Distancia total en kilómetros", example = "18.4")
+        double totalDistanceKm,
+
+        @Schema(description = "Duración total estimada en minutos", example = "41")
+        int totalDurationMinutes,
+
+        @Schema(description = "Ruta de cada tramo en orden de visita")
+        List<RouteResponse> legs
+) {
+}
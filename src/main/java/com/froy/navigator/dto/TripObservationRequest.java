@@ -0,0 +1,36 @@
+package com.froy.navigator.dto;
+
+import com.froy.navigator.model.TransportMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Objeto de Transferencia de Datos con la duración real de un viaje ya realizado y la duración que el
+ * servicio le había estimado.
+ */
+public record TripObservationRequest(
+        @NotNull @Valid
+        @Schema(description = "Punto geográfico de origen")
+        GeoPoint origin,
+
+        @NotNull @Valid
+        @Schema(description = "Punto geográfico de destino")
+        GeoPoint destination,
+
+        @NotNull(message = "El modo de transporte no puede ser nulo")
+        @Schema(description = "Modo de transporte. Valores permitidos: CAR, BIKE, MOTORCYCLE", example = "CAR")
+        TransportMode mode,
+
+        @Min(value = 1, message = "La duración estimada debe ser de al menos 1 minuto")
+        @Schema(description = "Duración estimada que devolvió la planificación, en minutos", example = "25")
+        int predictedDurationMinutes,
+
+        @Min(value = 1, message = "La duración real debe ser de al menos 1 minuto")
+        @Max(value = 1440, message = "La duración real debe ser como máximo 1440 minutos")
+        @Schema(description = "Duración real del viaje en minutos", example = "31")
+        int actualDurationMinutes
+) {
+}
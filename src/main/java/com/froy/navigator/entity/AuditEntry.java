@@ -11,8 +11,19 @@ import java.time.LocalDateTime;
 @Table(name = "audit_entries")
 public class AuditEntry {
 
+    /** Secuencia de identificadores de audit_entries. */
+    public static final String ID_SEQUENCE = "audit_entries_seq";
+
+    /** Identificadores que reserva cada valor de la secuencia; debe coincidir con su incremento. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Identificador tomado de la secuencia {@value #ID_SEQUENCE} con bloques de
+     * {@value #ID_ALLOCATION_SIZE} (optimizador pooled-lo), como en {@link RouteStats}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
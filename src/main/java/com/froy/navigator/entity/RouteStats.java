@@ -6,13 +6,29 @@ import java.time.LocalDateTime;
 /**
  * Entidad que representa las estadísticas de un cálculo de ruta.
  * Almacena detalles como origen, destino, modo, distancia, duración y momento de cálculo.
+ * Los índices sobre {@code calculation_time} sirven a la retención y a las consultas por intervalo y modo.
  */
 @Entity
-@Table(name = "route_stats")
+@Table(name = "route_stats", indexes = {
+        @Index(name = "idx_route_stats_calculation_time", columnList = "calculation_time"),
+        @Index(name = "idx_route_stats_mode_time", columnList = "mode_used, calculation_time")
+})
 public class RouteStats {
 
+    /** Secuencia de identificadores de route_stats. */
+    public static final String ID_SEQUENCE = "route_stats_seq";
+
+    /** Identificadores que reserva cada valor de la secuencia; debe coincidir con su incremento. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Identificador tomado de la secuencia {@value #ID_SEQUENCE}: cada valor reserva un bloque de
+     * {@value #ID_ALLOCATION_SIZE} identificadores (optimizador pooled-lo), de modo que Hibernate asigna
+     * el id sin ir a la base; {@code RouteStatsJdbcRepository} reserva bloques de la misma secuencia.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,158 @@
+package com.froy.navigator.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa la duración real observada de un viaje, junto con la duración que se le
+ * estimó. Es la referencia con la que se ajustan los factores de corrección de las estimaciones.
+ * Las filas se insertan y se leen por JDBC ({@code TripObservationJdbcRepository}); la entidad define
+ * la tabla y su secuencia.
+ */
+@Entity
+@Table(name = "trip_observations")
+public class TripObservation {
+
+    /** Secuencia de identificadores de trip_observations. */
+    public static final String ID_SEQUENCE = "trip_observations_seq";
+
+    /** Identificadores que reserva cada valor de la secuencia; debe coincidir con su incremento. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Identificador tomado de la secuencia {@value #ID_SEQUENCE}, como en {@link RouteStats}. Las
+     * inserciones JDBC reservan bloques nuevos en cada llamada, así que los ids crecen en el orden en que
+     * se insertan las filas; el ajuste incremental los usa como marca de agua.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private double originLat;
+
+    @Column(nullable = false)
+    private double originLon;
+
+    @Column(nullable = false)
+    private double destinationLat;
+
+    @Column(nullable = false)
+    private double destinationLon;
+
+    @Column(nullable = false)
+    private String modeUsed;
+
+    /** Duración estimada que recibió el cliente, ya corregida. */
+    @Column(nullable = false)
+    private int predictedMinutes;
+
+    /** Factor de corrección vigente al registrar la observación; predicho / factor = estimación base. */
+    @Column(nullable = false)
+    private double correctionFactor;
+
+    @Column(nullable = false)
+    private int actualMinutes;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedTime;
+
+    // Constructor por defecto para JPA
+    public TripObservation() {
+    }
+
+    public TripObservation(double originLat, double originLon, double destinationLat, double destinationLon,
+                           String modeUsed, int predictedMinutes, double correctionFactor, int actualMinutes) {
+        this.originLat = originLat;
+        this.originLon = originLon;
+        this.destinationLat = destinationLat;
+        this.destinationLon = destinationLon;
+        this.modeUsed = modeUsed;
+        this.predictedMinutes = predictedMinutes;
+        this.correctionFactor = correctionFactor;
+        this.actualMinutes = actualMinutes;
+        this.recordedTime = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public double getOriginLat() {
+        return originLat;
+    }
+
+    public void setOriginLat(double originLat) {
+        this.originLat = originLat;
+    }
+
+    public double getOriginLon() {
+        return originLon;
+    }
+
+    public void setOriginLon(double originLon) {
+        this.originLon = originLon;
+    }
+
+    public double getDestinationLat() {
+        return destinationLat;
+    }
+
+    public void setDestinationLat(double destinationLat) {
+        this.destinationLat = destinationLat;
+    }
+
+    public double getDestinationLon() {
+        return destinationLon;
+    }
+
+    public void setDestinationLon(double destinationLon) {
+        this.destinationLon = destinationLon;
+    }
+
+    public String getModeUsed() {
+        return modeUsed;
+    }
+
+    public void setModeUsed(String modeUsed) {
+        this.modeUsed = modeUsed;
+    }
+
+    public int getPredictedMinutes() {
+        return predictedMinutes;
+    }
+
+    public void setPredictedMinutes(int predictedMinutes) {
+        this.predictedMinutes = predictedMinutes;
+    }
+
+    public double getCorrectionFactor() {
+        return correctionFactor;
+    }
+
+    public void setCorrectionFactor(double correctionFactor) {
+        this.correctionFactor = correctionFactor;
+    }
+
+    public int getActualMinutes() {
+        return actualMinutes;
+    }
+
+    public void setActualMinutes(int actualMinutes) {
+        this.actualMinutes = actualMinutes;
+    }
+
+    public LocalDateTime getRecordedTime() {
+        return recordedTime;
+    }
+
+    public void setRecordedTime(LocalDateTime recordedTime) {
+        this.recordedTime = recordedTime;
+    }
+}
@@ -1,5 +1,7 @@
 package com.froy.navigator.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,10 +14,28 @@ import org.springframework.web.context.request.WebRequest;
  * Centraliza la lógica de manejo de errores, asegurando que todas las respuestas de error
  * de la API sigan un formato consistente y predecible (ApiError).
  * Utiliza la anotación @RestControllerAdvice para aplicarse a todos los @RestController.
+ * Cada rama incrementa el contador {@code navigator.api.errors} con su nombre en la etiqueta {@code handler}.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Counter businessErrors;
+    private final Counter notFoundErrors;
+    private final Counter validationErrors;
+    private final Counter unexpectedErrors;
+
+    /**
+     * Construye el manejador registrando un contador de errores por rama.
+     *
+     * @param meterRegistry Registro de métricas de Micrometer.
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.businessErrors = errorCounter(meterRegistry, "business", HttpStatus.BAD_REQUEST);
+        this.notFoundErrors = errorCounter(meterRegistry, "not_found", HttpStatus.NOT_FOUND);
+        this.validationErrors = errorCounter(meterRegistry, "validation", HttpStatus.BAD_REQUEST);
+        this.unexpectedErrors = errorCounter(meterRegistry, "unexpected", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     /**
      * Maneja la BusinessException personalizada y retorna un estado BAD_REQUEST.
      *
@@ -25,6 +45,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiError> handleBusinessException(BusinessException ex, WebRequest request) {
+        businessErrors.increment();
         ApiError apiError = new ApiError(
                 HttpStatus.BAD_REQUEST,
                 ex.getMessage(),
@@ -42,6 +63,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiError> handleNotFoundException(NotFoundException ex, WebRequest request) {
+        notFoundErrors.increment();
         ApiError apiError = new ApiError(
                 HttpStatus.NOT_FOUND,
                 ex.getMessage(),
@@ -60,6 +82,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
+        validationErrors.increment();
         String errors = ex.getBindingResult().getFieldErrors().stream()
                 .map(error -> error.getField() + ": " + error.getDefaultMessage())
                 .collect(java.util.stream.Collectors.joining("; ")); // Une todos los errores de campo en un solo string.
@@ -83,6 +106,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllUncaughtException(Exception ex, WebRequest request) {
+        unexpectedErrors.increment();
         ApiError apiError = new ApiError(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "Ocurrió un error inesperado",
@@ -90,4 +114,12 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(apiError, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static Counter errorCounter(MeterRegistry meterRegistry, String handler, HttpStatus status) {
+        return Counter.builder("navigator.api.errors")
+                .description("Errores respondidos por el manejador global, por rama")
+                .tag("handler", handler)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry);
+    }
 }
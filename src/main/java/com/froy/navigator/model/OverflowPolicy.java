@@ -0,0 +1,14 @@
+package com.froy.navigator.model;
+
+/**
+ * Enum que define qué hacer cuando una cola de escritura en segundo plano está llena.
+ * Se utiliza en los flujos asíncronos de persistencia (estadísticas y auditoría).
+ */
+public enum OverflowPolicy {
+    /** Espera (con tiempo límite) a que haya espacio en la cola; si se agota el tiempo, descarta el elemento. */
+    BLOCK,
+    /** Descarta el elemento nuevo de inmediato y lo contabiliza en las métricas. */
+    DROP,
+    /** Escribe el elemento de forma síncrona en el hilo que lo produjo. */
+    CALLER_RUNS
+}
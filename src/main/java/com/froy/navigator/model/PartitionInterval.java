@@ -0,0 +1,68 @@
+package com.froy.navigator.model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Enum que define el periodo que cubre cada partición de route_stats.
+ * Cada partición se nombra con la fecha de inicio de su periodo, p. ej. {@code route_stats_p20240501}
+ * (diaria) o {@code route_stats_p202405} (mensual).
+ */
+public enum PartitionInterval {
+    /** Una partición por día. */
+    DAILY(DateTimeFormatter.BASIC_ISO_DATE),
+    /** Una partición por mes. */
+    MONTHLY(DateTimeFormatter.ofPattern("yyyyMM"));
+
+    private final DateTimeFormatter suffixFormat;
+
+    PartitionInterval(DateTimeFormatter suffixFormat) {
+        this.suffixFormat = suffixFormat;
+    }
+
+    /**
+     * Inicio del periodo que contiene una fecha.
+     *
+     * @param date Fecha cualquiera.
+     * @return Primer día del periodo.
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return this == DAILY ? date : date.withDayOfMonth(1);
+    }
+
+    /**
+     * Inicio del periodo siguiente.
+     *
+     * @param periodStart Primer día de un periodo.
+     * @return Primer día del periodo siguiente.
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return this == DAILY ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+    }
+
+    /**
+     * Sufijo del nombre de la partición de un periodo.
+     *
+     * @param periodStart Primer día del periodo.
+     * @return Sufijo, p. ej. {@code 20240501} o {@code 202405}.
+     */
+    public String suffix(LocalDate periodStart) {
+        return suffixFormat.format(periodStart);
+    }
+
+    /**
+     * Interpreta el sufijo del nombre de una partición.
+     *
+     * @param suffix Sufijo generado por {@link #suffix(LocalDate)}.
+     * @return Primer día del periodo, o {@code null} si el sufijo no corresponde a este intervalo.
+     */
+    public LocalDate parseSuffix(String suffix) {
+        try {
+            return this == DAILY
+                    ? LocalDate.parse(suffix, suffixFormat)
+                    : LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.froy.navigator.model;
+
+/**
+ * Enum que define los formatos de intercambio de las estadísticas de rutas (route_stats)
+ * en la exportación e importación masivas.
+ */
+public enum StatsFormat {
+    /** Un objeto JSON por línea, con los campos de {@link com.froy.navigator.dto.RouteStatsRecord}. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** Valores separados por comas con una fila de encabezado con los nombres de las columnas. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    StatsFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Devuelve el tipo de contenido HTTP del formato.
+     *
+     * @return Tipo MIME, p. ej. {@code text/csv}.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Devuelve la extensión de archivo del formato.
+     *
+     * @return Extensión sin punto, p. ej. {@code csv}.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,15 @@
+package com.froy.navigator.model;
+
+/**
+ * Enum que define cómo se almacena la tabla route_stats.
+ */
+public enum StatsStorage {
+    /** Una sola tabla; la retención borra filas antiguas por bloques. */
+    PLAIN,
+    /**
+     * Tabla particionada por rango de {@code calculation_time}. En PostgreSQL es particionado declarativo
+     * y la retención elimina particiones completas; en bases sin particionado (H2) la tabla es única y la
+     * retención solo alinea el límite al inicio de un periodo antes de borrar por bloques.
+     */
+    PARTITIONED
+}
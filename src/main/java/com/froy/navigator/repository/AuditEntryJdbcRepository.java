@@ -0,0 +1,58 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.entity.AuditEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Repositorio JDBC para escrituras masivas de {@link AuditEntry}.
+ * Lo utiliza el flujo de auditoría asíncrono para insertar las entradas por lotes
+ * en lugar de abrir una transacción por cada una.
+ */
+@Repository
+public class AuditEntryJdbcRepository {
+
+    /**
+     * Los ids se reservan por bloques de la misma secuencia que usa JPA ({@link PooledLoIds}).
+     */
+    private static final String INSERT_SQL = "INSERT INTO audit_entries (id, action, timestamp, message) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construye el repositorio con el JdbcTemplate configurado por Spring Boot.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el DataSource de la aplicación.
+     */
+    public AuditEntryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta todas las entradas recibidas en un único lote JDBC dentro de una transacción.
+     *
+     * @param entries Entradas de auditoría a insertar.
+     * @return Número de filas enviadas a la base de datos.
+     */
+    @Transactional
+    public int insertAll(List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        long[] ids = PooledLoIds.allocate(jdbcTemplate, AuditEntry.ID_SEQUENCE, AuditEntry.ID_ALLOCATION_SIZE,
+                entries.size());
+        int[] row = {0};
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, ids[row[0]++]);
+            ps.setString(2, entry.getAction());
+            ps.setTimestamp(3, Timestamp.valueOf(entry.getTimestamp()));
+            ps.setString(4, entry.getMessage());
+        });
+        return entries.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.froy.navigator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Reserva ids para las inserciones JDBC en tablas cuyas entidades usan el optimizador pooled-lo.
+ * Igual que Hibernate, interpreta cada valor {@code v} de la secuencia como el bloque
+ * {@code [v, v + allocationSize - 1]}, de modo que los ids de JDBC y de JPA nunca coinciden y una
+ * inserción de N filas consume {@code ceil(N / allocationSize)} valores en lugar de N bloques completos.
+ * Los bloques se piden en una sola consulta y los ids se entregan en orden creciente.
+ */
+final class PooledLoIds {
+
+    private static final String NEXT_VALUES_SQL = """
+            WITH RECURSIVE blocks(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM blocks WHERE i < ?)
+            SELECT nextval('%s') FROM blocks""";
+
+    private PooledLoIds() {
+    }
+
+    /**
+     * Reserva los bloques necesarios para {@code count} filas.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el DataSource de la aplicación.
+     * @param sequence Nombre de la secuencia; su incremento debe ser {@code allocationSize}.
+     * @param allocationSize Identificadores que reserva cada valor de la secuencia.
+     * @param count Número de ids requeridos (mayor que cero).
+     * @return {@code count} ids distintos en orden creciente.
+     */
+    static long[] allocate(JdbcTemplate jdbcTemplate, String sequence, int allocationSize, int count) {
+        int blocks = (count + allocationSize - 1) / allocationSize;
+        List<Long> starts = jdbcTemplate.queryForList(NEXT_VALUES_SQL.formatted(sequence), Long.class, blocks)
+                .stream().sorted().toList();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = starts.get(i / allocationSize) + i % allocationSize;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,149 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.entity.RouteStats;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JDBC para escrituras y lecturas masivas de {@link RouteStats}.
+ * Complementa a {@link RouteStatsRepository}: en lugar de pasar por el contexto de persistencia,
+ * aquí se usan inserciones JDBC por lotes para los flujos que persisten muchas estadísticas a la vez,
+ * y un cursor de solo avance para recorrer la tabla completa sin cargarla en memoria.
+ */
+@Repository
+public class RouteStatsJdbcRepository {
+
+    /**
+     * Los ids se reservan por bloques de la misma secuencia que usa JPA ({@link PooledLoIds}).
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO route_stats (id, origin_lat, origin_lon, destination_lat, destination_lon,
+                                     mode_used, distance_km, duration_minutes, calculation_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT id, origin_lat, origin_lon, destination_lat, destination_lon,
+                   mode_used, distance_km, duration_minutes, calculation_time
+            FROM route_stats
+            ORDER BY id""";
+
+    private static final String SELECT_SINCE_SQL = """
+            SELECT origin_lat, origin_lon, mode_used, distance_km, duration_minutes, calculation_time
+            FROM route_stats
+            WHERE calculation_time >= ?""";
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM route_stats
+            WHERE id IN (SELECT id FROM route_stats WHERE calculation_time < ? LIMIT ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construye el repositorio con el JdbcTemplate configurado por Spring Boot.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el DataSource de la aplicación.
+     */
+    public RouteStatsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta todas las estadísticas recibidas usando lotes JDBC del tamaño indicado.
+     * Todos los lotes se ejecutan dentro de una misma transacción.
+     *
+     * @param stats Estadísticas a insertar.
+     * @param batchSize Número máximo de filas por lote JDBC.
+     * @return Número de filas enviadas a la base de datos.
+     */
+    @Transactional
+    public int insertAll(List<RouteStats> stats, int batchSize) {
+        if (stats.isEmpty()) {
+            return 0;
+        }
+        long[] ids = PooledLoIds.allocate(jdbcTemplate, RouteStats.ID_SEQUENCE, RouteStats.ID_ALLOCATION_SIZE,
+                stats.size());
+        int[] row = {0};
+        jdbcTemplate.batchUpdate(INSERT_SQL, stats, batchSize, (ps, s) -> {
+            ps.setLong(1, ids[row[0]++]);
+            ps.setDouble(2, s.getOriginLat());
+            ps.setDouble(3, s.getOriginLon());
+            ps.setDouble(4, s.getDestinationLat());
+            ps.setDouble(5, s.getDestinationLon());
+            ps.setString(6, s.getModeUsed());
+            ps.setDouble(7, s.getDistanceKm());
+            ps.setInt(8, s.getDurationMinutes());
+            ps.setTimestamp(9, Timestamp.valueOf(s.getCalculationTime()));
+        });
+        return stats.size();
+    }
+
+    /**
+     * Recorre todas las estadísticas en orden de id con un cursor de solo avance y de solo lectura,
+     * entregando cada fila al manejador sin crear entidades ni acumular resultados. El controlador JDBC
+     * trae las filas en bloques de {@code fetchSize}; la transacción de solo lectura es necesaria para
+     * que controladores como el de PostgreSQL usen un cursor en lugar de leer todo el resultado.
+     * El manejador recibe el {@link ResultSet} posicionado en la fila; columnas: id, origin_lat,
+     * origin_lon, destination_lat, destination_lon, mode_used, distance_km, duration_minutes,
+     * calculation_time.
+     *
+     * @param fetchSize Número de filas que el controlador trae por viaje a la base de datos.
+     * @param handler Manejador invocado una vez por fila.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Recorre con un cursor de solo avance las estadísticas calculadas desde un momento dado, sin orden.
+     * El manejador recibe el {@link ResultSet} posicionado en la fila; columnas: origin_lat, origin_lon,
+     * mode_used, distance_km, duration_minutes, calculation_time.
+     *
+     * @param since Momento a partir del cual (inclusive) se leen las filas.
+     * @param fetchSize Número de filas que el controlador trae por viaje a la base de datos.
+     * @param handler Manejador invocado una vez por fila.
+     */
+    @Transactional(readOnly = true)
+    public void streamSince(LocalDateTime since, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SINCE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setTimestamp(1, Timestamp.valueOf(since));
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Elimina las estadísticas anteriores a un momento en bloques de como mucho {@code chunkSize} filas.
+     * Cada bloque es una sentencia con su propia transacción, por lo que los bloqueos y el volumen de
+     * WAL/undo de cada una quedan acotados, a diferencia de un único DELETE sobre todo el rango.
+     *
+     * @param cutoff Momento límite; se eliminan las filas con {@code calculation_time} anterior.
+     * @param chunkSize Número máximo de filas por sentencia.
+     * @return Número total de filas eliminadas.
+     */
+    public long deleteOlderThan(LocalDateTime cutoff, int chunkSize) {
+        Timestamp limit = Timestamp.valueOf(cutoff);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_CHUNK_SQL, limit, chunkSize);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
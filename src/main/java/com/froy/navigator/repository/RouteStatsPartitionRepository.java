@@ -0,0 +1,114 @@
+package com.froy.navigator.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Repositorio JDBC para las particiones de route_stats en PostgreSQL (particionado declarativo por rango
+ * de {@code calculation_time}). Crear y eliminar particiones son operaciones de DDL: eliminar una partición
+ * libera sus filas de inmediato, sin el coste de borrarlas una a una.
+ */
+@Repository
+public class RouteStatsPartitionRepository {
+
+    private static final String TABLE = "route_stats";
+
+    private static final String IS_PARTITIONED_SQL = """
+            SELECT COUNT(*) FROM pg_partitioned_table p
+            JOIN pg_class c ON c.oid = p.partrelid
+            WHERE c.relname = ? AND pg_table_is_visible(c.oid)""";
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ? AND pg_table_is_visible(p.oid)
+            ORDER BY c.relname""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construye el repositorio con el JdbcTemplate configurado por Spring Boot.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el DataSource de la aplicación.
+     */
+    public RouteStatsPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Indica si la base de datos es PostgreSQL y route_stats es una tabla particionada.
+     * En cualquier otra base (p. ej. H2) devuelve {@code false} sin consultar el catálogo.
+     *
+     * @return {@code true} si se pueden crear y eliminar particiones.
+     */
+    public boolean isPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgresql")) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Nombres de las particiones de route_stats, incluida la partición por defecto.
+     *
+     * @return Nombres de tabla ordenados alfabéticamente.
+     */
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, TABLE);
+    }
+
+    /**
+     * Crea, si no existe, la partición que cubre {@code [from, to)}.
+     *
+     * @param suffix Sufijo del nombre de la partición ({@code route_stats_p<suffix>}).
+     * @param from Inicio del rango, inclusive.
+     * @param to Fin del rango, exclusivo.
+     */
+    public void createPartition(String suffix, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(suffix) + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Elimina una partición con todas sus filas.
+     *
+     * @param suffix Sufijo del nombre de la partición ({@code route_stats_p<suffix>}).
+     */
+    public void dropPartition(String suffix) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(suffix));
+    }
+
+    /**
+     * Nombre de la partición con un sufijo dado.
+     *
+     * @param suffix Sufijo numérico del periodo.
+     * @return Nombre de la tabla de la partición.
+     * @throws IllegalArgumentException si el sufijo no es numérico.
+     */
+    public static String partitionName(String suffix) {
+        if (suffix.isEmpty() || !suffix.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("Sufijo de partición inválido: " + suffix);
+        }
+        return TABLE + "_p" + suffix;
+    }
+
+    /**
+     * Sufijo de una partición a partir de su nombre.
+     *
+     * @param partitionName Nombre de tabla devuelto por {@link #findPartitionNames()}.
+     * @return Sufijo, o {@code null} si no es una partición de periodo (p. ej. la partición por defecto).
+     */
+    public static String suffixOf(String partitionName) {
+        String prefix = TABLE + "_p";
+        return partitionName.startsWith(prefix) ? partitionName.substring(prefix.length()) : null;
+    }
+}
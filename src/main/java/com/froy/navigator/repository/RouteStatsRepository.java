@@ -18,7 +18,9 @@ public interface RouteStatsRepository extends JpaRepository<RouteStats, Long> {
 
     /**
      * Elimina todas las entradas de estadísticas de rutas anteriores a una fecha específica.
-     * Ejemplo de una consulta nativa con una operación de modificación.
+     * Ejemplo de una consulta nativa con una operación de modificación. Es una sola sentencia y una sola
+     * transacción: en tablas grandes conviene la retención de {@code RouteStatsRetentionService}, que
+     * elimina particiones completas o borra por bloques.
      *
      * @param dateTime Fecha y hora límite. Las entradas anteriores serán eliminadas.
      * @return Número de entidades eliminadas.
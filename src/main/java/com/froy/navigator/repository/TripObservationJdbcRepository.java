@@ -0,0 +1,101 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.entity.TripObservation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio JDBC de {@link TripObservation}: inserciones por lotes y lectura incremental por id.
+ */
+@Repository
+public class TripObservationJdbcRepository {
+
+    /**
+     * Los ids se reservan por bloques de la secuencia ({@link PooledLoIds}) al insertar y se asignan en el
+     * orden de las filas. Cada inserción reserva bloques nuevos, así que los ids siguen el orden de
+     * inserción también entre varias instancias; {@link #streamAfter} depende de ello.
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO trip_observations (id, origin_lat, origin_lon, destination_lat, destination_lon, mode_used,
+                                           predicted_minutes, correction_factor, actual_minutes, recorded_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SELECT_AFTER_SQL = """
+            SELECT id, origin_lat, origin_lon, mode_used, predicted_minutes, correction_factor, actual_minutes,
+                   recorded_time
+            FROM trip_observations
+            WHERE id > ? AND recorded_time >= ?
+            ORDER BY id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construye el repositorio con el JdbcTemplate configurado por Spring Boot.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el DataSource de la aplicación.
+     */
+    public TripObservationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta todas las observaciones en lotes JDBC dentro de una misma transacción.
+     *
+     * @param observations Observaciones a insertar.
+     * @param batchSize Número máximo de filas por lote JDBC.
+     * @return Número de filas enviadas a la base de datos.
+     */
+    @Transactional
+    public int insertAll(List<TripObservation> observations, int batchSize) {
+        if (observations.isEmpty()) {
+            return 0;
+        }
+        long[] ids = PooledLoIds.allocate(jdbcTemplate, TripObservation.ID_SEQUENCE,
+                TripObservation.ID_ALLOCATION_SIZE, observations.size());
+        int[] row = {0};
+        jdbcTemplate.batchUpdate(INSERT_SQL, observations, batchSize, (ps, o) -> {
+            ps.setLong(1, ids[row[0]++]);
+            ps.setDouble(2, o.getOriginLat());
+            ps.setDouble(3, o.getOriginLon());
+            ps.setDouble(4, o.getDestinationLat());
+            ps.setDouble(5, o.getDestinationLon());
+            ps.setString(6, o.getModeUsed());
+            ps.setInt(7, o.getPredictedMinutes());
+            ps.setDouble(8, o.getCorrectionFactor());
+            ps.setInt(9, o.getActualMinutes());
+            ps.setTimestamp(10, Timestamp.valueOf(o.getRecordedTime()));
+        });
+        return observations.size();
+    }
+
+    /**
+     * Recorre en orden de id, con un cursor de solo avance, las observaciones posteriores a una marca de
+     * agua y registradas desde un momento dado. El manejador recibe el {@link ResultSet} posicionado en
+     * la fila; columnas: id, origin_lat, origin_lon, mode_used, predicted_minutes, correction_factor,
+     * actual_minutes, recorded_time.
+     *
+     * @param afterId Marca de agua: se leen los ids mayores.
+     * @param since Momento a partir del cual (inclusive) se leen las filas.
+     * @param fetchSize Número de filas que el controlador trae por viaje a la base de datos.
+     * @param handler Manejador invocado una vez por fila.
+     */
+    @Transactional(readOnly = true)
+    public void streamAfter(long afterId, LocalDateTime since, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_AFTER_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterId);
+            statement.setTimestamp(2, Timestamp.valueOf(since));
+            return statement;
+        }, handler);
+    }
+}
@@ -0,0 +1,261 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.util.DistanceCalculator;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda A* bidireccional del camino más rápido entre dos nodos de un {@link RoadGraph}.
+ * <p>
+ * Ambas búsquedas usan el potencial promedio {@code p(v) = (h(v, destino) - h(origen, v)) / 2},
+ * donde {@code h} es la mayor de dos cotas inferiores: la distancia en línea recta dividida entre la
+ * velocidad máxima del perfil y, si hay un {@link LandmarkIndex}, la cota ALT de los landmarks más
+ * útiles para el par origen-destino.
+ * Ese potencial es consistente en ambos sentidos, por lo que la búsqueda puede detenerse en cuanto
+ * la suma de las prioridades mínimas de las dos colas alcanza el mejor camino encontrado.
+ * <p>
+ * Una instancia reserva arreglos del tamaño del grafo y los reutiliza entre consultas mediante
+ * marcas de generación, así que no asigna memoria por consulta; no es segura para uso concurrente
+ * (cada hilo debe usar la suya).
+ */
+final class BidirectionalAStar {
+
+    /**
+     * Factor que compensa la aproximación plana de la heurística para que nunca sobreestime.
+     */
+    private static final double HEURISTIC_SAFETY = 0.99;
+
+    /**
+     * Número de landmarks evaluados por consulta; los demás aportan poco y encarecen cada potencial.
+     */
+    private static final int ACTIVE_LANDMARKS = 4;
+
+    private static final double EARTH_RADIUS_METERS = DistanceCalculator.EARTH_RADIUS_KM * 1000;
+
+    private final RoadGraph graph;
+    private final double[] distForward;
+    private final double[] distBackward;
+    private final double[] potential;
+    private final int[] parentForward;
+    private final int[] parentBackward;
+    private final int[] seenForward;
+    private final int[] seenBackward;
+    private final int[] doneForward;
+    private final int[] doneBackward;
+    private final int[] potentialStamp;
+    private final IntDoubleMinHeap heapForward;
+    private final IntDoubleMinHeap heapBackward;
+    private final int[] activeLandmarks = new int[ACTIVE_LANDMARKS];
+    private int generation;
+
+    // Estado de la consulta en curso
+    private CostProfile profile;
+    private LandmarkIndex landmarks;
+    private int activeLandmarkCount;
+    private double heuristicScale;
+    private int source;
+    private int target;
+    private double sourceLat;
+    private double sourceLon;
+    private double targetLat;
+    private double targetLon;
+
+    BidirectionalAStar(RoadGraph graph) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.distForward = new double[n];
+        this.distBackward = new double[n];
+        this.potential = new double[n];
+        this.parentForward = new int[n];
+        this.parentBackward = new int[n];
+        this.seenForward = new int[n];
+        this.seenBackward = new int[n];
+        this.doneForward = new int[n];
+        this.doneBackward = new int[n];
+        this.potentialStamp = new int[n];
+        this.heapForward = new IntDoubleMinHeap(1024);
+        this.heapBackward = new IntDoubleMinHeap(1024);
+    }
+
+    RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Calcula el camino más rápido entre dos nodos.
+     *
+     * @param source Nodo de origen.
+     * @param target Nodo de destino.
+     * @param costProfile Perfil de costo del modo de transporte.
+     * @param landmarkIndex Landmarks precalculados para el perfil, o null para usar solo la línea recta.
+     * @param maxSettledNodes Número máximo de nodos a procesar antes de abandonar la búsqueda.
+     * @return El camino encontrado, o null si no existe (o se superó el límite de nodos).
+     */
+    RoutePath route(int source, int target, CostProfile costProfile, LandmarkIndex landmarkIndex,
+                    int maxSettledNodes) {
+        startQuery(source, target, costProfile, landmarkIndex);
+        if (source == target) {
+            return new RoutePath(new int[0], 0, 0);
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        int settled = 0;
+
+        distForward[source] = 0;
+        seenForward[source] = generation;
+        heapForward.push(source, potential(source));
+        distBackward[target] = 0;
+        seenBackward[target] = generation;
+        heapBackward.push(target, -potential(target));
+
+        while (!heapForward.isEmpty() && !heapBackward.isEmpty()) {
+            double forwardKey = heapForward.peekKey();
+            double backwardKey = heapBackward.peekKey();
+            if (forwardKey + backwardKey >= best) {
+                break;
+            }
+            if (forwardKey <= backwardKey) {
+                int u = heapForward.pop();
+                if (doneForward[u] == generation) {
+                    continue;
+                }
+                doneForward[u] = generation;
+                if (++settled > maxSettledNodes) {
+                    return null;
+                }
+                double du = distForward[u];
+                for (int e = graph.firstEdge(u), end = graph.firstEdge(u + 1); e < end; e++) {
+                    double w = profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+                    if (w == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    int v = graph.edgeTarget(e);
+                    double nd = du + w;
+                    if (seenForward[v] != generation || nd < distForward[v]) {
+                        seenForward[v] = generation;
+                        distForward[v] = nd;
+                        parentForward[v] = e;
+                        heapForward.push(v, nd + potential(v));
+                    }
+                    if (seenBackward[v] == generation && distForward[v] + distBackward[v] < best) {
+                        best = distForward[v] + distBackward[v];
+                        meeting = v;
+                    }
+                }
+            } else {
+                int u = heapBackward.pop();
+                if (doneBackward[u] == generation) {
+                    continue;
+                }
+                doneBackward[u] = generation;
+                if (++settled > maxSettledNodes) {
+                    return null;
+                }
+                double du = distBackward[u];
+                for (int k = graph.firstReverseEdge(u), end = graph.firstReverseEdge(u + 1); k < end; k++) {
+                    int e = graph.reverseEdge(k);
+                    double w = profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+                    if (w == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    int v = graph.edgeSource(e);
+                    double nd = du + w;
+                    if (seenBackward[v] != generation || nd < distBackward[v]) {
+                        seenBackward[v] = generation;
+                        distBackward[v] = nd;
+                        parentBackward[v] = e;
+                        heapBackward.push(v, nd - potential(v));
+                    }
+                    if (seenForward[v] == generation && distForward[v] + distBackward[v] < best) {
+                        best = distForward[v] + distBackward[v];
+                        meeting = v;
+                    }
+                }
+            }
+        }
+        return meeting < 0 ? null : buildPath(source, target, meeting, best);
+    }
+
+    private void startQuery(int source, int target, CostProfile costProfile, LandmarkIndex landmarkIndex) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenForward, 0);
+            Arrays.fill(seenBackward, 0);
+            Arrays.fill(doneForward, 0);
+            Arrays.fill(doneBackward, 0);
+            Arrays.fill(potentialStamp, 0);
+            generation = 1;
+        }
+        heapForward.clear();
+        heapBackward.clear();
+        this.profile = costProfile;
+        this.landmarks = landmarkIndex;
+        this.activeLandmarkCount = landmarkIndex == null
+                ? 0
+                : landmarkIndex.selectActive(source, target, activeLandmarks);
+        this.source = source;
+        this.target = target;
+        this.heuristicScale = HEURISTIC_SAFETY * EARTH_RADIUS_METERS / costProfile.maxSpeedMps();
+        this.sourceLat = Math.toRadians(graph.nodeLat(source));
+        this.sourceLon = Math.toRadians(graph.nodeLon(source));
+        this.targetLat = Math.toRadians(graph.nodeLat(target));
+        this.targetLon = Math.toRadians(graph.nodeLon(target));
+    }
+
+    /**
+     * Potencial promedio del nodo, calculado una vez por consulta.
+     */
+    private double potential(int node) {
+        if (potentialStamp[node] == generation) {
+            return potential[node];
+        }
+        double lat = Math.toRadians(graph.nodeLat(node));
+        double lon = Math.toRadians(graph.nodeLon(node));
+        double toTarget = lowerBoundSeconds(lat, lon, targetLat, targetLon);
+        double fromSource = lowerBoundSeconds(sourceLat, sourceLon, lat, lon);
+        if (activeLandmarkCount > 0) {
+            toTarget = Math.max(toTarget, landmarks.lowerBound(node, target, activeLandmarks, activeLandmarkCount));
+            fromSource = Math.max(fromSource, landmarks.lowerBound(source, node, activeLandmarks, activeLandmarkCount));
+        }
+        double p = (toTarget - fromSource) * 0.5;
+        potential[node] = p;
+        potentialStamp[node] = generation;
+        return p;
+    }
+
+    /**
+     * Cota inferior del tiempo de viaje entre dos puntos (en radianes): distancia equirrectangular
+     * con el coseno mínimo del grafo, dividida entre la velocidad máxima del perfil.
+     */
+    private double lowerBoundSeconds(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = lat2 - lat1;
+        double dLon = (lon2 - lon1) * graph.minCosLat();
+        return heuristicScale * Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    private RoutePath buildPath(int source, int target, int meeting, double seconds) {
+        int count = 0;
+        for (int v = meeting; v != source; v = graph.edgeSource(parentForward[v])) {
+            count++;
+        }
+        int forwardCount = count;
+        for (int v = meeting; v != target; v = graph.edgeTarget(parentBackward[v])) {
+            count++;
+        }
+
+        int[] edges = new int[count];
+        double meters = 0;
+        int i = forwardCount - 1;
+        for (int v = meeting; v != source; v = graph.edgeSource(parentForward[v])) {
+            edges[i--] = parentForward[v];
+        }
+        i = forwardCount;
+        for (int v = meeting; v != target; v = graph.edgeTarget(parentBackward[v])) {
+            edges[i++] = parentBackward[v];
+        }
+        for (int e : edges) {
+            meters += graph.edgeLengthMeters(e);
+        }
+        return new RoutePath(edges, meters, seconds);
+    }
+}
@@ -0,0 +1,68 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Perfil de costo de un modo de transporte sobre el grafo de carreteras.
+ * Define la velocidad (km/h) en cada {@link RoadClass}; una velocidad de cero
+ * indica que el modo no puede usar esa categoría de vía (p. ej. bicicletas en autopistas).
+ * El costo de una arista es su tiempo de recorrido en segundos.
+ */
+public final class CostProfile {
+
+    private static final Map<TransportMode, CostProfile> DEFAULTS = new EnumMap<>(TransportMode.class);
+
+    static {
+        //                                                    MOTORWAY PRIMARY SECONDARY RESIDENTIAL CYCLEWAY
+        DEFAULTS.put(TransportMode.CAR, new CostProfile(new double[]{100, 60, 45, 30, 0}));
+        DEFAULTS.put(TransportMode.MOTORCYCLE, new CostProfile(new double[]{90, 60, 45, 30, 0}));
+        DEFAULTS.put(TransportMode.BIKE, new CostProfile(new double[]{0, 16, 16, 15, 18}));
+    }
+
+    private final double[] speedMps;
+    private final double maxSpeedMps;
+
+    private CostProfile(double[] speedKmh) {
+        this.speedMps = new double[speedKmh.length];
+        double max = 0;
+        for (int i = 0; i < speedKmh.length; i++) {
+            speedMps[i] = speedKmh[i] / 3.6;
+            max = Math.max(max, speedMps[i]);
+        }
+        this.maxSpeedMps = max;
+    }
+
+    /**
+     * Devuelve el perfil por defecto de un modo de transporte.
+     *
+     * @param mode Modo de transporte.
+     * @return Perfil de costo del modo.
+     */
+    public static CostProfile forMode(TransportMode mode) {
+        return DEFAULTS.get(mode);
+    }
+
+    /**
+     * Calcula el tiempo de recorrido de una arista.
+     *
+     * @param roadClassCode Código de la categoría de vía de la arista.
+     * @param lengthMeters Longitud de la arista en metros.
+     * @return Tiempo en segundos, o {@link Double#POSITIVE_INFINITY} si el modo no puede usar la vía.
+     */
+    public double travelSeconds(int roadClassCode, double lengthMeters) {
+        double speed = speedMps[roadClassCode];
+        return speed > 0 ? lengthMeters / speed : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Velocidad máxima del perfil, usada para que la heurística de A* nunca sobreestime el costo.
+     *
+     * @return Velocidad máxima en metros por segundo.
+     */
+    public double maxSpeedMps() {
+        return maxSpeedMps;
+    }
+}
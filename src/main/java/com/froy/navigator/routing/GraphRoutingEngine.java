@@ -0,0 +1,358 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.exception.NotFoundException;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.util.DistanceCalculator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Motor de ruteo sobre un grafo de carreteras real.
+ * <p>
+ * Carga el grafo configurado en {@code navigator.routing.graph.path} al iniciar y responde cada
+ * solicitud con A* bidireccional usando el {@link CostProfile} del modo de transporte, guiada por un
+ * {@link LandmarkIndex} por modo. Un archivo binario generado con {@link RoadGraphCompiler} se mapea
+ * en memoria con sus landmarks ya calculados y queda listo en milisegundos; una lista de aristas CSV
+ * se construye y se preprocesa en el arranque. Si no hay
+ * grafo configurado, o el origen o el destino quedan fuera de su cobertura, devuelve un
+ * {@link Optional} vacío para que la estrategia use su estimación en línea recta.
+ * <p>
+ * Los puntos se ajustan a la red con el {@link NodeSpatialIndex} del grafo, que también se expone
+ * para búsquedas de vecinos y por radio. Las búsquedas toman un {@link BidirectionalAStar} de un
+ * grupo acotado a {@code navigator.routing.max-concurrent-searches}, por lo que las consultas no
+ * asignan arreglos del tamaño del grafo y la memoria no crece con el número de hilos: con hilos
+ * virtuales cada petición corre en un hilo nuevo y un {@link ThreadLocal} crearía un buscador por
+ * petición. El cálculo usa solo CPU, así que limitarlo a los procesadores no reduce el rendimiento.
+ */
+@Component
+public class GraphRoutingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphRoutingEngine.class);
+
+    private final String graphPath;
+    private final double snapMaxDistanceMeters;
+    private final int maxSettledNodes;
+    private final int landmarkCount;
+    private final Semaphore searchPermits;
+    private final Queue<BidirectionalAStar> idleSearchers = new ConcurrentLinkedQueue<>();
+    private final Queue<IsochroneSearch> idleIsochroneSearchers = new ConcurrentLinkedQueue<>();
+    private volatile PreparedGraph loaded;
+
+    /**
+     * Construye el motor de ruteo.
+     *
+     * @param graphPath Ruta del grafo (binario o CSV); vacío para desactivar el ruteo sobre grafo.
+     * @param snapMaxDistanceMeters Distancia máxima (m) entre un punto solicitado y el nodo más cercano.
+     * @param maxSettledNodes Número máximo de nodos procesados por consulta antes de abandonarla.
+     * @param landmarkCount Landmarks calculados por modo al cargar un CSV (0 = solo heurística en línea recta).
+     * @param maxConcurrentSearches Búsquedas simultáneas sobre el grafo (0 = número de procesadores disponibles).
+     */
+    public GraphRoutingEngine(@Value("${navigator.routing.graph.path:}") String graphPath,
+                              @Value("${navigator.routing.snap-max-distance:500}") double snapMaxDistanceMeters,
+                              @Value("${navigator.routing.max-settled-nodes:2000000}") int maxSettledNodes,
+                              @Value("${navigator.routing.landmarks:16}") int landmarkCount,
+                              @Value("${navigator.routing.max-concurrent-searches:0}") int maxConcurrentSearches) {
+        this.graphPath = graphPath;
+        this.snapMaxDistanceMeters = snapMaxDistanceMeters;
+        this.maxSettledNodes = maxSettledNodes;
+        this.landmarkCount = landmarkCount;
+        this.searchPermits = new Semaphore(maxConcurrentSearches > 0
+                ? maxConcurrentSearches
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Carga el grafo configurado, si lo hay.
+     */
+    @PostConstruct
+    public void init() {
+        if (graphPath == null || graphPath.isBlank()) {
+            log.info("Sin grafo de carreteras configurado; las rutas se estiman en línea recta");
+            return;
+        }
+        long start = System.nanoTime();
+        Path path = Path.of(graphPath);
+        boolean binary;
+        try {
+            binary = RoadGraphFile.isBinary(path);
+            this.loaded = binary
+                    ? RoadGraphFile.open(path)
+                    : PreparedGraph.prepare(RoadGraphLoader.loadCsv(path), landmarkCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar el grafo de carreteras " + graphPath, e);
+        }
+        RoadGraph graph = loaded.graph();
+        log.info("Grafo de carreteras {} desde {}: {} nodos, {} aristas, {} landmarks por modo en {} ms",
+                binary ? "mapeado" : "construido", graphPath, graph.nodeCount(), graph.edgeCount(),
+                loaded.landmarkCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reemplaza el grafo usado por el motor y precalcula sus landmarks.
+     * Las consultas en curso terminan con el grafo anterior.
+     *
+     * @param roadGraph Grafo nuevo, o null para desactivar el ruteo sobre grafo.
+     */
+    public void useGraph(RoadGraph roadGraph) {
+        this.loaded = roadGraph == null ? null : PreparedGraph.prepare(roadGraph, landmarkCount);
+    }
+
+    /**
+     * Indica si hay un grafo cargado.
+     *
+     * @return true si las rutas se calculan sobre el grafo.
+     */
+    public boolean isAvailable() {
+        return loaded != null;
+    }
+
+    /**
+     * Calcula la ruta sobre el grafo para un modo de transporte.
+     *
+     * @param request Solicitud con origen y destino.
+     * @param mode Modo de transporte cuyo perfil de costo se aplica.
+     * @return La ruta calculada, o vacío si no hay grafo o algún punto está fuera de su cobertura.
+     * @throws NotFoundException si ambos puntos están en el grafo pero no existe un camino entre ellos.
+     */
+    public Optional<RouteResponse> route(RouteRequest request, TransportMode mode) {
+        return findPath(request, mode).map(found -> {
+            RoutePath path = found.path();
+            List<String> steps = RouteInstructions.build(found.graph(), path, request.origin(), request.destination());
+            return new RouteResponse(round(path.meters() / 1000), (int) (path.seconds() / 60), steps, mode.name());
+        });
+    }
+
+    /**
+     * Calcula la ruta sobre el grafo junto con su geometría, para seguir el avance de un cliente.
+     * La polilínea incluye los tramos rectos entre los puntos solicitados y los nodos a los que se
+     * ajustaron, recorridos a la velocidad media del camino.
+     *
+     * @param request Solicitud con origen y destino.
+     * @param mode Modo de transporte cuyo perfil de costo se aplica.
+     * @return Geometría de la ruta, o vacío si no hay grafo o algún punto está fuera de su cobertura.
+     * @throws NotFoundException si ambos puntos están en el grafo pero no existe un camino entre ellos.
+     */
+    public Optional<RouteTrack> track(RouteRequest request, TransportMode mode) {
+        return findPath(request, mode).map(found -> {
+            RoadGraph graph = found.graph();
+            RoutePath path = found.path();
+            int[] edges = path.edges();
+            int vertices = edges.length + 3;
+            double[] lats = new double[vertices];
+            double[] lons = new double[vertices];
+            double[] meters = new double[vertices];
+            double[] seconds = new double[vertices];
+            double secondsPerMeter = path.meters() > 0 ? path.seconds() / path.meters() : 0;
+            CostProfile profile = CostProfile.forMode(mode);
+
+            lats[0] = request.origin().lat();
+            lons[0] = request.origin().lon();
+            int first = edges.length > 0 ? graph.edgeSource(edges[0]) : found.source();
+            lats[1] = graph.nodeLat(first);
+            lons[1] = graph.nodeLon(first);
+            meters[1] = 1000 * DistanceCalculator.calculateDistance(lats[0], lons[0], lats[1], lons[1]);
+            seconds[1] = meters[1] * secondsPerMeter;
+            for (int i = 0; i < edges.length; i++) {
+                int e = edges[i];
+                int to = graph.edgeTarget(e);
+                lats[i + 2] = graph.nodeLat(to);
+                lons[i + 2] = graph.nodeLon(to);
+                meters[i + 2] = meters[i + 1] + graph.edgeLengthMeters(e);
+                seconds[i + 2] = seconds[i + 1] + profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+            }
+            int end = vertices - 1;
+            lats[end] = request.destination().lat();
+            lons[end] = request.destination().lon();
+            double tail = 1000 * DistanceCalculator.calculateDistance(lats[end - 1], lons[end - 1], lats[end], lons[end]);
+            meters[end] = meters[end - 1] + tail;
+            seconds[end] = seconds[end - 1] + tail * secondsPerMeter;
+
+            double[] stepStart = new double[edges.length + 2];
+            List<String> steps = RouteInstructions.build(graph, path, request.origin(), request.destination(),
+                    stepStart, meters[1], tail);
+            return new RouteTrack(lats, lons, meters, seconds, steps, Arrays.copyOf(stepStart, steps.size()));
+        });
+    }
+
+    /**
+     * Ajusta origen y destino al grafo y busca el camino entre ellos.
+     */
+    private Optional<FoundPath> findPath(RouteRequest request, TransportMode mode) {
+        PreparedGraph snapshot = loaded;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        RoadGraph current = snapshot.graph();
+        int source = snap(snapshot, request.origin());
+        int target = snap(snapshot, request.destination());
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+
+        RoutePath path = search(current, source, target, mode, snapshot.landmarks().get(mode));
+        if (path == null) {
+            throw new NotFoundException("No existe una ruta en " + mode + " entre " + request.origin()
+                    + " y " + request.destination());
+        }
+        return Optional.of(new FoundPath(current, source, path));
+    }
+
+    /**
+     * Ejecuta una búsqueda con un buscador del grupo. Si no hay permisos libres, el hilo espera;
+     * {@link Semaphore} se estaciona sin fijar el hilo virtual a su portador. Los buscadores de un
+     * grafo reemplazado se descartan al devolverlos.
+     */
+    private RoutePath search(RoadGraph current, int source, int target, TransportMode mode, LandmarkIndex landmarks) {
+        searchPermits.acquireUninterruptibly();
+        BidirectionalAStar searcher = idleSearchers.poll();
+        try {
+            if (searcher == null || searcher.graph() != current) {
+                searcher = new BidirectionalAStar(current);
+            }
+            return searcher.route(source, target, CostProfile.forMode(mode), landmarks, maxSettledNodes);
+        } finally {
+            if (searcher != null && searcher.graph() == loadedGraph()) {
+                idleSearchers.offer(searcher);
+            }
+            searchPermits.release();
+        }
+    }
+
+    /**
+     * Marca en una rejilla todo lo que se alcanza sobre el grafo desde un punto dentro de un tiempo
+     * máximo, con una sola expansión de Dijkstra acotada. El tramo recto entre el punto y el nodo al que
+     * se ajusta se recorre a {@code connectorSpeedMps}. La expansión comparte los permisos de búsqueda de
+     * las rutas y toma sus arreglos de un grupo de buscadores, como {@link #route}.
+     *
+     * @param origin Punto de partida.
+     * @param mode Modo de transporte cuyo perfil de costo se aplica.
+     * @param maxSeconds Tiempo máximo en segundos.
+     * @param connectorSpeedMps Velocidad (m/s) del tramo entre el punto y la red.
+     * @param maxSettled Número máximo de nodos a asentar.
+     * @param grid Rejilla donde se registran los tiempos.
+     * @return Nodos asentados (mayor que {@code maxSettled} si la expansión se cortó en el límite), o -1 si
+     *         no hay grafo o el punto está fuera de su cobertura.
+     */
+    public int isochrone(GeoPoint origin, TransportMode mode, double maxSeconds, double connectorSpeedMps,
+                         int maxSettled, ReachabilityGrid grid) {
+        PreparedGraph snapshot = loaded;
+        if (snapshot == null) {
+            return -1;
+        }
+        int source = snap(snapshot, origin);
+        if (source < 0) {
+            return -1;
+        }
+        RoadGraph current = snapshot.graph();
+        double connectorMeters = 1000 * DistanceCalculator.calculateDistance(origin.lat(), origin.lon(),
+                current.nodeLat(source), current.nodeLon(source));
+        double startSeconds = connectorSpeedMps > 0 ? connectorMeters / connectorSpeedMps : 0;
+
+        searchPermits.acquireUninterruptibly();
+        IsochroneSearch searcher = idleIsochroneSearchers.poll();
+        try {
+            if (searcher == null || searcher.graph() != current) {
+                searcher = new IsochroneSearch(current);
+            }
+            return searcher.expand(source, startSeconds, maxSeconds, CostProfile.forMode(mode), maxSettled, grid);
+        } finally {
+            if (searcher != null && searcher.graph() == loadedGraph()) {
+                idleIsochroneSearchers.offer(searcher);
+            }
+            searchPermits.release();
+        }
+    }
+
+    private RoadGraph loadedGraph() {
+        PreparedGraph snapshot = loaded;
+        return snapshot == null ? null : snapshot.graph();
+    }
+
+    /**
+     * Busca los nodos del grafo más cercanos a un punto.
+     *
+     * @param point Punto de consulta.
+     * @param k Número máximo de nodos a devolver.
+     * @param maxDistanceMeters Distancia máxima de los nodos al punto.
+     * @return Nodos encontrados, del más cercano al más lejano; vacío si no hay grafo.
+     */
+    public List<SnappedNode> nearestNodes(GeoPoint point, int k, double maxDistanceMeters) {
+        PreparedGraph snapshot = loaded;
+        if (snapshot == null) {
+            return List.of();
+        }
+        int[] nodes = snapshot.spatialIndex().nearest(point.lat(), point.lon(), k, maxDistanceMeters);
+        return toSnappedNodes(snapshot.graph(), point, nodes);
+    }
+
+    /**
+     * Busca los nodos del grafo que están dentro de un radio alrededor de un punto.
+     *
+     * @param point Punto de consulta.
+     * @param radiusMeters Radio en metros.
+     * @return Nodos encontrados, del más cercano al más lejano; vacío si no hay grafo.
+     */
+    public List<SnappedNode> nodesWithin(GeoPoint point, double radiusMeters) {
+        PreparedGraph snapshot = loaded;
+        if (snapshot == null) {
+            return List.of();
+        }
+        int[] nodes = snapshot.spatialIndex().within(point.lat(), point.lon(), radiusMeters);
+        List<SnappedNode> result = new ArrayList<>(toSnappedNodes(snapshot.graph(), point, nodes));
+        result.sort(Comparator.comparingDouble(SnappedNode::distanceMeters));
+        return result;
+    }
+
+    private List<SnappedNode> toSnappedNodes(RoadGraph graph, GeoPoint point, int[] nodes) {
+        List<SnappedNode> result = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            GeoPoint location = new GeoPoint(graph.nodeLat(node), graph.nodeLon(node));
+            result.add(new SnappedNode(node, location, 1000 * DistanceCalculator.calculateDistance(point, location)));
+        }
+        return result;
+    }
+
+    /**
+     * Ajusta un punto al nodo más cercano del grafo usando el índice espacial.
+     *
+     * @return Índice del nodo, o -1 si el más cercano está a más de la distancia máxima permitida.
+     */
+    private int snap(PreparedGraph snapshot, GeoPoint point) {
+        int node = snapshot.spatialIndex().nearest(point.lat(), point.lon());
+        if (node < 0) {
+            return -1;
+        }
+        RoadGraph graph = snapshot.graph();
+        double meters = 1000 * DistanceCalculator.calculateDistance(point.lat(), point.lon(),
+                graph.nodeLat(node), graph.nodeLon(node));
+        return meters <= snapMaxDistanceMeters ? node : -1;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Camino encontrado junto con el grafo y el nodo de origen sobre los que se calculó.
+     */
+    private record FoundPath(RoadGraph graph, int source, RoutePath path) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.froy.navigator.routing;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario mínimo de pares (nodo, prioridad) sobre arreglos primitivos.
+ * No soporta "decrease-key": las búsquedas insertan el nodo de nuevo con la prioridad mejorada
+ * y descartan las entradas obsoletas al extraerlas. Se reutiliza entre consultas con {@link #clear()}.
+ */
+final class IntDoubleMinHeap {
+
+    private int[] nodes;
+    private double[] keys;
+    private int size;
+
+    IntDoubleMinHeap(int initialCapacity) {
+        this.nodes = new int[Math.max(16, initialCapacity)];
+        this.keys = new double[nodes.length];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void push(int node, double key) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+    }
+
+    double peekKey() {
+        return keys[0];
+    }
+
+    int peekNode() {
+        return nodes[0];
+    }
+
+    /**
+     * Extrae el nodo de menor prioridad.
+     *
+     * @return Nodo extraído (su prioridad puede consultarse antes con {@link #peekKey()}).
+     */
+    int pop() {
+        int top = nodes[0];
+        size--;
+        if (size > 0) {
+            int node = nodes[size];
+            double key = keys[size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && keys[right] < keys[child]) {
+                    child = right;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,108 @@
+package com.froy.navigator.routing;
+
+import java.util.Arrays;
+
+/**
+ * Expansión de uno a muchos (Dijkstra acotado) desde un nodo de un {@link RoadGraph} que registra en
+ * una {@link ReachabilityGrid} todo lo que se alcanza dentro de un tiempo máximo.
+ * <p>
+ * Al asentar un nodo se marca su celda y se recorren sus aristas: la parte de cada arista que cabe en el
+ * tiempo restante se muestrea cada media celda, de modo que las carreteras largas que salen del área
+ * alcanzable también cuentan hasta donde se llega por ellas. Los nodos que quedarían fuera del tiempo
+ * no entran a la cola, y la búsqueda se corta al asentar el número máximo de nodos.
+ * <p>
+ * Como {@link BidirectionalAStar}, una instancia reutiliza arreglos del tamaño del grafo con marcas de
+ * generación y no es segura para uso concurrente.
+ */
+final class IsochroneSearch {
+
+    private final RoadGraph graph;
+    private final double[] dist;
+    private final int[] seen;
+    private final int[] done;
+    private final IntDoubleMinHeap heap;
+    private int generation;
+
+    IsochroneSearch(RoadGraph graph) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.dist = new double[n];
+        this.seen = new int[n];
+        this.done = new int[n];
+        this.heap = new IntDoubleMinHeap(1024);
+    }
+
+    RoadGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Expande la búsqueda desde un nodo y marca en la rejilla lo alcanzable.
+     *
+     * @param source Nodo de origen.
+     * @param startSeconds Tiempo ya empleado al llegar al nodo de origen.
+     * @param maxSeconds Tiempo máximo desde el punto de partida.
+     * @param profile Perfil de costo del modo de transporte.
+     * @param maxSettledNodes Número máximo de nodos a asentar.
+     * @param grid Rejilla donde se registran los tiempos.
+     * @return Nodos asentados; si es mayor que {@code maxSettledNodes}, la expansión se cortó en el límite.
+     */
+    int expand(int source, double startSeconds, double maxSeconds, CostProfile profile, int maxSettledNodes,
+               ReachabilityGrid grid) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(done, 0);
+            generation = 1;
+        }
+        heap.clear();
+        if (startSeconds > maxSeconds) {
+            return 0;
+        }
+        double sampleMeters = grid.cellMeters() / 2;
+        dist[source] = startSeconds;
+        seen[source] = generation;
+        heap.push(source, startSeconds);
+        int settled = 0;
+
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            if (done[u] == generation) {
+                continue;
+            }
+            if (++settled > maxSettledNodes) {
+                break;
+            }
+            done[u] = generation;
+            double du = dist[u];
+            double uLat = graph.nodeLat(u);
+            double uLon = graph.nodeLon(u);
+            grid.mark(uLat, uLon, du);
+            for (int e = graph.firstEdge(u), end = graph.firstEdge(u + 1); e < end; e++) {
+                double meters = graph.edgeLengthMeters(e);
+                double w = profile.travelSeconds(graph.edgeRoadClass(e), meters);
+                if (w == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int v = graph.edgeTarget(e);
+                double nd = du + w;
+                if (nd <= maxSeconds && (seen[v] != generation || nd < dist[v])) {
+                    seen[v] = generation;
+                    dist[v] = nd;
+                    heap.push(v, nd);
+                }
+                // Tramo de la arista recorrido dentro del tiempo, muestreado cada media celda
+                double reached = w > 0 ? Math.min(1, (maxSeconds - du) / w) : 1;
+                int samples = (int) Math.ceil(meters * reached / sampleMeters);
+                if (samples > 0) {
+                    double dLat = graph.nodeLat(v) - uLat;
+                    double dLon = graph.nodeLon(v) - uLon;
+                    for (int k = 1; k <= samples; k++) {
+                        double fraction = reached * k / samples;
+                        grid.mark(uLat + dLat * fraction, uLon + dLon * fraction, du + w * fraction);
+                    }
+                }
+            }
+        }
+        return settled;
+    }
+}
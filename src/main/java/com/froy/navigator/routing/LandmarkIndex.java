@@ -0,0 +1,203 @@
+package com.froy.navigator.routing;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Cotas inferiores ALT (A*, Landmarks, desigualdad Triangular) para un grafo y un perfil de costo.
+ * <p>
+ * Para un conjunto de nodos de referencia (landmarks) se precalculan los tiempos desde y hacia cada
+ * uno; por la desigualdad triangular, {@code d(v, t) >= d(L, t) - d(L, v)} y
+ * {@code d(v, t) >= d(v, L) - d(t, L)}. Estas cotas son mucho más ajustadas que la distancia en línea
+ * recta sobre la velocidad máxima, y reducen drásticamente los nodos que visita A*.
+ * <p>
+ * Los tiempos se guardan como {@code float} intercalados por nodo ({@code [nodo * k + landmark]}),
+ * de modo que las cotas de un nodo se leen de una sola línea de caché. Igual que {@link RoadGraph},
+ * los buffers pueden estar en el heap o mapeados desde un {@link RoadGraphFile}. Es inmutable y puede
+ * compartirse entre hilos.
+ */
+final class LandmarkIndex {
+
+    private final int count;
+    private final FloatBuffer fromLandmark;
+    private final FloatBuffer toLandmark;
+    private final float slack;
+
+    LandmarkIndex(int count, FloatBuffer fromLandmark, FloatBuffer toLandmark, float slack) {
+        this.count = count;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.slack = slack;
+    }
+
+    /**
+     * Elige los landmarks con la estrategia del más lejano (cada uno maximiza su distancia mínima
+     * a los ya elegidos) y precalcula sus tiempos en ambos sentidos.
+     *
+     * @param graph Grafo de carreteras.
+     * @param profile Perfil de costo del modo de transporte.
+     * @param requested Número de landmarks deseado.
+     * @return Índice de landmarks, o null si el grafo está vacío o no se pidieron landmarks.
+     */
+    static LandmarkIndex build(RoadGraph graph, CostProfile profile, int requested) {
+        int n = graph.nodeCount();
+        int k = Math.min(requested, n);
+        if (k <= 0) {
+            return null;
+        }
+        float[] fromLandmark = new float[n * k];
+        float[] toLandmark = new float[n * k];
+        double[] minDistance = new double[n];
+        Arrays.fill(minDistance, Double.POSITIVE_INFINITY);
+        double maxFinite = 0;
+
+        // El primer landmark es el nodo más lejano a un nodo arbitrario.
+        int landmark = farthest(dijkstra(graph, profile, 0, false));
+        for (int i = 0; i < k; i++) {
+            double[] from = dijkstra(graph, profile, landmark, false);
+            double[] to = dijkstra(graph, profile, landmark, true);
+            for (int v = 0; v < n; v++) {
+                fromLandmark[v * k + i] = (float) from[v];
+                toLandmark[v * k + i] = (float) to[v];
+                if (from[v] != Double.POSITIVE_INFINITY) {
+                    maxFinite = Math.max(maxFinite, from[v]);
+                    minDistance[v] = Math.min(minDistance[v], from[v]);
+                }
+                if (to[v] != Double.POSITIVE_INFINITY) {
+                    maxFinite = Math.max(maxFinite, to[v]);
+                }
+            }
+            landmark = farthest(minDistance);
+        }
+        // Error máximo de redondeo a float en la diferencia de dos tiempos.
+        float slack = 2 * Math.ulp((float) maxFinite);
+        return new LandmarkIndex(k, FloatBuffer.wrap(fromLandmark), FloatBuffer.wrap(toLandmark), slack);
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Margen restado a cada cota para absorber el redondeo a {@code float}.
+     */
+    float slack() {
+        return slack;
+    }
+
+    /**
+     * Tiempo desde el landmark hasta el nodo, en la posición {@code nodo * count() + landmark}.
+     */
+    float fromLandmark(int slot) {
+        return fromLandmark.get(slot);
+    }
+
+    /**
+     * Tiempo desde el nodo hasta el landmark, en la posición {@code nodo * count() + landmark}.
+     */
+    float toLandmark(int slot) {
+        return toLandmark.get(slot);
+    }
+
+    /**
+     * Elige los landmarks que dan la mejor cota entre origen y destino, que serán los únicos
+     * evaluados durante la consulta.
+     *
+     * @param source Nodo de origen.
+     * @param target Nodo de destino.
+     * @param active Arreglo que recibe los índices elegidos; su longitud es el máximo a elegir.
+     * @return Número de landmarks elegidos.
+     */
+    int selectActive(int source, int target, int[] active) {
+        int limit = Math.min(active.length, count);
+        double[] bounds = new double[limit];
+        int selected = 0;
+        for (int i = 0; i < count; i++) {
+            double bound = bound(source, target, i);
+            if (selected == limit && bound <= bounds[limit - 1]) {
+                continue;
+            }
+            // Inserción ordenada de mayor a menor cota
+            int pos = selected < limit ? selected++ : limit - 1;
+            while (pos > 0 && bounds[pos - 1] < bound) {
+                bounds[pos] = bounds[pos - 1];
+                active[pos] = active[pos - 1];
+                pos--;
+            }
+            bounds[pos] = bound;
+            active[pos] = i;
+        }
+        return selected;
+    }
+
+    /**
+     * Cota inferior del tiempo de viaje de {@code from} a {@code to} usando los landmarks indicados.
+     *
+     * @return Cota en segundos; puede ser negativa o cero si los landmarks no aportan información.
+     */
+    double lowerBound(int from, int to, int[] active, int activeCount) {
+        double best = 0;
+        for (int a = 0; a < activeCount; a++) {
+            best = Math.max(best, bound(from, to, active[a]));
+        }
+        return best;
+    }
+
+    private double bound(int from, int to, int landmark) {
+        double best = 0;
+        // d(from, to) >= d(L, to) - d(L, from)
+        float landmarkToTarget = fromLandmark.get(to * count + landmark);
+        if (landmarkToTarget != Float.POSITIVE_INFINITY) {
+            best = landmarkToTarget - fromLandmark.get(from * count + landmark);
+        }
+        // d(from, to) >= d(from, L) - d(to, L)
+        float sourceToLandmark = toLandmark.get(from * count + landmark);
+        if (sourceToLandmark != Float.POSITIVE_INFINITY) {
+            best = Math.max(best, sourceToLandmark - toLandmark.get(to * count + landmark));
+        }
+        return best - slack;
+    }
+
+    private static int farthest(double[] distance) {
+        int best = 0;
+        double bestDistance = -1;
+        for (int v = 0; v < distance.length; v++) {
+            double d = distance[v];
+            if (d != Double.POSITIVE_INFINITY && d > bestDistance) {
+                bestDistance = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Dijkstra completo desde un nodo, sobre las aristas salientes o, si {@code reverse}, entrantes.
+     */
+    private static double[] dijkstra(RoadGraph graph, CostProfile profile, int source, boolean reverse) {
+        double[] dist = new double[graph.nodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        IntDoubleMinHeap heap = new IntDoubleMinHeap(1024);
+        dist[source] = 0;
+        heap.push(source, 0);
+        while (!heap.isEmpty()) {
+            double du = heap.peekKey();
+            int u = heap.pop();
+            if (du > dist[u]) {
+                continue;
+            }
+            int begin = reverse ? graph.firstReverseEdge(u) : graph.firstEdge(u);
+            int end = reverse ? graph.firstReverseEdge(u + 1) : graph.firstEdge(u + 1);
+            for (int k = begin; k < end; k++) {
+                int e = reverse ? graph.reverseEdge(k) : k;
+                double nd = du + profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+                int v = reverse ? graph.edgeSource(e) : graph.edgeTarget(e);
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    heap.push(v, nd);
+                }
+            }
+        }
+        return dist;
+    }
+}
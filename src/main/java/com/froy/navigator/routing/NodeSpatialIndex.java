@@ -0,0 +1,382 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.util.DistanceCalculator;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice espacial estático de los nodos del grafo: un árbol k-d implícito sobre arreglos primitivos.
+ * <p>
+ * Los nodos se permutan de forma que cada rango {@code [lo, hi)} tiene su mediana en
+ * {@code (lo + hi) / 2}, partiendo alternadamente por latitud y longitud; los rangos de hasta
+ * {@link #DEFAULT_LEAF_SIZE} elementos son hojas que se recorren linealmente. No hay punteros ni
+ * objetos por nodo: el árbol son dos buffers en orden del árbol, los identificadores de nodo y las
+ * coordenadas intercaladas ({@code [2i] = lat, [2i + 1] = lon}, una sola línea de caché por visita),
+ * que pueden estar en el heap o mapeados desde un {@link RoadGraphFile}.
+ * <p>
+ * Las distancias usan la proyección equirrectangular con el coseno de la latitud de la consulta,
+ * precisa a escala de ciudad; los resultados se devuelven ordenados por esa distancia.
+ * Es inmutable y puede compartirse entre hilos.
+ */
+public final class NodeSpatialIndex {
+
+    static final int DEFAULT_LEAF_SIZE = 16;
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(DistanceCalculator.EARTH_RADIUS_KM * 1000);
+
+    private final int size;
+    private final int leafSize;
+    private final IntBuffer nodes;
+    private final DoubleBuffer coords;
+
+    NodeSpatialIndex(int size, int leafSize, IntBuffer nodes, DoubleBuffer coords) {
+        this.size = size;
+        this.leafSize = leafSize;
+        this.nodes = nodes;
+        this.coords = coords;
+    }
+
+    /**
+     * Construye el índice sobre los nodos de un grafo.
+     *
+     * @param graph Grafo de carreteras.
+     * @return Índice espacial de sus nodos.
+     */
+    public static NodeSpatialIndex build(RoadGraph graph) {
+        int n = graph.nodeCount();
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int v = 0; v < n; v++) {
+            lat[v] = graph.nodeLat(v);
+            lon[v] = graph.nodeLon(v);
+        }
+        return build(lat, lon);
+    }
+
+    /**
+     * Construye el índice sobre un conjunto de coordenadas; el identificador de cada punto es su posición.
+     *
+     * @param latitudes Latitudes en grados.
+     * @param longitudes Longitudes en grados.
+     * @return Índice espacial de los puntos.
+     */
+    public static NodeSpatialIndex build(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        partition(order, latitudes, longitudes, 0, n, 0);
+
+        double[] coords = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            coords[2 * i] = latitudes[order[i]];
+            coords[2 * i + 1] = longitudes[order[i]];
+        }
+        return new NodeSpatialIndex(n, DEFAULT_LEAF_SIZE, IntBuffer.wrap(order), DoubleBuffer.wrap(coords));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int leafSize() {
+        return leafSize;
+    }
+
+    /**
+     * Nodo en la posición indicada del árbol (para serializar el índice).
+     */
+    int nodeAt(int position) {
+        return nodes.get(position);
+    }
+
+    /**
+     * Coordenada intercalada en la posición indicada (para serializar el índice).
+     */
+    double coordAt(int slot) {
+        return coords.get(slot);
+    }
+
+    /**
+     * Busca el nodo más cercano a un punto.
+     *
+     * @param latitude Latitud en grados.
+     * @param longitude Longitud en grados.
+     * @return Identificador del nodo más cercano, o -1 si el índice está vacío.
+     */
+    public int nearest(double latitude, double longitude) {
+        Query query = new Query(latitude, longitude, 1, Double.POSITIVE_INFINITY);
+        nearest(0, size, 0, query);
+        return query.count == 0 ? -1 : nodes.get(query.positions[0]);
+    }
+
+    /**
+     * Busca los {@code k} nodos más cercanos a un punto.
+     *
+     * @param latitude Latitud en grados.
+     * @param longitude Longitud en grados.
+     * @param k Número de vecinos a devolver.
+     * @param maxDistanceMeters Distancia máxima de los vecinos ({@link Double#POSITIVE_INFINITY} = sin límite).
+     * @return Identificadores de hasta {@code k} nodos, del más cercano al más lejano.
+     */
+    public int[] nearest(double latitude, double longitude, int k, double maxDistanceMeters) {
+        if (k <= 0) {
+            return new int[0];
+        }
+        double maxDegrees = maxDistanceMeters / METERS_PER_DEGREE;
+        Query query = new Query(latitude, longitude, k, maxDegrees * maxDegrees);
+        nearest(0, size, 0, query);
+        return query.sortedNodes();
+    }
+
+    /**
+     * Recorre los nodos que están dentro de un radio, sin ningún orden particular.
+     *
+     * @param latitude Latitud en grados.
+     * @param longitude Longitud en grados.
+     * @param radiusMeters Radio en metros.
+     * @param action Acción a ejecutar con el identificador de cada nodo encontrado.
+     */
+    public void forEachWithin(double latitude, double longitude, double radiusMeters, IntConsumer action) {
+        double radiusDegrees = radiusMeters / METERS_PER_DEGREE;
+        within(0, size, 0, latitude, longitude, Math.cos(Math.toRadians(latitude)),
+                radiusDegrees * radiusDegrees, action);
+    }
+
+    /**
+     * Busca los nodos que están dentro de un radio.
+     *
+     * @param latitude Latitud en grados.
+     * @param longitude Longitud en grados.
+     * @param radiusMeters Radio en metros.
+     * @return Identificadores de los nodos encontrados, sin ningún orden particular.
+     */
+    public int[] within(double latitude, double longitude, double radiusMeters) {
+        int[][] found = {new int[16]};
+        int[] count = {0};
+        forEachWithin(latitude, longitude, radiusMeters, node -> {
+            if (count[0] == found[0].length) {
+                found[0] = Arrays.copyOf(found[0], count[0] * 2);
+            }
+            found[0][count[0]++] = node;
+        });
+        return Arrays.copyOf(found[0], count[0]);
+    }
+
+    private void nearest(int lo, int hi, int depth, Query query) {
+        if (hi - lo <= leafSize) {
+            for (int i = lo; i < hi; i++) {
+                query.offer(i, distanceSquared(i, query.lat, query.lon, query.cosLat));
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        query.offer(mid, distanceSquared(mid, query.lat, query.lon, query.cosLat));
+        double diff = (depth & 1) == 0
+                ? query.lat - coords.get(2 * mid)
+                : (query.lon - coords.get(2 * mid + 1)) * query.cosLat;
+        if (diff < 0) {
+            nearest(lo, mid, depth + 1, query);
+            if (diff * diff < query.bound()) {
+                nearest(mid + 1, hi, depth + 1, query);
+            }
+        } else {
+            nearest(mid + 1, hi, depth + 1, query);
+            if (diff * diff < query.bound()) {
+                nearest(lo, mid, depth + 1, query);
+            }
+        }
+    }
+
+    private void within(int lo, int hi, int depth, double qLat, double qLon, double cosLat, double radius2,
+                        IntConsumer action) {
+        if (hi - lo <= leafSize) {
+            for (int i = lo; i < hi; i++) {
+                if (distanceSquared(i, qLat, qLon, cosLat) <= radius2) {
+                    action.accept(nodes.get(i));
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (distanceSquared(mid, qLat, qLon, cosLat) <= radius2) {
+            action.accept(nodes.get(mid));
+        }
+        double diff = (depth & 1) == 0 ? qLat - coords.get(2 * mid) : (qLon - coords.get(2 * mid + 1)) * cosLat;
+        if (diff < 0 || diff * diff <= radius2) {
+            within(lo, mid, depth + 1, qLat, qLon, cosLat, radius2, action);
+        }
+        if (diff >= 0 || diff * diff <= radius2) {
+            within(mid + 1, hi, depth + 1, qLat, qLon, cosLat, radius2, action);
+        }
+    }
+
+    private double distanceSquared(int position, double qLat, double qLon, double cosLat) {
+        double dLat = qLat - coords.get(2 * position);
+        double dLon = (qLon - coords.get(2 * position + 1)) * cosLat;
+        return dLat * dLat + dLon * dLon;
+    }
+
+    /**
+     * Ordena recursivamente {@code order[lo, hi)} para que la mediana de cada rango quede en su centro.
+     */
+    private static void partition(int[] order, double[] latitudes, double[] longitudes, int lo, int hi, int depth) {
+        while (hi - lo > DEFAULT_LEAF_SIZE) {
+            int mid = (lo + hi) >>> 1;
+            select(order, (depth & 1) == 0 ? latitudes : longitudes, lo, hi - 1, mid);
+            partition(order, latitudes, longitudes, lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+
+    /**
+     * Selección rápida (Hoare con mediana de tres): deja en {@code k} el elemento que tendría esa
+     * posición si {@code order[left..right]} estuviera ordenado por {@code keys}.
+     */
+    private static void select(int[] order, double[] keys, int left, int right, int k) {
+        while (right > left) {
+            int middle = (left + right) >>> 1;
+            if (keys[order[middle]] < keys[order[left]]) {
+                swap(order, middle, left);
+            }
+            if (keys[order[right]] < keys[order[left]]) {
+                swap(order, right, left);
+            }
+            if (keys[order[right]] < keys[order[middle]]) {
+                swap(order, right, middle);
+            }
+            double pivot = keys[order[middle]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[order[i]] < pivot) {
+                    i++;
+                }
+                while (keys[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(order, i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(int[] values, int a, int b) {
+        int tmp = values[a];
+        values[a] = values[b];
+        values[b] = tmp;
+    }
+
+    /**
+     * Estado de una búsqueda de vecinos: montículo máximo acotado con los {@code k} mejores candidatos.
+     * Guarda posiciones del árbol; se traducen a nodos solo al final para no tocar más memoria.
+     */
+    private final class Query {
+
+        final double lat;
+        final double lon;
+        final double cosLat;
+        final int[] positions;
+        final double[] distances;
+        final double limit;
+        int count;
+
+        Query(double lat, double lon, int k, double limit) {
+            this.lat = lat;
+            this.lon = lon;
+            this.cosLat = Math.cos(Math.toRadians(lat));
+            this.positions = new int[k];
+            this.distances = new double[k];
+            this.limit = limit;
+        }
+
+        /**
+         * Distancia (al cuadrado, en grados) que debe mejorar un candidato para entrar en el resultado.
+         */
+        double bound() {
+            return count < positions.length ? limit : distances[0];
+        }
+
+        void offer(int position, double distance) {
+            if (distance > bound() || (count == positions.length && distance == distances[0])) {
+                return;
+            }
+            int i;
+            if (count < positions.length) {
+                // Inserción en el montículo (sube desde la última hoja)
+                i = count++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    positions[i] = positions[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+            } else {
+                // Reemplaza la raíz (el peor candidato) y baja
+                i = 0;
+                int half = count >>> 1;
+                while (i < half) {
+                    int child = 2 * i + 1;
+                    if (child + 1 < count && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    positions[i] = positions[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+            }
+            positions[i] = position;
+            distances[i] = distance;
+        }
+
+        /**
+         * Vacía el montículo extrayendo siempre el peor candidato, de modo que el resultado queda
+         * ordenado del más cercano al más lejano.
+         */
+        int[] sortedNodes() {
+            int[] result = new int[count];
+            while (count > 0) {
+                result[count - 1] = nodes.get(positions[0]);
+                count--;
+                int position = positions[count];
+                double distance = distances[count];
+                int i = 0;
+                int half = count >>> 1;
+                while (i < half) {
+                    int child = 2 * i + 1;
+                    if (child + 1 < count && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    positions[i] = positions[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                positions[i] = position;
+                distances[i] = distance;
+            }
+            return result;
+        }
+    }
+}
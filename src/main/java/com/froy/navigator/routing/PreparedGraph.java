@@ -0,0 +1,42 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Grafo de carreteras listo para consultas junto con su índice espacial y sus landmarks por modo de transporte.
+ *
+ * @param graph Grafo de carreteras.
+ * @param spatialIndex Índice espacial de los nodos, usado para ajustar los puntos solicitados a la red.
+ * @param landmarks Landmarks precalculados por modo; un modo sin entrada usa solo la heurística en línea recta.
+ */
+record PreparedGraph(RoadGraph graph, NodeSpatialIndex spatialIndex, Map<TransportMode, LandmarkIndex> landmarks) {
+
+    /**
+     * Construye el índice espacial y precalcula los landmarks de todos los modos de transporte.
+     *
+     * @param graph Grafo de carreteras.
+     * @param landmarkCount Landmarks por modo (0 = ninguno).
+     * @return Grafo preparado.
+     */
+    static PreparedGraph prepare(RoadGraph graph, int landmarkCount) {
+        Map<TransportMode, LandmarkIndex> landmarks = new EnumMap<>(TransportMode.class);
+        for (TransportMode mode : TransportMode.values()) {
+            LandmarkIndex index = LandmarkIndex.build(graph, CostProfile.forMode(mode), landmarkCount);
+            if (index != null) {
+                landmarks.put(mode, index);
+            }
+        }
+        return new PreparedGraph(graph, NodeSpatialIndex.build(graph), Collections.unmodifiableMap(landmarks));
+    }
+
+    /**
+     * Número de landmarks por modo (el mismo para todos los modos).
+     */
+    int landmarkCount() {
+        return landmarks.values().stream().mapToInt(LandmarkIndex::count).findFirst().orElse(0);
+    }
+}
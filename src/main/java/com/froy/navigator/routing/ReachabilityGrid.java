@@ -0,0 +1,137 @@
+package com.froy.navigator.routing;
+
+import java.util.Arrays;
+
+/**
+ * Rejilla regular de celdas alrededor de un origen con el menor tiempo (en segundos) con el que se
+ * alcanza cada celda.
+ * <p>
+ * Las celdas miden lo mismo en metros en ambos ejes a la latitud del origen; la rejilla es cuadrada, con
+ * el origen en la celda central, y se guarda como un arreglo plano por filas de sur a norte. Las celdas
+ * que no se alcanzan valen {@link Float#POSITIVE_INFINITY}.
+ */
+public final class ReachabilityGrid {
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final double minLat;
+    private final double minLon;
+    private final double cellLatDegrees;
+    private final double cellLonDegrees;
+    private final double cellMeters;
+    private final int size;
+    private final float[] seconds;
+
+    private ReachabilityGrid(double minLat, double minLon, double cellLatDegrees, double cellLonDegrees,
+                             double cellMeters, int size) {
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.cellLatDegrees = cellLatDegrees;
+        this.cellLonDegrees = cellLonDegrees;
+        this.cellMeters = cellMeters;
+        this.size = size;
+        this.seconds = new float[size * size];
+        Arrays.fill(seconds, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Crea una rejilla que cubre un radio alrededor de un punto. Si a ese tamaño de celda la rejilla
+     * tendría más de {@code maxCells} celdas, las celdas se agrandan hasta que quepa.
+     *
+     * @param lat Latitud del origen.
+     * @param lon Longitud del origen.
+     * @param radiusMeters Distancia mínima cubierta desde el origen en cada eje.
+     * @param cellMeters Tamaño de celda solicitado en metros.
+     * @param maxCells Número máximo de celdas.
+     * @return Rejilla con todas sus celdas sin alcanzar.
+     */
+    public static ReachabilityGrid around(double lat, double lon, double radiusMeters, double cellMeters, int maxCells) {
+        int maxSide = Math.max(1, (int) Math.sqrt(maxCells));
+        if (maxSide % 2 == 0) {
+            maxSide--;
+        }
+        double cell = Math.max(cellMeters, 2 * radiusMeters / maxSide);
+        int half = (int) Math.ceil(radiusMeters / cell);
+        int size = Math.min(2 * half + 1, maxSide);
+        half = size / 2;
+        double cellLat = cell / METERS_PER_DEGREE_LAT;
+        double cellLon = cell / (METERS_PER_DEGREE_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+        return new ReachabilityGrid(lat - (half + 0.5) * cellLat, lon - (half + 0.5) * cellLon,
+                cellLat, cellLon, cell, size);
+    }
+
+    /**
+     * Registra que un punto se alcanza en un tiempo; la celda que lo contiene conserva el menor.
+     * Los puntos fuera de la rejilla se ignoran.
+     *
+     * @param lat Latitud del punto.
+     * @param lon Longitud del punto.
+     * @param travelSeconds Tiempo en segundos desde el origen.
+     */
+    public void mark(double lat, double lon, double travelSeconds) {
+        int row = (int) Math.floor((lat - minLat) / cellLatDegrees);
+        int col = (int) Math.floor((lon - minLon) / cellLonDegrees);
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            mark(row, col, travelSeconds);
+        }
+    }
+
+    /**
+     * Registra el tiempo con el que se alcanza una celda; la celda conserva el menor.
+     *
+     * @param row Fila (0 = sur).
+     * @param col Columna (0 = oeste).
+     * @param travelSeconds Tiempo en segundos desde el origen.
+     */
+    public void mark(int row, int col, double travelSeconds) {
+        int index = row * size + col;
+        if (travelSeconds < seconds[index]) {
+            seconds[index] = (float) travelSeconds;
+        }
+    }
+
+    /**
+     * Menor tiempo registrado para una celda.
+     *
+     * @return Segundos desde el origen, o {@link Float#POSITIVE_INFINITY} si no se alcanza.
+     */
+    public float seconds(int row, int col) {
+        return seconds[row * size + col];
+    }
+
+    /** Número de filas y de columnas; la celda del origen es la {@code size() / 2} en ambos ejes. */
+    public int size() {
+        return size;
+    }
+
+    public double minLat() {
+        return minLat;
+    }
+
+    public double minLon() {
+        return minLon;
+    }
+
+    public double cellLatDegrees() {
+        return cellLatDegrees;
+    }
+
+    public double cellLonDegrees() {
+        return cellLonDegrees;
+    }
+
+    /** Tamaño real de celda en metros; puede ser mayor que el solicitado. */
+    public double cellMeters() {
+        return cellMeters;
+    }
+
+    /** Latitud del centro de una fila. */
+    public double centerLat(int row) {
+        return minLat + (row + 0.5) * cellLatDegrees;
+    }
+
+    /** Longitud del centro de una columna. */
+    public double centerLon(int col) {
+        return minLon + (col + 0.5) * cellLonDegrees;
+    }
+}
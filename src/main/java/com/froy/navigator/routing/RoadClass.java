@@ -0,0 +1,26 @@
+package com.froy.navigator.routing;
+
+/**
+ * Enum con las categorías de vía del grafo de carreteras.
+ * Cada perfil de costo ({@link CostProfile}) asigna una velocidad por categoría,
+ * o cero si el modo de transporte no puede circular por ella.
+ */
+public enum RoadClass {
+    MOTORWAY,
+    PRIMARY,
+    SECONDARY,
+    RESIDENTIAL,
+    CYCLEWAY;
+
+    private static final RoadClass[] VALUES = values();
+
+    /**
+     * Obtiene la categoría a partir de su código compacto (ordinal).
+     *
+     * @param code Código almacenado en el grafo.
+     * @return Categoría correspondiente.
+     */
+    public static RoadClass fromCode(int code) {
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,152 @@
+package com.froy.navigator.routing;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Grafo dirigido de carreteras en formato CSR (Compressed Sparse Row) sobre buffers primitivos.
+ * Las aristas salientes del nodo {@code n} ocupan el rango {@code [firstEdge(n), firstEdge(n + 1))};
+ * las aristas entrantes se indexan en un segundo CSR que apunta a los identificadores de las aristas
+ * originales, lo que permite la búsqueda hacia atrás sin duplicar sus atributos.
+ * <p>
+ * Los buffers pueden envolver arreglos del heap (grafo construido con {@link RoadGraphBuilder}) o
+ * regiones de un archivo mapeado en memoria ({@link RoadGraphFile}); en el segundo caso el grafo no
+ * ocupa heap y varias JVM del mismo host comparten las mismas páginas del caché del sistema operativo.
+ * <p>
+ * Es inmutable y puede compartirse entre hilos: solo se usan lecturas absolutas.
+ */
+public final class RoadGraph {
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final DoubleBuffer nodeLat;
+    private final DoubleBuffer nodeLon;
+    private final IntBuffer firstEdge;
+    private final IntBuffer edgeSource;
+    private final IntBuffer edgeTarget;
+    private final FloatBuffer edgeLengthMeters;
+    private final ByteBuffer edgeRoadClass;
+    private final IntBuffer edgeNameId;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer nameBytes;
+    private final IntBuffer firstReverseEdge;
+    private final IntBuffer reverseEdges;
+    private final double minCosLat;
+
+    RoadGraph(int nodeCount, int edgeCount, DoubleBuffer nodeLat, DoubleBuffer nodeLon, IntBuffer firstEdge,
+              IntBuffer edgeSource, IntBuffer edgeTarget, FloatBuffer edgeLengthMeters, ByteBuffer edgeRoadClass,
+              IntBuffer edgeNameId, IntBuffer nameOffsets, ByteBuffer nameBytes,
+              IntBuffer firstReverseEdge, IntBuffer reverseEdges, double minCosLat) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.nodeLat = nodeLat;
+        this.nodeLon = nodeLon;
+        this.firstEdge = firstEdge;
+        this.edgeSource = edgeSource;
+        this.edgeTarget = edgeTarget;
+        this.edgeLengthMeters = edgeLengthMeters;
+        this.edgeRoadClass = edgeRoadClass;
+        this.edgeNameId = edgeNameId;
+        this.nameOffsets = nameOffsets;
+        this.nameBytes = nameBytes;
+        this.firstReverseEdge = firstReverseEdge;
+        this.reverseEdges = reverseEdges;
+        this.minCosLat = minCosLat;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public double nodeLat(int node) {
+        return nodeLat.get(node);
+    }
+
+    public double nodeLon(int node) {
+        return nodeLon.get(node);
+    }
+
+    /**
+     * Primera arista saliente del nodo; las del nodo terminan en {@code firstEdge(node + 1)}.
+     */
+    public int firstEdge(int node) {
+        return firstEdge.get(node);
+    }
+
+    /**
+     * Primera posición de las aristas entrantes del nodo en {@link #reverseEdge(int)};
+     * terminan en {@code firstReverseEdge(node + 1)}.
+     */
+    public int firstReverseEdge(int node) {
+        return firstReverseEdge.get(node);
+    }
+
+    /**
+     * Identificador de la arista (original) almacenada en la posición indicada del CSR inverso.
+     */
+    public int reverseEdge(int position) {
+        return reverseEdges.get(position);
+    }
+
+    public int edgeSource(int edge) {
+        return edgeSource.get(edge);
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget.get(edge);
+    }
+
+    public float edgeLengthMeters(int edge) {
+        return edgeLengthMeters.get(edge);
+    }
+
+    public int edgeRoadClass(int edge) {
+        return edgeRoadClass.get(edge);
+    }
+
+    /**
+     * Nombre de la vía de la arista; cadena vacía si no tiene nombre.
+     */
+    public String edgeName(int edge) {
+        return name(edgeNameId(edge));
+    }
+
+    /**
+     * Identificador compacto del nombre de la vía, útil para agrupar aristas de una misma calle.
+     */
+    public int edgeNameId(int edge) {
+        return edgeNameId.get(edge);
+    }
+
+    /**
+     * Número de nombres de vía distintos.
+     */
+    public int nameCount() {
+        return nameOffsets.limit() - 1;
+    }
+
+    /**
+     * Nombre de vía por su identificador; se decodifica de UTF-8 en cada llamada.
+     */
+    public String name(int nameId) {
+        int start = nameOffsets.get(nameId);
+        byte[] bytes = new byte[nameOffsets.get(nameId + 1) - start];
+        nameBytes.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Coseno de la mayor latitud absoluta del grafo. Multiplicar las diferencias de longitud por
+     * este valor nunca sobreestima la distancia este-oeste, lo que mantiene admisible la heurística de A*.
+     */
+    public double minCosLat() {
+        return minCosLat;
+    }
+}
@@ -0,0 +1,163 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.util.DistanceCalculator;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constructor de {@link RoadGraph}.
+ * Acumula nodos y aristas en arreglos primitivos que crecen bajo demanda y, al construir,
+ * los ordena por nodo de origen (ordenamiento por conteo) para obtener el formato CSR,
+ * además del CSR inverso de aristas entrantes.
+ */
+public final class RoadGraphBuilder {
+
+    private final Map<Long, Integer> nodeIndex = new HashMap<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    private double[] nodeLat = new double[1024];
+    private double[] nodeLon = new double[1024];
+    private int nodeCount;
+
+    private int[] edgeSource = new int[1024];
+    private int[] edgeTarget = new int[1024];
+    private float[] edgeLength = new float[1024];
+    private byte[] edgeRoadClass = new byte[1024];
+    private int[] edgeNameId = new int[1024];
+    private int edgeCount;
+
+    /**
+     * Registra un nodo (o devuelve el ya registrado con el mismo identificador externo).
+     *
+     * @param externalId Identificador del nodo en el archivo de origen.
+     * @param lat Latitud en grados.
+     * @param lon Longitud en grados.
+     * @return Índice denso del nodo en el grafo.
+     */
+    public int addNode(long externalId, double lat, double lon) {
+        Integer existing = nodeIndex.get(externalId);
+        if (existing != null) {
+            return existing;
+        }
+        if (nodeCount == nodeLat.length) {
+            nodeLat = Arrays.copyOf(nodeLat, nodeCount * 2);
+            nodeLon = Arrays.copyOf(nodeLon, nodeCount * 2);
+        }
+        nodeLat[nodeCount] = lat;
+        nodeLon[nodeCount] = lon;
+        nodeIndex.put(externalId, nodeCount);
+        return nodeCount++;
+    }
+
+    /**
+     * Agrega una arista dirigida; su longitud se calcula con Haversine entre los nodos.
+     *
+     * @param from Índice del nodo de origen.
+     * @param to Índice del nodo de destino.
+     * @param roadClass Categoría de la vía.
+     * @param name Nombre de la vía (puede ser vacío).
+     */
+    public void addEdge(int from, int to, RoadClass roadClass, String name) {
+        if (edgeCount == edgeTarget.length) {
+            int capacity = edgeCount * 2;
+            edgeSource = Arrays.copyOf(edgeSource, capacity);
+            edgeTarget = Arrays.copyOf(edgeTarget, capacity);
+            edgeLength = Arrays.copyOf(edgeLength, capacity);
+            edgeRoadClass = Arrays.copyOf(edgeRoadClass, capacity);
+            edgeNameId = Arrays.copyOf(edgeNameId, capacity);
+        }
+        double meters = 1000 * DistanceCalculator.calculateDistance(nodeLat[from], nodeLon[from],
+                nodeLat[to], nodeLon[to]);
+
+        edgeSource[edgeCount] = from;
+        edgeTarget[edgeCount] = to;
+        edgeLength[edgeCount] = (float) meters;
+        edgeRoadClass[edgeCount] = (byte) roadClass.ordinal();
+        edgeNameId[edgeCount] = nameIndex.computeIfAbsent(name == null ? "" : name, n -> {
+            names.add(n);
+            return names.size() - 1;
+        });
+        edgeCount++;
+    }
+
+    /**
+     * Construye el grafo inmutable en formato CSR.
+     *
+     * @return Grafo listo para consultas.
+     */
+    public RoadGraph build() {
+        int[] firstEdge = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            firstEdge[edgeSource[e] + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            firstEdge[n + 1] += firstEdge[n];
+        }
+
+        // Reordena las aristas por nodo de origen (ordenamiento por conteo, estable).
+        int[] next = Arrays.copyOf(firstEdge, nodeCount);
+        int[] source = new int[edgeCount];
+        int[] target = new int[edgeCount];
+        float[] length = new float[edgeCount];
+        byte[] roadClass = new byte[edgeCount];
+        int[] nameId = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[edgeSource[e]]++;
+            source[slot] = edgeSource[e];
+            target[slot] = edgeTarget[e];
+            length[slot] = edgeLength[e];
+            roadClass[slot] = edgeRoadClass[e];
+            nameId[slot] = edgeNameId[e];
+        }
+
+        // CSR inverso: para cada nodo, las aristas (ya reordenadas) que llegan a él.
+        int[] firstReverse = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            firstReverse[target[e] + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            firstReverse[n + 1] += firstReverse[n];
+        }
+        int[] nextReverse = Arrays.copyOf(firstReverse, nodeCount);
+        int[] reverseEdges = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            reverseEdges[nextReverse[target[e]]++] = e;
+        }
+
+        // Nombres de vía como un único bloque UTF-8 con desplazamientos.
+        int[] nameOffsets = new int[names.size() + 1];
+        byte[][] encoded = new byte[names.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            nameOffsets[i + 1] = nameOffsets[i] + encoded[i].length;
+        }
+        byte[] nameBytes = new byte[nameOffsets[encoded.length]];
+        for (int i = 0; i < encoded.length; i++) {
+            System.arraycopy(encoded[i], 0, nameBytes, nameOffsets[i], encoded[i].length);
+        }
+
+        double maxAbsLat = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            maxAbsLat = Math.max(maxAbsLat, Math.abs(nodeLat[n]));
+        }
+
+        return new RoadGraph(nodeCount, edgeCount,
+                DoubleBuffer.wrap(Arrays.copyOf(nodeLat, nodeCount)),
+                DoubleBuffer.wrap(Arrays.copyOf(nodeLon, nodeCount)),
+                IntBuffer.wrap(firstEdge), IntBuffer.wrap(source), IntBuffer.wrap(target),
+                FloatBuffer.wrap(length), ByteBuffer.wrap(roadClass), IntBuffer.wrap(nameId),
+                IntBuffer.wrap(nameOffsets), ByteBuffer.wrap(nameBytes),
+                IntBuffer.wrap(firstReverse), IntBuffer.wrap(reverseEdges),
+                Math.cos(Math.toRadians(maxAbsLat)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.froy.navigator.routing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Comando de preprocesamiento que convierte una lista de aristas CSV en el formato binario de
+ * {@link RoadGraphFile}, incluyendo los landmarks de cada modo de transporte, para que el servicio
+ * arranque sin construir el grafo.
+ * <p>
+ * Uso desde el jar de la aplicación:
+ * <pre>
+ * java -cp navigator.jar -Dloader.main=com.froy.navigator.routing.RoadGraphCompiler \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher red.csv red.navgraph [landmarks]
+ * </pre>
+ * El archivo generado se configura en {@code navigator.routing.graph.path}.
+ */
+public final class RoadGraphCompiler {
+
+    private static final int DEFAULT_LANDMARKS = 16;
+
+    private RoadGraphCompiler() {
+        // Clase de utilidades, no instanciable
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Uso: RoadGraphCompiler <entrada.csv> <salida.navgraph> [landmarks, por defecto "
+                    + DEFAULT_LANDMARKS + "]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int landmarks = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_LANDMARKS;
+
+        long start = System.nanoTime();
+        RoadGraph graph = RoadGraphLoader.loadCsv(input);
+        System.out.printf("Grafo leído: %d nodos, %d aristas (%d ms)%n",
+                graph.nodeCount(), graph.edgeCount(), elapsedMillis(start));
+
+        start = System.nanoTime();
+        PreparedGraph prepared = PreparedGraph.prepare(graph, landmarks);
+        System.out.printf("Índice espacial y landmarks calculados: %d por modo (%d ms)%n",
+                landmarks, elapsedMillis(start));
+
+        start = System.nanoTime();
+        RoadGraphFile.write(output, prepared);
+        System.out.printf("Grafo binario escrito en %s: %d bytes (%d ms)%n",
+                output, Files.size(output), elapsedMillis(start));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,370 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Formato binario versionado del grafo de carreteras, pensado para abrirse con
+ * {@link FileChannel#map} sin copiar el grafo al heap.
+ * <p>
+ * Estructura (little-endian; cada sección empieza alineada a 8 bytes):
+ * <pre>
+ * cabecera (64 bytes): magic "NAVG", versión, nodos, aristas, nombres, bytes de nombres,
+ *                      landmarks por modo, número de perfiles, minCosLat, tamaño de hoja del índice
+ * nodeLat double[n], nodeLon double[n]
+ * firstEdge int[n+1], edgeSource int[m], edgeTarget int[m], edgeLength float[m], edgeNameId int[m]
+ * firstReverseEdge int[n+1], reverseEdges int[m], edgeRoadClass byte[m]
+ * nameOffsets int[nombres+1], nameBytes byte[]
+ * índice espacial (árbol k-d implícito): nodos int[n], coordenadas intercaladas lat/lon double[2n]
+ * por perfil: modo (16 bytes ASCII), slack float, relleno, fromLandmark float[n*k], toLandmark float[n*k]
+ * </pre>
+ * Las secciones se mapean por separado, así que cada una debe ocupar menos de 2 GB.
+ */
+public final class RoadGraphFile {
+
+    static final int MAGIC = 0x4E415647; // "NAVG"
+    static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int MODE_NAME_BYTES = 16;
+    private static final int PROFILE_HEADER_BYTES = MODE_NAME_BYTES + 8;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private RoadGraphFile() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Indica si el archivo empieza con la firma del formato binario.
+     *
+     * @param path Ruta del archivo.
+     * @return true si es un grafo binario; false si es otro formato (p. ej. CSV).
+     * @throws IOException si el archivo no puede leerse.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ORDER);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // lee hasta completar la firma o llegar al final
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Escribe el grafo preparado. El archivo se escribe en un temporal y se mueve atómicamente al
+     * destino, de modo que los procesos que tienen mapeada la versión anterior no la ven cambiar.
+     *
+     * @param path Ruta de destino.
+     * @param prepared Grafo y landmarks a serializar.
+     * @throws IOException si no se puede escribir.
+     */
+    static void write(Path path, PreparedGraph prepared) throws IOException {
+        RoadGraph graph = prepared.graph();
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        int k = prepared.landmarkCount();
+        NodeSpatialIndex spatialIndex = prepared.spatialIndex();
+        Map<TransportMode, LandmarkIndex> profiles = k > 0 ? prepared.landmarks() : Map.of();
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             SectionWriter out = new SectionWriter(channel)) {
+            int nameBytes = 0;
+            byte[][] names = new byte[graph.nameCount()][];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = graph.name(i).getBytes(StandardCharsets.UTF_8);
+                nameBytes += names[i].length;
+            }
+
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(n);
+            out.putInt(m);
+            out.putInt(names.length);
+            out.putInt(nameBytes);
+            out.putInt(k);
+            out.putInt(profiles.size());
+            out.putDouble(graph.minCosLat());
+            out.putInt(spatialIndex.leafSize());
+            out.padTo(HEADER_BYTES);
+
+            for (int v = 0; v < n; v++) {
+                out.putDouble(graph.nodeLat(v));
+            }
+            for (int v = 0; v < n; v++) {
+                out.putDouble(graph.nodeLon(v));
+            }
+            for (int v = 0; v <= n; v++) {
+                out.putInt(graph.firstEdge(v));
+            }
+            out.align();
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.edgeSource(e));
+            }
+            out.align();
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.edgeTarget(e));
+            }
+            out.align();
+            for (int e = 0; e < m; e++) {
+                out.putFloat(graph.edgeLengthMeters(e));
+            }
+            out.align();
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.edgeNameId(e));
+            }
+            out.align();
+            for (int v = 0; v <= n; v++) {
+                out.putInt(graph.firstReverseEdge(v));
+            }
+            out.align();
+            for (int p = 0; p < m; p++) {
+                out.putInt(graph.reverseEdge(p));
+            }
+            out.align();
+            for (int e = 0; e < m; e++) {
+                out.putByte((byte) graph.edgeRoadClass(e));
+            }
+            out.align();
+            int offset = 0;
+            out.putInt(0);
+            for (byte[] name : names) {
+                offset += name.length;
+                out.putInt(offset);
+            }
+            out.align();
+            for (byte[] name : names) {
+                out.putBytes(name);
+            }
+            out.align();
+            for (int i = 0; i < n; i++) {
+                out.putInt(spatialIndex.nodeAt(i));
+            }
+            out.align();
+            for (int i = 0; i < 2 * n; i++) {
+                out.putDouble(spatialIndex.coordAt(i));
+            }
+
+            for (Map.Entry<TransportMode, LandmarkIndex> profile : profiles.entrySet()) {
+                LandmarkIndex index = profile.getValue();
+                byte[] mode = profile.getKey().name().getBytes(StandardCharsets.US_ASCII);
+                out.putBytes(mode);
+                out.putBytes(new byte[MODE_NAME_BYTES - mode.length]);
+                out.putFloat(index.slack());
+                out.align();
+                int slots = n * k;
+                for (int i = 0; i < slots; i++) {
+                    out.putFloat(index.fromLandmark(i));
+                }
+                out.align();
+                for (int i = 0; i < slots; i++) {
+                    out.putFloat(index.toLandmark(i));
+                }
+                out.align();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Abre un grafo binario mapeándolo en memoria de solo lectura. Los buffers siguen siendo
+     * válidos después de cerrar el canal y no ocupan heap.
+     *
+     * @param path Ruta del archivo.
+     * @return Grafo y landmarks listos para consultas.
+     * @throws IOException si el archivo no puede leerse, no es un grafo binario o su versión no es compatible.
+     */
+    static PreparedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Archivo de grafo truncado: " + path);
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("El archivo no es un grafo binario: " + path);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Versión de grafo no soportada " + version + " (se esperaba "
+                        + VERSION + "); vuelva a generarlo con RoadGraphCompiler: " + path);
+            }
+            int n = header.getInt(8);
+            int m = header.getInt(12);
+            int nameCount = header.getInt(16);
+            int nameBytesLength = header.getInt(20);
+            int k = header.getInt(24);
+            int profileCount = header.getInt(28);
+            double minCosLat = header.getDouble(32);
+            int leafSize = header.getInt(40);
+
+            long expected = HEADER_BYTES + align(8L * n) * 2 + align(4L * (n + 1)) * 2 + align(4L * m) * 5
+                    + align(m) + align(4L * (nameCount + 1)) + align(nameBytesLength) + align(4L * n) + 16L * n
+                    + (long) profileCount * (PROFILE_HEADER_BYTES + align(4L * n * k) * 2);
+            if (channel.size() < expected) {
+                throw new IOException("Archivo de grafo truncado: " + path + " (" + channel.size()
+                        + " bytes, se esperaban " + expected + ")");
+            }
+
+            SectionReader in = new SectionReader(channel, HEADER_BYTES);
+            ByteBuffer nodeLat = in.next(8L * n);
+            ByteBuffer nodeLon = in.next(8L * n);
+            ByteBuffer firstEdge = in.next(4L * (n + 1));
+            ByteBuffer edgeSource = in.next(4L * m);
+            ByteBuffer edgeTarget = in.next(4L * m);
+            ByteBuffer edgeLength = in.next(4L * m);
+            ByteBuffer edgeNameId = in.next(4L * m);
+            ByteBuffer firstReverseEdge = in.next(4L * (n + 1));
+            ByteBuffer reverseEdges = in.next(4L * m);
+            ByteBuffer edgeRoadClass = in.next(m);
+            ByteBuffer nameOffsets = in.next(4L * (nameCount + 1));
+            ByteBuffer nameBytes = in.next(nameBytesLength);
+            NodeSpatialIndex spatialIndex = new NodeSpatialIndex(n, leafSize, in.next(4L * n).asIntBuffer(),
+                    in.next(16L * n).asDoubleBuffer());
+            RoadGraph graph = new RoadGraph(n, m, nodeLat.asDoubleBuffer(), nodeLon.asDoubleBuffer(),
+                    firstEdge.asIntBuffer(), edgeSource.asIntBuffer(), edgeTarget.asIntBuffer(),
+                    edgeLength.asFloatBuffer(), edgeRoadClass, edgeNameId.asIntBuffer(),
+                    nameOffsets.asIntBuffer(), nameBytes,
+                    firstReverseEdge.asIntBuffer(), reverseEdges.asIntBuffer(), minCosLat);
+
+            Map<TransportMode, LandmarkIndex> landmarks = new EnumMap<>(TransportMode.class);
+            for (int p = 0; p < profileCount; p++) {
+                ByteBuffer profileHeader = in.next(PROFILE_HEADER_BYTES);
+                byte[] modeName = new byte[MODE_NAME_BYTES];
+                profileHeader.get(0, modeName);
+                float slack = profileHeader.getFloat(MODE_NAME_BYTES);
+                LandmarkIndex index = new LandmarkIndex(k,
+                        in.next(4L * n * k).asFloatBuffer(), in.next(4L * n * k).asFloatBuffer(), slack);
+                String mode = new String(modeName, StandardCharsets.US_ASCII).trim();
+                try {
+                    landmarks.put(TransportMode.valueOf(mode), index);
+                } catch (IllegalArgumentException e) {
+                    // Perfil de un modo que esta versión no conoce: se ignora
+                }
+            }
+            return new PreparedGraph(graph, spatialIndex, Collections.unmodifiableMap(landmarks));
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ORDER);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Recorre las secciones consecutivas del archivo, mapeando cada una por separado.
+     */
+    private static final class SectionReader {
+
+        private final FileChannel channel;
+        private long offset;
+
+        SectionReader(FileChannel channel, long offset) {
+            this.channel = channel;
+            this.offset = offset;
+        }
+
+        ByteBuffer next(long bytes) throws IOException {
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IOException("Sección de grafo demasiado grande para mapearse: " + bytes + " bytes");
+            }
+            ByteBuffer section = map(channel, offset, bytes);
+            offset += align(bytes);
+            return section;
+        }
+    }
+
+    /**
+     * Escritura secuencial con un buffer directo; rellena con ceros para alinear las secciones.
+     */
+    private static final class SectionWriter implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ORDER);
+        private long position;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putFloat(float value) throws IOException {
+            ensure(4);
+            buffer.putFloat(value);
+            position += 4;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+            position += 8;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+            position++;
+        }
+
+        void putBytes(byte[] values) throws IOException {
+            for (byte value : values) {
+                putByte(value);
+            }
+        }
+
+        void align() throws IOException {
+            padTo(RoadGraphFile.align(position));
+        }
+
+        void padTo(long target) throws IOException {
+            while (position < target) {
+                putByte((byte) 0);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.force(false);
+        }
+    }
+}
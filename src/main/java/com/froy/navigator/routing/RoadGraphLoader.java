@@ -0,0 +1,88 @@
+package com.froy.navigator.routing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Cargador de grafos de carreteras desde una lista de aristas en CSV.
+ * <p>
+ * Cada línea describe un tramo de vía:
+ * <pre>
+ * from_id,from_lat,from_lon,to_id,to_lat,to_lon,road_class,oneway,name
+ * 1001,20.6736,-103.3440,1002,20.6741,-103.3425,PRIMARY,false,Av. Vallarta
+ * </pre>
+ * {@code road_class} es un valor de {@link RoadClass}; si {@code oneway} es falso se crean aristas en
+ * ambos sentidos. El nombre es el último campo y puede contener comas. Las líneas vacías, las que
+ * empiezan con {@code #} y la cabecera se ignoran.
+ */
+public final class RoadGraphLoader {
+
+    private static final int FIELDS_BEFORE_NAME = 8;
+
+    private RoadGraphLoader() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Carga un grafo desde un archivo CSV.
+     *
+     * @param path Ruta del archivo.
+     * @return Grafo construido.
+     * @throws IOException si el archivo no puede leerse o tiene un formato inválido.
+     */
+    public static RoadGraph loadCsv(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return loadCsv(reader);
+        }
+    }
+
+    /**
+     * Carga un grafo desde un lector de CSV.
+     *
+     * @param reader Lector con el contenido CSV.
+     * @return Grafo construido.
+     * @throws IOException si el contenido no puede leerse o tiene un formato inválido.
+     */
+    public static RoadGraph loadCsv(Reader reader) throws IOException {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        BufferedReader lines = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("from_id")) {
+                continue;
+            }
+            try {
+                parseLine(builder, line);
+            } catch (RuntimeException e) {
+                throw new IOException("Línea " + lineNumber + " inválida en el grafo: " + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void parseLine(RoadGraphBuilder builder, String line) {
+        String[] fields = line.split(",", FIELDS_BEFORE_NAME + 1);
+        if (fields.length < FIELDS_BEFORE_NAME) {
+            throw new IllegalArgumentException("se esperaban al menos " + FIELDS_BEFORE_NAME + " campos");
+        }
+        int from = builder.addNode(Long.parseLong(fields[0].trim()),
+                Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim()));
+        int to = builder.addNode(Long.parseLong(fields[3].trim()),
+                Double.parseDouble(fields[4].trim()), Double.parseDouble(fields[5].trim()));
+        RoadClass roadClass = RoadClass.valueOf(fields[6].trim().toUpperCase(Locale.ROOT));
+        String oneway = fields[7].trim().toLowerCase(Locale.ROOT);
+        String name = fields.length > FIELDS_BEFORE_NAME ? fields[FIELDS_BEFORE_NAME].trim() : "";
+
+        builder.addEdge(from, to, roadClass, name);
+        if (!(oneway.equals("true") || oneway.equals("1") || oneway.equals("yes"))) {
+            builder.addEdge(to, from, roadClass, name);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteSteps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Genera las instrucciones paso a paso de un {@link RoutePath}.
+ * Agrupa las aristas consecutivas de una misma vía en un solo paso y clasifica cada cambio de vía
+ * según la diferencia de rumbo entre el último tramo de una vía y el primero de la siguiente.
+ */
+final class RouteInstructions {
+
+    private static final double STRAIGHT_DEGREES = 30;
+    private static final double U_TURN_DEGREES = 150;
+    private static final String UNNAMED_ROAD = "calle sin nombre";
+
+    private RouteInstructions() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Construye las instrucciones de la ruta.
+     *
+     * @param graph Grafo sobre el que se calculó el camino.
+     * @param path Camino encontrado.
+     * @param origin Punto de origen solicitado.
+     * @param destination Punto de destino solicitado.
+     * @return Lista de instrucciones legibles, empezando por el origen y terminando en el destino.
+     */
+    static List<String> build(RoadGraph graph, RoutePath path, GeoPoint origin, GeoPoint destination) {
+        return build(graph, path, origin, destination, new double[path.edges().length + 2], 0, 0);
+    }
+
+    /**
+     * Construye las instrucciones de la ruta y anota dónde empieza cada una.
+     *
+     * @param graph Grafo sobre el que se calculó el camino.
+     * @param path Camino encontrado.
+     * @param origin Punto de origen solicitado.
+     * @param destination Punto de destino solicitado.
+     * @param stepStartMeters Arreglo de al menos {@code path.edges().length + 2} posiciones donde se escribe
+     *                        la distancia desde el origen a la que empieza cada instrucción.
+     * @param startMeters Distancia desde el origen hasta el primer nodo del camino.
+     * @param endMeters Distancia desde el último nodo del camino hasta el destino.
+     * @return Lista de instrucciones legibles, empezando por el origen y terminando en el destino.
+     */
+    static List<String> build(RoadGraph graph, RoutePath path, GeoPoint origin, GeoPoint destination,
+                              double[] stepStartMeters, double startMeters, double endMeters) {
+        List<String> steps = new ArrayList<>();
+        stepStartMeters[0] = 0;
+        steps.add(RouteSteps.originStep(origin));
+
+        int[] edges = path.edges();
+        double along = startMeters;
+        int start = 0;
+        while (start < edges.length) {
+            int nameId = graph.edgeNameId(edges[start]);
+            int end = start;
+            double meters = 0;
+            while (end < edges.length && graph.edgeNameId(edges[end]) == nameId) {
+                meters += graph.edgeLengthMeters(edges[end]);
+                end++;
+            }
+
+            String road = roadName(graph, edges[start]);
+            String maneuver = start == 0
+                    ? "Sal por " + road
+                    : maneuver(turnAngle(graph, edges[start - 1], edges[start]), road);
+            stepStartMeters[steps.size()] = along;
+            steps.add(maneuver + " y continúa " + formatDistance(meters));
+            along += meters;
+            start = end;
+        }
+
+        stepStartMeters[steps.size()] = along + endMeters;
+        steps.add(RouteSteps.arrivalStep(destination));
+        return steps;
+    }
+
+    private static String maneuver(double angle, String road) {
+        double magnitude = Math.abs(angle);
+        if (magnitude < STRAIGHT_DEGREES) {
+            return "Continúa por " + road;
+        }
+        if (magnitude > U_TURN_DEGREES) {
+            return "Da vuelta en U en " + road;
+        }
+        return (angle > 0 ? "Gira a la derecha en " : "Gira a la izquierda en ") + road;
+    }
+
+    /**
+     * Ángulo de giro entre dos aristas consecutivas, en grados dentro de (-180, 180];
+     * positivo hacia la derecha (sentido horario).
+     */
+    private static double turnAngle(RoadGraph graph, int incoming, int outgoing) {
+        double angle = bearing(graph, outgoing) - bearing(graph, incoming);
+        while (angle > 180) {
+            angle -= 360;
+        }
+        while (angle <= -180) {
+            angle += 360;
+        }
+        return angle;
+    }
+
+    /**
+     * Rumbo inicial de la arista en grados respecto al norte.
+     */
+    private static double bearing(RoadGraph graph, int edge) {
+        int from = graph.edgeSource(edge);
+        int to = graph.edgeTarget(edge);
+        double lat1 = Math.toRadians(graph.nodeLat(from));
+        double lat2 = Math.toRadians(graph.nodeLat(to));
+        double dLon = Math.toRadians(graph.nodeLon(to) - graph.nodeLon(from));
+        double y = Math.sin(dLon) * Math.cos(lat2);
+        double x = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(dLon);
+        return Math.toDegrees(Math.atan2(y, x));
+    }
+
+    private static String roadName(RoadGraph graph, int edge) {
+        String name = graph.edgeName(edge);
+        return name.isEmpty() ? UNNAMED_ROAD : name;
+    }
+
+    private static String formatDistance(double meters) {
+        if (meters < 1000) {
+            return Math.max(10, Math.round(meters / 10.0) * 10) + " m";
+        }
+        return String.format(Locale.ROOT, "%.1f km", meters / 1000);
+    }
+}
@@ -0,0 +1,11 @@
+package com.froy.navigator.routing;
+
+/**
+ * Camino encontrado en el grafo de carreteras.
+ *
+ * @param edges Identificadores de las aristas recorridas, en orden desde el origen.
+ * @param meters Longitud total del camino en metros.
+ * @param seconds Tiempo total de recorrido en segundos según el perfil de costo.
+ */
+public record RoutePath(int[] edges, double meters, double seconds) {
+}
@@ -0,0 +1,146 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.util.DistanceCalculator;
+
+import java.util.List;
+
+/**
+ * Geometría de una ruta calculada: una polilínea con la distancia y el tiempo acumulados en cada
+ * vértice, y el punto de la ruta donde empieza cada instrucción. Permite seguir el avance de un
+ * cliente en movimiento (distancia y tiempo restantes, instrucciones pendientes) sin recalcular la ruta.
+ *
+ * @param lats Latitud de cada vértice.
+ * @param lons Longitud de cada vértice.
+ * @param meters Distancia acumulada desde el origen hasta cada vértice, en metros.
+ * @param seconds Tiempo acumulado desde el origen hasta cada vértice, en segundos.
+ * @param steps Instrucciones de la ruta, en orden.
+ * @param stepStartMeters Distancia desde el origen a la que empieza cada instrucción, en metros.
+ */
+public record RouteTrack(double[] lats, double[] lons, double[] meters, double[] seconds,
+                         List<String> steps, double[] stepStartMeters) {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(DistanceCalculator.EARTH_RADIUS_KM * 1000);
+
+    /**
+     * Distancia máxima hacia adelante, desde el último tramo ubicado, en la que se busca la posición.
+     * Evita saltar a un tramo posterior que pase cerca (rutas que vuelven sobre sí mismas).
+     */
+    private static final double LOOKAHEAD_METERS = 2000;
+
+    /**
+     * Construye la geometría de una ruta estimada en línea recta: un único tramo entre origen y destino.
+     * Todas las instrucciones empiezan en el origen salvo la última, que marca la llegada.
+     *
+     * @param origin Punto de origen.
+     * @param destination Punto de destino.
+     * @param response Ruta estimada, de la que se toman la distancia, la duración y las instrucciones.
+     * @return Geometría de dos vértices.
+     */
+    public static RouteTrack straight(GeoPoint origin, GeoPoint destination, RouteResponse response) {
+        double totalMeters = response.distanceKm() * 1000;
+        double[] stepStart = new double[response.steps().size()];
+        if (stepStart.length > 0) {
+            stepStart[stepStart.length - 1] = totalMeters;
+        }
+        return new RouteTrack(new double[]{origin.lat(), destination.lat()},
+                new double[]{origin.lon(), destination.lon()},
+                new double[]{0, totalMeters}, new double[]{0, response.durationMinutes() * 60.0},
+                response.steps(), stepStart);
+    }
+
+    /**
+     * Distancia total de la ruta.
+     *
+     * @return Distancia en metros.
+     */
+    public double totalMeters() {
+        return meters[meters.length - 1];
+    }
+
+    /**
+     * Tiempo total de la ruta.
+     *
+     * @return Tiempo en segundos.
+     */
+    public double totalSeconds() {
+        return seconds[seconds.length - 1];
+    }
+
+    /**
+     * Ubica una posición sobre la ruta proyectándola sobre el tramo más cercano, buscando hacia
+     * adelante desde el último tramo conocido hasta {@value #LOOKAHEAD_METERS} metros.
+     *
+     * @param lat Latitud de la posición.
+     * @param lon Longitud de la posición.
+     * @param fromSegment Tramo donde se ubicó la posición anterior (0 al empezar).
+     * @return Tramo, avance sobre la ruta y separación de la posición respecto a ella.
+     */
+    public Position locate(double lat, double lon, int fromSegment) {
+        double cosLat = Math.cos(Math.toRadians(lat));
+        int bestSegment = fromSegment;
+        double bestFraction = 0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        int last = lats.length - 2;
+        for (int i = Math.min(fromSegment, last); i <= last; i++) {
+            if (i > fromSegment && meters[i] - meters[fromSegment] > LOOKAHEAD_METERS) {
+                break;
+            }
+            // Coordenadas locales en metros con la posición en el origen
+            double ax = (lons[i] - lon) * cosLat * METERS_PER_DEGREE;
+            double ay = (lats[i] - lat) * METERS_PER_DEGREE;
+            double dx = (lons[i + 1] - lons[i]) * cosLat * METERS_PER_DEGREE;
+            double dy = (lats[i + 1] - lats[i]) * METERS_PER_DEGREE;
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared == 0 ? 0 : Math.clamp(-(ax * dx + ay * dy) / lengthSquared, 0.0, 1.0);
+            double px = ax + t * dx;
+            double py = ay + t * dy;
+            double distance = Math.sqrt(px * px + py * py);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestSegment = i;
+                bestFraction = t;
+            }
+        }
+        double along = meters[bestSegment] + bestFraction * (meters[bestSegment + 1] - meters[bestSegment]);
+        double elapsed = seconds[bestSegment] + bestFraction * (seconds[bestSegment + 1] - seconds[bestSegment]);
+        return new Position(bestSegment, along, elapsed, bestDistance);
+    }
+
+    /**
+     * Instrucciones que quedan por delante a partir de un avance: se omiten las que terminaron,
+     * es decir, aquellas cuya instrucción siguiente ya empezó. La llegada se conserva siempre.
+     *
+     * @param metersAlong Distancia recorrida sobre la ruta, en metros.
+     * @return Instrucciones pendientes, empezando por la que está en curso.
+     */
+    public List<String> stepsFrom(double metersAlong) {
+        int first = 0;
+        while (first < steps.size() - 1 && stepStartMeters[first + 1] <= metersAlong) {
+            first++;
+        }
+        return steps.subList(first, steps.size());
+    }
+
+    /**
+     * Convierte la geometría en la respuesta de ruta equivalente.
+     *
+     * @param mode Nombre del modo de transporte.
+     * @return Distancia, duración e instrucciones de la ruta completa.
+     */
+    public RouteResponse toResponse(String mode) {
+        return new RouteResponse(Math.round(totalMeters() / 10.0) / 100.0, (int) (totalSeconds() / 60), steps, mode);
+    }
+
+    /**
+     * Ubicación de una posición sobre la ruta.
+     *
+     * @param segment Índice del tramo más cercano (entre los vértices {@code segment} y {@code segment + 1}).
+     * @param metersAlong Distancia recorrida desde el origen hasta la proyección, en metros.
+     * @param secondsAlong Tiempo estimado desde el origen hasta la proyección, en segundos.
+     * @param offRouteMeters Distancia entre la posición y su proyección sobre la ruta, en metros.
+     */
+    public record Position(int segment, double metersAlong, double secondsAlong, double offRouteMeters) {
+    }
+}
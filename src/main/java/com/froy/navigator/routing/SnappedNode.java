@@ -0,0 +1,13 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.dto.GeoPoint;
+
+/**
+ * Nodo del grafo de carreteras encontrado cerca de un punto.
+ *
+ * @param node Identificador del nodo en el grafo.
+ * @param location Coordenadas del nodo.
+ * @param distanceMeters Distancia en metros entre el punto consultado y el nodo.
+ */
+public record SnappedNode(int node, GeoPoint location, double distanceMeters) {
+}
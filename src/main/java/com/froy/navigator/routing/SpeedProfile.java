@@ -0,0 +1,147 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Tabla inmutable de velocidades por región, modo de transporte, día de la semana y franja de 15 minutos.
+ * <p>
+ * Las regiones se rasterizan sobre una rejilla regular de latitud y longitud: {@code cellRegions} guarda
+ * el índice de región de cada celda y {@code speeds} es un único arreglo de {@code float} con una fila de
+ * {@value #SLOTS_PER_WEEK} franjas por región y modo. Consultar una velocidad son dos accesos a arreglos,
+ * sin objetos ni búsquedas. La región 0 es la región por defecto: cubre las celdas sin región y todo lo
+ * que queda fuera de la rejilla, y sus velocidades se usan cuando una región no define una franja.
+ * Las franjas sin velocidad valen {@link Float#NaN}.
+ */
+public final class SpeedProfile {
+
+    /** Duración de cada franja, en minutos. */
+    public static final int SLOT_MINUTES = 15;
+
+    /** Franjas por día. */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    /** Franjas por semana, empezando el lunes a las 00:00. */
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private static final int MODES = TransportMode.values().length;
+
+    /** Perfil sin regiones ni velocidades: toda consulta devuelve {@link Float#NaN}. */
+    public static final SpeedProfile EMPTY = new SpeedProfile(0, 0, 1, 0, 0, new short[0], 1, emptySpeeds(1));
+
+    private final double minLat;
+    private final double minLon;
+    private final double cellSize;
+    private final int rows;
+    private final int cols;
+    private final short[] cellRegions;
+    private final int regionCount;
+    private final float[] speeds;
+
+    /**
+     * Construye el perfil a partir de sus arreglos ya preparados; lo usa {@link SpeedProfileLoader}.
+     *
+     * @param minLat Latitud del borde sur de la rejilla.
+     * @param minLon Longitud del borde oeste de la rejilla.
+     * @param cellSize Lado de cada celda, en grados.
+     * @param rows Filas de la rejilla (de sur a norte).
+     * @param cols Columnas de la rejilla (de oeste a este).
+     * @param cellRegions Región de cada celda, fila por fila.
+     * @param regionCount Número de regiones, incluida la región por defecto.
+     * @param speeds Velocidades en km/h por región, modo y franja.
+     */
+    SpeedProfile(double minLat, double minLon, double cellSize, int rows, int cols, short[] cellRegions,
+                 int regionCount, float[] speeds) {
+        if (cellRegions.length != rows * cols || speeds.length != regionCount * MODES * SLOTS_PER_WEEK) {
+            throw new IllegalArgumentException("Dimensiones inconsistentes en el perfil de velocidades");
+        }
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.cellSize = cellSize;
+        this.rows = rows;
+        this.cols = cols;
+        this.cellRegions = cellRegions;
+        this.regionCount = regionCount;
+        this.speeds = speeds;
+    }
+
+    /**
+     * Velocidad de un modo en un punto y una franja.
+     *
+     * @param mode Modo de transporte.
+     * @param lat Latitud del punto.
+     * @param lon Longitud del punto.
+     * @param slot Franja de la semana, de {@link #slotOf(LocalDateTime)}.
+     * @return Velocidad en km/h, o {@link Float#NaN} si ni la región ni la región por defecto la definen.
+     */
+    public float speedKmh(TransportMode mode, double lat, double lon, int slot) {
+        int region = regionAt(lat, lon);
+        float speed = speeds[index(region, mode, slot)];
+        if (Float.isNaN(speed) && region != 0) {
+            speed = speeds[index(0, mode, slot)];
+        }
+        return speed;
+    }
+
+    /**
+     * Franja de la semana que contiene un momento.
+     *
+     * @param time Fecha y hora locales.
+     * @return Índice de franja entre 0 (lunes 00:00) y {@value #SLOTS_PER_WEEK} - 1.
+     */
+    public static int slotOf(LocalDateTime time) {
+        return slotOf(time.getDayOfWeek(), time.getHour() * 60 + time.getMinute());
+    }
+
+    /**
+     * Franja de la semana de un día y un minuto del día.
+     *
+     * @param day Día de la semana.
+     * @param minuteOfDay Minuto del día, de 0 a 1439.
+     * @return Índice de franja.
+     */
+    public static int slotOf(DayOfWeek day, int minuteOfDay) {
+        return (day.getValue() - 1) * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+    }
+
+    /**
+     * Número de regiones, incluida la región por defecto.
+     *
+     * @return Cantidad de regiones.
+     */
+    public int regionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Memoria aproximada de las tablas.
+     *
+     * @return Bytes ocupados por la rejilla y las velocidades.
+     */
+    public long sizeInBytes() {
+        return 2L * cellRegions.length + 4L * speeds.length;
+    }
+
+    static int index(int region, TransportMode mode, int slot) {
+        return (region * MODES + mode.ordinal()) * SLOTS_PER_WEEK + slot;
+    }
+
+    static float[] emptySpeeds(int regionCount) {
+        float[] speeds = new float[regionCount * MODES * SLOTS_PER_WEEK];
+        Arrays.fill(speeds, Float.NaN);
+        return speeds;
+    }
+
+    private int regionAt(double lat, double lon) {
+        // Comparación en double antes de truncar: evita que -0.5 se trunque a la fila 0
+        double row = (lat - minLat) / cellSize;
+        double col = (lon - minLon) / cellSize;
+        if (!(row >= 0 && row < rows && col >= 0 && col < cols)) {
+            return 0;
+        }
+        return cellRegions[(int) row * cols + (int) col];
+    }
+}
@@ -0,0 +1,9 @@
+package com.froy.navigator.routing;
+
+/**
+ * Evento publicado por {@link SpeedProfileStore} cuando empieza a usar un perfil de velocidades recargado.
+ *
+ * @param profile Perfil nuevo.
+ */
+public record SpeedProfileChangedEvent(SpeedProfile profile) {
+}
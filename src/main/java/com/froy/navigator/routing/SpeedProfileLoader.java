@@ -0,0 +1,252 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cargador de perfiles de velocidad desde CSV.
+ * <p>
+ * El archivo define regiones rectangulares y velocidades por franja:
+ * <pre>
+ * region,centro,20.64,-103.38,20.70,-103.32
+ * speed,*,CAR,*,00:00,24:00,45
+ * speed,centro,CAR,MON-FRI,07:00,09:30,22
+ * </pre>
+ * {@code region,<nombre>,<minLat>,<minLon>,<maxLat>,<maxLon>} declara una región; si dos se solapan, la
+ * declarada después prevalece. {@code speed,<región>,<modo>,<días>,<desde>,<hasta>,<km/h>} asigna una
+ * velocidad entre dos horas múltiplos de 15 minutos ({@code hasta} excluida, {@code 24:00} permitido)
+ * en los días indicados ({@code MON}, {@code MON-FRI}, {@code SAT-SUN} o {@code *}). La región {@code *}
+ * es la región por defecto y el modo {@code *} aplica a todos. Si varias líneas cubren la misma franja,
+ * prevalece la última. Las líneas vacías y las que empiezan con {@code #} se ignoran.
+ */
+public final class SpeedProfileLoader {
+
+    /** Celdas máximas de la rejilla, para acotar la memoria de un archivo con regiones muy dispersas. */
+    private static final long MAX_CELLS = 16_000_000;
+
+    private static final String ANY = "*";
+
+    private SpeedProfileLoader() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Carga un perfil desde un archivo CSV.
+     *
+     * @param path Ruta del archivo.
+     * @param cellSize Lado de las celdas de la rejilla, en grados.
+     * @return Perfil construido.
+     * @throws IOException si el archivo no puede leerse o tiene un formato inválido.
+     */
+    public static SpeedProfile loadCsv(Path path, double cellSize) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return loadCsv(reader, cellSize);
+        }
+    }
+
+    /**
+     * Carga un perfil desde un lector de CSV.
+     *
+     * @param reader Lector con el contenido CSV.
+     * @param cellSize Lado de las celdas de la rejilla, en grados.
+     * @return Perfil construido.
+     * @throws IOException si el contenido no puede leerse o tiene un formato inválido.
+     */
+    public static SpeedProfile loadCsv(Reader reader, double cellSize) throws IOException {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("El tamaño de celda debe ser positivo");
+        }
+        List<Region> regions = new ArrayList<>();
+        Map<String, Integer> regionIndex = new HashMap<>();
+        regionIndex.put(ANY, 0);
+        List<String[]> speedLines = new ArrayList<>();
+        List<Integer> speedLineNumbers = new ArrayList<>();
+
+        BufferedReader lines = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                switch (fields[0].trim().toLowerCase(Locale.ROOT)) {
+                    case "region" -> {
+                        Region region = parseRegion(fields);
+                        if (regionIndex.putIfAbsent(region.name(), regions.size() + 1) != null) {
+                            throw new IllegalArgumentException("región repetida: " + region.name());
+                        }
+                        regions.add(region);
+                    }
+                    case "speed" -> {
+                        expectFields(fields, 7);
+                        speedLines.add(fields);
+                        speedLineNumbers.add(lineNumber);
+                    }
+                    default -> throw new IllegalArgumentException("tipo de línea desconocido: " + fields[0]);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Línea " + lineNumber + " inválida en el perfil de velocidades: "
+                        + e.getMessage(), e);
+            }
+        }
+        if (regions.size() >= Short.MAX_VALUE) {
+            throw new IOException("El perfil de velocidades admite como máximo " + (Short.MAX_VALUE - 1) + " regiones");
+        }
+
+        int regionCount = regions.size() + 1;
+        float[] speeds = SpeedProfile.emptySpeeds(regionCount);
+        for (int i = 0; i < speedLines.size(); i++) {
+            try {
+                applySpeed(speeds, speedLines.get(i), regionIndex);
+            } catch (RuntimeException e) {
+                throw new IOException("Línea " + speedLineNumbers.get(i) + " inválida en el perfil de velocidades: "
+                        + e.getMessage(), e);
+            }
+        }
+        return rasterize(regions, cellSize, regionCount, speeds);
+    }
+
+    private static Region parseRegion(String[] fields) {
+        expectFields(fields, 6);
+        String name = fields[1].trim();
+        if (name.isEmpty() || name.equals(ANY)) {
+            throw new IllegalArgumentException("nombre de región inválido: " + name);
+        }
+        double minLat = Double.parseDouble(fields[2].trim());
+        double minLon = Double.parseDouble(fields[3].trim());
+        double maxLat = Double.parseDouble(fields[4].trim());
+        double maxLon = Double.parseDouble(fields[5].trim());
+        if (!(minLat < maxLat && minLon < maxLon)) {
+            throw new IllegalArgumentException("la región " + name + " no tiene área");
+        }
+        return new Region(name, minLat, minLon, maxLat, maxLon);
+    }
+
+    private static void applySpeed(float[] speeds, String[] fields, Map<String, Integer> regionIndex) {
+        Integer region = regionIndex.get(fields[1].trim());
+        if (region == null) {
+            throw new IllegalArgumentException("región no declarada: " + fields[1].trim());
+        }
+        String mode = fields[2].trim().toUpperCase(Locale.ROOT);
+        TransportMode[] modes = mode.equals(ANY) ? TransportMode.values() : new TransportMode[]{TransportMode.valueOf(mode)};
+        DayOfWeek[] days = parseDays(fields[3].trim().toUpperCase(Locale.ROOT));
+        int fromSlot = parseSlotBoundary(fields[4].trim());
+        int toSlot = parseSlotBoundary(fields[5].trim());
+        if (fromSlot >= toSlot) {
+            throw new IllegalArgumentException("la franja debe terminar después de empezar (para cruzar la medianoche, usa dos líneas)");
+        }
+        float speed = Float.parseFloat(fields[6].trim());
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("la velocidad debe ser positiva");
+        }
+        for (TransportMode m : modes) {
+            for (DayOfWeek day : days) {
+                int dayStart = SpeedProfile.index(region, m, SpeedProfile.slotOf(day, 0));
+                for (int slot = fromSlot; slot < toSlot; slot++) {
+                    speeds[dayStart + slot] = speed;
+                }
+            }
+        }
+    }
+
+    private static DayOfWeek[] parseDays(String days) {
+        if (days.equals(ANY)) {
+            return DayOfWeek.values();
+        }
+        int dash = days.indexOf('-');
+        DayOfWeek first = parseDay(dash < 0 ? days : days.substring(0, dash));
+        DayOfWeek last = dash < 0 ? first : parseDay(days.substring(dash + 1));
+        if (last.compareTo(first) < 0) {
+            throw new IllegalArgumentException("rango de días invertido: " + days);
+        }
+        DayOfWeek[] range = new DayOfWeek[last.getValue() - first.getValue() + 1];
+        for (int i = 0; i < range.length; i++) {
+            range[i] = first.plus(i);
+        }
+        return range;
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().startsWith(day) && day.length() == 3) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("día inválido: " + day);
+    }
+
+    /** Convierte {@code HH:mm} en el índice de franja dentro del día; {@code 24:00} es el final del día. */
+    private static int parseSlotBoundary(String time) {
+        int colon = time.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("hora inválida: " + time);
+        }
+        int minutes = Integer.parseInt(time.substring(0, colon)) * 60 + Integer.parseInt(time.substring(colon + 1));
+        if (minutes < 0 || minutes > 24 * 60 || minutes % SpeedProfile.SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("la hora debe ser múltiplo de " + SpeedProfile.SLOT_MINUTES
+                    + " minutos entre 00:00 y 24:00: " + time);
+        }
+        return minutes / SpeedProfile.SLOT_MINUTES;
+    }
+
+    private static SpeedProfile rasterize(List<Region> regions, double cellSize, int regionCount, float[] speeds)
+            throws IOException {
+        if (regions.isEmpty()) {
+            return new SpeedProfile(0, 0, cellSize, 0, 0, new short[0], regionCount, speeds);
+        }
+        double minLat = Double.POSITIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (Region region : regions) {
+            minLat = Math.min(minLat, region.minLat());
+            minLon = Math.min(minLon, region.minLon());
+            maxLat = Math.max(maxLat, region.maxLat());
+            maxLon = Math.max(maxLon, region.maxLon());
+        }
+        long rows = (long) Math.ceil((maxLat - minLat) / cellSize);
+        long cols = (long) Math.ceil((maxLon - minLon) / cellSize);
+        if (rows * cols > MAX_CELLS) {
+            throw new IOException("La rejilla del perfil de velocidades tendría " + rows * cols
+                    + " celdas; aumenta el tamaño de celda");
+        }
+        short[] cellRegions = new short[(int) (rows * cols)];
+        for (int r = 0; r < regions.size(); r++) {
+            Region region = regions.get(r);
+            // Celdas cuyo centro cae dentro de la región
+            int firstRow = (int) Math.max(0, Math.ceil((region.minLat() - minLat) / cellSize - 0.5));
+            int lastRow = (int) Math.min(rows - 1, Math.ceil((region.maxLat() - minLat) / cellSize - 0.5) - 1);
+            int firstCol = (int) Math.max(0, Math.ceil((region.minLon() - minLon) / cellSize - 0.5));
+            int lastCol = (int) Math.min(cols - 1, Math.ceil((region.maxLon() - minLon) / cellSize - 0.5) - 1);
+            for (int row = firstRow; row <= lastRow; row++) {
+                Arrays.fill(cellRegions, row * (int) cols + firstCol, row * (int) cols + lastCol + 1, (short) (r + 1));
+            }
+        }
+        return new SpeedProfile(minLat, minLon, cellSize, (int) rows, (int) cols, cellRegions, regionCount, speeds);
+    }
+
+    private static void expectFields(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("se esperaban " + expected + " campos y hay " + fields.length);
+        }
+    }
+
+    private record Region(String name, double minLat, double minLon, double maxLat, double maxLon) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.model.TransportMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Perfil de velocidades vigente, cargado de {@code navigator.speed-profiles.path}.
+ * <p>
+ * El archivo se revisa en segundo plano cada {@code refresh-interval}: si cambió, se carga completo fuera
+ * del camino de las peticiones y se publica reemplazando la referencia, de modo que cada consulta ve el
+ * perfil anterior o el nuevo, nunca uno a medias. Si el archivo nuevo es inválido se conserva el anterior.
+ * Cada recarga publica un {@link SpeedProfileChangedEvent}.
+ * <p>
+ * Sin archivo configurado el perfil está vacío y las estrategias usan su velocidad promedio fija.
+ */
+@Component
+public class SpeedProfileStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SpeedProfileStore.class);
+
+    private final String profilePath;
+    private final double cellSize;
+    private final Duration refreshInterval;
+    private final ZoneId zone;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter reloadCounter;
+    private final Counter reloadFailureCounter;
+    private volatile SpeedProfile profile = SpeedProfile.EMPTY;
+    private FileTime loadedModified;
+
+    /**
+     * Construye el almacén del perfil de velocidades.
+     *
+     * @param profilePath Ruta del CSV de velocidades; vacío para usar solo las velocidades fijas.
+     * @param cellSize Lado de las celdas de la rejilla de regiones, en grados.
+     * @param refreshInterval Intervalo de revisión del archivo (0 = sin recarga).
+     * @param zone Zona horaria de las franjas; vacío para la del sistema.
+     * @param taskScheduler Planificador de Spring para la revisión periódica.
+     * @param eventPublisher Publicador de los eventos de recarga.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     */
+    public SpeedProfileStore(@Value("${navigator.speed-profiles.path:}") String profilePath,
+                             @Value("${navigator.speed-profiles.cell-size:0.01}") double cellSize,
+                             @Value("${navigator.speed-profiles.refresh-interval:1m}") Duration refreshInterval,
+                             @Value("${navigator.speed-profiles.zone:}") String zone,
+                             TaskScheduler taskScheduler,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry) {
+        this.profilePath = profilePath;
+        this.cellSize = cellSize;
+        this.refreshInterval = refreshInterval;
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        this.reloadCounter = Counter.builder("navigator.speed-profiles.reloads")
+                .description("Recargas del perfil de velocidades publicadas")
+                .register(meterRegistry);
+        this.reloadFailureCounter = Counter.builder("navigator.speed-profiles.reload.failures")
+                .description("Recargas del perfil de velocidades descartadas por un archivo inválido")
+                .register(meterRegistry);
+        Gauge.builder("navigator.speed-profiles.regions", this, store -> store.profile.regionCount())
+                .description("Regiones del perfil de velocidades vigente, incluida la región por defecto")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga el perfil al iniciar y programa su revisión periódica.
+     *
+     * @throws UncheckedIOException si el archivo configurado no puede cargarse.
+     */
+    @PostConstruct
+    public void init() {
+        if (profilePath == null || profilePath.isBlank()) {
+            log.info("Sin perfil de velocidades configurado; las estrategias usan su velocidad promedio");
+            return;
+        }
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar el perfil de velocidades " + profilePath, e);
+        }
+        if (refreshInterval.isPositive()) {
+            taskScheduler.scheduleWithFixedDelay(this::refresh, refreshInterval);
+        }
+    }
+
+    /**
+     * Recarga el perfil si el archivo cambió desde la última carga. Un archivo inválido se registra y se
+     * ignora: el perfil vigente sigue en uso.
+     *
+     * @return true si se publicó un perfil nuevo.
+     */
+    public synchronized boolean refresh() {
+        try {
+            if (Files.getLastModifiedTime(Path.of(profilePath)).equals(loadedModified)) {
+                return false;
+            }
+            load();
+        } catch (IOException | RuntimeException e) {
+            reloadFailureCounter.increment();
+            log.warn("Perfil de velocidades {} no recargado, se conserva el anterior: {}", profilePath, e.getMessage());
+            return false;
+        }
+        reloadCounter.increment();
+        eventPublisher.publishEvent(new SpeedProfileChangedEvent(profile));
+        return true;
+    }
+
+    /**
+     * Velocidad esperada ahora para un trayecto en línea recta: media armónica de las velocidades en el
+     * origen, el punto medio y el destino, que equivale a recorrer un tercio del trayecto con cada una.
+     * Los puntos sin velocidad en el perfil usan la velocidad por defecto.
+     *
+     * @param mode Modo de transporte.
+     * @param origin Punto de origen.
+     * @param destination Punto de destino.
+     * @param defaultKmh Velocidad a usar donde el perfil no define una.
+     * @return Velocidad en km/h.
+     */
+    public double speedKmh(TransportMode mode, GeoPoint origin, GeoPoint destination, double defaultKmh) {
+        SpeedProfile current = profile;
+        if (current == SpeedProfile.EMPTY) {
+            return defaultKmh;
+        }
+        int slot = currentSlot();
+        return tripSpeedKmh(pointSpeedKmh(current, mode, origin.lat(), origin.lon(), slot, defaultKmh),
+                pointSpeedKmh(current, mode, (origin.lat() + destination.lat()) / 2,
+                        (origin.lon() + destination.lon()) / 2, slot, defaultKmh),
+                pointSpeedKmh(current, mode, destination.lat(), destination.lon(), slot, defaultKmh));
+    }
+
+    /**
+     * Franja de la semana en curso, en la zona horaria configurada.
+     *
+     * @return Índice de franja, de {@link SpeedProfile#slotOf(LocalDateTime)}.
+     */
+    public int currentSlot() {
+        return SpeedProfile.slotOf(LocalDateTime.now(zone));
+    }
+
+    /**
+     * Velocidad de un modo en un punto y una franja de un perfil, o la velocidad por defecto donde el
+     * perfil no la define. Junto con {@link #tripSpeedKmh} permite calcular {@link #speedKmh} para muchos
+     * trayectos (p. ej. una matriz) con un mismo perfil y franja, consultando una sola vez cada extremo.
+     *
+     * @param profile Perfil de velocidades, de {@link #profile()}.
+     * @param mode Modo de transporte.
+     * @param lat Latitud del punto.
+     * @param lon Longitud del punto.
+     * @param slot Franja de la semana, de {@link #currentSlot()}.
+     * @param defaultKmh Velocidad a usar donde el perfil no define una.
+     * @return Velocidad en km/h.
+     */
+    public static double pointSpeedKmh(SpeedProfile profile, TransportMode mode, double lat, double lon, int slot,
+                                       double defaultKmh) {
+        return orDefault(profile.speedKmh(mode, lat, lon, slot), defaultKmh);
+    }
+
+    /**
+     * Velocidad de un trayecto en línea recta: media armónica de las velocidades en el origen, el punto
+     * medio y el destino.
+     *
+     * @param originKmh Velocidad en el origen.
+     * @param middleKmh Velocidad en el punto medio.
+     * @param destinationKmh Velocidad en el destino.
+     * @return Velocidad en km/h.
+     */
+    public static double tripSpeedKmh(double originKmh, double middleKmh, double destinationKmh) {
+        return 3 / (1 / originKmh + 1 / middleKmh + 1 / destinationKmh);
+    }
+
+    /**
+     * Perfil vigente.
+     *
+     * @return Perfil en uso; {@link SpeedProfile#EMPTY} si no hay archivo.
+     */
+    public SpeedProfile profile() {
+        return profile;
+    }
+
+    private synchronized void load() throws IOException {
+        long start = System.nanoTime();
+        Path path = Path.of(profilePath);
+        FileTime modified = Files.getLastModifiedTime(path);
+        SpeedProfile loaded = SpeedProfileLoader.loadCsv(path, cellSize);
+        this.profile = loaded;
+        this.loadedModified = modified;
+        log.info("Perfil de velocidades cargado desde {}: {} regiones, {} KB en {} ms", profilePath,
+                loaded.regionCount() - 1, loaded.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static double orDefault(float speed, double defaultKmh) {
+        return Float.isNaN(speed) ? defaultKmh : speed;
+    }
+}
@@ -0,0 +1,189 @@
+package com.froy.navigator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.froy.navigator.dto.BatchRouteResult;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.service.stats.RouteStatsSink;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que planifica muchas rutas en una sola operación.
+ * Reparte las solicitudes en bloques sobre un ejecutor acotado, reutiliza las estrategias
+ * de {@link RoutePlanner} y registra todas las estadísticas del lote de una sola vez.
+ * Los errores se reportan por elemento, sin hacer fallar el lote completo.
+ * Cuando la cola del ejecutor se llena, el hilo que envía ejecuta el bloque él mismo,
+ * lo que frena al productor en lugar de rechazar trabajo.
+ * Con hilos virtuales ({@code spring.threads.virtual.enabled}) cada bloque corre en su propio hilo
+ * virtual; el paralelismo real lo limitan los portadores y las búsquedas simultáneas del motor de ruteo.
+ */
+@Service
+public class BatchRoutePlanner {
+
+    private final RoutePlanner routePlanner;
+    private final RouteStatsSink routeStatsSink;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ExecutorService executor;
+    private final int maxSize;
+    private final int chunkSize;
+
+    /**
+     * Construye el planificador por lotes.
+     *
+     * @param routePlanner Planificador que resuelve las estrategias por modo.
+     * @param routeStatsSink Destino de las estadísticas de las rutas calculadas.
+     * @param validator Validador de Jakarta Bean Validation para validar cada solicitud.
+     * @param objectMapper ObjectMapper de la aplicación, usado para leer cuerpos NDJSON.
+     * @param threads Número de hilos del ejecutor (0 = número de procesadores disponibles).
+     * @param queueCapacity Número máximo de bloques en espera de un hilo libre.
+     * @param maxSize Número máximo de solicitudes aceptadas por lote.
+     * @param chunkSize Número de solicitudes que procesa cada tarea del ejecutor.
+     * @param virtualThreads Si los bloques se ejecutan en hilos virtuales en lugar del grupo acotado.
+     */
+    public BatchRoutePlanner(RoutePlanner routePlanner,
+                             RouteStatsSink routeStatsSink,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${navigator.batch.threads:0}") int threads,
+                             @Value("${navigator.batch.queue-capacity:64}") int queueCapacity,
+                             @Value("${navigator.batch.max-size:50000}") int maxSize,
+                             @Value("${navigator.batch.chunk-size:256}") int chunkSize,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.routePlanner = routePlanner;
+        this.routeStatsSink = routeStatsSink;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(RouteRequest.class);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("route-batch-", 0).factory())
+                : new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                        new CustomizableThreadFactory("route-batch-"),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+        this.maxSize = maxSize;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Planifica todas las rutas del lote y devuelve los resultados en el orden de entrada.
+     *
+     * @param requests Solicitudes de ruta a procesar.
+     * @return Un resultado por solicitud, en el mismo orden que la entrada.
+     * @throws BusinessException si el lote está vacío o excede el tamaño máximo permitido.
+     */
+    public List<BatchRouteResult> planRoutes(List<RouteRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BusinessException("El lote de rutas no puede estar vacío");
+        }
+        if (requests.size() > maxSize) {
+            throw new BusinessException("El lote excede el tamaño máximo permitido de " + maxSize + " rutas");
+        }
+
+        // 1. Repartir el lote en bloques contiguos; cada tarea escribe en su propio rango del arreglo,
+        //    por lo que el orden de entrada se conserva sin necesidad de ordenar al final.
+        BatchRouteResult[] results = new BatchRouteResult[requests.size()];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, requests.size());
+            chunks.add(CompletableFuture.runAsync(() -> planChunk(requests, results, start, end), executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        // 2. Registrar de una vez las estadísticas de las rutas exitosas (lotes JDBC o cola en segundo plano).
+        List<RouteStats> stats = new ArrayList<>(results.length);
+        for (BatchRouteResult result : results) {
+            if (result.isSuccess()) {
+                stats.add(RoutePlanner.toRouteStats(requests.get(result.index()), result.route()));
+            }
+        }
+        routeStatsSink.recordAll(stats);
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Planifica un lote recibido como NDJSON (una solicitud JSON por línea).
+     * El cuerpo se lee de forma incremental, sin materializar el documento completo.
+     *
+     * @param ndjson Flujo con una solicitud de ruta por línea.
+     * @return Un resultado por línea, en el mismo orden que la entrada.
+     * @throws BusinessException si el cuerpo no es NDJSON válido o excede el tamaño máximo permitido.
+     */
+    public List<BatchRouteResult> planRoutes(InputStream ndjson) {
+        List<RouteRequest> requests = new ArrayList<>();
+        try (MappingIterator<RouteRequest> lines = ndjsonReader.readValues(ndjson)) {
+            while (lines.hasNextValue()) {
+                if (requests.size() == maxSize) {
+                    throw new BusinessException("El lote excede el tamaño máximo permitido de " + maxSize + " rutas");
+                }
+                requests.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Cuerpo NDJSON inválido en la línea " + (requests.size() + 1) + ": "
+                    + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el cuerpo NDJSON: " + e.getMessage());
+        }
+        return planRoutes(requests);
+    }
+
+    /**
+     * Detiene el ejecutor al cerrar el contexto de Spring.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void planChunk(List<RouteRequest> requests, BatchRouteResult[] results, int start, int end) {
+        for (int i = start; i < end; i++) {
+            results[i] = planOne(i, requests.get(i));
+        }
+    }
+
+    private BatchRouteResult planOne(int index, RouteRequest request) {
+        if (request == null) {
+            return BatchRouteResult.failure(index, "La solicitud no puede ser nula");
+        }
+        Set<ConstraintViolation<RouteRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String errors = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return BatchRouteResult.failure(index, errors);
+        }
+        try {
+            RouteResponse response = routePlanner.computeRoute(request);
+            return BatchRouteResult.success(index, response);
+        } catch (RuntimeException e) {
+            return BatchRouteResult.failure(index, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.froy.navigator.service;
+
+import com.froy.navigator.dto.MatrixRequest;
+import com.froy.navigator.dto.MatrixResponse;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.SpeedProfile;
+import com.froy.navigator.routing.SpeedProfileStore;
+import com.froy.navigator.service.eta.EtaCorrectionService;
+import com.froy.navigator.util.PreparedPoint;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Servicio que calcula matrices de distancias y duraciones entre N orígenes y M destinos.
+ * Prepara el seno y coseno de cada punto una sola vez ({@link PreparedPoint}), de modo que cada celda
+ * solo calcula una raíz y un arcoseno, y reparte las filas en un ForkJoinPool. Las velocidades del perfil
+ * y la corrección de ETA de cada origen y destino también se consultan una sola vez; por celda solo se
+ * consulta la velocidad del punto medio. El resultado se devuelve como arreglos planos en orden por
+ * filas, sin crear objetos por celda.
+ */
+@Service
+public class DistanceMatrixService {
+
+    /**
+     * Número mínimo de celdas por tarea antes de dejar de dividir el trabajo.
+     */
+    private static final int MIN_CELLS_PER_TASK = 16_384;
+
+    private final RoutePlanner routePlanner;
+    private final SpeedProfileStore speedProfileStore;
+    private final EtaCorrectionService etaCorrectionService;
+    private final ForkJoinPool pool;
+    private final long maxCells;
+
+    /**
+     * Construye el servicio de matrices.
+     *
+     * @param routePlanner Planificador que resuelve la estrategia (y su velocidad promedio) de cada modo.
+     * @param speedProfileStore Perfil de velocidades por zona y franja horaria.
+     * @param etaCorrectionService Corrección de duraciones aprendida de viajes observados.
+     * @param parallelism Número de hilos del pool (0 = número de procesadores disponibles).
+     * @param maxCells Número máximo de celdas (orígenes × destinos) aceptadas por solicitud.
+     */
+    public DistanceMatrixService(RoutePlanner routePlanner,
+                                 SpeedProfileStore speedProfileStore,
+                                 EtaCorrectionService etaCorrectionService,
+                                 @Value("${navigator.matrix.parallelism:0}") int parallelism,
+                                 @Value("${navigator.matrix.max-cells:4000000}") long maxCells) {
+        this.routePlanner = routePlanner;
+        this.speedProfileStore = speedProfileStore;
+        this.etaCorrectionService = etaCorrectionService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * Calcula la matriz de distancias y, para cada modo solicitado, la matriz de duraciones.
+     * Las distancias y duraciones equivalen, salvo redondeo, a las que devolvería la estrategia de cada
+     * modo al estimar en línea recta el mismo par de puntos: velocidad del perfil en la franja actual
+     * (o la velocidad promedio de la estrategia) y corrección de ETA del origen. No se usa el grafo de
+     * carreteras.
+     *
+     * @param request Orígenes, destinos y modos de transporte.
+     * @return Matriz en orden por filas.
+     * @throws BusinessException si la matriz excede el número máximo de celdas o algún modo no está soportado.
+     */
+    public MatrixResponse computeMatrix(MatrixRequest request) {
+        int rows = request.origins().size();
+        int cols = request.destinations().size();
+        if ((long) rows * cols > maxCells) {
+            throw new BusinessException("La matriz excede el máximo permitido de " + maxCells + " celdas");
+        }
+
+        PreparedPoint[] origins = request.origins().stream().map(PreparedPoint::of).toArray(PreparedPoint[]::new);
+        PreparedPoint[] destinations = request.destinations().stream().map(PreparedPoint::of)
+                .toArray(PreparedPoint[]::new);
+        // Un solo perfil y una sola franja para toda la matriz, aunque el perfil se recargue mientras tanto
+        SpeedProfile profile = speedProfileStore.profile();
+        int slot = speedProfileStore.currentSlot();
+
+        List<TransportMode> modes = request.modes().stream().distinct().toList();
+        ModeSpeeds[] modeSpeeds = new ModeSpeeds[modes.size()];
+        for (int m = 0; m < modeSpeeds.length; m++) {
+            modeSpeeds[m] = modeSpeeds(modes.get(m), origins, destinations, profile, slot);
+        }
+
+        Matrix matrix = new Matrix(origins, destinations, modeSpeeds, profile, slot, new double[rows * cols],
+                new int[modeSpeeds.length][rows * cols]);
+        int rowsPerTask = Math.max(1, MIN_CELLS_PER_TASK / cols);
+        pool.invoke(new RowBlock(matrix, 0, rows, rowsPerTask));
+
+        Map<TransportMode, int[]> durationsByMode = new EnumMap<>(TransportMode.class);
+        for (int m = 0; m < modeSpeeds.length; m++) {
+            durationsByMode.put(modes.get(m), matrix.durations()[m]);
+        }
+        return new MatrixResponse(rows, cols, matrix.distances(), durationsByMode);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto de Spring.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private ModeSpeeds modeSpeeds(TransportMode mode, PreparedPoint[] origins, PreparedPoint[] destinations,
+                                  SpeedProfile profile, int slot) {
+        double defaultKmh = routePlanner.resolveStrategy(mode).getAverageSpeedKmh();
+        double[] originFactors = new double[origins.length];
+        for (int i = 0; i < origins.length; i++) {
+            originFactors[i] = etaCorrectionService.factor(mode, origins[i].toGeoPoint());
+        }
+        if (profile == SpeedProfile.EMPTY) {
+            return new ModeSpeeds(mode, defaultKmh, null, null, originFactors);
+        }
+        return new ModeSpeeds(mode, defaultKmh, pointSpeeds(profile, mode, origins, slot, defaultKmh),
+                pointSpeeds(profile, mode, destinations, slot, defaultKmh), originFactors);
+    }
+
+    private static double[] pointSpeeds(SpeedProfile profile, TransportMode mode, PreparedPoint[] points, int slot,
+                                        double defaultKmh) {
+        double[] speeds = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            speeds[i] = SpeedProfileStore.pointSpeedKmh(profile, mode, points[i].lat(), points[i].lon(), slot,
+                    defaultKmh);
+        }
+        return speeds;
+    }
+
+    /**
+     * Velocidades y correcciones de un modo, resueltas una vez por origen y por destino.
+     *
+     * @param mode Modo de transporte.
+     * @param defaultKmh Velocidad promedio de la estrategia, donde el perfil no define una.
+     * @param originKmh Velocidad del perfil en cada origen; null si el perfil está vacío.
+     * @param destinationKmh Velocidad del perfil en cada destino; null si el perfil está vacío.
+     * @param originFactors Factor de corrección de ETA de cada origen.
+     */
+    private record ModeSpeeds(TransportMode mode, double defaultKmh, double[] originKmh, double[] destinationKmh,
+                              double[] originFactors) {
+    }
+
+    /**
+     * Entradas compartidas por todas las tareas y arreglos de salida que cada una llena en sus filas.
+     */
+    private record Matrix(PreparedPoint[] origins, PreparedPoint[] destinations, ModeSpeeds[] modes,
+                          SpeedProfile profile, int slot, double[] distances, int[][] durations) {
+    }
+
+    /**
+     * Tarea que calcula un bloque contiguo de filas, dividiéndose mientras el bloque sea grande.
+     */
+    private static final class RowBlock extends RecursiveAction {
+
+        private final Matrix matrix;
+        private final int fromRow;
+        private final int toRow;
+        private final int rowsPerTask;
+
+        RowBlock(Matrix matrix, int fromRow, int toRow, int rowsPerTask) {
+            this.matrix = matrix;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.rowsPerTask = rowsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > rowsPerTask) {
+                int mid = (fromRow + toRow) >>> 1;
+                invokeAll(new RowBlock(matrix, fromRow, mid, rowsPerTask),
+                        new RowBlock(matrix, mid, toRow, rowsPerTask));
+                return;
+            }
+            PreparedPoint[] destinations = matrix.destinations();
+            ModeSpeeds[] modes = matrix.modes();
+            double[] distances = matrix.distances();
+            int[][] durations = matrix.durations();
+            int cols = destinations.length;
+            for (int i = fromRow; i < toRow; i++) {
+                PreparedPoint origin = matrix.origins()[i];
+                int rowOffset = i * cols;
+                for (int j = 0; j < cols; j++) {
+                    PreparedPoint destination = destinations[j];
+                    double distance = origin.distanceTo(destination);
+                    int cell = rowOffset + j;
+                    // Mismo redondeo y cálculo de duración que las estrategias de ruta.
+                    distances[cell] = Math.round(distance * 100.0) / 100.0;
+                    for (int m = 0; m < modes.length; m++) {
+                        double speed = speedKmh(modes[m], origin, destination, i, j);
+                        durations[m][cell] = (int) (distance / speed * 60 * modes[m].originFactors()[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Lo mismo que {@link SpeedProfileStore#speedKmh} con las velocidades de los extremos ya resueltas.
+         */
+        private double speedKmh(ModeSpeeds speeds, PreparedPoint origin, PreparedPoint destination, int i, int j) {
+            if (speeds.originKmh() == null) {
+                return speeds.defaultKmh();
+            }
+            double middleKmh = SpeedProfileStore.pointSpeedKmh(matrix.profile(), speeds.mode(),
+                    (origin.lat() + destination.lat()) / 2, (origin.lon() + destination.lon()) / 2, matrix.slot(),
+                    speeds.defaultKmh());
+            return SpeedProfileStore.tripSpeedKmh(speeds.originKmh()[i], middleKmh, speeds.destinationKmh()[j]);
+        }
+    }
+}
@@ -1,108 +1,190 @@
 package com.froy.navigator.service;
 
+import com.froy.navigator.config.CacheConfig;
 import com.froy.navigator.dto.RouteRequest;
 import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.RouteSteps;
 import com.froy.navigator.entity.RouteStats;
 import com.froy.navigator.exception.BusinessException;
 import com.froy.navigator.model.TransportMode;
-import com.froy.navigator.repository.RouteStatsRepository;
+import com.froy.navigator.routing.RouteTrack;
+import com.froy.navigator.service.caching.RouteCacheKeyGenerator;
+import com.froy.navigator.service.stats.RouteStatsSink;
 import com.froy.navigator.strategy.RouteStrategy;
-import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import com.froy.navigator.strategy.RouteStrategyRegistry;
+import com.froy.navigator.strategy.RouteStrategyRegistry.RegisteredStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio responsable de planificar rutas utilizando diferentes estrategias.
  * Implementa la parte de Contexto del patrón Strategy, seleccionando dinámicamente
- * la RouteStrategy adecuada según el modo solicitado.
+ * la RouteStrategy adecuada según el modo solicitado. Las estrategias se leen en cada petición del
+ * {@link RouteStrategyRegistry}, por lo que pueden reemplazarse o deshabilitarse sin reiniciar.
  */
 @Service
 public class RoutePlanner {
 
-    private final ApplicationContext applicationContext;
-    private final RouteStatsRepository routeStatsRepository;
-    private Map<TransportMode, RouteStrategy> strategies;
+    private final RouteStrategyRegistry strategyRegistry;
+    private final RouteStatsSink routeStatsSink;
+    private final RouteCacheKeyGenerator routeCacheKeyGenerator;
+    // Proxy de este mismo bean: las llamadas internas a un método @Cacheable deben pasar por él
+    private final RoutePlanner self;
+    // Temporizadores resueltos al arrancar: registrar una medición no busca ni crea medidores
+    private final Map<TransportMode, Timer> statsTimers = new EnumMap<>(TransportMode.class);
 
     /**
-     * Construye un RoutePlanner con el ApplicationContext de Spring.
+     * Construye un RoutePlanner sobre el registro de estrategias.
      *
-     * @param applicationContext Contexto de Spring utilizado para obtener todos los beans de RouteStrategy.
-     * @param routeStatsRepository Repositorio para persistir las estadísticas de las rutas.
+     * @param strategyRegistry Registro de las estrategias publicadas por modo de transporte.
+     * @param routeStatsSink Destino de las estadísticas de las rutas (síncrono o en segundo plano).
+     * @param routeCacheKeyGenerator Generador de llaves de la caché "routes".
+     * @param self Proxy de este bean, para que {@link #planRoute} pase por la caché.
+     * @param meterRegistry Registro de métricas de Micrometer.
      */
-    @Autowired
-    public RoutePlanner(ApplicationContext applicationContext, RouteStatsRepository routeStatsRepository) {
-        this.applicationContext = applicationContext;
-        this.routeStatsRepository = routeStatsRepository;
-    }
-
-    /**
-     * Inicializa el mapa de estrategias después de la creación del bean.
-     * Recolecta todos los beans que implementan RouteStrategy y los mapea por su modo.
-     * Esto evita utilizar sentencias if/else o switch para seleccionar la estrategia.
-     */
-    @PostConstruct
-    public void init() {
-        // Este bloque de código es el corazón del patrón Strategy en Spring.
-        // 1. applicationContext.getBeansOfType(RouteStrategy.class):
-        //    Le pedimos a Spring: "Dame todos los beans (componentes) que hayas creado
-        //    que implementen la interfaz RouteStrategy".
-        // 2. .values(): De los beans encontrados, solo nos interesan los objetos, no sus nombres.
-        // 3. .stream(): Convertimos la lista de objetos en un Stream para procesarlos fácilmente.
-        // 4. .collect(Collectors.toMap(...)): Creamos un nuevo Mapa a partir del Stream.
-        //    - La LLAVE del mapa será el resultado de llamar a `getMode()` en cada estrategia (ej. TransportMode.CAR).
-        //    - El VALOR del mapa será la propia estrategia (ej. la instancia de CarRouteStrategy).
-        strategies = applicationContext.getBeansOfType(RouteStrategy.class)
-                .values()
-                .stream()
-                .collect(Collectors.toMap(RouteStrategy::getMode, Function.identity()));
+    public RoutePlanner(RouteStrategyRegistry strategyRegistry, RouteStatsSink routeStatsSink,
+                        RouteCacheKeyGenerator routeCacheKeyGenerator, @Lazy RoutePlanner self,
+                        MeterRegistry meterRegistry) {
+        this.strategyRegistry = strategyRegistry;
+        this.routeStatsSink = routeStatsSink;
+        this.routeCacheKeyGenerator = routeCacheKeyGenerator;
+        this.self = self;
+        for (TransportMode mode : TransportMode.values()) {
+            statsTimers.put(mode, Timer.builder("navigator.route.stats")
+                    .description("Tiempo de registro de las estadísticas de una ruta en el planificador")
+                    .tag("mode", mode.name())
+                    .register(meterRegistry));
+        }
     }
 
     /**
      * Planifica una ruta basada en la solicitud proporcionada y el modo de transporte seleccionado.
+     * La ruta sale de la caché "routes" (ver {@link #planCachedRoute}). En modo geohash, la entrada pudo
+     * llenarla otra solicitud con origen y destino en las mismas celdas, así que las instrucciones de inicio
+     * y llegada se reescriben con los puntos de esta solicitud: nadie recibe las coordenadas de otro.
      *
      * @param request Objeto RouteRequest que contiene origen, destino y modo deseado.
      * @return RouteResponse con los detalles de la ruta calculada.
      * @throws BusinessException si el modo de transporte solicitado no está soportado.
      */
-    @Cacheable(value = "routes", key = "#request")
     public RouteResponse planRoute(RouteRequest request) {
-        // 1. Seleccionar la estrategia adecuada según el modo de transporte.
-        RouteStrategy strategy = strategies.get(request.mode());
-        if (strategy == null) {
-            throw new BusinessException("Modo de transporte no soportado: " + request.mode());
+        RouteResponse cached = self.planCachedRoute(request);
+        if (!routeCacheKeyGenerator.sharesEntries()) {
+            return cached;
         }
+        return new RouteResponse(cached.distanceKm(), cached.durationMinutes(),
+                RouteSteps.withEndpoints(cached.steps(), request.origin(), request.destination()), cached.mode());
+    }
 
-        // 2. Ejecutar la lógica principal: calcular la ruta.
-        RouteResponse response = strategy.compute(request);
+    /**
+     * Calcula una ruta y registra sus estadísticas, guardando la respuesta en la caché "routes".
+     * La llave de caché la calcula {@link RouteCacheKeyGenerator}; en modo geohash, solicitudes
+     * cercanas comparten la misma respuesta en caché. Con {@code sync = true}, las llamadas concurrentes
+     * que fallan en la misma llave se coalescen (ver {@link com.froy.navigator.service.caching.CoalescingCache}):
+     * la ruta se calcula y sus estadísticas se registran una sola vez. Los clientes usan {@link #planRoute}.
+     *
+     * @param request Objeto RouteRequest que contiene origen, destino y modo deseado.
+     * @return RouteResponse tal como quedó en caché, con los puntos de la solicitud que la calculó.
+     * @throws BusinessException si el modo de transporte solicitado no está soportado.
+     */
+    @Cacheable(value = CacheConfig.ROUTES_CACHE, keyGenerator = RouteCacheKeyGenerator.BEAN_NAME, sync = true)
+    public RouteResponse planCachedRoute(RouteRequest request) {
+        // 1. y 2. Seleccionar la estrategia adecuada y calcular la ruta.
+        RouteResponse response = computeRoute(request);
 
-        // 3. Implementación del patrón "Write-Through":
-        //    Después de la operación principal (calcular la ruta), escribimos el resultado
-        //    directamente en la base de datos de estadísticas.
-        //    Esto asegura que el almacén de datos persistente siempre esté actualizado.
+        // 3. Registrar las estadísticas de la ruta.
+        //    En modo "Write-Through" (por defecto) se escriben directamente en la base de datos,
+        //    lo que asegura que el almacén persistente siempre esté actualizado.
+        //    En modo "Write-Behind" se encolan y un hilo en segundo plano las escribe por lotes.
         saveRouteStatistics(request, response);
 
-        // 4. Devolver la respuesta al cliente.
+        // 4. Devolver la respuesta (la guarda la caché).
         return response;
     }
 
     /**
-     * Guarda las estadísticas de una ruta calculada en la base de datos.
+     * Calcula una ruta con la estrategia correspondiente sin persistir estadísticas ni pasar por la caché.
+     * Lo utilizan los flujos masivos (p. ej. el procesamiento por lotes), que agrupan la escritura
+     * de estadísticas en lugar de hacerla fila por fila.
+     *
+     * @param request Objeto RouteRequest que contiene origen, destino y modo deseado.
+     * @return RouteResponse con los detalles de la ruta calculada.
+     * @throws BusinessException si el modo de transporte solicitado no está soportado.
+     */
+    public RouteResponse computeRoute(RouteRequest request) {
+        RegisteredStrategy registered = resolve(request.mode());
+        long start = System.nanoTime();
+        RouteResponse response = registered.strategy().compute(request);
+        registered.computeTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    /**
+     * Calcula una ruta con su geometría, sin persistir estadísticas ni pasar por la caché.
+     * Lo utilizan las sesiones de navegación, que siguen el avance del cliente sobre la ruta.
+     *
+     * @param request Objeto RouteRequest que contiene origen, destino y modo deseado.
+     * @return Geometría de la ruta con sus distancias, tiempos e instrucciones.
+     * @throws BusinessException si el modo de transporte solicitado no está soportado.
+     */
+    public RouteTrack computeTrack(RouteRequest request) {
+        RegisteredStrategy registered = resolve(request.mode());
+        long start = System.nanoTime();
+        RouteTrack track = registered.strategy().computeTrack(request);
+        registered.computeTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return track;
+    }
+
+    /**
+     * Obtiene la estrategia registrada para un modo de transporte.
+     *
+     * @param mode Modo de transporte solicitado.
+     * @return La RouteStrategy que maneja ese modo.
+     * @throws BusinessException si el modo de transporte solicitado no está soportado.
+     */
+    public RouteStrategy resolveStrategy(TransportMode mode) {
+        return resolve(mode).strategy();
+    }
+
+    private RegisteredStrategy resolve(TransportMode mode) {
+        RegisteredStrategy registered = strategyRegistry.find(mode);
+        if (registered == null) {
+            throw new BusinessException("Modo de transporte no soportado: " + mode);
+        }
+        return registered;
+    }
+
+    /**
+     * Construye la entidad de estadísticas correspondiente a una ruta calculada.
      *
      * @param request La solicitud original de la ruta.
      * @param response La respuesta calculada.
+     * @return Entidad RouteStats lista para persistirse.
      */
-    private void saveRouteStatistics(RouteRequest request, RouteResponse response) {
-        RouteStats stats = new RouteStats(
+    public static RouteStats toRouteStats(RouteRequest request, RouteResponse response) {
+        return new RouteStats(
                 request.origin().lat(), request.origin().lon(),
                 request.destination().lat(), request.destination().lon(),
                 response.mode(), response.distanceKm(), response.durationMinutes()
         );
-        routeStatsRepository.save(stats);
+    }
+
+    /**
+     * Registra las estadísticas de una ruta calculada en el destino configurado.
+     *
+     * @param request La solicitud original de la ruta.
+     * @param response La respuesta calculada.
+     */
+    private void saveRouteStatistics(RouteRequest request, RouteResponse response) {
+        long start = System.nanoTime();
+        routeStatsSink.record(toRouteStats(request, response));
+        statsTimers.get(request.mode()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 }
@@ -0,0 +1,384 @@
+package com.froy.navigator.service.analytics;
+
+import com.froy.navigator.dto.AnalyticsPercentiles;
+import com.froy.navigator.dto.CellAnalytics;
+import com.froy.navigator.dto.RouteAnalyticsSummary;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.util.GeoHash;
+import com.froy.navigator.util.LogHistogram;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Analítica de viajes calculados a partir de agregados incrementales en memoria, en lugar de
+ * agrupar la tabla route_stats en cada consulta.
+ * <p>
+ * Cada estadística que se persiste (write-through, write-behind o importación) se suma a la hora de su
+ * {@code calculationTime} y a su modo: número de viajes, sumas de distancia y duración, un
+ * {@link LogHistogram} de cada una para los percentiles, y conteos y sumas por celda geohash de origen.
+ * Registrar es un puñado de incrementos atómicos sin bloqueos. Las consultas combinan como mucho
+ * {@code navigator.analytics.retention} horas de agregados, así que su costo no depende del tamaño de la tabla.
+ * <p>
+ * Los agregados se reconstruyen al arrancar leyendo una sola vez las filas dentro de la retención.
+ * Cada instancia agrega lo que ella misma escribe: con varias réplicas, la analítica de cada una cubre
+ * su tráfico más lo que existía en la tabla al arrancar.
+ */
+@Service
+@DependsOn("entityManagerFactory") // La tabla route_stats la crea Hibernate (ddl-auto) antes de reconstruir
+public class RouteAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteAnalyticsService.class);
+
+    /** Valor del modo en las respuestas que agregan todos los modos. */
+    public static final String ALL_MODES = "ALL";
+
+    private static final double PERCENTILE_RELATIVE_ERROR = 0.02;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private final RouteStatsJdbcRepository routeStatsJdbcRepository;
+    private final long retentionHours;
+    private final int cellPrecision;
+    private final boolean rebuildOnStartup;
+    private final Clock clock;
+    private final NavigableMap<Long, HourRollup> hours = new ConcurrentSkipListMap<>();
+
+    /** Histogramas de referencia: definen las cubetas y estiman los percentiles de los conteos combinados. */
+    private final LogHistogram distanceShape = newDistanceHistogram();
+    private final LogHistogram durationShape = newDurationHistogram();
+
+    /**
+     * Construye el servicio.
+     *
+     * @param routeStatsJdbcRepository Repositorio JDBC usado para reconstruir los agregados al arrancar.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param retention Horas de agregados que se conservan y que abarcan las consultas.
+     * @param cellPrecision Precisión geohash (1-12) de las celdas de origen; 5 ≈ 5 km.
+     * @param rebuildOnStartup Si al arrancar se leen las filas de route_stats dentro de la retención.
+     */
+    @Autowired
+    public RouteAnalyticsService(RouteStatsJdbcRepository routeStatsJdbcRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${navigator.analytics.retention:72h}") Duration retention,
+                                 @Value("${navigator.analytics.cell-precision:5}") int cellPrecision,
+                                 @Value("${navigator.analytics.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this(routeStatsJdbcRepository, meterRegistry, retention, cellPrecision, rebuildOnStartup,
+                Clock.systemDefaultZone());
+    }
+
+    /**
+     * Construye el servicio con un reloj dado, que define la hora actual para la retención.
+     */
+    RouteAnalyticsService(RouteStatsJdbcRepository routeStatsJdbcRepository, MeterRegistry meterRegistry,
+                          Duration retention, int cellPrecision, boolean rebuildOnStartup, Clock clock) {
+        if (cellPrecision < 1 || cellPrecision > GeoHash.MAX_PRECISION) {
+            throw new IllegalArgumentException("navigator.analytics.cell-precision debe estar entre 1 y "
+                    + GeoHash.MAX_PRECISION);
+        }
+        this.routeStatsJdbcRepository = routeStatsJdbcRepository;
+        this.retentionHours = Math.max(1, retention.toHours());
+        this.cellPrecision = cellPrecision;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.clock = clock;
+        Gauge.builder("navigator.analytics.hours", hours, Map::size)
+                .description("Horas con agregados de analítica en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconstruye los agregados con las filas de route_stats dentro de la retención. Se ejecuta antes de
+     * que el servidor web acepte peticiones, por lo que ninguna fila se cuenta dos veces.
+     */
+    @PostConstruct
+    public void rebuild() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long start = System.nanoTime();
+        LongAdder rows = new LongAdder();
+        routeStatsJdbcRepository.streamSince(oldestRetainedHourStart(), REBUILD_FETCH_SIZE, resultSet -> {
+            record(resultSet.getString(3), resultSet.getDouble(1), resultSet.getDouble(2),
+                    resultSet.getDouble(4), resultSet.getInt(5), resultSet.getTimestamp(6).toLocalDateTime());
+            rows.increment();
+        });
+        log.info("Analítica de rutas reconstruida con {} estadísticas de las últimas {} horas en {} ms",
+                rows.sum(), retentionHours, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Suma una estadística persistida a los agregados.
+     *
+     * @param stats Estadística de ruta.
+     */
+    public void record(RouteStats stats) {
+        record(stats.getModeUsed(), stats.getOriginLat(), stats.getOriginLon(), stats.getDistanceKm(),
+                stats.getDurationMinutes(), stats.getCalculationTime());
+    }
+
+    /**
+     * Suma varias estadísticas persistidas a los agregados.
+     *
+     * @param stats Estadísticas de rutas.
+     */
+    public void recordAll(List<RouteStats> stats) {
+        for (RouteStats s : stats) {
+            record(s);
+        }
+    }
+
+    private void record(String modeUsed, double originLat, double originLon, double distanceKm,
+                        int durationMinutes, LocalDateTime calculationTime) {
+        TransportMode mode = parseMode(modeUsed);
+        if (mode == null || calculationTime == null) {
+            return;
+        }
+        long hour = epochHour(calculationTime);
+        if (hour < currentEpochHour() - retentionHours) {
+            return; // Fuera de la retención (p. ej. importaciones históricas)
+        }
+        HourRollup rollup = hours.get(hour);
+        if (rollup == null) {
+            rollup = hours.computeIfAbsent(hour, h -> new HourRollup());
+            evictExpired();
+        }
+        rollup.modes.get(mode).record(GeoHash.encode(originLat, originLon, cellPrecision), distanceKm, durationMinutes);
+    }
+
+    /**
+     * Agregados de todos los viajes de un intervalo.
+     *
+     * @param mode Modo de transporte, o {@code null} para todos.
+     * @param from Inicio del intervalo (inclusive); se trunca a la hora.
+     * @param to Fin del intervalo (exclusivo); se redondea hacia arriba a la hora.
+     * @return Número de viajes, promedios y percentiles.
+     */
+    public RouteAnalyticsSummary summary(TransportMode mode, LocalDateTime from, LocalDateTime to) {
+        long fromHour = epochHour(from);
+        long toHour = ceilEpochHour(to);
+        Accumulator total = new Accumulator();
+        for (HourRollup rollup : hours.subMap(fromHour, toHour).values()) {
+            rollup.addTo(total, mode);
+        }
+        return total.toSummary(hourStart(fromHour), hourStart(toHour), mode);
+    }
+
+    /**
+     * Agregados hora por hora de un intervalo; las horas sin viajes se omiten.
+     *
+     * @param mode Modo de transporte, o {@code null} para todos.
+     * @param from Inicio del intervalo (inclusive); se trunca a la hora.
+     * @param to Fin del intervalo (exclusivo); se redondea hacia arriba a la hora.
+     * @return Un resumen por hora con viajes, en orden cronológico.
+     */
+    public List<RouteAnalyticsSummary> hourly(TransportMode mode, LocalDateTime from, LocalDateTime to) {
+        List<RouteAnalyticsSummary> series = new ArrayList<>();
+        for (Map.Entry<Long, HourRollup> entry : hours.subMap(epochHour(from), ceilEpochHour(to)).entrySet()) {
+            Accumulator hour = new Accumulator();
+            entry.getValue().addTo(hour, mode);
+            if (hour.trips > 0) {
+                series.add(hour.toSummary(hourStart(entry.getKey()), hourStart(entry.getKey() + 1), mode));
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Celdas geohash de origen con más viajes en un intervalo.
+     *
+     * @param mode Modo de transporte, o {@code null} para todos.
+     * @param from Inicio del intervalo (inclusive); se trunca a la hora.
+     * @param to Fin del intervalo (exclusivo); se redondea hacia arriba a la hora.
+     * @param limit Número máximo de celdas.
+     * @return Celdas ordenadas de mayor a menor número de viajes.
+     */
+    public List<CellAnalytics> topCells(TransportMode mode, LocalDateTime from, LocalDateTime to, int limit) {
+        Map<Long, double[]> cells = new HashMap<>();
+        for (HourRollup rollup : hours.subMap(epochHour(from), ceilEpochHour(to)).values()) {
+            for (TransportMode m : modes(mode)) {
+                rollup.modes.get(m).cells.forEach((cell, cellRollup) -> {
+                    double[] totals = cells.computeIfAbsent(cell, c -> new double[3]);
+                    totals[0] += cellRollup.trips.sum();
+                    totals[1] += cellRollup.distanceKm.sum();
+                    totals[2] += cellRollup.durationMinutes.sum();
+                });
+            }
+        }
+        return cells.entrySet().stream()
+                .filter(e -> e.getValue()[0] > 0)
+                .sorted(Comparator.comparingDouble((Map.Entry<Long, double[]> e) -> e.getValue()[0]).reversed())
+                .limit(Math.max(0, limit))
+                .map(e -> new CellAnalytics(GeoHash.toBase32(e.getKey(), cellPrecision), (long) e.getValue()[0],
+                        round(e.getValue()[1] / e.getValue()[0]), round(e.getValue()[2] / e.getValue()[0])))
+                .toList();
+    }
+
+    /**
+     * Inicio de la hora más antigua que se conserva.
+     *
+     * @return Momento a partir del cual hay agregados.
+     */
+    public LocalDateTime oldestRetainedHourStart() {
+        return hourStart(currentEpochHour() - retentionHours);
+    }
+
+    private void evictExpired() {
+        hours.headMap(currentEpochHour() - retentionHours).clear();
+    }
+
+    private static TransportMode parseMode(String modeUsed) {
+        try {
+            return modeUsed == null ? null : TransportMode.valueOf(modeUsed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<TransportMode> modes(TransportMode mode) {
+        return mode == null ? List.of(TransportMode.values()) : List.of(mode);
+    }
+
+    private long currentEpochHour() {
+        return epochHour(LocalDateTime.now(clock));
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+
+    private static long ceilEpochHour(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC) + 3599, 3600);
+    }
+
+    private static LocalDateTime hourStart(long epochHour) {
+        return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static LogHistogram newDistanceHistogram() {
+        return new LogHistogram(0.01, 20_000, PERCENTILE_RELATIVE_ERROR);
+    }
+
+    private static LogHistogram newDurationHistogram() {
+        return new LogHistogram(0.5, 100_000, PERCENTILE_RELATIVE_ERROR);
+    }
+
+    /**
+     * Agregados de una hora, uno por modo.
+     */
+    private final class HourRollup {
+
+        private final Map<TransportMode, ModeRollup> modes = new EnumMap<>(TransportMode.class);
+
+        HourRollup() {
+            for (TransportMode mode : TransportMode.values()) {
+                modes.put(mode, new ModeRollup());
+            }
+        }
+
+        void addTo(Accumulator accumulator, TransportMode mode) {
+            for (TransportMode m : modes(mode)) {
+                modes.get(m).addTo(accumulator);
+            }
+        }
+    }
+
+    /**
+     * Agregados de un modo en una hora.
+     */
+    private static final class ModeRollup {
+
+        private final LongAdder trips = new LongAdder();
+        private final DoubleAdder distanceKm = new DoubleAdder();
+        private final DoubleAdder durationMinutes = new DoubleAdder();
+        private final LogHistogram distanceHistogram = newDistanceHistogram();
+        private final LogHistogram durationHistogram = newDurationHistogram();
+        private final Map<Long, CellRollup> cells = new ConcurrentHashMap<>();
+
+        void record(long cell, double distance, int duration) {
+            trips.increment();
+            distanceKm.add(distance);
+            durationMinutes.add(duration);
+            distanceHistogram.record(distance);
+            durationHistogram.record(duration);
+            CellRollup cellRollup = cells.get(cell);
+            if (cellRollup == null) {
+                cellRollup = cells.computeIfAbsent(cell, c -> new CellRollup());
+            }
+            cellRollup.trips.increment();
+            cellRollup.distanceKm.add(distance);
+            cellRollup.durationMinutes.add(duration);
+        }
+
+        void addTo(Accumulator accumulator) {
+            accumulator.trips += trips.sum();
+            accumulator.distanceKm += distanceKm.sum();
+            accumulator.durationMinutes += durationMinutes.sum();
+            distanceHistogram.addTo(accumulator.distanceCounts);
+            durationHistogram.addTo(accumulator.durationCounts);
+        }
+    }
+
+    /**
+     * Agregados de una celda de origen para un modo en una hora.
+     */
+    private static final class CellRollup {
+
+        private final LongAdder trips = new LongAdder();
+        private final DoubleAdder distanceKm = new DoubleAdder();
+        private final DoubleAdder durationMinutes = new DoubleAdder();
+    }
+
+    /**
+     * Suma de agregados de varias horas o modos durante una consulta.
+     */
+    private final class Accumulator {
+
+        private long trips;
+        private double distanceKm;
+        private double durationMinutes;
+        private final long[] distanceCounts = new long[distanceShape.bucketCount()];
+        private final long[] durationCounts = new long[durationShape.bucketCount()];
+
+        RouteAnalyticsSummary toSummary(LocalDateTime from, LocalDateTime to, TransportMode mode) {
+            String modeName = mode == null ? ALL_MODES : mode.name();
+            if (trips == 0) {
+                return new RouteAnalyticsSummary(from, to, modeName, 0, 0, 0, null, null);
+            }
+            return new RouteAnalyticsSummary(from, to, modeName, trips,
+                    round(distanceKm / trips), round(durationMinutes / trips),
+                    percentiles(distanceShape, distanceCounts), percentiles(durationShape, durationCounts));
+        }
+
+        private AnalyticsPercentiles percentiles(LogHistogram shape, long[] counts) {
+            return new AnalyticsPercentiles(round(shape.percentile(counts, 50)),
+                    round(shape.percentile(counts, 90)), round(shape.percentile(counts, 99)));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.froy.navigator.service.auditing;
+
+import com.froy.navigator.entity.AuditEntry;
+import com.froy.navigator.model.OverflowPolicy;
+import com.froy.navigator.repository.AuditEntryJdbcRepository;
+import com.froy.navigator.util.RingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación asíncrona de {@link AuditSink}.
+ * El aspecto publica cada evento en un {@link RingBuffer} sin bloqueos; un hilo en segundo plano
+ * lo vacía, formatea los mensajes fuera del hilo de la petición e inserta las entradas por lotes
+ * en {@code audit_entries}. Cuando el buffer está lleno se aplica la {@link OverflowPolicy} configurada.
+ * Al cerrar la aplicación se escriben todos los eventos pendientes: como en
+ * {@link com.froy.navigator.service.stats.WriteBehindRouteStatsSink}, los productores publican bajo un
+ * candado de lectura y el cierre cambia de estado bajo el de escritura, así que ningún evento entra al
+ * buffer después del último vaciado; a partir de ahí se escriben de forma síncrona.
+ */
+@Component
+@ConditionalOnProperty(name = "navigator.audit.mode", havingValue = "async")
+public class AsyncAuditSink implements AuditSink {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncAuditSink.class);
+
+    private final AuditEntryJdbcRepository auditEntryJdbcRepository;
+    private final RingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Thread writer;
+    // Lectura: productores que publican; escritura: el cierre, que deja de aceptar eventos en el buffer
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * Construye el destino asíncrono.
+     *
+     * @param auditEntryJdbcRepository Repositorio JDBC usado para las inserciones por lotes.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param bufferCapacity Capacidad del buffer circular (se redondea a potencia de dos).
+     * @param batchSize Número máximo de entradas por lote.
+     * @param idleWait Pausa del escritor cuando el buffer está vacío.
+     * @param overflowPolicy Política a aplicar cuando el buffer está lleno.
+     * @param offerTimeout Tiempo máximo de espera por espacio en el buffer con la política BLOCK.
+     * @param shutdownTimeout Tiempo máximo de espera al hilo escritor durante el cierre.
+     */
+    public AsyncAuditSink(AuditEntryJdbcRepository auditEntryJdbcRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${navigator.audit.buffer-capacity:8192}") int bufferCapacity,
+                          @Value("${navigator.audit.batch-size:500}") int batchSize,
+                          @Value("${navigator.audit.idle-wait:5ms}") Duration idleWait,
+                          @Value("${navigator.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${navigator.audit.offer-timeout:50ms}") Duration offerTimeout,
+                          @Value("${navigator.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.auditEntryJdbcRepository = auditEntryJdbcRepository;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.idleWaitNanos = idleWait.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("navigator.audit.queue.depth", buffer, RingBuffer::size)
+                .description("Eventos de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("navigator.audit.flush")
+                .description("Latencia de cada lote de auditoría escrito en la base de datos")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("navigator.audit.events").tag("outcome", "written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("navigator.audit.events").tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("navigator.audit.events").tag("outcome", "failed")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Arranca el hilo escritor tras crear el bean.
+     */
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @Override
+    public void submit(AuditEvent event) {
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            if (running) {
+                if (!buffer.offer(event)) {
+                    handleOverflow(event);
+                }
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Durante el cierre ya no hay escritor: se escribe de forma síncrona.
+        write(List.of(event));
+    }
+
+    /**
+     * Detiene el hilo escritor y escribe todos los eventos que sigan en el buffer.
+     *
+     * @throws InterruptedException si el hilo que cierra la aplicación es interrumpido mientras espera al escritor.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Lock lock = stateLock.writeLock();
+        lock.lock();
+        try {
+            // Espera a los productores que están publicando; después nadie más publica
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void handleOverflow(AuditEvent event) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + offerTimeoutNanos;
+                while (!buffer.offer(event)) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        droppedCounter.increment();
+                        return;
+                    }
+                    // Un hilo virtual que gira no cede su portador: se cede explícitamente
+                    if (Thread.currentThread().isVirtual()) {
+                        Thread.yield();
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            case DROP -> droppedCounter.increment();
+            case CALLER_RUNS -> write(List.of(event));
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> events) {
+        long start = System.nanoTime();
+        try {
+            // Formateo diferido: los mensajes se construyen aquí, fuera del hilo de la petición.
+            List<AuditEntry> entries = new ArrayList<>(events.size());
+            for (AuditEvent event : events) {
+                AuditEntry entry = new AuditEntry(event.action(), event.formatMessage());
+                entry.setTimestamp(event.timestamp());
+                entries.add(entry);
+            }
+            auditEntryJdbcRepository.insertAll(entries);
+            writtenCounter.increment(events.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(events.size());
+            log.error("No se pudieron guardar {} entradas de auditoría", events.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,37 +1,62 @@
 package com.froy.navigator.service.auditing;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Aspecto para auditar operaciones anotadas con {@link AuditOperation}.
- * Intercepta las llamadas a métodos, ejecuta el método y luego registra una entrada
- * de auditoría utilizando AuditService.
+ * Intercepta las llamadas a métodos, ejecuta el método y luego entrega un {@link AuditEvent}
+ * al {@link AuditSink} configurado. El mensaje no se formatea aquí: lo construye el destino,
+ * que en modo asíncrono lo hace fuera del hilo de la petición.
+ * <p>
+ * Las operaciones exitosas se muestrean según {@code navigator.audit.sample-rate};
+ * las operaciones que fallan se auditan siempre.
  */
 @Aspect
 @Component
 public class AuditAspect {
 
-    private final AuditService auditService;
+    private final AuditSink auditSink;
+    private final double sampleRate;
+    private final Counter sampledOutCounter;
+    private final Timer submitTimer;
 
     /**
-     * Construye un AuditAspect con el AuditService proporcionado.
+     * Construye un AuditAspect con el AuditSink proporcionado.
      *
-     * @param auditService Servicio utilizado para persistir las entradas de auditoría.
+     * @param auditSink Destino de los eventos de auditoría.
+     * @param sampleRate Fracción (0 a 1) de operaciones exitosas que se auditan.
+     * @param meterRegistry Registro de métricas de Micrometer.
      */
     @Autowired
-    public AuditAspect(AuditService auditService) {
-        this.auditService = auditService;
+    public AuditAspect(AuditSink auditSink,
+                       @Value("${navigator.audit.sample-rate:1.0}") double sampleRate,
+                       MeterRegistry meterRegistry) {
+        this.auditSink = auditSink;
+        this.sampleRate = sampleRate;
+        this.sampledOutCounter = Counter.builder("navigator.audit.events").tag("outcome", "sampled_out")
+                .register(meterRegistry);
+        this.submitTimer = Timer.builder("navigator.audit.submit")
+                .description("Tiempo que la petición dedica a entregar su evento de auditoría al destino")
+                .register(meterRegistry);
     }
 
     /**
      * Consejo alrededor para métodos anotados con @AuditOperation.
-     * Intercepta la llamada, ejecuta el método original y registra una entrada de auditoría
-     * con la acción definida en la anotación y los argumentos del método.
+     * Intercepta la llamada, ejecuta el método original y registra un evento de auditoría
+     * con la acción definida en la anotación, los argumentos del método y su resultado o error.
      *
      * @param joinPoint Punto de unión que representa el método interceptado.
      * @return Resultado de la ejecución del método original.
@@ -42,17 +67,31 @@ public class AuditAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         AuditOperation auditOperation = signature.getMethod().getAnnotation(AuditOperation.class);
         String action = auditOperation.value();
-
         Object[] args = joinPoint.getArgs();
-        String message = String.format("Método: %s, Argumentos: %s", signature.getName(), java.util.Arrays.toString(args));
 
+        Object result;
         try {
-            Object result = joinPoint.proceed(); // Ejecuta el método original
-            auditService.audit(action, message + ", Resultado: " + result);
-            return result;
+            result = joinPoint.proceed(); // Ejecuta el método original
         } catch (Throwable e) {
-            auditService.audit(action, message + ", Error: " + e.getMessage());
+            submit(new AuditEvent(action, signature.getName(), args, null,
+                    String.valueOf(e.getMessage()), LocalDateTime.now()));
             throw e; // Re-lanza la excepción después de auditar
         }
+        if (sampled()) {
+            submit(new AuditEvent(action, signature.getName(), args, result, null, LocalDateTime.now()));
+        } else {
+            sampledOutCounter.increment();
+        }
+        return result;
+    }
+
+    private void submit(AuditEvent event) {
+        long start = System.nanoTime();
+        auditSink.submit(event);
+        submitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
     }
 }
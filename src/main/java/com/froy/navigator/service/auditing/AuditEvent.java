@@ -0,0 +1,133 @@
+package com.froy.navigator.service.auditing;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Array;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Evento de auditoría capturado por {@link AuditAspect} antes de formatear su mensaje.
+ * Guarda referencias a los argumentos y al resultado para que el mensaje se construya
+ * solo cuando se va a persistir (en el modo asíncrono, fuera del hilo de la petición). Las colecciones
+ * y arreglos grandes, también dentro de un {@link HttpEntity} o un {@link Optional}, se resumen al crear
+ * el evento para no retenerlos hasta que se escribe.
+ *
+ * @param action Acción auditada (valor de {@link AuditOperation}).
+ * @param methodName Nombre del método interceptado.
+ * @param args Argumentos del método.
+ * @param result Resultado del método; null si falló.
+ * @param errorMessage Mensaje de la excepción lanzada; null si el método terminó correctamente.
+ * @param timestamp Momento en que terminó la operación.
+ */
+public record AuditEvent(String action, String methodName, Object[] args, Object result,
+                         String errorMessage, LocalDateTime timestamp) {
+
+    /**
+     * Número de elementos a partir del cual una colección o arreglo se resume en el mensaje
+     * en lugar de listarse completo (p. ej. en los endpoints por lotes).
+     */
+    private static final int MAX_LISTED_ELEMENTS = 20;
+
+    /**
+     * Longitud máxima de la descripción de un argumento o del resultado; el resto se recorta.
+     */
+    private static final int MAX_DESCRIBED_LENGTH = 1000;
+
+    /**
+     * Resume los argumentos y el resultado grandes.
+     */
+    public AuditEvent {
+        if (args != null) {
+            Object[] summarized = args;
+            for (int i = 0; i < args.length; i++) {
+                Object summary = summarize(args[i]);
+                if (summary != args[i]) {
+                    if (summarized == args) {
+                        summarized = args.clone();
+                    }
+                    summarized[i] = summary;
+                }
+            }
+            args = summarized;
+        }
+        result = summarize(result);
+    }
+
+    /**
+     * Indica si la operación auditada terminó con una excepción.
+     *
+     * @return true si el método lanzó una excepción.
+     */
+    public boolean failed() {
+        return errorMessage != null;
+    }
+
+    /**
+     * Construye el mensaje de auditoría con el mismo formato que la auditoría síncrona original.
+     *
+     * @return Mensaje con el método, los argumentos y el resultado o error.
+     */
+    public String formatMessage() {
+        StringBuilder message = new StringBuilder(128)
+                .append("Método: ").append(methodName)
+                .append(", Argumentos: [");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                message.append(", ");
+            }
+            message.append(describe(args[i]));
+        }
+        message.append(']');
+        if (failed()) {
+            message.append(", Error: ").append(errorMessage);
+        } else {
+            message.append(", Resultado: ").append(describe(result));
+        }
+        return message.toString();
+    }
+
+    /**
+     * Sustituye por su resumen las colecciones y arreglos de más de {@value #MAX_LISTED_ELEMENTS} elementos,
+     * también como cuerpo de un {@link HttpEntity} (p. ej. el {@link ResponseEntity} de los controladores)
+     * o contenido de un {@link Optional}.
+     *
+     * @return El mismo objeto si no hay nada que resumir; si no, el texto que lo describe.
+     */
+    private static Object summarize(Object value) {
+        if (value instanceof HttpEntity<?> entity) {
+            Object body = summarize(entity.getBody());
+            if (body == entity.getBody()) {
+                return value;
+            }
+            return entity instanceof ResponseEntity<?> response
+                    ? "<" + response.getStatusCode() + "," + body + ">"
+                    : "<" + body + ">";
+        }
+        if (value instanceof Optional<?> optional && optional.isPresent()) {
+            Object content = summarize(optional.get());
+            return content == optional.get() ? value : "Optional[" + content + "]";
+        }
+        if (value instanceof Collection<?> collection && collection.size() > MAX_LISTED_ELEMENTS) {
+            return value.getClass().getSimpleName() + "[" + collection.size() + " elementos]";
+        }
+        if (value != null && value.getClass().isArray() && Array.getLength(value) > MAX_LISTED_ELEMENTS) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + " elementos]";
+        }
+        return value;
+    }
+
+    /**
+     * Describe un valor ya resumido, recortado a {@value #MAX_DESCRIBED_LENGTH} caracteres (p. ej. un
+     * recorrido con todas las instrucciones de sus tramos).
+     */
+    private static String describe(Object value) {
+        String description = String.valueOf(value);
+        if (description.length() <= MAX_DESCRIBED_LENGTH) {
+            return description;
+        }
+        return description.substring(0, MAX_DESCRIBED_LENGTH) + "… (" + description.length() + " caracteres)";
+    }
+}
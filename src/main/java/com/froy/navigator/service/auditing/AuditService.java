@@ -2,11 +2,15 @@ package com.froy.navigator.service.auditing;
 
 import com.froy.navigator.entity.AuditEntry;
 import com.froy.navigator.repository.AuditEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Servicio para gestionar las operaciones de auditoría.
  * Responsable de guardar las entradas de auditoría en la base de datos.
@@ -15,15 +19,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuditService {
 
     private final AuditEntryRepository auditEntryRepository;
+    private final Timer saveTimer;
 
     /**
      * Construye un AuditService con el AuditEntryRepository proporcionado.
      *
      * @param auditEntryRepository Repositorio para las entradas de auditoría.
+     * @param meterRegistry Registro de métricas de Micrometer.
      */
     @Autowired
-    public AuditService(AuditEntryRepository auditEntryRepository) {
+    public AuditService(AuditEntryRepository auditEntryRepository, MeterRegistry meterRegistry) {
         this.auditEntryRepository = auditEntryRepository;
+        this.saveTimer = Timer.builder("navigator.audit.save")
+                .description("Latencia de escritura de una entrada de auditoría en el repositorio")
+                .register(meterRegistry);
     }
 
     /**
@@ -37,6 +46,8 @@ public class AuditService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void audit(String action, String message) {
         AuditEntry auditEntry = new AuditEntry(action, message);
+        long start = System.nanoTime();
         auditEntryRepository.save(auditEntry);
+        saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 }
@@ -0,0 +1,16 @@
+package com.froy.navigator.service.auditing;
+
+/**
+ * Destino de los eventos de auditoría producidos por {@link AuditAspect}.
+ * La implementación se elige con la propiedad {@code navigator.audit.mode}:
+ * síncrona (una transacción por evento) o asíncrona (cola sin bloqueos e inserciones por lotes).
+ */
+public interface AuditSink {
+
+    /**
+     * Registra un evento de auditoría.
+     *
+     * @param event Evento capturado por el aspecto.
+     */
+    void submit(AuditEvent event);
+}
@@ -0,0 +1,30 @@
+package com.froy.navigator.service.auditing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación síncrona de {@link AuditSink}.
+ * Formatea el mensaje y lo guarda con {@link AuditService} en el hilo de la petición,
+ * en su propia transacción. Es el modo por defecto.
+ */
+@Component
+@ConditionalOnProperty(name = "navigator.audit.mode", havingValue = "sync", matchIfMissing = true)
+public class SynchronousAuditSink implements AuditSink {
+
+    private final AuditService auditService;
+
+    /**
+     * Construye el destino síncrono.
+     *
+     * @param auditService Servicio que persiste cada entrada de auditoría.
+     */
+    public SynchronousAuditSink(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @Override
+    public void submit(AuditEvent event) {
+        auditService.audit(event.action(), event.formatMessage());
+    }
+}
@@ -0,0 +1,140 @@
+package com.froy.navigator.service.caching;
+
+import com.froy.navigator.util.SingleFlight;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caché que coalesce los cálculos concurrentes de una misma llave. Cuando varias peticiones fallan a la vez
+ * en la misma llave (p. ej. una ruta popular justo al expirar), solo una ejecuta el método
+ * {@code @Cacheable(sync = true)}; las demás esperan y reciben el mismo valor, por lo que los efectos del
+ * método (como registrar las estadísticas de la ruta) ocurren una sola vez.
+ * <p>
+ * Solo {@link #get(Object, Callable)} coalesce; el resto de operaciones se delegan sin cambios. Sin registro
+ * de cálculos en curso, {@link #get(Object, Callable)} consulta, calcula y guarda sin ningún bloqueo: los
+ * cálculos concurrentes de una misma llave se ejecutan todos, y a diferencia de
+ * {@link CaffeineCache#get(Object, Callable)} un cálculo lento tampoco frena a otras llaves.
+ * <p>
+ * Cada llamada cuenta como un solo acierto o fallo en las estadísticas de Caffeine: la segunda consulta,
+ * dentro del cálculo coalescido, lee el mapa de la caché sin registrar estadísticas.
+ */
+public class CoalescingCache implements Cache {
+
+    private final CaffeineCache delegate;
+    private final SingleFlight<Object, Object> singleFlight;
+
+    /**
+     * Envuelve una caché de Caffeine.
+     *
+     * @param delegate Caché que almacena los valores.
+     * @param singleFlight Registro de cálculos en curso de esta caché, o null para no coalescer.
+     */
+    public CoalescingCache(CaffeineCache delegate, SingleFlight<Object, Object> singleFlight) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            if (singleFlight == null) {
+                return load(key, valueLoader);
+            }
+            return (T) singleFlight.execute(key, () -> {
+                // Otro cálculo pudo terminar entre la consulta anterior y el registro de este
+                Object current = delegate.getNativeCache().asMap().get(key);
+                if (current != null) {
+                    return current == NullValue.INSTANCE ? null : current;
+                }
+                return load(key, valueLoader);
+            });
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Indica si los cálculos concurrentes de una misma llave se coalescen.
+     *
+     * @return false si cada fallo ejecuta su propio cálculo.
+     */
+    public boolean isCoalescing() {
+        return singleFlight != null;
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        T value = valueLoader.call();
+        delegate.put(key, value);
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
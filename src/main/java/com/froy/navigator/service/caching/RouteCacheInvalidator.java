@@ -0,0 +1,56 @@
+package com.froy.navigator.service.caching;
+
+import com.froy.navigator.config.CacheConfig;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.strategy.RouteStrategyChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Descarta de la caché "routes" las rutas de un modo cuando cambia su estrategia, para que las
+ * peticiones siguientes no reciban rutas calculadas con la estrategia anterior (p. ej. con otro grafo
+ * o con otras velocidades). Las rutas de los demás modos se conservan.
+ */
+@Component
+public class RouteCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Construye el invalidador.
+     *
+     * @param cacheManager Administrador de cachés de la aplicación.
+     */
+    public RouteCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Elimina las rutas en caché del modo cuya estrategia cambió.
+     *
+     * @param event Cambio de estrategia.
+     */
+    @EventListener
+    public void onStrategyChanged(RouteStrategyChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.ROUTES_CACHE);
+        if (cache != null && cache.getNativeCache()
+                instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.asMap().keySet().removeIf(key -> modeOf(key) == event.mode());
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static TransportMode modeOf(Object key) {
+        if (key instanceof RouteRequest request) {
+            return request.mode();
+        }
+        if (key instanceof RouteCacheKeyGenerator.RouteCacheKey cacheKey) {
+            return cacheKey.mode();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.froy.navigator.service.caching;
+
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.util.GeoHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generador de llaves para la caché "routes".
+ * En modo {@link KeyMode#EXACT} la llave es la propia RouteRequest (comportamiento original).
+ * En modo {@link KeyMode#GEOHASH} el origen y el destino se ajustan a celdas geohash con una
+ * precisión configurable por modo de transporte, de modo que todas las solicitudes cuyo origen y
+ * destino caen en el mismo par de celdas comparten la misma RouteResponse en caché; el planificador
+ * reescribe las instrucciones de inicio y llegada con los puntos de cada solicitud al entregarla.
+ */
+@Component(RouteCacheKeyGenerator.BEAN_NAME)
+public class RouteCacheKeyGenerator implements KeyGenerator {
+
+    /**
+     * Nombre del bean, usado en {@code @Cacheable(keyGenerator = ...)}.
+     */
+    public static final String BEAN_NAME = "routeCacheKeyGenerator";
+
+    /**
+     * Modos de construcción de la llave de caché.
+     */
+    public enum KeyMode {
+        /** La llave es la solicitud completa, con coordenadas exactas. */
+        EXACT,
+        /** La llave es el par de celdas geohash de origen y destino más el modo de transporte. */
+        GEOHASH
+    }
+
+    /**
+     * Llave cuantizada: celdas geohash de origen y destino y el modo de transporte.
+     *
+     * @param originCell Geohash numérico del origen.
+     * @param destinationCell Geohash numérico del destino.
+     * @param mode Modo de transporte.
+     */
+    public record RouteCacheKey(long originCell, long destinationCell, TransportMode mode) {
+    }
+
+    private final KeyMode keyMode;
+    private final Map<TransportMode, Integer> precisionByMode = new EnumMap<>(TransportMode.class);
+
+    /**
+     * Construye el generador leyendo el modo de llave y las precisiones por modo de transporte.
+     * La precisión de cada modo se lee de {@code navigator.cache.routes.geohash-precision.<modo>}
+     * y, si no existe, se usa la precisión por defecto.
+     *
+     * @param keyMode Modo de construcción de la llave.
+     * @param defaultPrecision Precisión geohash por defecto (1 a 12).
+     * @param environment Entorno de Spring del que se leen las precisiones por modo.
+     */
+    public RouteCacheKeyGenerator(@Value("${navigator.cache.routes.key-mode:EXACT}") KeyMode keyMode,
+                                  @Value("${navigator.cache.routes.geohash-precision.default:7}") int defaultPrecision,
+                                  Environment environment) {
+        this.keyMode = keyMode;
+        for (TransportMode mode : TransportMode.values()) {
+            String property = "navigator.cache.routes.geohash-precision." + mode.name().toLowerCase(Locale.ROOT);
+            int precision = environment.getProperty(property, Integer.class, defaultPrecision);
+            if (precision < 1 || precision > GeoHash.MAX_PRECISION) {
+                throw new IllegalStateException(property + " debe estar entre 1 y " + GeoHash.MAX_PRECISION);
+            }
+            precisionByMode.put(mode, precision);
+        }
+    }
+
+    /**
+     * Indica si solicitudes con puntos distintos pueden compartir una entrada de la caché.
+     *
+     * @return true en modo {@link KeyMode#GEOHASH}.
+     */
+    public boolean sharesEntries() {
+        return keyMode != KeyMode.EXACT;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return keyFor((RouteRequest) params[0]);
+    }
+
+    /**
+     * Calcula la llave de caché de una solicitud según el modo configurado.
+     *
+     * @param request Solicitud de ruta.
+     * @return La propia solicitud en modo EXACT o una {@link RouteCacheKey} en modo GEOHASH.
+     */
+    public Object keyFor(RouteRequest request) {
+        if (keyMode == KeyMode.EXACT) {
+            return request;
+        }
+        int precision = precisionByMode.get(request.mode());
+        return new RouteCacheKey(
+                GeoHash.encode(request.origin().lat(), request.origin().lon(), precision),
+                GeoHash.encode(request.destination().lat(), request.destination().lon(), precision),
+                request.mode());
+    }
+}
@@ -0,0 +1,139 @@
+package com.froy.navigator.service.eta;
+
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.util.GeoHash;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumula las observaciones de viajes y ajusta con ellas un {@link EtaCorrectionModel}.
+ * <p>
+ * Cada observación aporta {@code ln(real / estimado)} con un peso; el factor de un grupo es la media
+ * geométrica ponderada de sus cocientes. Para que pocas observaciones no muevan el factor, cada grupo
+ * parte de {@code priorWeight} observaciones ficticias con el valor de su nivel superior: el modo parte
+ * de 1 y cada celda parte del factor de su modo. Los cocientes se acotan a {@code [1/maxFactor, maxFactor]}
+ * para que un viaje anómalo no domine a los demás.
+ * <p>
+ * Las sumas se conservan entre ajustes y se atenúan con {@link #decay(double)}, de modo que cada ajuste
+ * solo necesita las observaciones nuevas. No es seguro para varios hilos.
+ */
+final class EtaCorrectionFitter {
+
+    /** Peso por debajo del cual una celda atenuada se descarta. */
+    private static final double MIN_CELL_WEIGHT = 0.05;
+
+    private final int cellPrecision;
+    private final double priorWeight;
+    private final double maxLogRatio;
+    private final double[] modeWeights = new double[TransportMode.values().length];
+    private final double[] modeLogSums = new double[TransportMode.values().length];
+    // Celdas de cada modo, por ordinal, como los arreglos anteriores
+    private final List<Map<Long, double[]>> cells = new ArrayList<>(TransportMode.values().length);
+
+    /**
+     * Crea un acumulador vacío.
+     *
+     * @param cellPrecision Precisión geohash (1-12) de las celdas de origen.
+     * @param priorWeight Observaciones ficticias con que parte cada grupo.
+     * @param maxFactor Cociente máximo (y su inverso, mínimo) que se toma de una observación.
+     */
+    EtaCorrectionFitter(int cellPrecision, double priorWeight, double maxFactor) {
+        if (cellPrecision < 1 || cellPrecision > GeoHash.MAX_PRECISION || priorWeight < 0 || maxFactor <= 1) {
+            throw new IllegalArgumentException("Configuración inválida para el ajuste de correcciones");
+        }
+        this.cellPrecision = cellPrecision;
+        this.priorWeight = priorWeight;
+        this.maxLogRatio = Math.log(maxFactor);
+        for (int i = 0; i < TransportMode.values().length; i++) {
+            cells.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Suma una observación.
+     *
+     * @param mode Modo de transporte.
+     * @param lat Latitud del origen.
+     * @param lon Longitud del origen.
+     * @param baselineMinutes Duración estimada sin corrección.
+     * @param actualMinutes Duración real.
+     * @param weight Peso de la observación (1 para una reciente).
+     */
+    void add(TransportMode mode, double lat, double lon, double baselineMinutes, double actualMinutes,
+             double weight) {
+        if (!(baselineMinutes > 0) || !(actualMinutes > 0) || !(weight > 0)) {
+            return;
+        }
+        double logRatio = Math.max(-maxLogRatio, Math.min(maxLogRatio, Math.log(actualMinutes / baselineMinutes)));
+        int m = mode.ordinal();
+        modeWeights[m] += weight;
+        modeLogSums[m] += weight * logRatio;
+        double[] cell = cells.get(m).computeIfAbsent(GeoHash.encode(lat, lon, cellPrecision), key -> new double[2]);
+        cell[0] += weight;
+        cell[1] += weight * logRatio;
+    }
+
+    /**
+     * Multiplica todos los pesos acumulados por un factor y descarta las celdas que quedan casi vacías.
+     *
+     * @param factor Factor de atenuación entre 0 y 1.
+     */
+    void decay(double factor) {
+        for (int m = 0; m < cells.size(); m++) {
+            modeWeights[m] *= factor;
+            modeLogSums[m] *= factor;
+            Iterator<double[]> iterator = cells.get(m).values().iterator();
+            while (iterator.hasNext()) {
+                double[] cell = iterator.next();
+                cell[0] *= factor;
+                cell[1] *= factor;
+                if (cell[0] < MIN_CELL_WEIGHT) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Peso total acumulado, sumando todos los modos.
+     *
+     * @return Suma de pesos.
+     */
+    double totalWeight() {
+        double total = 0;
+        for (double weight : modeWeights) {
+            total += weight;
+        }
+        return total;
+    }
+
+    /**
+     * Ajusta un modelo con las sumas actuales.
+     *
+     * @return Modelo nuevo e independiente del acumulador.
+     */
+    EtaCorrectionModel build() {
+        int modes = cells.size();
+        float[] modeFactors = new float[modes];
+        long[][] modeCells = new long[modes][];
+        float[][] cellFactors = new float[modes][];
+        for (int m = 0; m < modes; m++) {
+            double modeWeight = modeWeights[m] + priorWeight;
+            double modeLog = modeWeight > 0 ? modeLogSums[m] / modeWeight : 0;
+            modeFactors[m] = (float) Math.exp(modeLog);
+            long[] keys = cells.get(m).keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            float[] factors = new float[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                double[] cell = cells.get(m).get(keys[i]);
+                factors[i] = (float) Math.exp((cell[1] + priorWeight * modeLog) / (cell[0] + priorWeight));
+            }
+            modeCells[m] = keys;
+            cellFactors[m] = factors;
+        }
+        return new EtaCorrectionModel(cellPrecision, modeFactors, modeCells, cellFactors);
+    }
+}
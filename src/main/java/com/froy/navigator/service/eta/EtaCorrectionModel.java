@@ -0,0 +1,98 @@
+package com.froy.navigator.service.eta;
+
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.util.GeoHash;
+
+import java.util.Arrays;
+
+/**
+ * Factores de corrección de las duraciones estimadas, por modo y por celda geohash de origen.
+ * <p>
+ * Es inmutable: cada ajuste crea un modelo nuevo y lo publica reemplazando la referencia. Las celdas de
+ * cada modo se guardan como un arreglo ordenado de códigos geohash con su factor en un arreglo paralelo,
+ * así que una consulta es una búsqueda binaria sin crear objetos. Las celdas sin factor propio usan el
+ * factor del modo.
+ */
+public final class EtaCorrectionModel {
+
+    /** Modelo sin correcciones: todos los factores valen 1. */
+    public static final EtaCorrectionModel IDENTITY = identity(1);
+
+    private final int cellPrecision;
+    private final float[] modeFactors;
+    private final long[][] cells;
+    private final float[][] cellFactors;
+
+    /**
+     * Crea un modelo; los arreglos se indexan por {@link TransportMode#ordinal()}.
+     *
+     * @param cellPrecision Precisión geohash de las celdas.
+     * @param modeFactors Factor de cada modo.
+     * @param cells Códigos geohash de las celdas de cada modo, en orden ascendente.
+     * @param cellFactors Factor de cada celda, paralelo a {@code cells}.
+     */
+    EtaCorrectionModel(int cellPrecision, float[] modeFactors, long[][] cells, float[][] cellFactors) {
+        this.cellPrecision = cellPrecision;
+        this.modeFactors = modeFactors;
+        this.cells = cells;
+        this.cellFactors = cellFactors;
+    }
+
+    /**
+     * Modelo sin correcciones con la precisión de celda indicada.
+     *
+     * @param cellPrecision Precisión geohash de las celdas.
+     * @return Modelo cuyos factores valen 1.
+     */
+    static EtaCorrectionModel identity(int cellPrecision) {
+        int modes = TransportMode.values().length;
+        float[] modeFactors = new float[modes];
+        Arrays.fill(modeFactors, 1f);
+        long[][] cells = new long[modes][0];
+        float[][] cellFactors = new float[modes][0];
+        return new EtaCorrectionModel(cellPrecision, modeFactors, cells, cellFactors);
+    }
+
+    /**
+     * Factor por el que se multiplica la duración estimada de un viaje.
+     *
+     * @param mode Modo de transporte.
+     * @param lat Latitud del origen.
+     * @param lon Longitud del origen.
+     * @return Factor de la celda del origen, o el del modo si la celda no tiene uno propio.
+     */
+    public double factor(TransportMode mode, double lat, double lon) {
+        int m = mode.ordinal();
+        long[] modeCells = cells[m];
+        if (modeCells.length > 0) {
+            int index = Arrays.binarySearch(modeCells, GeoHash.encode(lat, lon, cellPrecision));
+            if (index >= 0) {
+                return cellFactors[m][index];
+            }
+        }
+        return modeFactors[m];
+    }
+
+    /**
+     * Factor general de un modo, el que se aplica fuera de las celdas con factor propio.
+     *
+     * @param mode Modo de transporte.
+     * @return Factor del modo.
+     */
+    public double modeFactor(TransportMode mode) {
+        return modeFactors[mode.ordinal()];
+    }
+
+    /**
+     * Número total de celdas con factor propio, sumando todos los modos.
+     *
+     * @return Cantidad de celdas.
+     */
+    public int cellCount() {
+        int count = 0;
+        for (long[] modeCells : cells) {
+            count += modeCells.length;
+        }
+        return count;
+    }
+}
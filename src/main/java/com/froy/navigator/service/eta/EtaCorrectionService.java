@@ -0,0 +1,307 @@
+package com.froy.navigator.service.eta;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.TripObservationRequest;
+import com.froy.navigator.entity.TripObservation;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.repository.TripObservationJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Corrección de las duraciones estimadas aprendida de las duraciones reales de viajes ya realizados.
+ * <p>
+ * Los clientes reportan viajes terminados (duración estimada y real) y se guardan en trip_observations.
+ * Cada {@code refresh-interval} un ajuste en segundo plano lee solo las observaciones nuevas, a partir de
+ * la marca de agua del último id leído, las suma a los acumuladores de {@link EtaCorrectionFitter}
+ * (atenuados con la vida media configurada) y publica un {@link EtaCorrectionModel} nuevo reemplazando la
+ * referencia. Las estrategias consultan el modelo vigente en memoria: {@link #factor} no hace E/S ni toma
+ * bloqueos.
+ * <p>
+ * Al arrancar se leen una sola vez las observaciones dentro de {@code horizon}. Cada ajuste se detiene en
+ * la primera observación registrada hace menos de {@code settle}: una transacción que aún no confirma sus
+ * filas no puede quedar por debajo de la marca de agua mientras tarde menos que ese margen.
+ */
+@Service
+@DependsOn("entityManagerFactory") // La tabla trip_observations la crea Hibernate (ddl-auto) antes del primer ajuste
+public class EtaCorrectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(EtaCorrectionService.class);
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final TripObservationJdbcRepository tripObservationJdbcRepository;
+    private final Validator validator;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final Duration halfLife;
+    private final Duration horizon;
+    private final Duration settle;
+    private final int maxBatchSize;
+    private final Clock clock;
+    private final EtaCorrectionFitter fitter;
+    private final Counter observationCounter;
+    private final Timer refitTimer;
+    private volatile EtaCorrectionModel model;
+    private long watermark;
+    private LocalDateTime fittedUntil;
+
+    /**
+     * Construye el servicio.
+     *
+     * @param tripObservationJdbcRepository Repositorio JDBC de las observaciones.
+     * @param validator Validador de Jakarta Bean Validation para validar cada observación.
+     * @param taskScheduler Planificador de Spring para el ajuste periódico.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param enabled Si se ajustan y aplican las correcciones; si no, todos los factores valen 1.
+     * @param refreshInterval Intervalo entre ajustes (0 = solo al arrancar).
+     * @param halfLife Antigüedad a la que una observación pesa la mitad que una nueva.
+     * @param horizon Antigüedad máxima de las observaciones que se leen al arrancar.
+     * @param settle Margen antes de leer una observación recién registrada.
+     * @param cellPrecision Precisión geohash (1-12) de las celdas de origen; 5 ≈ 5 km.
+     * @param priorWeight Observaciones necesarias para que un grupo pese tanto como el valor de partida.
+     * @param maxFactor Cociente real/estimado máximo que se toma de una observación.
+     * @param maxBatchSize Número máximo de observaciones por petición.
+     */
+    @Autowired
+    public EtaCorrectionService(TripObservationJdbcRepository tripObservationJdbcRepository,
+                                Validator validator,
+                                TaskScheduler taskScheduler,
+                                MeterRegistry meterRegistry,
+                                @Value("${navigator.eta-correction.enabled:true}") boolean enabled,
+                                @Value("${navigator.eta-correction.refresh-interval:5m}") Duration refreshInterval,
+                                @Value("${navigator.eta-correction.half-life:14d}") Duration halfLife,
+                                @Value("${navigator.eta-correction.horizon:60d}") Duration horizon,
+                                @Value("${navigator.eta-correction.settle:30s}") Duration settle,
+                                @Value("${navigator.eta-correction.cell-precision:5}") int cellPrecision,
+                                @Value("${navigator.eta-correction.prior-weight:20}") double priorWeight,
+                                @Value("${navigator.eta-correction.max-factor:3}") double maxFactor,
+                                @Value("${navigator.eta-correction.max-batch-size:1000}") int maxBatchSize) {
+        this(tripObservationJdbcRepository, validator, taskScheduler, meterRegistry, enabled, refreshInterval,
+                halfLife, horizon, settle, cellPrecision, priorWeight, maxFactor, maxBatchSize,
+                Clock.systemDefaultZone());
+    }
+
+    /**
+     * Construye el servicio con un reloj dado, que define la hora de registro de las observaciones y el
+     * momento hasta el que llega cada ajuste.
+     */
+    EtaCorrectionService(TripObservationJdbcRepository tripObservationJdbcRepository, Validator validator,
+                         TaskScheduler taskScheduler, MeterRegistry meterRegistry, boolean enabled,
+                         Duration refreshInterval, Duration halfLife, Duration horizon, Duration settle,
+                         int cellPrecision, double priorWeight, double maxFactor, int maxBatchSize, Clock clock) {
+        this.tripObservationJdbcRepository = tripObservationJdbcRepository;
+        this.validator = validator;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.halfLife = halfLife;
+        this.horizon = horizon;
+        this.settle = settle;
+        this.maxBatchSize = maxBatchSize;
+        this.clock = clock;
+        this.fitter = new EtaCorrectionFitter(cellPrecision, priorWeight, maxFactor);
+        this.model = EtaCorrectionModel.identity(cellPrecision);
+        this.observationCounter = Counter.builder("navigator.eta.observations")
+                .description("Viajes observados registrados para ajustar las correcciones")
+                .register(meterRegistry);
+        this.refitTimer = Timer.builder("navigator.eta.refit")
+                .description("Duración de cada ajuste incremental de las correcciones")
+                .register(meterRegistry);
+        Gauge.builder("navigator.eta.cells", this, service -> service.model.cellCount())
+                .description("Celdas con factor de corrección propio en el modelo vigente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ajusta el modelo con las observaciones dentro del horizonte y programa los ajustes periódicos.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Corrección de duraciones deshabilitada");
+            return;
+        }
+        refit();
+        if (refreshInterval.isPositive()) {
+            taskScheduler.scheduleWithFixedDelay(this::scheduledRefit, refreshInterval);
+        }
+    }
+
+    /**
+     * Factor por el que se multiplica la duración estimada de un viaje. Solo consulta el modelo en memoria.
+     *
+     * @param mode Modo de transporte.
+     * @param origin Punto de origen.
+     * @return Factor de corrección; 1 si no hay observaciones.
+     */
+    public double factor(TransportMode mode, GeoPoint origin) {
+        return model.factor(mode, origin.lat(), origin.lon());
+    }
+
+    /**
+     * Aplica la corrección a una ruta ya calculada (p. ej. sobre el grafo de carreteras).
+     *
+     * @param mode Modo de transporte.
+     * @param origin Punto de origen.
+     * @param route Ruta con la duración sin corregir.
+     * @return La misma ruta si el factor es 1, o una copia con la duración corregida.
+     */
+    public RouteResponse apply(TransportMode mode, GeoPoint origin, RouteResponse route) {
+        double factor = factor(mode, origin);
+        if (factor == 1) {
+            return route;
+        }
+        return new RouteResponse(route.distanceKm(), (int) Math.round(route.durationMinutes() * factor),
+                route.steps(), route.mode());
+    }
+
+    /**
+     * Modelo vigente.
+     *
+     * @return Modelo publicado por el último ajuste.
+     */
+    public EtaCorrectionModel model() {
+        return model;
+    }
+
+    /**
+     * Registra viajes terminados. Cada uno guarda el factor vigente para su modo y origen, con el que el
+     * ajuste recupera la estimación sin corregir; se asume que es el mismo que se aplicó al estimarlo.
+     *
+     * @param observations Viajes con su duración estimada y real.
+     * @return Número de observaciones registradas.
+     * @throws BusinessException si el lote está vacío, excede el tamaño máximo o alguna observación es inválida.
+     */
+    public int recordObservations(List<TripObservationRequest> observations) {
+        if (observations == null || observations.isEmpty()) {
+            throw new BusinessException("El lote de observaciones no puede estar vacío");
+        }
+        if (observations.size() > maxBatchSize) {
+            throw new BusinessException("El lote excede el tamaño máximo permitido de " + maxBatchSize
+                    + " observaciones");
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TripObservation> rows = new ArrayList<>(observations.size());
+        for (int i = 0; i < observations.size(); i++) {
+            TripObservationRequest observation = observations.get(i);
+            validate(i, observation);
+            TripObservation row = new TripObservation(observation.origin().lat(), observation.origin().lon(),
+                    observation.destination().lat(), observation.destination().lon(), observation.mode().name(),
+                    observation.predictedDurationMinutes(), factor(observation.mode(), observation.origin()),
+                    observation.actualDurationMinutes());
+            row.setRecordedTime(now);
+            rows.add(row);
+        }
+        int inserted = tripObservationJdbcRepository.insertAll(rows, INSERT_BATCH_SIZE);
+        observationCounter.increment(inserted);
+        return inserted;
+    }
+
+    /**
+     * Suma las observaciones registradas desde el último ajuste y publica el modelo resultante.
+     *
+     * @return Modelo publicado.
+     */
+    public synchronized EtaCorrectionModel refit() {
+        long start = System.nanoTime();
+        LocalDateTime until = LocalDateTime.now(clock).minus(settle);
+        if (fittedUntil != null) {
+            fitter.decay(decayFactor(Duration.between(fittedUntil, until)));
+        }
+        LocalDateTime since = until.minus(horizon);
+        LongAdder rows = new LongAdder();
+        long[] lastId = {watermark};
+        boolean[] reachedUnsettled = {false};
+        tripObservationJdbcRepository.streamAfter(watermark, since, FETCH_SIZE, resultSet -> {
+            LocalDateTime recorded = resultSet.getTimestamp(8).toLocalDateTime();
+            if (reachedUnsettled[0] || !recorded.isBefore(until)) {
+                // La marca de agua no pasa de la primera observación reciente: las que siguen se leen de nuevo
+                reachedUnsettled[0] = true;
+                return;
+            }
+            lastId[0] = resultSet.getLong(1);
+            TransportMode mode = parseMode(resultSet.getString(4));
+            double correctionFactor = resultSet.getDouble(6);
+            if (mode == null || !(correctionFactor > 0)) {
+                return;
+            }
+            fitter.add(mode, resultSet.getDouble(2), resultSet.getDouble(3),
+                    resultSet.getInt(5) / correctionFactor, resultSet.getInt(7),
+                    decayFactor(Duration.between(recorded, until)));
+            rows.increment();
+        });
+        watermark = lastId[0];
+        fittedUntil = until;
+        EtaCorrectionModel fitted = fitter.build();
+        this.model = fitted;
+        long elapsed = System.nanoTime() - start;
+        refitTimer.record(Duration.ofNanos(elapsed));
+        log.debug("Correcciones ajustadas con {} observaciones nuevas (peso total {}, {} celdas) en {} ms",
+                rows.sum(), Math.round(fitter.totalWeight()), fitted.cellCount(), elapsed / 1_000_000);
+        return fitted;
+    }
+
+    private void scheduledRefit() {
+        try {
+            refit();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron ajustar las correcciones de duración; se conserva el modelo vigente: {}",
+                    e.getMessage());
+        }
+    }
+
+    private double decayFactor(Duration age) {
+        if (age.isNegative() || age.isZero()) {
+            return 1;
+        }
+        return Math.pow(0.5, (double) age.toMillis() / halfLife.toMillis());
+    }
+
+    private void validate(int index, TripObservationRequest observation) {
+        if (observation == null) {
+            throw new BusinessException("Observación " + (index + 1) + " inválida: no puede ser nula");
+        }
+        Set<ConstraintViolation<TripObservationRequest>> violations = validator.validate(observation);
+        if (!violations.isEmpty()) {
+            String errors = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            throw new BusinessException("Observación " + (index + 1) + " inválida: " + errors);
+        }
+    }
+
+    private static TransportMode parseMode(String mode) {
+        try {
+            return TransportMode.valueOf(mode);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.froy.navigator.service.isochrone;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.IsochroneRequest;
+import com.froy.navigator.dto.IsochroneResponse;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.CostProfile;
+import com.froy.navigator.routing.GraphRoutingEngine;
+import com.froy.navigator.routing.ReachabilityGrid;
+import com.froy.navigator.service.RoutePlanner;
+import com.froy.navigator.service.eta.EtaCorrectionService;
+import com.froy.navigator.strategy.RouteStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio que calcula el área alcanzable desde un punto en un tiempo máximo (isócrona) como una rejilla
+ * de minutos por celda.
+ * <p>
+ * Si hay grafo de carreteras y el origen está dentro de su cobertura, el área sale de una sola expansión
+ * de Dijkstra acotada sobre el grafo con el perfil de costo del modo, corregida con el factor de ETA del
+ * origen; la expansión se corta en {@code navigator.isochrone.max-settled-nodes} nodos asentados. Si no,
+ * se evalúa la estrategia del modo (en línea recta, con su perfil de velocidades y su corrección) en los
+ * centros de las celdas por anillos alrededor del origen, hasta un anillo sin celdas alcanzables. En ambos
+ * casos la rejilla tiene como mucho {@code navigator.isochrone.max-cells} celdas y se devuelve recortada
+ * al rectángulo de las celdas alcanzadas.
+ */
+@Service
+public class IsochroneService {
+
+    /**
+     * Margen sobre la velocidad promedio de la estrategia para dimensionar la rejilla en línea recta; los
+     * perfiles de velocidad y la corrección de ETA pueden hacer las estimaciones más rápidas que el promedio.
+     */
+    private static final double STRAIGHT_LINE_SPEED_MARGIN = 2.0;
+
+    private final RoutePlanner routePlanner;
+    private final GraphRoutingEngine graphRoutingEngine;
+    private final EtaCorrectionService etaCorrectionService;
+    private final double defaultCellMeters;
+    private final int maxCells;
+    private final int maxSettledNodes;
+    private final double snapMaxDistanceMeters;
+    // Temporizadores resueltos al arrancar, por modo y por si se usó el grafo: registrar una medición no
+    // busca ni crea medidores
+    private final Map<TransportMode, Timer> graphTimers = new EnumMap<>(TransportMode.class);
+    private final Map<TransportMode, Timer> straightLineTimers = new EnumMap<>(TransportMode.class);
+
+    /**
+     * Construye el servicio de isócronas.
+     *
+     * @param routePlanner Planificador que resuelve la estrategia de cada modo.
+     * @param graphRoutingEngine Motor de ruteo sobre el grafo de carreteras.
+     * @param etaCorrectionService Corrección de duraciones aprendida de viajes observados.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param defaultCellMeters Tamaño de celda en metros cuando la solicitud no lo indica.
+     * @param maxCells Número máximo de celdas de la rejilla; con áreas grandes las celdas se agrandan.
+     * @param maxSettledNodes Número máximo de nodos del grafo asentados por isócrona.
+     * @param snapMaxDistanceMeters Distancia máxima (m) entre el origen y el nodo al que se ajusta.
+     */
+    public IsochroneService(RoutePlanner routePlanner,
+                            GraphRoutingEngine graphRoutingEngine,
+                            EtaCorrectionService etaCorrectionService,
+                            MeterRegistry meterRegistry,
+                            @Value("${navigator.isochrone.cell-size:100}") double defaultCellMeters,
+                            @Value("${navigator.isochrone.max-cells:100000}") int maxCells,
+                            @Value("${navigator.isochrone.max-settled-nodes:150000}") int maxSettledNodes,
+                            @Value("${navigator.routing.snap-max-distance:500}") double snapMaxDistanceMeters) {
+        this.routePlanner = routePlanner;
+        this.graphRoutingEngine = graphRoutingEngine;
+        this.etaCorrectionService = etaCorrectionService;
+        this.defaultCellMeters = defaultCellMeters;
+        this.maxCells = maxCells;
+        this.maxSettledNodes = maxSettledNodes;
+        this.snapMaxDistanceMeters = snapMaxDistanceMeters;
+        for (TransportMode mode : TransportMode.values()) {
+            graphTimers.put(mode, computeTimer(meterRegistry, mode, true));
+            straightLineTimers.put(mode, computeTimer(meterRegistry, mode, false));
+        }
+    }
+
+    /**
+     * Calcula la rejilla de celdas alcanzables desde el origen dentro del tiempo máximo.
+     *
+     * @param request Origen, modo de transporte, tiempo máximo y tamaño de celda opcional.
+     * @return Rejilla recortada con los minutos hasta cada celda.
+     * @throws BusinessException si el modo de transporte no está soportado.
+     */
+    public IsochroneResponse computeIsochrone(IsochroneRequest request) {
+        RouteStrategy strategy = routePlanner.resolveStrategy(request.mode());
+        long start = System.nanoTime();
+        GeoPoint origin = request.origin();
+        double maxSeconds = request.maxMinutes() * 60.0;
+        double cellMeters = request.cellSizeMeters() != null ? request.cellSizeMeters() : defaultCellMeters;
+
+        boolean graph = false;
+        boolean truncated = false;
+        double secondsFactor = 1;
+        ReachabilityGrid grid = null;
+        if (graphRoutingEngine.isAvailable()) {
+            // Las duraciones sobre el grafo se multiplican por la corrección de ETA: se expande con el
+            // presupuesto equivalente sin corregir y los tiempos se corrigen al final.
+            secondsFactor = etaCorrectionService.factor(request.mode(), origin);
+            double graphSeconds = maxSeconds / secondsFactor;
+            double radius = snapMaxDistanceMeters + graphSeconds * CostProfile.forMode(request.mode()).maxSpeedMps();
+            grid = ReachabilityGrid.around(origin.lat(), origin.lon(), radius, cellMeters, maxCells);
+            int settled = graphRoutingEngine.isochrone(origin, request.mode(), graphSeconds,
+                    strategy.getAverageSpeedKmh() / 3.6, maxSettledNodes, grid);
+            graph = settled >= 0;
+            truncated = settled > maxSettledNodes;
+        }
+        if (!graph) {
+            secondsFactor = 1;
+            double radius = maxSeconds * strategy.getAverageSpeedKmh() / 3.6 * STRAIGHT_LINE_SPEED_MARGIN;
+            grid = ReachabilityGrid.around(origin.lat(), origin.lon(), radius, cellMeters, maxCells);
+            truncated = expandStraightLine(strategy, request, grid);
+        }
+        int center = grid.size() / 2;
+        grid.mark(center, center, 0);
+
+        IsochroneResponse response = toResponse(request, grid, secondsFactor, graph, truncated);
+        (graph ? graphTimers : straightLineTimers).get(request.mode())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private static Timer computeTimer(MeterRegistry meterRegistry, TransportMode mode, boolean graph) {
+        return Timer.builder("navigator.isochrone.compute")
+                .description("Tiempo de cálculo de una isócrona")
+                .tag("mode", mode.name())
+                .tag("graph", Boolean.toString(graph))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Evalúa la estrategia en los centros de las celdas, por anillos cuadrados alrededor del origen, hasta
+     * un anillo sin celdas alcanzables.
+     *
+     * @return true si se llegó al borde de la rejilla con celdas todavía alcanzables.
+     */
+    private boolean expandStraightLine(RouteStrategy strategy, IsochroneRequest request, ReachabilityGrid grid) {
+        int center = grid.size() / 2;
+        for (int ring = 1; ring <= center; ring++) {
+            boolean reached = false;
+            for (int dr = -ring; dr <= ring; dr++) {
+                int step = Math.abs(dr) == ring ? 1 : 2 * ring;
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    reached |= evaluate(strategy, request, grid, center + dr, center + dc);
+                }
+            }
+            if (!reached) {
+                return false;
+            }
+        }
+        return center > 0;
+    }
+
+    private boolean evaluate(RouteStrategy strategy, IsochroneRequest request, ReachabilityGrid grid,
+                             int row, int col) {
+        GeoPoint cell = new GeoPoint(grid.centerLat(row), grid.centerLon(col));
+        int minutes = strategy.compute(new RouteRequest(request.origin(), cell, request.mode())).durationMinutes();
+        if (minutes > request.maxMinutes()) {
+            return false;
+        }
+        grid.mark(row, col, minutes * 60.0);
+        return true;
+    }
+
+    /**
+     * Recorta la rejilla al rectángulo de las celdas alcanzadas y pasa los tiempos a minutos.
+     */
+    private IsochroneResponse toResponse(IsochroneRequest request, ReachabilityGrid grid, double secondsFactor,
+                                         boolean graph, boolean truncated) {
+        int size = grid.size();
+        int minRow = size;
+        int maxRow = -1;
+        int minCol = size;
+        int maxCol = -1;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (grid.seconds(row, col) != Float.POSITIVE_INFINITY) {
+                    minRow = Math.min(minRow, row);
+                    maxRow = Math.max(maxRow, row);
+                    minCol = Math.min(minCol, col);
+                    maxCol = Math.max(maxCol, col);
+                }
+            }
+        }
+        int rows = maxRow - minRow + 1;
+        int cols = maxCol - minCol + 1;
+        int[] minutes = new int[rows * cols];
+        int reachable = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                float seconds = grid.seconds(minRow + row, minCol + col);
+                int value = -1;
+                if (seconds != Float.POSITIVE_INFINITY) {
+                    value = Math.min(request.maxMinutes(), (int) (seconds * secondsFactor / 60));
+                    reachable++;
+                }
+                minutes[row * cols + col] = value;
+            }
+        }
+        return new IsochroneResponse(request.mode().name(), request.maxMinutes(),
+                grid.minLat() + minRow * grid.cellLatDegrees(), grid.minLon() + minCol * grid.cellLonDegrees(),
+                grid.cellLatDegrees(), grid.cellLonDegrees(), Math.round(grid.cellMeters() * 10) / 10.0,
+                rows, cols, minutes, reachable, graph, truncated);
+    }
+}
@@ -0,0 +1,36 @@
+package com.froy.navigator.service.session;
+
+import com.froy.navigator.dto.RouteProgress;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.routing.RouteTrack;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado de una sesión de navegación abierta: la ruta que se sigue, el último tramo donde se
+ * ubicó al cliente y el flujo de eventos suscrito, si lo hay.
+ * Los campos mutables solo se leen y escriben con {@link #lock} tomado; se usa un
+ * {@link ReentrantLock} en lugar de {@code synchronized} para no fijar hilos virtuales
+ * mientras se envía un evento.
+ */
+final class RouteSession {
+
+    final String id;
+    final RouteRequest request;
+    final RouteResponse plannedRoute;
+    final ReentrantLock lock = new ReentrantLock();
+
+    RouteTrack track;
+    int segment;
+    RouteProgress lastProgress;
+    SseEmitter emitter;
+
+    RouteSession(String id, RouteRequest request, RouteTrack track) {
+        this.id = id;
+        this.request = request;
+        this.plannedRoute = track.toResponse(request.mode().name());
+        this.track = track;
+    }
+}
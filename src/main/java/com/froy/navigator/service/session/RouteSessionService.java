@@ -0,0 +1,267 @@
+package com.froy.navigator.service.session;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteProgress;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.exception.NotFoundException;
+import com.froy.navigator.routing.RouteTrack;
+import com.froy.navigator.service.RoutePlanner;
+import com.froy.navigator.service.stats.RouteStatsSink;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Servicio de sesiones de navegación para clientes en movimiento.
+ * <p>
+ * El cliente abre una sesión con su posición, el destino y el modo de transporte; la ruta se calcula
+ * una sola vez con su geometría ({@link RouteTrack}) y cada posición posterior solo se proyecta sobre
+ * ella para actualizar la distancia restante, la hora de llegada y las instrucciones pendientes.
+ * La ruta se recalcula completa únicamente cuando el cliente se aleja de ella más de
+ * {@code navigator.sessions.off-route-distance}. Las actualizaciones se devuelven en la respuesta y se
+ * publican como Server-Sent Events a quien esté suscrito a la sesión.
+ * <p>
+ * Las sesiones expiran tras {@code navigator.sessions.idle-timeout} sin posiciones. Al cerrarse o
+ * expirar se registran las estadísticas de la ruta planificada, una sola vez por sesión.
+ */
+@Service
+public class RouteSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteSessionService.class);
+
+    /**
+     * Nombre de los eventos SSE con el avance de la sesión.
+     */
+    public static final String PROGRESS_EVENT = "progress";
+
+    private final RoutePlanner routePlanner;
+    private final RouteStatsSink routeStatsSink;
+    private final double offRouteMeters;
+    private final Duration idleTimeout;
+    private final Cache<String, RouteSession> sessions;
+    private final Counter onRouteCounter;
+    private final Counter reroutedCounter;
+
+    /**
+     * Construye el servicio de sesiones.
+     *
+     * @param routePlanner Planificador con el que se calculan las rutas y sus geometrías.
+     * @param routeStatsSink Destino de las estadísticas, escritas una vez por sesión.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param offRouteMeters Distancia (m) a la ruta a partir de la cual se recalcula.
+     * @param idleTimeout Tiempo sin posiciones tras el cual la sesión expira.
+     * @param maxSessions Número máximo de sesiones abiertas; al superarlo se desalojan las menos usadas.
+     */
+    public RouteSessionService(RoutePlanner routePlanner,
+                               RouteStatsSink routeStatsSink,
+                               MeterRegistry meterRegistry,
+                               @Value("${navigator.sessions.off-route-distance:50}") double offRouteMeters,
+                               @Value("${navigator.sessions.idle-timeout:10m}") Duration idleTimeout,
+                               @Value("${navigator.sessions.max-sessions:100000}") long maxSessions) {
+        this.routePlanner = routePlanner;
+        this.routeStatsSink = routeStatsSink;
+        this.offRouteMeters = offRouteMeters;
+        this.idleTimeout = idleTimeout;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxSessions)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .<String, RouteSession>removalListener((id, session, cause) -> finish(session, cause))
+                .build();
+
+        Gauge.builder("navigator.sessions.active", sessions, Cache::estimatedSize)
+                .description("Sesiones de navegación abiertas")
+                .register(meterRegistry);
+        this.onRouteCounter = Counter.builder("navigator.sessions.updates").tag("outcome", "on_route")
+                .description("Posiciones recibidas en sesiones de navegación")
+                .register(meterRegistry);
+        this.reroutedCounter = Counter.builder("navigator.sessions.updates").tag("outcome", "rerouted")
+                .description("Posiciones recibidas en sesiones de navegación")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre una sesión y calcula la ruta inicial desde la posición del cliente.
+     *
+     * @param request Posición actual (origen), destino y modo de transporte.
+     * @return Estado inicial de la sesión, con su identificador.
+     * @throws BusinessException si el modo de transporte solicitado no está soportado.
+     */
+    public RouteProgress open(RouteRequest request) {
+        RouteSession session = new RouteSession(UUID.randomUUID().toString(), request,
+                routePlanner.computeTrack(request));
+        session.lastProgress = progress(session, session.track.locate(request.origin().lat(),
+                request.origin().lon(), 0), false);
+        sessions.put(session.id, session);
+        return session.lastProgress;
+    }
+
+    /**
+     * Suscribe un flujo de Server-Sent Events a la sesión. El último estado se envía de inmediato;
+     * una suscripción nueva reemplaza a la anterior.
+     *
+     * @param sessionId Identificador de la sesión.
+     * @return Emisor de eventos {@value #PROGRESS_EVENT}.
+     * @throws NotFoundException si la sesión no existe o ya expiró.
+     */
+    public SseEmitter subscribe(String sessionId) {
+        RouteSession session = require(sessionId);
+        SseEmitter emitter = new SseEmitter(idleTimeout.toMillis());
+        Runnable detach = () -> detach(session, emitter);
+        emitter.onCompletion(detach);
+        emitter.onTimeout(detach);
+        emitter.onError(e -> detach.run());
+
+        session.lock.lock();
+        try {
+            if (session.emitter != null) {
+                session.emitter.complete();
+            }
+            session.emitter = emitter;
+            send(session, session.lastProgress);
+        } finally {
+            session.lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * Registra una nueva posición del cliente: la proyecta sobre la ruta y, si se alejó de ella,
+     * recalcula la ruta desde esa posición.
+     *
+     * @param sessionId Identificador de la sesión.
+     * @param position Posición actual del cliente.
+     * @return Estado actualizado de la sesión.
+     * @throws NotFoundException si la sesión no existe o ya expiró.
+     */
+    public RouteProgress update(String sessionId, GeoPoint position) {
+        RouteSession session = require(sessionId);
+        session.lock.lock();
+        try {
+            RouteTrack.Position located = session.track.locate(position.lat(), position.lon(), session.segment);
+            boolean rerouted = located.offRouteMeters() > offRouteMeters;
+            if (rerouted) {
+                session.track = routePlanner.computeTrack(
+                        new RouteRequest(position, session.request.destination(), session.request.mode()));
+                located = session.track.locate(position.lat(), position.lon(), 0);
+                reroutedCounter.increment();
+            } else {
+                onRouteCounter.increment();
+            }
+            session.segment = located.segment();
+            session.lastProgress = progress(session, located, rerouted);
+            send(session, session.lastProgress);
+            return session.lastProgress;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra la sesión, termina su flujo de eventos y registra sus estadísticas.
+     *
+     * @param sessionId Identificador de la sesión.
+     * @throws NotFoundException si la sesión no existe o ya expiró.
+     */
+    public void close(String sessionId) {
+        require(sessionId);
+        sessions.invalidate(sessionId);
+    }
+
+    /**
+     * Cierra todas las sesiones abiertas al detener la aplicación, para no perder sus estadísticas.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sessions.invalidateAll();
+        sessions.cleanUp();
+    }
+
+    private RouteSession require(String sessionId) {
+        RouteSession session = sessions.getIfPresent(sessionId);
+        if (session == null) {
+            throw new NotFoundException("La sesión de navegación " + sessionId + " no existe o expiró");
+        }
+        return session;
+    }
+
+    private RouteProgress progress(RouteSession session, RouteTrack.Position located, boolean rerouted) {
+        RouteTrack track = session.track;
+        double remainingMeters = Math.max(0, track.totalMeters() - located.metersAlong());
+        double remainingSeconds = Math.max(0, track.totalSeconds() - located.secondsAlong());
+        return new RouteProgress(session.id,
+                Math.round(remainingMeters / 10.0) / 100.0,
+                (int) (remainingSeconds / 60),
+                Instant.now().plusSeconds(Math.round(remainingSeconds)),
+                Math.round(located.offRouteMeters() * 10.0) / 10.0,
+                rerouted,
+                List.copyOf(track.stepsFrom(located.metersAlong())),
+                session.request.mode().name());
+    }
+
+    /**
+     * Envía un estado al suscriptor de la sesión, si lo hay. Debe llamarse con el candado de la sesión.
+     */
+    private void send(RouteSession session, RouteProgress progress) {
+        SseEmitter emitter = session.emitter;
+        if (emitter == null) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).id(session.id).data(progress));
+        } catch (IOException | IllegalStateException e) {
+            // El cliente cerró la conexión; la sesión sigue abierta para las posiciones por POST
+            session.emitter = null;
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void detach(RouteSession session, SseEmitter emitter) {
+        session.lock.lock();
+        try {
+            if (session.emitter == emitter) {
+                session.emitter = null;
+            }
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private void finish(RouteSession session, RemovalCause cause) {
+        if (session == null) {
+            return;
+        }
+        session.lock.lock();
+        try {
+            if (session.emitter != null) {
+                session.emitter.complete();
+                session.emitter = null;
+            }
+        } finally {
+            session.lock.unlock();
+        }
+        try {
+            routeStatsSink.record(RoutePlanner.toRouteStats(session.request, session.plannedRoute));
+        } catch (RuntimeException e) {
+            log.error("No se pudieron guardar las estadísticas de la sesión {} ({})", session.id, cause, e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.model.PartitionInterval;
+import com.froy.navigator.model.StatsStorage;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.repository.RouteStatsPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mantenimiento periódico de route_stats: crea por adelantado las particiones de los próximos periodos
+ * y, si la retención está habilitada, elimina las estadísticas más antiguas que el horizonte configurado.
+ * <p>
+ * Con almacenamiento {@link StatsStorage#PARTITIONED} sobre PostgreSQL, las particiones completamente
+ * anteriores al límite se eliminan con {@code DROP TABLE}, y solo lo que quede por debajo del límite (p. ej.
+ * en la partición por defecto) se borra por bloques. En bases sin particionado (H2) no hay particiones
+ * que eliminar: solo se alinea el límite al inicio de su periodo, para conservar las mismas filas que en
+ * PostgreSQL, y se borra por bloques.
+ * Con almacenamiento {@link StatsStorage#PLAIN} se borra por bloques hasta el límite exacto.
+ */
+@Service
+public class RouteStatsRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteStatsRetentionService.class);
+
+    private final RouteStatsJdbcRepository routeStatsJdbcRepository;
+    private final RouteStatsPartitionRepository partitionRepository;
+    private final StatsStorage storage;
+    private final PartitionInterval interval;
+    private final int precreateDays;
+    private final boolean retentionEnabled;
+    private final Duration horizon;
+    private final int chunkSize;
+    private final Timer retentionTimer;
+    private final Counter deletedRowsCounter;
+    private final Counter droppedPartitionsCounter;
+
+    /**
+     * Construye el servicio de retención.
+     *
+     * @param routeStatsJdbcRepository Repositorio JDBC usado para los borrados por bloques.
+     * @param partitionRepository Repositorio de particiones de PostgreSQL.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param storage Forma de almacenamiento de route_stats.
+     * @param interval Periodo que cubre cada partición.
+     * @param precreateDays Días hacia adelante para los que se crean particiones.
+     * @param retentionEnabled Si se eliminan las estadísticas más antiguas que el horizonte.
+     * @param horizon Antigüedad máxima de las estadísticas conservadas.
+     * @param chunkSize Filas por sentencia en los borrados por bloques.
+     */
+    public RouteStatsRetentionService(RouteStatsJdbcRepository routeStatsJdbcRepository,
+                                      RouteStatsPartitionRepository partitionRepository,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${navigator.stats.storage:PLAIN}") StatsStorage storage,
+                                      @Value("${navigator.stats.partitioning.interval:DAILY}") PartitionInterval interval,
+                                      @Value("${navigator.stats.partitioning.precreate-days:7}") int precreateDays,
+                                      @Value("${navigator.stats.retention.enabled:false}") boolean retentionEnabled,
+                                      @Value("${navigator.stats.retention.horizon:90d}") Duration horizon,
+                                      @Value("${navigator.stats.retention.chunk-size:10000}") int chunkSize) {
+        if (horizon.isNegative() || horizon.isZero() || chunkSize <= 0) {
+            throw new IllegalArgumentException("El horizonte y el tamaño de bloque de la retención deben ser positivos");
+        }
+        this.routeStatsJdbcRepository = routeStatsJdbcRepository;
+        this.partitionRepository = partitionRepository;
+        this.storage = storage;
+        this.interval = interval;
+        this.precreateDays = precreateDays;
+        this.retentionEnabled = retentionEnabled;
+        this.horizon = horizon;
+        this.chunkSize = chunkSize;
+        this.retentionTimer = Timer.builder("navigator.stats.retention")
+                .description("Duración de cada pasada de retención de route_stats")
+                .register(meterRegistry);
+        this.deletedRowsCounter = Counter.builder("navigator.stats.retention.rows")
+                .description("Filas de route_stats eliminadas por bloques")
+                .register(meterRegistry);
+        this.droppedPartitionsCounter = Counter.builder("navigator.stats.retention.partitions")
+                .description("Particiones de route_stats eliminadas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crea las particiones de los próximos días al arrancar, para que las primeras inserciones no
+     * caigan en la partición por defecto.
+     */
+    @PostConstruct
+    void init() {
+        if (storage == StatsStorage.PARTITIONED) {
+            precreatePartitions(LocalDate.now());
+        }
+    }
+
+    /**
+     * Pasada de mantenimiento programada: crea las particiones pendientes y aplica la retención.
+     */
+    @Scheduled(cron = "${navigator.stats.retention.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (storage == StatsStorage.PARTITIONED) {
+            precreatePartitions(LocalDate.now());
+        }
+        if (retentionEnabled) {
+            purgeOlderThan(LocalDateTime.now().minus(horizon));
+        }
+    }
+
+    /**
+     * Elimina las estadísticas anteriores a un momento. Con almacenamiento particionado el límite se
+     * alinea al inicio de su periodo, de modo que solo se eliminan periodos completos.
+     *
+     * @param cutoff Momento límite.
+     * @return Filas eliminadas por bloques (las de particiones eliminadas no se cuentan).
+     */
+    public long purgeOlderThan(LocalDateTime cutoff) {
+        return retentionTimer.record(() -> {
+            LocalDateTime limit = cutoff;
+            int droppedPartitions = 0;
+            if (storage == StatsStorage.PARTITIONED) {
+                LocalDate boundary = interval.periodStart(cutoff.toLocalDate());
+                limit = boundary.atStartOfDay();
+                if (partitionRepository.isPartitioned()) {
+                    droppedPartitions = dropPartitionsBefore(boundary);
+                }
+            }
+            long deleted = routeStatsJdbcRepository.deleteOlderThan(limit, chunkSize);
+            deletedRowsCounter.increment(deleted);
+            droppedPartitionsCounter.increment(droppedPartitions);
+            log.info("Retención de route_stats hasta {}: {} particiones y {} filas eliminadas",
+                    limit, droppedPartitions, deleted);
+            return deleted;
+        });
+    }
+
+    private void precreatePartitions(LocalDate today) {
+        if (!partitionRepository.isPartitioned()) {
+            return;
+        }
+        LocalDate last = today.plusDays(precreateDays);
+        for (LocalDate start = interval.periodStart(today); !start.isAfter(last); start = interval.next(start)) {
+            partitionRepository.createPartition(interval.suffix(start), start, interval.next(start));
+        }
+    }
+
+    private int dropPartitionsBefore(LocalDate boundary) {
+        int dropped = 0;
+        for (String name : partitionRepository.findPartitionNames()) {
+            String suffix = RouteStatsPartitionRepository.suffixOf(name);
+            LocalDate start = suffix == null ? null : interval.parseSuffix(suffix);
+            if (start != null && !interval.next(start).isAfter(boundary)) {
+                partitionRepository.dropPartition(suffix);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,28 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.entity.RouteStats;
+
+import java.util.List;
+
+/**
+ * Destino de las estadísticas de rutas calculadas.
+ * Desacopla a los productores (planificador, lotes) de la forma en que se persisten las estadísticas:
+ * de forma síncrona ("write-through") o en segundo plano ("write-behind"), según
+ * la propiedad {@code navigator.stats.write-mode}.
+ */
+public interface RouteStatsSink {
+
+    /**
+     * Registra las estadísticas de una ruta calculada.
+     *
+     * @param stats Estadísticas a persistir.
+     */
+    void record(RouteStats stats);
+
+    /**
+     * Registra las estadísticas de varias rutas calculadas.
+     *
+     * @param stats Estadísticas a persistir.
+     */
+    void recordAll(List<RouteStats> stats);
+}
@@ -0,0 +1,396 @@
+package com.froy.navigator.service.stats;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.froy.navigator.dto.RouteStatsRecord;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.StatsFormat;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de exportación e importación masiva de las estadísticas de rutas (route_stats).
+ * Ambas operaciones trabajan en memoria constante sin importar el tamaño de la tabla:
+ * <ul>
+ *   <li>La exportación recorre la tabla con un cursor JDBC de solo avance y escribe cada fila
+ *       directamente en el flujo de salida, sin crear entidades.</li>
+ *   <li>La importación lee el cuerpo de forma incremental y lo inserta en lotes JDBC de
+ *       {@code navigator.stats.batch-size} filas; solo se mantiene en memoria el lote en curso.</li>
+ * </ul>
+ */
+@Service
+public class RouteStatsTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteStatsTransferService.class);
+
+    /** Columnas del CSV, en el orden en que se exportan. */
+    static final List<String> CSV_COLUMNS = List.of("id", "origin_lat", "origin_lon", "destination_lat",
+            "destination_lon", "mode_used", "distance_km", "duration_minutes", "calculation_time");
+
+    private final RouteStatsJdbcRepository routeStatsJdbcRepository;
+    private final RouteAnalyticsService routeAnalyticsService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader ndjsonReader;
+    private final int fetchSize;
+    private final int batchSize;
+
+    /**
+     * Construye el servicio.
+     *
+     * @param routeStatsJdbcRepository Repositorio JDBC con el cursor de lectura y las inserciones por lotes.
+     * @param routeAnalyticsService Agregados de analítica; las filas importadas dentro de su retención se suman.
+     * @param objectMapper ObjectMapper de la aplicación, usado para leer y escribir NDJSON.
+     * @param fetchSize Filas que el controlador JDBC trae por viaje al exportar.
+     * @param batchSize Filas por lote JDBC (y por transacción) al importar.
+     */
+    public RouteStatsTransferService(RouteStatsJdbcRepository routeStatsJdbcRepository,
+                                     RouteAnalyticsService routeAnalyticsService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${navigator.stats.export.fetch-size:1000}") int fetchSize,
+                                     @Value("${navigator.stats.batch-size:500}") int batchSize) {
+        this.routeStatsJdbcRepository = routeStatsJdbcRepository;
+        this.routeAnalyticsService = routeAnalyticsService;
+        this.objectMapper = objectMapper;
+        this.ndjsonReader = objectMapper.readerFor(RouteStatsRecord.class);
+        this.fetchSize = Math.max(1, fetchSize);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Escribe todas las estadísticas en el flujo de salida, en orden de id.
+     * El flujo no se cierra; quien lo abrió (p. ej. un compresor GZIP) debe cerrarlo o terminarlo.
+     *
+     * @param format Formato de salida.
+     * @param out Flujo de salida, normalmente el cuerpo de la respuesta HTTP.
+     * @return Número de filas exportadas.
+     * @throws IOException si falla la escritura (p. ej. el cliente cerró la conexión).
+     */
+    public long export(StatsFormat format, OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (RowWriter writer = format == StatsFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out)) {
+            routeStatsJdbcRepository.streamAll(fetchSize, resultSet -> {
+                try {
+                    writer.write(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exportadas {} estadísticas de rutas en formato {}", rows[0], format);
+        return rows[0];
+    }
+
+    /**
+     * Inserta las estadísticas leídas del flujo de entrada en lotes JDBC. Cada lote se confirma en su
+     * propia transacción: si una fila es inválida, las de los lotes anteriores ya quedaron guardadas
+     * y el error indica cuántas fueron. El id de cada fila se ignora; la base de datos asigna uno nuevo.
+     *
+     * @param format Formato de entrada.
+     * @param in Flujo de entrada, normalmente el cuerpo de la petición HTTP (ya descomprimido).
+     * @return Número de filas insertadas.
+     * @throws BusinessException si el cuerpo no se puede leer o contiene una fila inválida.
+     */
+    public long importStats(StatsFormat format, InputStream in) {
+        BatchInserter inserter = new BatchInserter();
+        if (format == StatsFormat.CSV) {
+            importCsv(in, inserter);
+        } else {
+            importNdjson(in, inserter);
+        }
+        inserter.flush();
+        log.info("Importadas {} estadísticas de rutas en formato {}", inserter.inserted, format);
+        return inserter.inserted;
+    }
+
+    private void importNdjson(InputStream in, BatchInserter inserter) {
+        try (MappingIterator<RouteStatsRecord> lines = ndjsonReader.readValues(in)) {
+            while (lines.hasNextValue()) {
+                inserter.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Cuerpo NDJSON inválido en la fila " + inserter.rowNumber() + ": "
+                    + e.getOriginalMessage() + inserter.importedSoFar());
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el cuerpo NDJSON: " + e.getMessage() + inserter.importedSoFar());
+        }
+    }
+
+    private void importCsv(InputStream in, BatchInserter inserter) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            int[] columns = csvColumnIndexes(splitCsvLine(header.replace("\uFEFF", "")));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                RouteStatsRecord row;
+                try {
+                    row = parseCsvRow(splitCsvLine(line), columns);
+                } catch (NumberFormatException | DateTimeParseException | IndexOutOfBoundsException e) {
+                    throw new BusinessException("Fila CSV " + inserter.rowNumber() + " inválida: " + e.getMessage()
+                            + inserter.importedSoFar());
+                }
+                inserter.add(row);
+            }
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el cuerpo CSV: " + e.getMessage() + inserter.importedSoFar());
+        }
+    }
+
+    /**
+     * Ubica cada columna conocida en el encabezado, de modo que el orden de las columnas sea libre
+     * y la columna id sea opcional.
+     */
+    private static int[] csvColumnIndexes(List<String> header) {
+        int[] indexes = new int[CSV_COLUMNS.size()];
+        for (int column = 0; column < indexes.length; column++) {
+            indexes[column] = header.indexOf(CSV_COLUMNS.get(column));
+            if (indexes[column] < 0 && column > 0) {
+                throw new BusinessException("Falta la columna " + CSV_COLUMNS.get(column) + " en el encabezado CSV");
+            }
+        }
+        return indexes;
+    }
+
+    private static RouteStatsRecord parseCsvRow(List<String> fields, int[] columns) {
+        return new RouteStatsRecord(null,
+                Double.parseDouble(field(fields, columns[1])),
+                Double.parseDouble(field(fields, columns[2])),
+                Double.parseDouble(field(fields, columns[3])),
+                Double.parseDouble(field(fields, columns[4])),
+                field(fields, columns[5]),
+                Double.parseDouble(field(fields, columns[6])),
+                Integer.parseInt(field(fields, columns[7])),
+                LocalDateTime.parse(field(fields, columns[8])));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return fields.get(index).trim();
+    }
+
+    /**
+     * Separa una línea CSV en campos; admite campos entre comillas dobles con comas y comillas
+     * escapadas ({@code ""}). Los campos no pueden contener saltos de línea.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Acumula filas válidas y las inserta cada {@code batchSize}.
+     */
+    private final class BatchInserter {
+
+        private final List<RouteStats> batch = new ArrayList<>(batchSize);
+        private long inserted;
+
+        void add(RouteStatsRecord row) {
+            batch.add(toRouteStats(row, rowNumber()));
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            inserted += routeStatsJdbcRepository.insertAll(batch, batchSize);
+            routeAnalyticsService.recordAll(batch);
+            batch.clear();
+        }
+
+        long rowNumber() {
+            return inserted + batch.size() + 1;
+        }
+
+        String importedSoFar() {
+            return inserted == 0 ? "" : " (ya se importaron " + inserted + " filas)";
+        }
+
+        private RouteStats toRouteStats(RouteStatsRecord row, long rowNumber) {
+            String error = validate(row);
+            if (error != null) {
+                throw new BusinessException("Fila " + rowNumber + " inválida: " + error + importedSoFar());
+            }
+            RouteStats stats = new RouteStats(row.originLat(), row.originLon(), row.destinationLat(),
+                    row.destinationLon(), row.modeUsed(), row.distanceKm(), row.durationMinutes());
+            stats.setCalculationTime(row.calculationTime());
+            return stats;
+        }
+    }
+
+    private static String validate(RouteStatsRecord row) {
+        if (Math.abs(row.originLat()) > 90 || Math.abs(row.destinationLat()) > 90) {
+            return "la latitud debe estar entre -90 y 90";
+        }
+        if (Math.abs(row.originLon()) > 180 || Math.abs(row.destinationLon()) > 180) {
+            return "la longitud debe estar entre -180 y 180";
+        }
+        if (row.modeUsed() == null || row.modeUsed().isBlank()) {
+            return "el modo de transporte es obligatorio";
+        }
+        if (row.distanceKm() < 0 || row.durationMinutes() < 0) {
+            return "la distancia y la duración no pueden ser negativas";
+        }
+        if (row.calculationTime() == null) {
+            return "el momento del cálculo es obligatorio";
+        }
+        return null;
+    }
+
+    /**
+     * Escribe filas del cursor en un formato de exportación.
+     */
+    private interface RowWriter extends AutoCloseable {
+
+        void write(ResultSet row) throws IOException;
+
+        /** Vacía los búferes propios sin cerrar el flujo subyacente. */
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Una línea JSON por fila, escrita con el generador de Jackson directamente desde el cursor.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet row) throws IOException {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.getLong(1));
+                generator.writeNumberField("originLat", row.getDouble(2));
+                generator.writeNumberField("originLon", row.getDouble(3));
+                generator.writeNumberField("destinationLat", row.getDouble(4));
+                generator.writeNumberField("destinationLon", row.getDouble(5));
+                generator.writeStringField("modeUsed", row.getString(6));
+                generator.writeNumberField("distanceKm", row.getDouble(7));
+                generator.writeNumberField("durationMinutes", row.getInt(8));
+                generator.writeStringField("calculationTime", row.getTimestamp(9).toLocalDateTime().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (SQLException e) {
+                throw new IOException("No se pudo leer la fila de route_stats", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * Encabezado con los nombres de las columnas y una línea por fila.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet row) throws IOException {
+            try {
+                writer.write(Long.toString(row.getLong(1)));
+                for (int column = 2; column <= 5; column++) {
+                    writer.write(',');
+                    writer.write(Double.toString(row.getDouble(column)));
+                }
+                writer.write(',');
+                writeQuotedIfNeeded(row.getString(6));
+                writer.write(',');
+                writer.write(Double.toString(row.getDouble(7)));
+                writer.write(',');
+                writer.write(Integer.toString(row.getInt(8)));
+                writer.write(',');
+                writer.write(row.getTimestamp(9).toLocalDateTime().toString());
+                writer.write('\n');
+            } catch (SQLException e) {
+                throw new IOException("No se pudo leer la fila de route_stats", e);
+            }
+        }
+
+        private void writeQuotedIfNeeded(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+                writer.write(value);
+            } else {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
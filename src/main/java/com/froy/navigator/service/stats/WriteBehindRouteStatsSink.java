@@ -0,0 +1,260 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.OverflowPolicy;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación "Write-Behind" de {@link RouteStatsSink}.
+ * Las estadísticas se encolan en una cola acotada en memoria y un hilo en segundo plano
+ * las vacía en lotes JDBC, de modo que la latencia de la petición ya no depende de la base de datos.
+ * <p>
+ * Cuando la cola está llena se aplica la {@link OverflowPolicy} configurada a los elementos que no caben;
+ * con BLOCK, la espera total de una llamada (de uno o de varios elementos) está acotada por
+ * {@code offer-timeout}. Al cerrar la aplicación se escriben todas las estadísticas pendientes: los
+ * productores encolan bajo un candado de lectura y el cierre cambia de estado bajo el de escritura, así
+ * que ningún elemento entra a la cola después del último vaciado; a partir de ahí se escriben de forma
+ * síncrona. Publica métricas de profundidad de la cola, latencia de cada vaciado y elementos escritos,
+ * descartados o fallidos.
+ */
+@Component
+@ConditionalOnProperty(name = "navigator.stats.write-mode", havingValue = "write-behind")
+public class WriteBehindRouteStatsSink implements RouteStatsSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindRouteStatsSink.class);
+
+    /**
+     * Tiempo máximo que el escritor espera en una cola vacía antes de revisar si debe detenerse.
+     */
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final RouteStatsJdbcRepository routeStatsJdbcRepository;
+    private final RouteAnalyticsService routeAnalyticsService;
+    private final BlockingQueue<RouteStats> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Thread writer;
+    // Lectura: productores que encolan; escritura: el cierre, que deja de aceptar elementos en la cola
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * Construye el destino en segundo plano.
+     *
+     * @param routeStatsJdbcRepository Repositorio JDBC usado para las inserciones por lotes.
+     * @param routeAnalyticsService Agregados de analítica que se actualizan tras escribir cada lote.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param queueCapacity Capacidad máxima de la cola en memoria.
+     * @param batchSize Número máximo de estadísticas por lote.
+     * @param linger Tiempo máximo que se espera a completar un lote tras recibir su primer elemento.
+     * @param overflowPolicy Política a aplicar cuando la cola está llena.
+     * @param offerTimeout Tiempo máximo de espera por espacio en la cola con la política BLOCK, por llamada.
+     * @param shutdownTimeout Tiempo máximo de espera al hilo escritor durante el cierre.
+     */
+    public WriteBehindRouteStatsSink(RouteStatsJdbcRepository routeStatsJdbcRepository,
+                                     RouteAnalyticsService routeAnalyticsService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${navigator.stats.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${navigator.stats.batch-size:500}") int batchSize,
+                                     @Value("${navigator.stats.linger:50ms}") Duration linger,
+                                     @Value("${navigator.stats.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                     @Value("${navigator.stats.offer-timeout:100ms}") Duration offerTimeout,
+                                     @Value("${navigator.stats.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.routeStatsJdbcRepository = routeStatsJdbcRepository;
+        this.routeAnalyticsService = routeAnalyticsService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = linger.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("navigator.stats.queue.depth", queue, BlockingQueue::size)
+                .description("Estadísticas de ruta pendientes de escribir")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("navigator.stats.flush")
+                .description("Latencia de cada lote de estadísticas escrito en la base de datos")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("navigator.stats.records").tag("outcome", "written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("navigator.stats.records").tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("navigator.stats.records").tag("outcome", "failed")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "route-stats-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Arranca el hilo escritor tras crear el bean.
+     */
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @Override
+    public void record(RouteStats stats) {
+        recordAll(List.of(stats));
+    }
+
+    @Override
+    public void recordAll(List<RouteStats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            if (running) {
+                enqueue(stats);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Durante el cierre ya no hay escritor: se escribe de forma síncrona.
+        write(stats);
+    }
+
+    /**
+     * Detiene el hilo escritor y escribe todas las estadísticas que sigan en la cola.
+     *
+     * @throws InterruptedException si el hilo que cierra la aplicación es interrumpido mientras espera al escritor.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Lock lock = stateLock.writeLock();
+        lock.lock();
+        try {
+            // Espera a los productores que están encolando; después nadie más encola
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        writer.join(shutdownTimeout.toMillis());
+        List<RouteStats> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Encola los elementos que caben y aplica la política de desbordamiento al resto.
+     */
+    private void enqueue(List<RouteStats> stats) {
+        int queued = 0;
+        while (queued < stats.size() && queue.offer(stats.get(queued))) {
+            queued++;
+        }
+        if (queued == stats.size()) {
+            return;
+        }
+        List<RouteStats> overflow = stats.subList(queued, stats.size());
+        switch (overflowPolicy) {
+            case BLOCK -> offerWithinTimeout(overflow);
+            case DROP -> droppedCounter.increment(overflow.size());
+            case CALLER_RUNS -> write(overflow);
+        }
+    }
+
+    /**
+     * Espera espacio en la cola para cada elemento con un único plazo para todos; lo que no entra antes
+     * del plazo se descarta.
+     */
+    private void offerWithinTimeout(List<RouteStats> overflow) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        int offered = 0;
+        try {
+            while (offered < overflow.size()
+                    && queue.offer(overflow.get(offered), deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                offered++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCounter.increment(overflow.size() - offered);
+    }
+
+    private void drainLoop() {
+        List<RouteStats> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                RouteStats first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completa el lote con los elementos disponibles, esperando como máximo el tiempo de "linger".
+     */
+    private void fillBatch(List<RouteStats> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            RouteStats next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<RouteStats> batch) {
+        long start = System.nanoTime();
+        try {
+            routeStatsJdbcRepository.insertAll(batch, batchSize);
+            writtenCounter.increment(batch.size());
+            routeAnalyticsService.recordAll(batch);
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("No se pudieron guardar {} estadísticas de ruta", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.repository.RouteStatsRepository;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación "Write-Through" de {@link RouteStatsSink}.
+ * Persiste las estadísticas de forma síncrona en el hilo de la petición, de modo que
+ * el almacén persistente siempre está actualizado al responder. Es el modo por defecto.
+ */
+@Component
+@ConditionalOnProperty(name = "navigator.stats.write-mode", havingValue = "write-through", matchIfMissing = true)
+public class WriteThroughRouteStatsSink implements RouteStatsSink {
+
+    private final RouteStatsRepository routeStatsRepository;
+    private final RouteStatsJdbcRepository routeStatsJdbcRepository;
+    private final RouteAnalyticsService routeAnalyticsService;
+    private final int batchSize;
+    private final Timer saveTimer;
+    private final Timer batchSaveTimer;
+
+    /**
+     * Construye el destino síncrono.
+     *
+     * @param routeStatsRepository Repositorio JPA para las escrituras individuales.
+     * @param routeStatsJdbcRepository Repositorio JDBC para las escrituras masivas.
+     * @param routeAnalyticsService Agregados de analítica que se actualizan tras cada escritura.
+     * @param batchSize Número de filas por lote JDBC en las escrituras masivas.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     */
+    public WriteThroughRouteStatsSink(RouteStatsRepository routeStatsRepository,
+                                      RouteStatsJdbcRepository routeStatsJdbcRepository,
+                                      RouteAnalyticsService routeAnalyticsService,
+                                      @Value("${navigator.stats.batch-size:500}") int batchSize,
+                                      MeterRegistry meterRegistry) {
+        this.routeStatsRepository = routeStatsRepository;
+        this.routeStatsJdbcRepository = routeStatsJdbcRepository;
+        this.routeAnalyticsService = routeAnalyticsService;
+        this.batchSize = Math.max(1, batchSize);
+        this.saveTimer = Timer.builder("navigator.stats.save").tag("kind", "single")
+                .description("Latencia de escritura de estadísticas en el repositorio")
+                .register(meterRegistry);
+        this.batchSaveTimer = Timer.builder("navigator.stats.save").tag("kind", "batch")
+                .description("Latencia de escritura de estadísticas en el repositorio")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(RouteStats stats) {
+        long start = System.nanoTime();
+        routeStatsRepository.save(stats);
+        saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        routeAnalyticsService.record(stats);
+    }
+
+    @Override
+    public void recordAll(List<RouteStats> stats) {
+        long start = System.nanoTime();
+        routeStatsJdbcRepository.insertAll(stats, batchSize);
+        batchSaveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        routeAnalyticsService.recordAll(stats);
+    }
+}
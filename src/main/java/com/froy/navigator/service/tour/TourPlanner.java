@@ -0,0 +1,160 @@
+package com.froy.navigator.service.tour;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.MatrixRequest;
+import com.froy.navigator.dto.MatrixResponse;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.TourRequest;
+import com.froy.navigator.dto.TourResponse;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.service.DistanceMatrixService;
+import com.froy.navigator.service.RoutePlanner;
+import com.froy.navigator.service.stats.RouteStatsSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Servicio que planifica recorridos con varias paradas: decide el orden de visita y calcula la ruta de
+ * cada tramo.
+ * <p>
+ * Los costos entre todos los pares de puntos (inicio y paradas) salen de {@link DistanceMatrixService},
+ * que los calcula en paralelo con el mismo modelo de distancia que las estrategias. Sobre esa matriz,
+ * {@link TourSolver} busca el orden con una búsqueda por núcleo durante como mucho
+ * {@code navigator.tour.time-budget}. Solo los tramos del orden elegido se calculan con la estrategia del
+ * modo (sobre el grafo de carreteras si lo hay), también en paralelo, y sus estadísticas se registran en
+ * un solo lote.
+ */
+@Service
+public class TourPlanner {
+
+    private final DistanceMatrixService distanceMatrixService;
+    private final RoutePlanner routePlanner;
+    private final RouteStatsSink routeStatsSink;
+    private final ForkJoinPool pool;
+    private final int maxWaypoints;
+    private final long timeBudgetNanos;
+    private final Timer solveTimer;
+
+    /**
+     * Construye el servicio de recorridos.
+     *
+     * @param distanceMatrixService Servicio que calcula la matriz de costos entre los puntos.
+     * @param routePlanner Planificador que calcula la ruta de cada tramo.
+     * @param routeStatsSink Destino de las estadísticas de los tramos calculados.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param maxWaypoints Número máximo de paradas por recorrido.
+     * @param timeBudget Tiempo máximo de búsqueda del orden de visita.
+     * @param parallelism Búsquedas en paralelo e hilos del pool (0 = número de procesadores disponibles).
+     */
+    public TourPlanner(DistanceMatrixService distanceMatrixService,
+                       RoutePlanner routePlanner,
+                       RouteStatsSink routeStatsSink,
+                       MeterRegistry meterRegistry,
+                       @Value("${navigator.tour.max-waypoints:300}") int maxWaypoints,
+                       @Value("${navigator.tour.time-budget:2s}") Duration timeBudget,
+                       @Value("${navigator.tour.parallelism:0}") int parallelism) {
+        this.distanceMatrixService = distanceMatrixService;
+        this.routePlanner = routePlanner;
+        this.routeStatsSink = routeStatsSink;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxWaypoints = maxWaypoints;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.solveTimer = Timer.builder("navigator.tour.solve")
+                .description("Tiempo de búsqueda del orden de visita de un recorrido")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ordena las paradas para minimizar la distancia total y calcula la ruta de cada tramo.
+     *
+     * @param request Inicio, paradas y modo de transporte.
+     * @return Orden de visita, totales y tramos.
+     * @throws BusinessException si hay demasiadas paradas o el modo de transporte no está soportado.
+     */
+    public TourResponse planTour(TourRequest request) {
+        if (request.waypoints().size() > maxWaypoints) {
+            throw new BusinessException("El recorrido excede el máximo permitido de " + maxWaypoints + " paradas");
+        }
+        List<GeoPoint> points = new ArrayList<>(request.waypoints().size() + 1);
+        points.add(request.start());
+        points.addAll(request.waypoints());
+
+        // 1. Matriz de distancias entre todos los puntos; el nodo 0 es el inicio.
+        MatrixResponse matrix = distanceMatrixService.computeMatrix(
+                new MatrixRequest(points, points, List.of(request.mode())));
+
+        // 2. Orden de visita, con el tiempo de búsqueda acotado.
+        TourSolver solver = new TourSolver(matrix.distancesKm(), points.size(), request.returnToStart());
+        long start = System.nanoTime();
+        int[] tour = solver.solve(pool, pool.getParallelism(), timeBudgetNanos);
+        solveTimer.record(Duration.ofNanos(System.nanoTime() - start));
+
+        // 3. Ruta de cada tramo del orden elegido, en paralelo.
+        List<RouteRequest> legRequests = new ArrayList<>(points.size());
+        for (int i = 1; i < tour.length; i++) {
+            legRequests.add(new RouteRequest(points.get(tour[i - 1]), points.get(tour[i]), request.mode()));
+        }
+        if (request.returnToStart()) {
+            legRequests.add(new RouteRequest(points.get(tour[tour.length - 1]), request.start(), request.mode()));
+        }
+        List<RouteResponse> legs = computeLegs(legRequests);
+
+        List<Integer> order = new ArrayList<>(tour.length - 1);
+        for (int i = 1; i < tour.length; i++) {
+            order.add(tour[i] - 1);
+        }
+        double totalDistance = 0;
+        int totalDuration = 0;
+        List<RouteStats> stats = new ArrayList<>(legs.size());
+        for (int i = 0; i < legs.size(); i++) {
+            totalDistance += legs.get(i).distanceKm();
+            totalDuration += legs.get(i).durationMinutes();
+            stats.add(RoutePlanner.toRouteStats(legRequests.get(i), legs.get(i)));
+        }
+        routeStatsSink.recordAll(stats);
+        return new TourResponse(order, Math.round(totalDistance * 100.0) / 100.0, totalDuration, legs);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto de Spring.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<RouteResponse> computeLegs(List<RouteRequest> legRequests) {
+        List<Callable<RouteResponse>> tasks = new ArrayList<>(legRequests.size());
+        for (RouteRequest legRequest : legRequests) {
+            tasks.add(() -> routePlanner.computeRoute(legRequest));
+        }
+        List<RouteResponse> legs = new ArrayList<>(legRequests.size());
+        try {
+            for (Future<RouteResponse> future : pool.invokeAll(tasks)) {
+                legs.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de los tramos interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falló el cálculo de un tramo", e.getCause());
+        }
+        return legs;
+    }
+}
@@ -0,0 +1,306 @@
+package com.froy.navigator.service.tour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Resuelve de forma heurística el orden de visita de un recorrido con varias paradas (TSP) sobre una
+ * matriz de costos simétrica. El nodo 0 es el punto de partida y siempre va primero; el recorrido puede
+ * terminar en la última parada (abierto) o volver al inicio (cerrado).
+ * <p>
+ * Cada búsqueda parte de una solución del vecino más cercano y la mejora con 2-opt (invertir un tramo)
+ * y Or-opt (mover un tramo de una a tres paradas, en cualquier sentido, a otra posición) hasta un óptimo
+ * local. Mientras quede tiempo, perturba la mejor solución con un double-bridge y vuelve a optimizar
+ * (búsqueda local iterada). Se lanzan varias búsquedas en paralelo con semillas distintas y se devuelve la
+ * mejor; todas se detienen al vencer el plazo, así que el tiempo de pared está acotado.
+ */
+public final class TourSolver {
+
+    private static final double EPSILON = 1e-9;
+    private static final long SEED = 0x5DEECE66DL;
+
+    /** Mínimo de paradas (además del inicio) para aplicar un double-bridge. */
+    private static final int MIN_KICK_SIZE = 8;
+
+    /** Perturbaciones seguidas sin mejora, por parada, tras las que una búsqueda se da por terminada. */
+    private static final int KICKS_WITHOUT_IMPROVEMENT_PER_NODE = 20;
+
+    private final double[] costs;
+    private final int size;
+    private final boolean closed;
+
+    /**
+     * Crea el resolvedor.
+     *
+     * @param costs Matriz de costos de {@code size × size} en orden por filas; debe ser simétrica.
+     * @param size Número de nodos, incluido el inicio (nodo 0).
+     * @param closed Si el recorrido vuelve al inicio después de la última parada.
+     */
+    public TourSolver(double[] costs, int size, boolean closed) {
+        if (size < 1 || costs.length != size * size) {
+            throw new IllegalArgumentException("La matriz de costos debe ser de " + size + " × " + size);
+        }
+        this.costs = costs;
+        this.size = size;
+        this.closed = closed;
+    }
+
+    /**
+     * Busca el mejor orden de visita que encuentren {@code searches} búsquedas en paralelo antes del plazo.
+     *
+     * @param executor Ejecutor de las búsquedas.
+     * @param searches Número de búsquedas independientes (normalmente, una por núcleo).
+     * @param budgetNanos Tiempo máximo de búsqueda en nanosegundos.
+     * @return Nodos en orden de visita, empezando por el 0; no incluye el regreso al inicio.
+     * @throws IllegalStateException si una búsqueda falla o el hilo se interrumpe.
+     */
+    public int[] solve(ExecutorService executor, int searches, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<Future<int[]>> futures = new ArrayList<>(searches);
+        for (int i = 0; i < Math.max(1, searches); i++) {
+            int searchIndex = i;
+            Callable<int[]> search = () -> search(searchIndex, deadline);
+            futures.add(executor.submit(search));
+        }
+        int[] best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        try {
+            for (Future<int[]> future : futures) {
+                int[] tour = future.get();
+                double tourCost = cost(tour);
+                if (tourCost < bestCost) {
+                    best = tour;
+                    bestCost = tourCost;
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda del recorrido interrumpida", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Falló la búsqueda del recorrido", e.getCause());
+        }
+        return best;
+    }
+
+    /**
+     * Costo de un recorrido, incluido el regreso al inicio si es cerrado.
+     *
+     * @param tour Nodos en orden de visita, empezando por el 0.
+     * @return Suma de los costos de sus tramos.
+     */
+    public double cost(int[] tour) {
+        double total = 0;
+        for (int position = 0; position < tour.length; position++) {
+            total += cost(tour[position], next(tour, position));
+        }
+        return total;
+    }
+
+    /**
+     * Una búsqueda local iterada: vecino más cercano (aleatorizado salvo en la primera búsqueda),
+     * 2-opt y Or-opt, y perturbaciones double-bridge mientras haya tiempo y sigan dando mejoras.
+     */
+    int[] search(int searchIndex, long deadline) {
+        SplittableRandom random = new SplittableRandom(SEED + searchIndex * 0x9E3779B97F4A7C15L);
+        int[] best = nearestNeighbour(searchIndex == 0 ? 1 : 3, random);
+        localSearch(best, deadline);
+        double bestCost = cost(best);
+        if (size - 1 < MIN_KICK_SIZE) {
+            return best;
+        }
+        int[] candidate = new int[size];
+        int kicksWithoutImprovement = 0;
+        int maxKicksWithoutImprovement = KICKS_WITHOUT_IMPROVEMENT_PER_NODE * size;
+        while (System.nanoTime() < deadline && kicksWithoutImprovement < maxKicksWithoutImprovement) {
+            System.arraycopy(best, 0, candidate, 0, size);
+            doubleBridge(candidate, random);
+            localSearch(candidate, deadline);
+            double candidateCost = cost(candidate);
+            if (candidateCost < bestCost - EPSILON) {
+                int[] previous = best;
+                best = candidate;
+                candidate = previous;
+                bestCost = candidateCost;
+                kicksWithoutImprovement = 0;
+            } else {
+                kicksWithoutImprovement++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Vecino más cercano desde el inicio; con {@code candidates > 1} elige al azar entre los
+     * {@code candidates} no visitados más cercanos, para diversificar las búsquedas.
+     */
+    private int[] nearestNeighbour(int candidates, SplittableRandom random) {
+        int[] tour = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+        int[] nearest = new int[candidates];
+        double[] nearestCost = new double[candidates];
+        for (int position = 1; position < size; position++) {
+            int current = tour[position - 1];
+            int found = 0;
+            for (int node = 1; node < size; node++) {
+                if (visited[node]) {
+                    continue;
+                }
+                double nodeCost = cost(current, node);
+                // Inserción ordenada en la lista corta de los más cercanos
+                int slot = Math.min(found, candidates - 1);
+                if (found == candidates && nodeCost >= nearestCost[slot]) {
+                    continue;
+                }
+                while (slot > 0 && nearestCost[slot - 1] > nodeCost) {
+                    nearest[slot] = nearest[slot - 1];
+                    nearestCost[slot] = nearestCost[slot - 1];
+                    slot--;
+                }
+                nearest[slot] = node;
+                nearestCost[slot] = nodeCost;
+                found = Math.min(found + 1, candidates);
+            }
+            int chosen = nearest[found == 1 ? 0 : random.nextInt(found)];
+            tour[position] = chosen;
+            visited[chosen] = true;
+        }
+        return tour;
+    }
+
+    private void localSearch(int[] tour, long deadline) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOpt(tour, deadline);
+            improved |= orOpt(tour, deadline);
+        }
+    }
+
+    /**
+     * Invierte el tramo {@code [i, j]} cuando eso acorta el recorrido. Con costos simétricos solo cambian
+     * los dos tramos de los extremos.
+     */
+    private boolean twoOpt(int[] tour, long deadline) {
+        boolean improved = false;
+        for (int i = 1; i < size - 1; i++) {
+            if (System.nanoTime() >= deadline) {
+                return improved;
+            }
+            int a = tour[i - 1];
+            for (int j = i + 1; j < size; j++) {
+                int b = tour[i];
+                int c = tour[j];
+                int e = next(tour, j);
+                double delta = cost(a, c) + cost(b, e) - cost(a, b) - cost(c, e);
+                if (delta < -EPSILON) {
+                    reverse(tour, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Mueve un tramo de una a tres paradas entre otras dos consecutivas, en su sentido o invertido,
+     * cuando eso acorta el recorrido.
+     */
+    private boolean orOpt(int[] tour, long deadline) {
+        boolean improved = false;
+        int[] segment = new int[3];
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 1; i + length <= size; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return improved;
+                }
+                int last = i + length - 1;
+                int before = tour[i - 1];
+                int first = tour[i];
+                int end = tour[last];
+                int after = next(tour, last);
+                double removeGain = cost(before, first) + cost(end, after) - cost(before, after);
+                if (removeGain <= EPSILON) {
+                    continue;
+                }
+                for (int k = 0; k < size; k++) {
+                    if (k >= i - 1 && k <= last) {
+                        continue; // Tramos que tocan el segmento
+                    }
+                    int u = tour[k];
+                    int v = next(tour, k);
+                    double base = cost(u, v);
+                    double forward = cost(u, first) + cost(end, v) - base;
+                    double reversed = cost(u, end) + cost(first, v) - base;
+                    if (Math.min(forward, reversed) < removeGain - EPSILON) {
+                        move(tour, i, length, k, reversed < forward, segment);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Parte el recorrido en A B C D por tres posiciones al azar y lo reconecta como A C B D.
+     */
+    private void doubleBridge(int[] tour, SplittableRandom random) {
+        int p1 = 1 + random.nextInt(size - 3);
+        int p2 = p1 + 1 + random.nextInt(size - p1 - 2);
+        int p3 = p2 + 1 + random.nextInt(size - p2 - 1);
+        int[] rebuilt = new int[size];
+        int position = 0;
+        System.arraycopy(tour, 0, rebuilt, position, p1);
+        position += p1;
+        System.arraycopy(tour, p2, rebuilt, position, p3 - p2);
+        position += p3 - p2;
+        System.arraycopy(tour, p1, rebuilt, position, p2 - p1);
+        position += p2 - p1;
+        System.arraycopy(tour, p3, rebuilt, position, size - p3);
+        System.arraycopy(rebuilt, 0, tour, 0, size);
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+
+    /**
+     * Saca el tramo {@code [from, from + length)} y lo inserta después de la posición {@code after}
+     * (una posición fuera del tramo, referida al arreglo original).
+     */
+    private void move(int[] tour, int from, int length, int after, boolean reversed, int[] segment) {
+        for (int s = 0; s < length; s++) {
+            segment[s] = tour[reversed ? from + length - 1 - s : from + s];
+        }
+        System.arraycopy(tour, from + length, tour, from, size - from - length);
+        int insertAfter = after < from ? after : after - length;
+        int shifted = size - length - insertAfter - 1;
+        System.arraycopy(tour, insertAfter + 1, tour, insertAfter + 1 + length, shifted);
+        System.arraycopy(segment, 0, tour, insertAfter + 1, length);
+    }
+
+    /** Nodo que sigue a una posición: el siguiente, el inicio si el recorrido es cerrado, o -1 al final. */
+    private int next(int[] tour, int position) {
+        if (position + 1 < size) {
+            return tour[position + 1];
+        }
+        return closed ? tour[0] : -1;
+    }
+
+    /** Costo de un tramo; el "tramo" hacia el final de un recorrido abierto (-1) no cuesta. */
+    private double cost(int from, int to) {
+        return from < 0 || to < 0 ? 0 : costs[from * size + to];
+    }
+}
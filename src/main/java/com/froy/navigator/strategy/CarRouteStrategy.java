@@ -2,11 +2,16 @@ package com.froy.navigator.strategy;
 
 import com.froy.navigator.dto.RouteRequest;
 import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.dto.RouteSteps;
 import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.GraphRoutingEngine;
+import com.froy.navigator.routing.RouteTrack;
+import com.froy.navigator.routing.SpeedProfileStore;
+import com.froy.navigator.service.eta.EtaCorrectionService;
 import com.froy.navigator.util.DistanceCalculator;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Estrategia concreta para planificar rutas en automóvil.
@@ -15,17 +20,54 @@ import java.util.List;
 @Component
 public class CarRouteStrategy implements RouteStrategy {
 
+    private static final double AVERAGE_SPEED_KMH = 80; // velocidad promedio 80 km/h
+    private static final RouteSteps.Template STEPS = RouteSteps.template(
+            "Conduce por autopistas principales");
+
+    private final GraphRoutingEngine graphRoutingEngine;
+    private final SpeedProfileStore speedProfileStore;
+    private final EtaCorrectionService etaCorrectionService;
+
+    /**
+     * Construye la estrategia.
+     *
+     * @param graphRoutingEngine Motor de ruteo sobre el grafo de carreteras; si no cubre la solicitud,
+     *                           la ruta se estima en línea recta.
+     * @param speedProfileStore Perfil de velocidades por zona y franja horaria para las estimaciones en
+     *                          línea recta; donde no define velocidad se usa la velocidad promedio.
+     * @param etaCorrectionService Corrección de duraciones aprendida de viajes observados.
+     */
+    public CarRouteStrategy(GraphRoutingEngine graphRoutingEngine, SpeedProfileStore speedProfileStore,
+                            EtaCorrectionService etaCorrectionService) {
+        this.graphRoutingEngine = graphRoutingEngine;
+        this.speedProfileStore = speedProfileStore;
+        this.etaCorrectionService = etaCorrectionService;
+    }
+
     @Override
     public RouteResponse compute(RouteRequest request) {
+        Optional<RouteResponse> graphRoute = graphRoutingEngine.route(request, getMode());
+        if (graphRoute.isPresent()) {
+            return etaCorrectionService.apply(getMode(), request.origin(), graphRoute.get());
+        }
         double distance = DistanceCalculator.calculateDistance(request.origin(), request.destination());
         // Simula un viaje más rápido para autos en autopistas
-        int duration = (int) (distance / 80 * 60); // velocidad promedio 80 km/h
-        List<String> steps = List.of(
-                "Inicio en " + request.origin(),
-                "Conduce por autopistas principales",
-                "Llegada a " + request.destination()
-        );
-        return new RouteResponse(round(distance), duration, steps, getMode().name());
+        double speed = speedProfileStore.speedKmh(getMode(), request.origin(), request.destination(),
+                AVERAGE_SPEED_KMH);
+        int duration = (int) (distance / speed * 60 * etaCorrectionService.factor(getMode(), request.origin()));
+        return new RouteResponse(round(distance), duration,
+                STEPS.between(request.origin(), request.destination()), getMode().name());
+    }
+
+    @Override
+    public RouteTrack computeTrack(RouteRequest request) {
+        return graphRoutingEngine.track(request, getMode())
+                .orElseGet(() -> RouteStrategy.super.computeTrack(request));
+    }
+
+    @Override
+    public double getAverageSpeedKmh() {
+        return AVERAGE_SPEED_KMH;
     }
 
     @Override
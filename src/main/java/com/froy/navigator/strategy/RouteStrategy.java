@@ -3,6 +3,7 @@ package com.froy.navigator.strategy;
 import com.froy.navigator.dto.RouteRequest;
 import com.froy.navigator.dto.RouteResponse;
 import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.RouteTrack;
 
 /**
  * Interfaz para las estrategias de planificación de rutas.
@@ -19,6 +20,26 @@ public interface RouteStrategy {
      */
     RouteResponse compute(RouteRequest request);
 
+    /**
+     * Calcula una ruta junto con su geometría, para seguir el avance de un cliente en movimiento.
+     * Por defecto la geometría es el tramo recto entre origen y destino de {@link #compute}.
+     *
+     * @param request Petición de ruta que contiene origen, destino y modo.
+     * @return Geometría de la ruta con sus distancias, tiempos e instrucciones.
+     */
+    default RouteTrack computeTrack(RouteRequest request) {
+        return RouteTrack.straight(request.origin(), request.destination(), compute(request));
+    }
+
+    /**
+     * Devuelve la velocidad promedio que usa esta estrategia para estimar la duración.
+     * Permite a los cálculos masivos (p. ej. matrices de distancias) estimar duraciones
+     * sin construir una RouteResponse por cada par de puntos.
+     *
+     * @return Velocidad promedio en kilómetros por hora.
+     */
+    double getAverageSpeedKmh();
+
     /**
      * Devuelve el modo de transporte manejado por esta estrategia.
      *
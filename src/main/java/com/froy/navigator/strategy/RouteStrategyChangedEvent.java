@@ -0,0 +1,14 @@
+package com.froy.navigator.strategy;
+
+import com.froy.navigator.model.TransportMode;
+
+/**
+ * Evento publicado por {@link RouteStrategyRegistry} cada vez que cambia la estrategia de un modo:
+ * al registrarla por primera vez en caliente, al reemplazarla o al deshabilitarla.
+ *
+ * @param mode Modo de transporte afectado.
+ * @param previous Estrategia anterior, o {@code null} si el modo no tenía.
+ * @param current Estrategia nueva, o {@code null} si el modo quedó deshabilitado.
+ */
+public record RouteStrategyChangedEvent(TransportMode mode, RouteStrategy previous, RouteStrategy current) {
+}
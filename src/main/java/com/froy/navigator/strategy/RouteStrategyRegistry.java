@@ -0,0 +1,223 @@
+package com.froy.navigator.strategy;
+
+import com.froy.navigator.dto.GeoPoint;
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.routing.SpeedProfileChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro de las estrategias de ruta por modo de transporte.
+ * <p>
+ * Las estrategias se guardan en un {@link EnumMap} inmutable que se reemplaza completo y de forma atómica:
+ * cada petición lee la instantánea vigente sin bloqueos ni sincronización, y un cambio (registrar,
+ * reemplazar o deshabilitar un modo) publica una instantánea nueva sin pausar el tráfico. Las peticiones
+ * en curso terminan con la estrategia que leyeron.
+ * <p>
+ * Antes de publicar una estrategia se calienta con solicitudes sintéticas dentro del área configurada,
+ * de modo que la compilación JIT y las inicializaciones perezosas no recaen en las primeras peticiones
+ * reales. Una estrategia que falla en todas las solicitudes de calentamiento no se publica. Cada cambio
+ * publica un {@link RouteStrategyChangedEvent}.
+ */
+@Component
+public class RouteStrategyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteStrategyRegistry.class);
+
+    /**
+     * Estrategia publicada junto con su temporizador de cálculo, resuelto al registrarla.
+     *
+     * @param strategy Estrategia del modo.
+     * @param computeTimer Temporizador {@code navigator.route.compute} del modo y la estrategia.
+     */
+    public record RegisteredStrategy(RouteStrategy strategy, Timer computeTimer) {
+    }
+
+    private final AtomicReference<Map<TransportMode, RegisteredStrategy>> registered;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int warmupRequests;
+    private final double[] warmupArea;
+
+    /**
+     * Construye el registro con las estrategias declaradas como beans, ya calentadas.
+     *
+     * @param strategies Estrategias iniciales; a lo sumo una por modo.
+     * @param eventPublisher Publicador de los eventos de cambio.
+     * @param meterRegistry Registro de métricas de Micrometer.
+     * @param warmupRequests Solicitudes de calentamiento por estrategia (0 = sin calentamiento).
+     * @param warmupArea Área de las solicitudes de calentamiento: latitud y longitud mínimas y máximas.
+     * @throws IllegalStateException si dos estrategias manejan el mismo modo.
+     */
+    public RouteStrategyRegistry(List<RouteStrategy> strategies,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${navigator.strategies.warmup.requests:100}") int warmupRequests,
+                                 @Value("${navigator.strategies.warmup.area:20.60,-103.45,20.75,-103.25}") double[] warmupArea) {
+        if (warmupArea.length != 4) {
+            throw new IllegalArgumentException("El área de calentamiento debe ser minLat,minLon,maxLat,maxLon");
+        }
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.warmupRequests = warmupRequests;
+        this.warmupArea = warmupArea.clone();
+        Map<TransportMode, RegisteredStrategy> initial = new EnumMap<>(TransportMode.class);
+        for (RouteStrategy strategy : strategies) {
+            if (initial.containsKey(strategy.getMode())) {
+                throw new IllegalStateException("Hay más de una estrategia para el modo " + strategy.getMode());
+            }
+            initial.put(strategy.getMode(), prepare(strategy));
+        }
+        this.registered = new AtomicReference<>(Collections.unmodifiableMap(initial));
+    }
+
+    /**
+     * Estrategia publicada para un modo.
+     *
+     * @param mode Modo de transporte.
+     * @return Estrategia con su temporizador, o {@code null} si el modo no tiene estrategia.
+     */
+    public RegisteredStrategy find(TransportMode mode) {
+        return registered.get().get(mode);
+    }
+
+    /**
+     * Instantánea inmutable de las estrategias publicadas.
+     *
+     * @return Estrategia de cada modo habilitado.
+     */
+    public Map<TransportMode, RegisteredStrategy> snapshot() {
+        return registered.get();
+    }
+
+    /**
+     * Calienta una estrategia y la publica para su modo, reemplazando la anterior si la había.
+     *
+     * @param strategy Estrategia nueva.
+     * @return Estrategia reemplazada, o {@code null} si el modo no tenía.
+     * @throws IllegalStateException si la estrategia falla en todas las solicitudes de calentamiento.
+     */
+    public RouteStrategy register(RouteStrategy strategy) {
+        RegisteredStrategy prepared = prepare(strategy);
+        RegisteredStrategy previous = swap(strategy.getMode(), prepared);
+        return publish(strategy.getMode(), previous, strategy);
+    }
+
+    /**
+     * Deshabilita un modo: las peticiones siguientes para él se rechazan como modo no soportado.
+     *
+     * @param mode Modo a deshabilitar.
+     * @return Estrategia retirada, o {@code null} si el modo no tenía.
+     */
+    public RouteStrategy disable(TransportMode mode) {
+        return publish(mode, swap(mode, null), null);
+    }
+
+    /**
+     * Vuelve a calentar y publicar todas las estrategias vigentes. Cada una publica su
+     * {@link RouteStrategyChangedEvent}, con lo que se descartan sus rutas en caché.
+     */
+    public void refreshAll() {
+        for (RegisteredStrategy current : registered.get().values()) {
+            register(current.strategy());
+        }
+    }
+
+    /**
+     * Al cambiar el perfil de velocidades, las duraciones estimadas cambian: se refrescan las estrategias.
+     *
+     * @param event Perfil recién publicado.
+     */
+    @EventListener
+    public void onSpeedProfileChanged(SpeedProfileChangedEvent event) {
+        refreshAll();
+    }
+
+    private RegisteredStrategy swap(TransportMode mode, RegisteredStrategy replacement) {
+        Map<TransportMode, RegisteredStrategy> current;
+        Map<TransportMode, RegisteredStrategy> next;
+        do {
+            current = registered.get();
+            next = new EnumMap<>(TransportMode.class);
+            next.putAll(current);
+            if (replacement == null) {
+                next.remove(mode);
+            } else {
+                next.put(mode, replacement);
+            }
+        } while (!registered.compareAndSet(current, Collections.unmodifiableMap(next)));
+        return current.get(mode);
+    }
+
+    private RouteStrategy publish(TransportMode mode, RegisteredStrategy previous, RouteStrategy current) {
+        RouteStrategy replaced = previous == null ? null : previous.strategy();
+        if (replaced != null || current != null) {
+            log.info("Estrategia del modo {}: {} -> {}", mode, name(replaced), name(current));
+            eventPublisher.publishEvent(new RouteStrategyChangedEvent(mode, replaced, current));
+        }
+        return replaced;
+    }
+
+    private RegisteredStrategy prepare(RouteStrategy strategy) {
+        warmUp(strategy);
+        Timer computeTimer = Timer.builder("navigator.route.compute")
+                .description("Tiempo de cálculo de una ruta en su estrategia, sin caché ni estadísticas")
+                .tag("mode", strategy.getMode().name())
+                .tag("strategy", strategy.getClass().getSimpleName())
+                .register(meterRegistry);
+        return new RegisteredStrategy(strategy, computeTimer);
+    }
+
+    /**
+     * Ejecuta las solicitudes de calentamiento: el cálculo completo y, en una de cada cuatro, también la
+     * geometría. Las solicitudes son siempre las mismas para que los calentamientos sean comparables.
+     */
+    private void warmUp(RouteStrategy strategy) {
+        if (warmupRequests <= 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(warmupRequests);
+        long start = System.nanoTime();
+        int failures = 0;
+        for (int i = 0; i < warmupRequests; i++) {
+            RouteRequest request = new RouteRequest(randomPoint(random), randomPoint(random), strategy.getMode());
+            try {
+                strategy.compute(request);
+                if (i % 4 == 0) {
+                    strategy.computeTrack(request);
+                }
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+        if (failures == warmupRequests) {
+            throw new IllegalStateException("La estrategia " + name(strategy)
+                    + " falló en todas las solicitudes de calentamiento");
+        }
+        log.debug("Estrategia {} calentada con {} solicitudes ({} fallidas) en {} ms", name(strategy),
+                warmupRequests, failures, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private GeoPoint randomPoint(SplittableRandom random) {
+        return new GeoPoint(random.nextDouble(warmupArea[0], warmupArea[2]),
+                random.nextDouble(warmupArea[1], warmupArea[3]));
+    }
+
+    private static String name(RouteStrategy strategy) {
+        return strategy == null ? "ninguna" : strategy.getClass().getSimpleName();
+    }
+}
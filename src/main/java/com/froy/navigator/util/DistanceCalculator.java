@@ -2,6 +2,8 @@ package com.froy.navigator.util;
 
 import com.froy.navigator.dto.GeoPoint;
 
+import java.nio.DoubleBuffer;
+
 /**
  * Clase de utilidades para calcular distancias entre puntos geográficos.
  * Utiliza la fórmula de Haversine para obtener la distancia de gran círculo
@@ -15,6 +17,11 @@ public class DistanceCalculator {
      */
     public static final double EARTH_RADIUS_KM = 6371.0; // Radio de la Tierra en kilómetros
 
+    /**
+     * Kilómetros por grado de arco sobre un círculo máximo.
+     */
+    private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+
     /**
      * Calcula la distancia entre dos puntos geográficos usando la fórmula de Haversine.
      *
@@ -23,19 +30,218 @@ public class DistanceCalculator {
      * @return Distancia entre los dos puntos en kilómetros.
      */
     public static double calculateDistance(GeoPoint point1, GeoPoint point2) {
-        double lat1Rad = Math.toRadians(point1.lat());
-        double lon1Rad = Math.toRadians(point1.lon());
-        double lat2Rad = Math.toRadians(point2.lat());
-        double lon2Rad = Math.toRadians(point2.lon());
+        return calculateDistance(point1.lat(), point1.lon(), point2.lat(), point2.lon());
+    }
+
+    /**
+     * Calcula la distancia de Haversine entre dos coordenadas en grados, sin crear objetos.
+     * Usa {@code 2·asin(√a)} en lugar de {@code 2·atan2(√a, √(1 - a))}: ambas son la misma fórmula y
+     * difieren en menos de 1 µm, salvo en puntos casi antípodas, donde el arcoseno pierde precisión
+     * y la diferencia llega a 0.3 m.
+     *
+     * @param lat1 Latitud del primer punto en grados.
+     * @param lon1 Longitud del primer punto en grados.
+     * @param lat2 Latitud del segundo punto en grados.
+     * @param lon2 Longitud del segundo punto en grados.
+     * @return Distancia entre los dos puntos en kilómetros.
+     */
+    public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        double sinHalfDLat = Math.sin((lat2Rad - lat1Rad) * 0.5);
+        double sinHalfDLon = Math.sin(Math.toRadians(lon2 - lon1) * 0.5);
+
+        double a = sinHalfDLat * sinHalfDLat + Math.cos(lat1Rad) * Math.cos(lat2Rad) * sinHalfDLon * sinHalfDLon;
+        return EARTH_RADIUS_KM * 2 * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
 
-        double dLat = lat2Rad - lat1Rad;
-        double dLon = lon2Rad - lon1Rad;
+    /**
+     * Calcula una distancia aproximada con la proyección equirectangular: trata el tramo como recto en
+     * un plano donde la longitud se escala por el coseno de la latitud media. Solo usa un coseno y una
+     * raíz, por lo que sirve para filtros y estimaciones en distancias cortas.
+     * Con latitudes entre -70° y 70°, el error relativo frente a Haversine es menor a 0.005 % hasta
+     * 50 km (2.5 m; unos centímetros en 10 km), 0.04 % hasta 200 km y 1 % hasta 1000 km: crece con
+     * el cuadrado de la distancia, así que no debe usarse para rutas interurbanas largas. Cruza el
+     * antimeridiano correctamente.
+     *
+     * @param lat1 Latitud del primer punto en grados.
+     * @param lon1 Longitud del primer punto en grados.
+     * @param lat2 Latitud del segundo punto en grados.
+     * @param lon2 Longitud del segundo punto en grados.
+     * @return Distancia aproximada entre los dos puntos en kilómetros.
+     */
+    public static double approximateDistance(double lat1, double lon1, double lat2, double lon2) {
+        return approximateDistanceFromCos(lat1, lon1, lat2, lon2, Math.cos(Math.toRadians((lat1 + lat2) * 0.5)));
+    }
 
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                   Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    /**
+     * Distancia equirectangular con el factor de escala de la longitud ya calculado.
+     */
+    static double approximateDistanceFromCos(double lat1, double lon1, double lat2, double lon2, double cosLat) {
+        double dLat = lat2 - lat1;
+        double dLon = wrapLongitude(lon2 - lon1) * cosLat;
+        return KM_PER_DEGREE * Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    /**
+     * Calcula la distancia de Haversine desde un origen a muchos destinos guardados en arreglos
+     * paralelos de latitudes y longitudes. El seno y coseno del origen se calculan una sola vez;
+     * el resultado es idéntico a {@link #calculateDistance(double, double, double, double)}.
+     *
+     * @param lat Latitud del origen en grados.
+     * @param lon Longitud del origen en grados.
+     * @param lats Latitudes de los destinos en grados.
+     * @param lons Longitudes de los destinos en grados.
+     * @param distancesKm Arreglo de salida; se llenan tantas posiciones como su longitud.
+     * @throws IllegalArgumentException si los arreglos de entrada son más cortos que el de salida.
+     */
+    public static void calculateDistances(double lat, double lon, double[] lats, double[] lons, double[] distancesKm) {
+        requireLength(lats.length, distancesKm.length);
+        requireLength(lons.length, distancesKm.length);
+        double latRad = Math.toRadians(lat);
+        double cosLat = Math.cos(latRad);
+        for (int i = 0; i < distancesKm.length; i++) {
+            distancesKm[i] = haversine(latRad, cosLat, lon, lats[i], lons[i]);
+        }
+    }
+
+    /**
+     * Igual que {@link #calculateDistances(double, double, double[], double[], double[])}, pero con los
+     * destinos intercalados {@code [lat0, lon0, lat1, lon1, ...]} en un {@link DoubleBuffer}, el formato
+     * de los índices mapeados en memoria. Se leen posiciones absolutas desde cero; la posición del
+     * buffer no cambia.
+     *
+     * @param lat Latitud del origen en grados.
+     * @param lon Longitud del origen en grados.
+     * @param coordinates Coordenadas intercaladas de los destinos en grados.
+     * @param distancesKm Arreglo de salida; se llenan tantas posiciones como su longitud.
+     * @throws IllegalArgumentException si el buffer tiene menos de {@code 2 * distancesKm.length} valores.
+     */
+    public static void calculateDistances(double lat, double lon, DoubleBuffer coordinates, double[] distancesKm) {
+        requireLength(coordinates.limit() / 2, distancesKm.length);
+        double latRad = Math.toRadians(lat);
+        double cosLat = Math.cos(latRad);
+        for (int i = 0; i < distancesKm.length; i++) {
+            distancesKm[i] = haversine(latRad, cosLat, lon, coordinates.get(2 * i), coordinates.get(2 * i + 1));
+        }
+    }
+
+    /**
+     * Versión masiva de {@link #approximateDistance(double, double, double, double)} sobre arreglos
+     * paralelos. El coseno de la latitud media se obtiene por serie de Taylor alrededor del origen, así
+     * que el ciclo es solo aritmética (sin llamadas trigonométricas) y el compilador JIT puede
+     * vectorizarlo. El error adicional de la serie es menor a 1 mm hasta 50 km, por lo que aplica la
+     * misma cota que la versión escalar.
+     *
+     * @param lat Latitud del origen en grados.
+     * @param lon Longitud del origen en grados.
+     * @param lats Latitudes de los destinos en grados.
+     * @param lons Longitudes de los destinos en grados.
+     * @param distancesKm Arreglo de salida; se llenan tantas posiciones como su longitud.
+     * @throws IllegalArgumentException si los arreglos de entrada son más cortos que el de salida.
+     */
+    public static void approximateDistances(double lat, double lon, double[] lats, double[] lons,
+                                            double[] distancesKm) {
+        requireLength(lats.length, distancesKm.length);
+        requireLength(lons.length, distancesKm.length);
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double sinLat = Math.sin(Math.toRadians(lat));
+        for (int i = 0; i < distancesKm.length; i++) {
+            distancesKm[i] = equirectangular(lat, lon, cosLat, sinLat, lats[i], lons[i]);
+        }
+    }
+
+    /**
+     * Versión de {@link #approximateDistances(double, double, double[], double[], double[])} sobre
+     * coordenadas intercaladas {@code [lat0, lon0, lat1, lon1, ...]} en un {@link DoubleBuffer}.
+     *
+     * @param lat Latitud del origen en grados.
+     * @param lon Longitud del origen en grados.
+     * @param coordinates Coordenadas intercaladas de los destinos en grados.
+     * @param distancesKm Arreglo de salida; se llenan tantas posiciones como su longitud.
+     * @throws IllegalArgumentException si el buffer tiene menos de {@code 2 * distancesKm.length} valores.
+     */
+    public static void approximateDistances(double lat, double lon, DoubleBuffer coordinates, double[] distancesKm) {
+        requireLength(coordinates.limit() / 2, distancesKm.length);
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double sinLat = Math.sin(Math.toRadians(lat));
+        for (int i = 0; i < distancesKm.length; i++) {
+            distancesKm[i] = equirectangular(lat, lon, cosLat, sinLat,
+                    coordinates.get(2 * i), coordinates.get(2 * i + 1));
+        }
+    }
+
+    /**
+     * Calcula la distancia de Haversine a partir de los senos y cosenos ya calculados de ambos puntos.
+     * Pensado para cálculos masivos (p. ej. matrices origen/destino), donde cada punto se prepara
+     * una sola vez y el costo por par se reduce a multiplicaciones, una raíz y un arcoseno.
+     * El error frente a {@link #calculateDistance(GeoPoint, GeoPoint)} es inferior a un milímetro.
+     *
+     * @param sinLat1 Seno de la latitud del primer punto.
+     * @param cosLat1 Coseno de la latitud del primer punto.
+     * @param sinLon1 Seno de la longitud del primer punto.
+     * @param cosLon1 Coseno de la longitud del primer punto.
+     * @param sinLat2 Seno de la latitud del segundo punto.
+     * @param cosLat2 Coseno de la latitud del segundo punto.
+     * @param sinLon2 Seno de la longitud del segundo punto.
+     * @param cosLon2 Coseno de la longitud del segundo punto.
+     * @return Distancia entre los dos puntos en kilómetros.
+     */
+    public static double calculateDistanceFromTrig(double sinLat1, double cosLat1, double sinLon1, double cosLon1,
+                                                   double sinLat2, double cosLat2, double sinLon2, double cosLon2) {
+        double a = sinHalfDifferenceSquared(sinLat1, cosLat1, sinLat2, cosLat2) +
+                   cosLat1 * cosLat2 * sinHalfDifferenceSquared(sinLon1, cosLon1, sinLon2, cosLon2);
+        return EARTH_RADIUS_KM * 2 * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * Calcula sin²((x - y) / 2) a partir de los senos y cosenos de x e y, sin funciones trigonométricas.
+     * Para diferencias pequeñas usa sin²(Δ/2) = sin²Δ / (2·(1 + cos Δ)), que evita la cancelación
+     * de (1 - cos Δ) / 2; para diferencias mayores de 90° usa directamente (1 - cos Δ) / 2.
+     */
+    private static double sinHalfDifferenceSquared(double sinX, double cosX, double sinY, double cosY) {
+        double cosD = cosX * cosY + sinX * sinY;
+        if (cosD < 0) {
+            return (1 - cosD) * 0.5;
+        }
+        double sinD = sinX * cosY - cosX * sinY;
+        return sinD * sinD / (2 * (1 + cosD));
+    }
+
+    /**
+     * Haversine con el seno y coseno de la latitud del origen ya calculados.
+     */
+    private static double haversine(double latRad, double cosLat, double lon, double lat2, double lon2) {
+        double lat2Rad = Math.toRadians(lat2);
+        double sinHalfDLat = Math.sin((lat2Rad - latRad) * 0.5);
+        double sinHalfDLon = Math.sin(Math.toRadians(lon2 - lon) * 0.5);
+        double a = sinHalfDLat * sinHalfDLat + cosLat * Math.cos(lat2Rad) * sinHalfDLon * sinHalfDLon;
+        return EARTH_RADIUS_KM * 2 * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    /**
+     * Equirectangular con cos(lat + Δ/2) ≈ cos(lat)·(1 - h²/2) - sin(lat)·h, con h = Δ/2 en radianes.
+     */
+    private static double equirectangular(double lat, double lon, double cosLat, double sinLat,
+                                          double lat2, double lon2) {
+        double dLat = lat2 - lat;
+        double h = dLat * (Math.PI / 360);
+        double cosMean = cosLat * (1 - h * h * 0.5) - sinLat * h;
+        double dLon = wrapLongitude(lon2 - lon) * cosMean;
+        return KM_PER_DEGREE * Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    /**
+     * Lleva una diferencia de longitudes al intervalo [-180°, 180°] sin ramas.
+     */
+    private static double wrapLongitude(double dLon) {
+        return dLon - 360 * Math.rint(dLon / 360);
+    }
 
-        return EARTH_RADIUS_KM * c;
+    private static void requireLength(int available, int required) {
+        if (available < required) {
+            throw new IllegalArgumentException("Se esperaban al menos " + required + " coordenadas, pero hay "
+                    + available);
+        }
     }
 }
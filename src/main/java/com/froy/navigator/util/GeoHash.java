@@ -0,0 +1,78 @@
+package com.froy.navigator.util;
+
+/**
+ * Clase de utilidades para codificar coordenadas como geohash.
+ * Un geohash divide el mundo en una rejilla jerárquica: cada carácter adicional (5 bits)
+ * reduce el tamaño de la celda, y todos los puntos dentro de la misma celda comparten el mismo código.
+ * Los códigos se manejan como {@code long} para evitar crear cadenas en el camino crítico.
+ */
+public final class GeoHash {
+
+    /**
+     * Precisión máxima soportada (12 caracteres = 60 bits, celdas de unos 4 cm).
+     */
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+        // Clase de utilidades, no instanciable
+    }
+
+    /**
+     * Codifica una coordenada como geohash numérico con la precisión indicada.
+     * Los bits se intercalan empezando por la longitud, igual que en la representación textual estándar.
+     *
+     * @param lat Latitud en grados (-90 a 90).
+     * @param lon Longitud en grados (-180 a 180).
+     * @param precision Número de caracteres del geohash equivalente (1 a {@value #MAX_PRECISION}).
+     * @return Geohash como entero de {@code 5 * precision} bits.
+     * @throws IllegalArgumentException si la precisión está fuera de rango.
+     */
+    public static long encode(double lat, double lon, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("La precisión del geohash debe estar entre 1 y " + MAX_PRECISION);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        long hash = 0;
+        int bits = precision * 5;
+        for (int i = 0; i < bits; i++) {
+            hash <<= 1;
+            if ((i & 1) == 0) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    hash |= 1;
+                    minLon = mid;
+                } else {
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    hash |= 1;
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Convierte un geohash numérico en su representación textual base32.
+     *
+     * @param hash Geohash numérico producido por {@link #encode(double, double, int)}.
+     * @param precision Precisión con la que se codificó.
+     * @return Geohash textual, p. ej. {@code "9ewt8"}.
+     */
+    public static String toBase32(long hash, int precision) {
+        char[] chars = new char[precision];
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 0x1F)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+}
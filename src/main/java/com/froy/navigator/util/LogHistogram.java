@@ -0,0 +1,116 @@
+package com.froy.navigator.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma concurrente de valores positivos con cubetas de ancho logarítmico, para estimar
+ * percentiles con error relativo acotado en memoria fija. Cada cubeta cubre {@code [b^i, b^(i+1))}
+ * veces el mínimo, con {@code b = 1 + 2 * relativeError}; el percentil se reporta como el punto medio
+ * geométrico de su cubeta, por lo que su error relativo es como mucho {@code relativeError}.
+ * <p>
+ * Registrar un valor es un incremento atómico sin bloqueos. Los valores por debajo del mínimo se
+ * cuentan en la primera cubeta y los que superan el máximo, en la última. Los percentiles de varios
+ * histogramas (p. ej. de varias horas) se obtienen sumando sus {@link #snapshot() instantáneas} con
+ * {@link #addTo(long[])} y consultando {@link #percentile(long[], double)}; todos deben tener la misma
+ * configuración.
+ */
+public final class LogHistogram {
+
+    private final double min;
+    private final double logBase;
+    private final AtomicLongArray counts;
+
+    /**
+     * Crea un histograma para valores en {@code [min, max]}.
+     *
+     * @param min Menor valor que se distingue (mayor que cero).
+     * @param max Mayor valor que se distingue.
+     * @param relativeError Error relativo máximo de los percentiles, p. ej. 0.02 para 2 %.
+     * @throws IllegalArgumentException si el rango o el error no son válidos.
+     */
+    public LogHistogram(double min, double max, double relativeError) {
+        if (min <= 0 || max <= min || relativeError <= 0 || relativeError >= 1) {
+            throw new IllegalArgumentException("Rango o error relativo inválido para el histograma");
+        }
+        this.min = min;
+        this.logBase = Math.log1p(2 * relativeError);
+        this.counts = new AtomicLongArray((int) Math.ceil(Math.log(max / min) / logBase) + 1);
+    }
+
+    /**
+     * Registra un valor.
+     *
+     * @param value Valor a registrar.
+     */
+    public void record(double value) {
+        counts.incrementAndGet(bucket(value));
+    }
+
+    /**
+     * Número de cubetas; todas las instantáneas de histogramas con la misma configuración lo comparten.
+     *
+     * @return Cantidad de cubetas.
+     */
+    public int bucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Copia los conteos actuales.
+     *
+     * @return Conteo por cubeta.
+     */
+    public long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        addTo(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Suma los conteos actuales a un acumulador, para combinar varios histogramas.
+     *
+     * @param accumulator Conteos acumulados, de longitud {@link #bucketCount()}.
+     */
+    public void addTo(long[] accumulator) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] += counts.get(i);
+        }
+    }
+
+    /**
+     * Estima un percentil a partir de conteos por cubeta de un histograma con esta configuración.
+     *
+     * @param bucketCounts Conteos por cubeta (de {@link #snapshot()} o sumados con {@link #addTo(long[])}).
+     * @param percentile Percentil entre 0 y 100.
+     * @return Valor estimado, o {@link Double#NaN} si no hay valores.
+     */
+    public double percentile(long[] bucketCounts, double percentile) {
+        long total = 0;
+        for (long count : bucketCounts) {
+            total += count;
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return bucketMidpoint(i);
+            }
+        }
+        return bucketMidpoint(bucketCounts.length - 1);
+    }
+
+    private int bucket(double value) {
+        if (!(value > min)) {
+            return 0;
+        }
+        return (int) Math.min(counts.length() - 1, Math.log(value / min) / logBase);
+    }
+
+    private double bucketMidpoint(int bucket) {
+        return min * Math.exp((bucket + 0.5) * logBase);
+    }
+}
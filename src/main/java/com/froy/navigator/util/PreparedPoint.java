@@ -0,0 +1,77 @@
+package com.froy.navigator.util;
+
+import com.froy.navigator.dto.GeoPoint;
+
+/**
+ * Punto geográfico con su trigonometría precalculada, para cuando el mismo punto se compara contra
+ * muchos otros (p. ej. el origen de una búsqueda o las filas de una matriz). Calcular la distancia
+ * entre dos puntos preparados no requiere funciones trigonométricas, solo una raíz y un arcoseno.
+ *
+ * @param lat Latitud en grados.
+ * @param lon Longitud en grados.
+ * @param sinLat Seno de la latitud.
+ * @param cosLat Coseno de la latitud.
+ * @param sinLon Seno de la longitud.
+ * @param cosLon Coseno de la longitud.
+ */
+public record PreparedPoint(double lat, double lon, double sinLat, double cosLat, double sinLon, double cosLon) {
+
+    /**
+     * Prepara una coordenada en grados.
+     *
+     * @param lat Latitud en grados.
+     * @param lon Longitud en grados.
+     * @return Punto con sus senos y cosenos calculados.
+     */
+    public static PreparedPoint of(double lat, double lon) {
+        double latRad = Math.toRadians(lat);
+        double lonRad = Math.toRadians(lon);
+        return new PreparedPoint(lat, lon, Math.sin(latRad), Math.cos(latRad), Math.sin(lonRad), Math.cos(lonRad));
+    }
+
+    /**
+     * Prepara un {@link GeoPoint}.
+     *
+     * @param point Punto geográfico.
+     * @return Punto con sus senos y cosenos calculados.
+     */
+    public static PreparedPoint of(GeoPoint point) {
+        return of(point.lat(), point.lon());
+    }
+
+    /**
+     * Distancia de Haversine hasta otro punto preparado, mediante
+     * {@link DistanceCalculator#calculateDistanceFromTrig}. Difiere de
+     * {@link DistanceCalculator#calculateDistance(double, double, double, double)} en menos de un milímetro.
+     *
+     * @param other Punto destino.
+     * @return Distancia en kilómetros.
+     */
+    public double distanceTo(PreparedPoint other) {
+        return DistanceCalculator.calculateDistanceFromTrig(sinLat, cosLat, sinLon, cosLon,
+                other.sinLat, other.cosLat, other.sinLon, other.cosLon);
+    }
+
+    /**
+     * Distancia equirectangular hasta otro punto preparado, usando el promedio de los cosenos de ambas
+     * latitudes en lugar del coseno de la latitud media; la diferencia entre ambos es de segundo orden
+     * y la cota de error es la de {@link DistanceCalculator#approximateDistance}: menos de 0.005 %
+     * hasta 50 km en latitudes entre -70° y 70°.
+     *
+     * @param other Punto destino.
+     * @return Distancia aproximada en kilómetros.
+     */
+    public double approximateDistanceTo(PreparedPoint other) {
+        return DistanceCalculator.approximateDistanceFromCos(lat, lon, other.lat, other.lon,
+                (cosLat + other.cosLat) * 0.5);
+    }
+
+    /**
+     * Convierte el punto de vuelta a {@link GeoPoint}.
+     *
+     * @return Punto geográfico con la misma latitud y longitud.
+     */
+    public GeoPoint toGeoPoint() {
+        return new GeoPoint(lat, lon);
+    }
+}
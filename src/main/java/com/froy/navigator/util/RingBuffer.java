@@ -0,0 +1,139 @@
+package com.froy.navigator.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada y sin bloqueos (lock-free) para varios productores y consumidores.
+ * Cada casilla lleva un número de secuencia que indica si está libre para el productor
+ * de una vuelta dada o lista para el consumidor; productores y consumidores solo compiten
+ * mediante CAS sobre sus respectivos contadores, sin locks ni asignaciones por elemento.
+ * <p>
+ * La capacidad se redondea a la siguiente potencia de dos.
+ *
+ * @param <E> Tipo de los elementos almacenados.
+ */
+public final class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Crea una cola con al menos la capacidad indicada.
+     *
+     * @param capacity Capacidad mínima (se redondea a potencia de dos).
+     * @throws IllegalArgumentException si la capacidad no es positiva o excede 2^30.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Intenta insertar un elemento sin esperar.
+     *
+     * @param element Elemento a insertar (no nulo).
+     * @return true si se insertó; false si la cola está llena.
+     */
+    public boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, element);
+                    // Publica el elemento: la secuencia pos + 1 indica "lista para consumir".
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Extrae el elemento más antiguo sin esperar.
+     *
+     * @return El elemento extraído o null si la cola está vacía.
+     */
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    // Libera la casilla para el productor de la siguiente vuelta.
+                    sequences.lazySet(index, pos + mask + 1);
+                    return element;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Extrae hasta {@code maxElements} elementos y los añade a la lista destino.
+     *
+     * @param target Lista a la que se añaden los elementos.
+     * @param maxElements Número máximo de elementos a extraer.
+     * @return Número de elementos extraídos.
+     */
+    public int drainTo(List<? super E> target, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Número aproximado de elementos en la cola (exacto si no hay operaciones concurrentes).
+     *
+     * @return Elementos pendientes de extraer.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), capacity()));
+    }
+
+    /**
+     * Capacidad real de la cola.
+     *
+     * @return Número máximo de elementos que puede contener.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,94 @@
+package com.froy.navigator.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalescencia de llamadas concurrentes ("single-flight"): mientras una llamada con una llave está en
+ * curso, las demás llamadas con una llave igual no ejecutan nada y esperan su resultado (o su excepción).
+ * Al terminar, la llave se libera y la siguiente llamada vuelve a ejecutar; no guarda resultados, para eso
+ * está la caché.
+ * <p>
+ * A diferencia de {@code ConcurrentHashMap.computeIfAbsent}, el cálculo se hace fuera de los bloqueos del
+ * mapa, así que un cálculo lento no frena a llaves distintas que compartan celda. Un cálculo que vuelva a
+ * pedir su propia llave se bloquearía para siempre.
+ *
+ * @param <K> Tipo de la llave; debe implementar {@code equals} y {@code hashCode}.
+ * @param <V> Tipo del resultado.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Ejecuta el cálculo de una llave, o espera al que ya está en curso para esa llave.
+     *
+     * @param key Llave de la llamada.
+     * @param loader Cálculo a ejecutar si no hay otro en curso.
+     * @return Resultado del cálculo, propio o compartido.
+     * @throws Exception la excepción del cálculo, propio o compartido.
+     */
+    public V execute(K key, Callable<? extends V> loader) throws Exception {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+        executed.increment();
+        try {
+            V value = loader.call();
+            call.complete(value);
+            return value;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * Número de cálculos ejecutados desde la creación.
+     *
+     * @return Llamadas que ejecutaron su cálculo.
+     */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Número de llamadas que esperaron el cálculo de otra desde la creación.
+     *
+     * @return Llamadas coalescidas.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Número de llaves con un cálculo en curso.
+     *
+     * @return Cálculos en curso.
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) throws Exception {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- route_stats particionada por rango de calculation_time (navigator.stats.storage=PARTITIONED).
+-- Se ejecuta al arrancar, antes de que Hibernate revise el esquema; si route_stats ya existe sin
+-- particionar no se modifica y la retención sigue con borrados por bloques.
+-- La clave primaria incluye calculation_time porque PostgreSQL exige la clave de partición en ella.
+-- Las particiones de cada periodo las crea RouteStatsRetentionService por adelantado; la partición
+-- DEFAULT solo recibe filas fuera de ellas (p. ej. importaciones históricas).
+-- El incremento de la secuencia debe coincidir con el allocationSize de RouteStats.
+CREATE SEQUENCE IF NOT EXISTS route_stats_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS route_stats (
+    id               BIGINT           NOT NULL,
+    origin_lat       DOUBLE PRECISION NOT NULL,
+    origin_lon       DOUBLE PRECISION NOT NULL,
+    destination_lat  DOUBLE PRECISION NOT NULL,
+    destination_lon  DOUBLE PRECISION NOT NULL,
+    mode_used        VARCHAR(255)     NOT NULL,
+    distance_km      DOUBLE PRECISION NOT NULL,
+    duration_minutes INTEGER          NOT NULL,
+    calculation_time TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (id, calculation_time)
+) PARTITION BY RANGE (calculation_time);
+
+CREATE TABLE IF NOT EXISTS route_stats_default PARTITION OF route_stats DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_route_stats_calculation_time ON route_stats (calculation_time);
+CREATE INDEX IF NOT EXISTS idx_route_stats_mode_time ON route_stats (mode_used, calculation_time);
@@ -0,0 +1,70 @@
+package com.froy.navigator.config;
+
+import com.froy.navigator.service.caching.CoalescingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link CacheConfig} class.
+ */
+class CacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+                    CacheMetricsAutoConfiguration.class))
+            .withUserConfiguration(CacheConfig.class)
+            // Converts the Duration properties as the application context does
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()));
+
+    @Test
+    @DisplayName("Should publish the standard cache metrics for the wrapped routes cache")
+    void shouldPublishCacheMetrics() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            CoalescingCache routes = (CoalescingCache) context.getBean(CacheManager.class)
+                    .getCache(CacheConfig.ROUTES_CACHE);
+            routes.get("key", () -> "route");
+            routes.get("key", () -> "route");
+
+            assertNotNull(registry.find("cache.gets").tag("cache", CacheConfig.ROUTES_CACHE).tag("result", "hit")
+                    .functionCounter());
+            assertEquals(1, registry.get("cache.gets").tag("cache", CacheConfig.ROUTES_CACHE)
+                    .tag("result", "miss").functionCounter().count());
+            assertNotNull(registry.find("cache.puts").tag("cache", CacheConfig.ROUTES_CACHE).functionCounter());
+            assertNotNull(registry.find("cache.size").tag("cache", CacheConfig.ROUTES_CACHE).gauge());
+            assertNotNull(registry.find("navigator.cache.loads").tag("cache", CacheConfig.ROUTES_CACHE)
+                    .functionCounter());
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep the cache metrics and skip coalescing when coalesce is disabled")
+    void shouldHonourCoalesceFlag() {
+        contextRunner.withPropertyValues("navigator.cache.routes.coalesce=false").run(context -> {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            CoalescingCache routes = assertInstanceOf(CoalescingCache.class,
+                    context.getBean(CacheManager.class).getCache(CacheConfig.ROUTES_CACHE));
+
+            assertFalse(routes.isCoalescing());
+            assertNotNull(registry.find("cache.gets").tag("cache", CacheConfig.ROUTES_CACHE).functionCounter());
+            assertNull(registry.find("navigator.cache.loads").functionCounter());
+        });
+    }
+}
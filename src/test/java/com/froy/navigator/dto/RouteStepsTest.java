@@ -0,0 +1,86 @@
+package com.froy.navigator.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the lazily built {@link RouteSteps} list.
+ */
+class RouteStepsTest {
+
+    private static final RouteSteps.Template TEMPLATE =
+            RouteSteps.template("Sigue ciclovías y carreteras secundarias", "Evita \"autopistas\"");
+
+    private final GeoPoint origin = new GeoPoint(20.6736, -103.344);
+    private final GeoPoint destination = new GeoPoint(-19.4326, 99.13320000000001);
+    private final List<String> expected = List.of(
+            "Inicio en " + origin,
+            "Sigue ciclovías y carreteras secundarias",
+            "Evita \"autopistas\"",
+            "Llegada a " + destination);
+
+    @Test
+    @DisplayName("Should behave like the equivalent eagerly built list")
+    void shouldMatchEquivalentList() {
+        RouteSteps steps = TEMPLATE.between(origin, destination);
+
+        assertEquals(expected, steps);
+        assertEquals(expected.hashCode(), steps.hashCode());
+        assertEquals(expected.subList(1, 4), steps.subList(1, 4));
+    }
+
+    @Test
+    @DisplayName("Should serialize to the same JSON as the equivalent list")
+    void shouldSerializeLikeEquivalentList() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RouteResponse lazy = new RouteResponse(12.5, 30, TEMPLATE.between(origin, destination), "BIKE");
+        RouteResponse eager = new RouteResponse(12.5, 30, expected, "BIKE");
+
+        assertEquals(objectMapper.writeValueAsString(eager), objectMapper.writeValueAsString(lazy));
+    }
+
+    @Test
+    @DisplayName("Should replace only the start and arrival steps with the caller's own points")
+    void shouldRelocateEndpoints() {
+        GeoPoint otherOrigin = new GeoPoint(20.6737, -103.3441);
+        GeoPoint otherDestination = new GeoPoint(-19.4325, 99.1331);
+        List<String> expectedRelocated = List.of(
+                "Inicio en " + otherOrigin,
+                "Sigue ciclovías y carreteras secundarias",
+                "Evita \"autopistas\"",
+                "Llegada a " + otherDestination);
+
+        assertEquals(expectedRelocated,
+                RouteSteps.withEndpoints(TEMPLATE.between(origin, destination), otherOrigin, otherDestination));
+        assertEquals(expectedRelocated, RouteSteps.withEndpoints(expected, otherOrigin, otherDestination));
+        List<String> unrelated = List.of("Sal por Av. Vallarta y continúa 300 m");
+        assertEquals(unrelated, RouteSteps.withEndpoints(unrelated, otherOrigin, otherDestination));
+    }
+
+    @Test
+    @DisplayName("Should write coordinates exactly as Double.toString does")
+    void shouldFormatCoordinatesLikeDoubleToString() {
+        Random random = new Random(42);
+        char[] buffer = new char[32];
+        for (int i = 0; i < 200_000; i++) {
+            double scale = Math.pow(10, random.nextInt(10));
+            double value = switch (i % 3) {
+                case 0 -> Math.round((random.nextDouble() * 360 - 180) * scale) / scale;
+                case 1 -> random.nextDouble() * 180 - 90;
+                default -> (random.nextDouble() - 0.5) / scale;
+            };
+            int length = RouteSteps.writeCoordinate(buffer, 0, value);
+            assertEquals(Double.toString(value), new String(buffer, 0, length));
+        }
+        for (double value : new double[]{0.0, -0.0, 90, -180, 1e-3, 0.1 + 0.2, 179.99999999999997}) {
+            int length = RouteSteps.writeCoordinate(buffer, 0, value);
+            assertEquals(Double.toString(value), new String(buffer, 0, length));
+        }
+    }
+}
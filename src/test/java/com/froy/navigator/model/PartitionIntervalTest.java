@@ -0,0 +1,49 @@
+package com.froy.navigator.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link PartitionInterval} enum.
+ */
+class PartitionIntervalTest {
+
+    @Test
+    @DisplayName("Should align dates to the start of their period and step to the next one")
+    void shouldComputePeriods() {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        assertEquals(date, PartitionInterval.DAILY.periodStart(date));
+        assertEquals(LocalDate.of(2024, 3, 1), PartitionInterval.DAILY.next(date));
+        assertEquals(LocalDate.of(2024, 2, 1), PartitionInterval.MONTHLY.periodStart(date));
+        assertEquals(LocalDate.of(2024, 3, 1), PartitionInterval.MONTHLY.next(LocalDate.of(2024, 2, 1)));
+        assertEquals(LocalDate.of(2025, 1, 1), PartitionInterval.MONTHLY.next(LocalDate.of(2024, 12, 1)));
+    }
+
+    @Test
+    @DisplayName("Should parse back the suffix it generates")
+    void shouldRoundTripSuffix() {
+        LocalDate day = LocalDate.of(2024, 5, 1);
+
+        assertEquals("20240501", PartitionInterval.DAILY.suffix(day));
+        assertEquals("202405", PartitionInterval.MONTHLY.suffix(day));
+        assertEquals(day, PartitionInterval.DAILY.parseSuffix("20240501"));
+        assertEquals(day, PartitionInterval.MONTHLY.parseSuffix("202405"));
+    }
+
+    @Test
+    @DisplayName("Should return null for suffixes of the other interval or that are not dates")
+    void shouldRejectForeignSuffixes() {
+        assertNull(PartitionInterval.DAILY.parseSuffix("202405"));
+        assertNull(PartitionInterval.MONTHLY.parseSuffix("20240501"));
+        assertNull(PartitionInterval.DAILY.parseSuffix("20241301"));
+        assertNull(PartitionInterval.MONTHLY.parseSuffix("202413"));
+        assertNull(PartitionInterval.DAILY.parseSuffix("default"));
+        assertNull(PartitionInterval.MONTHLY.parseSuffix(""));
+    }
+}
@@ -0,0 +1,42 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.entity.RouteStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link RouteStatsJdbcRepository} class.
+ */
+class RouteStatsJdbcRepositoryTest {
+
+    @Test
+    @DisplayName("Should assign ids from whole pooled-lo blocks without colliding with the next sequence value")
+    void shouldAssignIdsFromPooledLoBlocks() {
+        JdbcTemplate jdbcTemplate = TestDatabase.create();
+        TestDatabase.createRouteStats(jdbcTemplate);
+        RouteStatsJdbcRepository repository = new RouteStatsJdbcRepository(jdbcTemplate);
+
+        repository.insertAll(stats(120), 50);
+        repository.insertAll(stats(3), 50);
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM route_stats ORDER BY id", Long.class);
+        List<Long> expected = LongStream.concat(LongStream.rangeClosed(1, 120), LongStream.rangeClosed(151, 153))
+                .boxed().toList();
+        assertEquals(expected, ids);
+        // The next block (as Hibernate would take it) starts past every id handed out above
+        assertEquals(201L, jdbcTemplate.queryForObject("SELECT nextval('route_stats_seq')", Long.class));
+    }
+
+    private static List<RouteStats> stats(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RouteStats(20.67, -103.34, 20.7, -103.3, "CAR", 5.0, 10))
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+package com.froy.navigator.repository;
+
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.PartitionInterval;
+import com.froy.navigator.model.StatsStorage;
+import com.froy.navigator.service.stats.RouteStatsRetentionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link RouteStatsPartitionRepository} class and of partitioned retention against a real
+ * PostgreSQL. They run only when {@code NAVIGATOR_TEST_POSTGRES_URL} is set, e.g.
+ * {@code NAVIGATOR_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/postgres}; the user and password come
+ * from {@code NAVIGATOR_TEST_POSTGRES_USER} (default {@code postgres}) and {@code NAVIGATOR_TEST_POSTGRES_PASSWORD}.
+ * Each test works in its own schema, dropped afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "NAVIGATOR_TEST_POSTGRES_URL", matches = ".+")
+class RouteStatsPartitionRepositoryPostgresTest {
+
+    private static final String SCRIPT = "db/partitioning/route_stats-postgresql.sql";
+
+    private JdbcTemplate admin;
+    private String schema;
+    private JdbcTemplate jdbcTemplate;
+    private RouteStatsPartitionRepository partitionRepository;
+    private RouteStatsJdbcRepository routeStatsRepository;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("NAVIGATOR_TEST_POSTGRES_URL");
+        String user = Objects.requireNonNullElse(System.getenv("NAVIGATOR_TEST_POSTGRES_USER"), "postgres");
+        String password = Objects.requireNonNullElse(System.getenv("NAVIGATOR_TEST_POSTGRES_PASSWORD"), "");
+        admin = new JdbcTemplate(new DriverManagerDataSource(url, user, password));
+        schema = "navigator_test_" + UUID.randomUUID().toString().replace("-", "");
+        admin.execute("CREATE SCHEMA " + schema);
+
+        String schemaUrl = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(schemaUrl, user, password);
+        // The application runs the script on every start, so it must be idempotent
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+        populator.execute(dataSource);
+        populator.execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        partitionRepository = new RouteStatsPartitionRepository(jdbcTemplate);
+        routeStatsRepository = new RouteStatsJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        admin.execute("DROP SCHEMA " + schema + " CASCADE");
+    }
+
+    @Test
+    @DisplayName("Should create route_stats as a partitioned table with a default partition")
+    void shouldCreatePartitionedTable() {
+        assertTrue(partitionRepository.isPartitioned());
+        assertEquals(List.of("route_stats_default"), partitionRepository.findPartitionNames());
+    }
+
+    @Test
+    @DisplayName("Should route rows to their partitions and drop whole partitions on retention")
+    void shouldDropPartitionsOnRetention() {
+        for (int day = 8; day <= 10; day++) {
+            LocalDate start = LocalDate.of(2024, 5, day);
+            partitionRepository.createPartition(PartitionInterval.DAILY.suffix(start), start, start.plusDays(1));
+        }
+        partitionRepository.createPartition("20240509", LocalDate.of(2024, 5, 9), LocalDate.of(2024, 5, 10));
+        insert(LocalDateTime.of(2024, 1, 1, 12, 0), LocalDateTime.of(2024, 5, 8, 12, 0),
+                LocalDateTime.of(2024, 5, 9, 23, 59), LocalDateTime.of(2024, 5, 10, 1, 0));
+
+        assertEquals(Map.of("route_stats_default", 1L, "route_stats_p20240508", 1L, "route_stats_p20240509", 1L,
+                "route_stats_p20240510", 1L), rowsPerPartition());
+
+        RouteStatsRetentionService retention = new RouteStatsRetentionService(routeStatsRepository,
+                partitionRepository, new SimpleMeterRegistry(), StatsStorage.PARTITIONED, PartitionInterval.DAILY, 0,
+                true, Duration.ofDays(90), 10);
+        long deleted = retention.purgeOlderThan(LocalDateTime.of(2024, 5, 10, 15, 0));
+
+        assertEquals(1, deleted);
+        assertEquals(List.of("route_stats_default", "route_stats_p20240510"), partitionRepository.findPartitionNames());
+        assertEquals(Map.of("route_stats_p20240510", 1L), rowsPerPartition());
+    }
+
+    @Test
+    @DisplayName("Should pre-create the partitions of the coming days on maintenance")
+    void shouldPrecreatePartitions() {
+        LocalDate today = LocalDate.now();
+        RouteStatsRetentionService retention = new RouteStatsRetentionService(routeStatsRepository,
+                partitionRepository, new SimpleMeterRegistry(), StatsStorage.PARTITIONED, PartitionInterval.DAILY, 2,
+                false, Duration.ofDays(90), 10);
+
+        retention.maintain();
+        retention.maintain();
+
+        List<String> expected = new ArrayList<>(List.of("route_stats_default"));
+        for (int day = 0; day <= 2; day++) {
+            expected.add(RouteStatsPartitionRepository.partitionName(PartitionInterval.DAILY.suffix(today.plusDays(day))));
+        }
+        assertEquals(expected, partitionRepository.findPartitionNames());
+
+        insert(today.atTime(12, 0));
+        assertEquals(Map.of(expected.get(1), 1L), rowsPerPartition());
+    }
+
+    private void insert(LocalDateTime... times) {
+        List<RouteStats> stats = new ArrayList<>();
+        for (LocalDateTime time : times) {
+            RouteStats s = new RouteStats(20.6, -103.3, 20.7, -103.4, "CAR", 10, 12);
+            s.setCalculationTime(time);
+            stats.add(s);
+        }
+        routeStatsRepository.insertAll(stats, 100);
+    }
+
+    private Map<String, Long> rowsPerPartition() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT tableoid::regclass::text, COUNT(*) FROM route_stats GROUP BY 1",
+                (RowCallbackHandler) rs -> counts.put(rs.getString(1), rs.getLong(2)));
+        return counts;
+    }
+}
@@ -0,0 +1,42 @@
+package com.froy.navigator.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link RouteStatsPartitionRepository} class.
+ */
+class RouteStatsPartitionRepositoryTest {
+
+    @Test
+    @DisplayName("Should build partition names only from numeric suffixes")
+    void shouldBuildPartitionNames() {
+        assertEquals("route_stats_p20240501", RouteStatsPartitionRepository.partitionName("20240501"));
+        assertThrows(IllegalArgumentException.class, () -> RouteStatsPartitionRepository.partitionName(""));
+        assertThrows(IllegalArgumentException.class,
+                () -> RouteStatsPartitionRepository.partitionName("1; DROP TABLE route_stats"));
+    }
+
+    @Test
+    @DisplayName("Should extract the suffix of period partitions and ignore the rest")
+    void shouldExtractSuffix() {
+        assertEquals("202405", RouteStatsPartitionRepository.suffixOf("route_stats_p202405"));
+        assertNull(RouteStatsPartitionRepository.suffixOf("route_stats_default"));
+        assertNull(RouteStatsPartitionRepository.suffixOf("audit_entries"));
+    }
+
+    @Test
+    @DisplayName("Should report no partitioning on H2 without querying the PostgreSQL catalog")
+    void shouldNotBePartitionedOnH2() {
+        JdbcTemplate jdbcTemplate = TestDatabase.create();
+        TestDatabase.createRouteStats(jdbcTemplate);
+
+        assertFalse(new RouteStatsPartitionRepository(jdbcTemplate).isPartitioned());
+    }
+}
@@ -0,0 +1,60 @@
+package com.froy.navigator.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+/**
+ * In-memory H2 database (PostgreSQL mode, as in the application) for the JDBC repository tests.
+ * The tables mirror the DDL Hibernate generates for the entities, so the tests run the real SQL of
+ * the repositories without starting a Spring context.
+ */
+public final class TestDatabase {
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Creates an empty, uniquely named database that lives until the JVM exits.
+     *
+     * @return JdbcTemplate over the new database.
+     */
+    public static JdbcTemplate create() {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    /** Creates the route_stats table and its sequence. */
+    public static void createRouteStats(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE SEQUENCE route_stats_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("""
+                CREATE TABLE route_stats (
+                    id BIGINT PRIMARY KEY,
+                    origin_lat DOUBLE PRECISION NOT NULL,
+                    origin_lon DOUBLE PRECISION NOT NULL,
+                    destination_lat DOUBLE PRECISION NOT NULL,
+                    destination_lon DOUBLE PRECISION NOT NULL,
+                    mode_used VARCHAR(255) NOT NULL,
+                    distance_km DOUBLE PRECISION NOT NULL,
+                    duration_minutes INTEGER NOT NULL,
+                    calculation_time TIMESTAMP(6) NOT NULL)""");
+    }
+
+    /** Creates the trip_observations table and its sequence. */
+    public static void createTripObservations(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE SEQUENCE trip_observations_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("""
+                CREATE TABLE trip_observations (
+                    id BIGINT PRIMARY KEY,
+                    origin_lat DOUBLE PRECISION NOT NULL,
+                    origin_lon DOUBLE PRECISION NOT NULL,
+                    destination_lat DOUBLE PRECISION NOT NULL,
+                    destination_lon DOUBLE PRECISION NOT NULL,
+                    mode_used VARCHAR(255) NOT NULL,
+                    predicted_minutes INTEGER NOT NULL,
+                    correction_factor DOUBLE PRECISION NOT NULL,
+                    actual_minutes INTEGER NOT NULL,
+                    recorded_time TIMESTAMP(6) NOT NULL)""");
+    }
+}
@@ -0,0 +1,164 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link BidirectionalAStar} search.
+ */
+class BidirectionalAStarTest {
+
+    @Test
+    @DisplayName("Should match plain Dijkstra travel times on a random grid graph")
+    void shouldMatchDijkstraOnRandomGrid() {
+        RoadGraph graph = randomGrid(30, 30, new Random(42));
+        BidirectionalAStar search = new BidirectionalAStar(graph);
+        Random random = new Random(7);
+
+        for (TransportMode mode : TransportMode.values()) {
+            CostProfile profile = CostProfile.forMode(mode);
+            for (int i = 0; i < 200; i++) {
+                int source = random.nextInt(graph.nodeCount());
+                int target = random.nextInt(graph.nodeCount());
+                double expected = dijkstra(graph, profile, source, target);
+                RoutePath path = search.route(source, target, profile, null, Integer.MAX_VALUE);
+
+                if (expected == Double.POSITIVE_INFINITY) {
+                    assertNull(path, "No path expected from " + source + " to " + target);
+                    continue;
+                }
+                assertNotNull(path, "Path expected from " + source + " to " + target);
+                assertEquals(expected, path.seconds(), 1e-6);
+                assertEquals(expected, pathSeconds(graph, profile, path, source, target), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep optimal travel times when guided by landmarks")
+    void shouldMatchDijkstraWithLandmarks() {
+        RoadGraph graph = randomGrid(30, 30, new Random(11));
+        BidirectionalAStar search = new BidirectionalAStar(graph);
+        Random random = new Random(13);
+
+        for (TransportMode mode : TransportMode.values()) {
+            CostProfile profile = CostProfile.forMode(mode);
+            LandmarkIndex landmarks = LandmarkIndex.build(graph, profile, 8);
+            for (int i = 0; i < 200; i++) {
+                int source = random.nextInt(graph.nodeCount());
+                int target = random.nextInt(graph.nodeCount());
+                double expected = dijkstra(graph, profile, source, target);
+                RoutePath path = search.route(source, target, profile, landmarks, Integer.MAX_VALUE);
+
+                if (expected == Double.POSITIVE_INFINITY) {
+                    assertNull(path, "No path expected from " + source + " to " + target);
+                    continue;
+                }
+                assertNotNull(path, "Path expected from " + source + " to " + target);
+                // Los tiempos de los landmarks se guardan como float
+                assertEquals(expected, path.seconds(), 1e-2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour one-way edges and road classes forbidden for the mode")
+    void shouldHonourOnewayAndForbiddenRoads() throws IOException {
+        String csv = """
+                from_id,from_lat,from_lon,to_id,to_lat,to_lon,road_class,oneway,name
+                1,20.000,-103.000,2,20.000,-102.990,MOTORWAY,false,Periférico
+                2,20.000,-102.990,3,20.000,-102.980,PRIMARY,true,Av. Uno
+                """;
+        RoadGraph graph = RoadGraphLoader.loadCsv(new StringReader(csv));
+        BidirectionalAStar search = new BidirectionalAStar(graph);
+
+        assertNotNull(search.route(0, 2, CostProfile.forMode(TransportMode.CAR), null, Integer.MAX_VALUE));
+        assertNull(search.route(2, 0, CostProfile.forMode(TransportMode.CAR), null, Integer.MAX_VALUE));
+        assertNull(search.route(0, 2, CostProfile.forMode(TransportMode.BIKE), null, Integer.MAX_VALUE));
+    }
+
+    private static RoadGraph randomGrid(int rows, int cols, Random random) {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        int[][] ids = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                double lat = 20.6 + r * 0.002 + random.nextDouble() * 0.0005;
+                double lon = -103.4 + c * 0.002 + random.nextDouble() * 0.0005;
+                ids[r][c] = builder.addNode((long) r * cols + c, lat, lon);
+            }
+        }
+        RoadClass[] classes = RoadClass.values();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (c + 1 < cols) {
+                    connect(builder, ids[r][c], ids[r][c + 1], classes[random.nextInt(classes.length)], random);
+                }
+                if (r + 1 < rows) {
+                    connect(builder, ids[r][c], ids[r + 1][c], classes[random.nextInt(classes.length)], random);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void connect(RoadGraphBuilder builder, int a, int b, RoadClass roadClass, Random random) {
+        String name = "Calle " + random.nextInt(5);
+        int direction = random.nextInt(4);
+        if (direction != 1) {
+            builder.addEdge(a, b, roadClass, name);
+        }
+        if (direction != 2) {
+            builder.addEdge(b, a, roadClass, name);
+        }
+    }
+
+    private static double dijkstra(RoadGraph graph, CostProfile profile, int source, int target) {
+        double[] dist = new double[graph.nodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((x, y) -> Double.compare(x[0], y[0]));
+        queue.add(new double[]{0, source});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int u = (int) top[1];
+            if (top[0] > dist[u]) {
+                continue;
+            }
+            if (u == target) {
+                return dist[u];
+            }
+            for (int e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+                double nd = dist[u] + profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+                int v = graph.edgeTarget(e);
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    queue.add(new double[]{nd, v});
+                }
+            }
+        }
+        return dist[target];
+    }
+
+    private static double pathSeconds(RoadGraph graph, CostProfile profile, RoutePath path, int source, int target) {
+        double seconds = 0;
+        int at = source;
+        for (int e : path.edges()) {
+            assertEquals(at, graph.edgeSource(e), "Path edges must be contiguous");
+            seconds += profile.travelSeconds(graph.edgeRoadClass(e), graph.edgeLengthMeters(e));
+            at = graph.edgeTarget(e);
+        }
+        assertEquals(target, at, "Path must end at the target");
+        return seconds;
+    }
+}
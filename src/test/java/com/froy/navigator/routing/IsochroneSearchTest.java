@@ -0,0 +1,63 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link IsochroneSearch} class.
+ */
+class IsochroneSearchTest {
+
+    // Four nodes along the parallel 20° N, about 1046 m apart; 30 km/h on residential roads by car
+    private static final String CSV = """
+            from_id,from_lat,from_lon,to_id,to_lat,to_lon,road_class,oneway,name
+            1,20.000,-103.000,2,20.000,-102.990,RESIDENTIAL,false,Calle Uno
+            2,20.000,-102.990,3,20.000,-102.980,RESIDENTIAL,false,Calle Uno
+            3,20.000,-102.980,4,20.000,-102.970,RESIDENTIAL,false,Calle Uno
+            """;
+
+    @Test
+    @DisplayName("Should mark the reachable part of the edges leaving the reachable area")
+    void shouldMarkReachablePartOfEdges() throws IOException {
+        RoadGraph graph = RoadGraphLoader.loadCsv(new StringReader(CSV));
+        IsochroneSearch search = new IsochroneSearch(graph);
+        ReachabilityGrid grid = ReachabilityGrid.around(20.0, -103.0, 4000, 100, 10_000);
+        CostProfile car = CostProfile.forMode(TransportMode.CAR);
+        double edgeSeconds = car.travelSeconds(RoadClass.RESIDENTIAL.ordinal(), graph.edgeLengthMeters(0));
+
+        int settled = search.expand(0, 0, 1.5 * edgeSeconds, car, Integer.MAX_VALUE, grid);
+
+        assertEquals(2, settled);
+        float midway = secondsAt(grid, -102.995);
+        assertTrue(midway <= 0.5 * edgeSeconds && midway > 0.4 * edgeSeconds, "midway " + midway);
+        assertTrue(secondsAt(grid, -102.986) <= 1.5 * edgeSeconds);
+        assertEquals(Float.POSITIVE_INFINITY, secondsAt(grid, -102.983));
+        assertEquals(Float.POSITIVE_INFINITY, secondsAt(grid, -102.975));
+    }
+
+    @Test
+    @DisplayName("Should stop at the settled nodes cap and skip roads forbidden for the mode")
+    void shouldStopAtCapAndSkipForbiddenRoads() throws IOException {
+        RoadGraph graph = RoadGraphLoader.loadCsv(new StringReader(CSV));
+        IsochroneSearch search = new IsochroneSearch(graph);
+        ReachabilityGrid grid = ReachabilityGrid.around(20.0, -103.0, 4000, 100, 10_000);
+
+        assertEquals(2, search.expand(0, 0, 3600, CostProfile.forMode(TransportMode.CAR), 1, grid));
+        assertEquals(Float.POSITIVE_INFINITY, secondsAt(grid, -102.985));
+        assertEquals(4, search.expand(0, 0, 3600, CostProfile.forMode(TransportMode.CAR), 4, grid));
+        assertTrue(secondsAt(grid, -102.975) < 3600);
+    }
+
+    private static float secondsAt(ReachabilityGrid grid, double lon) {
+        int row = (int) Math.floor((20.0 - grid.minLat()) / grid.cellLatDegrees());
+        int col = (int) Math.floor((lon - grid.minLon()) / grid.cellLonDegrees());
+        return grid.seconds(row, col);
+    }
+}
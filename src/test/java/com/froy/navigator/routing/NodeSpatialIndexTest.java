@@ -0,0 +1,83 @@
+package com.froy.navigator.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link NodeSpatialIndex} k-d tree.
+ */
+class NodeSpatialIndexTest {
+
+    private static final double METERS_PER_DEGREE = 111_194.93;
+
+    private final Random random = new Random(21);
+    private final double[] lat = new double[5000];
+    private final double[] lon = new double[5000];
+
+    NodeSpatialIndexTest() {
+        for (int i = 0; i < lat.length; i++) {
+            // Puntos agrupados, como en una ciudad con zonas densas y dispersas
+            double spread = i % 3 == 0 ? 0.2 : 0.02;
+            lat[i] = 20.67 + random.nextGaussian() * spread;
+            lon[i] = -103.35 + random.nextGaussian() * spread;
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the same nearest neighbours as a linear scan")
+    void shouldMatchLinearScanForNearest() {
+        NodeSpatialIndex index = NodeSpatialIndex.build(lat, lon);
+
+        for (int q = 0; q < 200; q++) {
+            double qLat = 20.67 + random.nextGaussian() * 0.1;
+            double qLon = -103.35 + random.nextGaussian() * 0.1;
+            int[] expected = bruteForce(qLat, qLon).limit(5).toArray();
+
+            assertEquals(expected[0], index.nearest(qLat, qLon));
+            assertArrayEquals(expected, index.nearest(qLat, qLon, 5, Double.POSITIVE_INFINITY));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return exactly the points within the radius")
+    void shouldMatchLinearScanForRadius() {
+        NodeSpatialIndex index = NodeSpatialIndex.build(lat, lon);
+
+        for (int q = 0; q < 100; q++) {
+            double qLat = 20.67 + random.nextGaussian() * 0.05;
+            double qLon = -103.35 + random.nextGaussian() * 0.05;
+            double radius = 200 + random.nextDouble() * 2000;
+            int[] expected = bruteForce(qLat, qLon)
+                    .filter(i -> distanceMeters(qLat, qLon, i) <= radius)
+                    .sorted()
+                    .toArray();
+            int[] actual = index.within(qLat, qLon, radius);
+            Arrays.sort(actual);
+
+            assertArrayEquals(expected, actual);
+            int[] limited = index.nearest(qLat, qLon, expected.length + 1, radius);
+            Arrays.sort(limited);
+            assertArrayEquals(expected, limited);
+        }
+    }
+
+    private IntStream bruteForce(double qLat, double qLon) {
+        return IntStream.range(0, lat.length)
+                .boxed()
+                .sorted((a, b) -> Double.compare(distanceMeters(qLat, qLon, a), distanceMeters(qLat, qLon, b)))
+                .mapToInt(Integer::intValue);
+    }
+
+    private double distanceMeters(double qLat, double qLon, int i) {
+        double dLat = qLat - lat[i];
+        double dLon = (qLon - lon[i]) * Math.cos(Math.toRadians(qLat));
+        return Math.sqrt(dLat * dLat + dLon * dLon) * METERS_PER_DEGREE;
+    }
+}
@@ -0,0 +1,96 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link RoadGraphFile} binary format.
+ */
+class RoadGraphFileTest {
+
+    private static final String CSV = """
+            from_id,from_lat,from_lon,to_id,to_lat,to_lon,road_class,oneway,name
+            1,20.6736,-103.3440,2,20.6741,-103.3425,PRIMARY,false,Av. Vallarta
+            2,20.6741,-103.3425,3,20.6760,-103.3420,RESIDENTIAL,true,Calle López Cotilla
+            3,20.6760,-103.3420,4,20.6770,-103.3400,CYCLEWAY,false,
+            4,20.6770,-103.3400,1,20.6736,-103.3440,MOTORWAY,false,Periférico
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back the same graph, spatial index and landmarks it wrote")
+    void shouldRoundTripGraphAndLandmarks() throws IOException {
+        PreparedGraph original = PreparedGraph.prepare(RoadGraphLoader.loadCsv(new StringReader(CSV)), 2);
+        Path file = tempDir.resolve("red.navgraph");
+
+        RoadGraphFile.write(file, original);
+        assertTrue(RoadGraphFile.isBinary(file));
+        PreparedGraph mapped = RoadGraphFile.open(file);
+
+        RoadGraph expected = original.graph();
+        RoadGraph actual = mapped.graph();
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        assertEquals(expected.minCosLat(), actual.minCosLat());
+        for (int v = 0; v < expected.nodeCount(); v++) {
+            assertEquals(expected.nodeLat(v), actual.nodeLat(v));
+            assertEquals(expected.nodeLon(v), actual.nodeLon(v));
+            assertEquals(expected.firstEdge(v + 1), actual.firstEdge(v + 1));
+            assertEquals(expected.firstReverseEdge(v + 1), actual.firstReverseEdge(v + 1));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.edgeSource(e), actual.edgeSource(e));
+            assertEquals(expected.edgeTarget(e), actual.edgeTarget(e));
+            assertEquals(expected.edgeLengthMeters(e), actual.edgeLengthMeters(e));
+            assertEquals(expected.edgeRoadClass(e), actual.edgeRoadClass(e));
+            assertEquals(expected.edgeName(e), actual.edgeName(e));
+            assertEquals(expected.reverseEdge(e), actual.reverseEdge(e));
+        }
+
+        for (int v = 0; v < expected.nodeCount(); v++) {
+            assertEquals(original.spatialIndex().nearest(expected.nodeLat(v), expected.nodeLon(v)),
+                    mapped.spatialIndex().nearest(expected.nodeLat(v), expected.nodeLon(v)));
+        }
+
+        for (TransportMode mode : TransportMode.values()) {
+            LandmarkIndex expectedIndex = original.landmarks().get(mode);
+            LandmarkIndex actualIndex = mapped.landmarks().get(mode);
+            assertEquals(expectedIndex.count(), actualIndex.count());
+            assertEquals(expectedIndex.slack(), actualIndex.slack());
+            for (int i = 0; i < expected.nodeCount() * expectedIndex.count(); i++) {
+                assertEquals(expectedIndex.fromLandmark(i), actualIndex.fromLandmark(i));
+                assertEquals(expectedIndex.toLandmark(i), actualIndex.toLandmark(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject CSV files and unsupported versions")
+    void shouldRejectForeignFilesAndVersions() throws IOException {
+        Path csv = tempDir.resolve("red.csv");
+        Files.writeString(csv, CSV);
+        assertFalse(RoadGraphFile.isBinary(csv));
+        assertThrows(IOException.class, () -> RoadGraphFile.open(csv));
+
+        Path file = tempDir.resolve("red.navgraph");
+        RoadGraphFile.write(file, PreparedGraph.prepare(RoadGraphLoader.loadCsv(new StringReader(CSV)), 0));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = (byte) (RoadGraphFile.VERSION + 1);
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> RoadGraphFile.open(file));
+    }
+}
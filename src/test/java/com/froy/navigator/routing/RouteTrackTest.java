@@ -0,0 +1,53 @@
+package com.froy.navigator.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RouteTrack} position tracking.
+ */
+class RouteTrackTest {
+
+    /** Three vertices ~111 m apart heading north, then east. */
+    private static final RouteTrack TRACK = new RouteTrack(
+            new double[]{20.0000, 20.0010, 20.0010},
+            new double[]{-103.0000, -103.0000, -102.9990},
+            new double[]{0, 111.2, 215.7},
+            new double[]{0, 10, 20},
+            List.of("Sigue hacia el norte", "Gira a la derecha", "Llegaste a tu destino"),
+            new double[]{0, 111.2, 215.7});
+
+    @Test
+    @DisplayName("Should project a nearby position onto the closest segment")
+    void shouldProjectPositionOntoRoute() {
+        RouteTrack.Position position = TRACK.locate(20.0005, -102.99995, 0);
+
+        assertEquals(0, position.segment());
+        assertEquals(55.6, position.metersAlong(), 0.5);
+        assertEquals(5, position.secondsAlong(), 0.1);
+        assertEquals(5.2, position.offRouteMeters(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Should not search behind the previously located segment")
+    void shouldOnlySearchForward() {
+        RouteTrack.Position position = TRACK.locate(20.0000, -103.0000, 1);
+
+        assertEquals(1, position.segment());
+        assertEquals(111.2, position.metersAlong(), 0.01);
+        assertTrue(position.offRouteMeters() > 100);
+    }
+
+    @Test
+    @DisplayName("Should drop finished steps but always keep the arrival")
+    void shouldReturnRemainingSteps() {
+        assertEquals(3, TRACK.stepsFrom(0).size());
+        assertEquals(List.of("Gira a la derecha", "Llegaste a tu destino"), TRACK.stepsFrom(150));
+        assertEquals(List.of("Llegaste a tu destino"), TRACK.stepsFrom(500));
+    }
+}
@@ -0,0 +1,68 @@
+package com.froy.navigator.routing;
+
+import com.froy.navigator.model.TransportMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SpeedProfileLoader} and {@link SpeedProfile} classes.
+ */
+class SpeedProfileLoaderTest {
+
+    private static final String CSV = """
+            # Guadalajara
+            region,centro,20.64,-103.38,20.70,-103.32
+            region,plaza,20.67,-103.35,20.68,-103.34
+            speed,*,*,*,00:00,24:00,50
+            speed,centro,CAR,*,00:00,24:00,35
+            speed,centro,CAR,MON-FRI,07:00,09:30,20
+            speed,plaza,CAR,MON,08:00,08:15,8
+            """;
+
+    @Test
+    @DisplayName("Should look up the speed of the region, day and 15-minute slot of a point")
+    void shouldLookUpRegionDayAndSlot() throws IOException {
+        SpeedProfile profile = SpeedProfileLoader.loadCsv(new StringReader(CSV), 0.005);
+
+        int mondayRush = SpeedProfile.slotOf(DayOfWeek.MONDAY, 8 * 60 + 10);
+        int saturdayRush = SpeedProfile.slotOf(DayOfWeek.SATURDAY, 8 * 60 + 10);
+        int mondayLate = SpeedProfile.slotOf(DayOfWeek.MONDAY, 9 * 60 + 30);
+
+        assertEquals(20f, profile.speedKmh(TransportMode.CAR, 20.65, -103.37, mondayRush));
+        assertEquals(35f, profile.speedKmh(TransportMode.CAR, 20.65, -103.37, saturdayRush));
+        assertEquals(35f, profile.speedKmh(TransportMode.CAR, 20.65, -103.37, mondayLate));
+        assertEquals(8f, profile.speedKmh(TransportMode.CAR, 20.6775, -103.3475, mondayRush), "Later region wins");
+        assertEquals(50f, profile.speedKmh(TransportMode.BIKE, 20.65, -103.37, mondayRush), "Falls back to default region");
+        assertEquals(50f, profile.speedKmh(TransportMode.CAR, 19.43, -99.13, mondayRush), "Outside the grid");
+        assertEquals(3, profile.regionCount());
+    }
+
+    @Test
+    @DisplayName("Should map a date and time to its weekly slot")
+    void shouldMapTimeToSlot() {
+        assertEquals(0, SpeedProfile.slotOf(LocalDateTime.of(2024, 5, 6, 0, 0)));
+        assertEquals(SpeedProfile.SLOTS_PER_WEEK - 1, SpeedProfile.slotOf(LocalDateTime.of(2024, 5, 12, 23, 59)));
+        assertEquals(SpeedProfile.SLOTS_PER_DAY + 4 * 8 + 1, SpeedProfile.slotOf(LocalDateTime.of(2024, 5, 7, 8, 20)));
+    }
+
+    @Test
+    @DisplayName("Should report the line of an invalid entry")
+    void shouldRejectInvalidLines() {
+        IOException unknownRegion = assertThrows(IOException.class, () -> SpeedProfileLoader.loadCsv(
+                new StringReader("speed,norte,CAR,*,00:00,24:00,40\n"), 0.01));
+        assertTrue(unknownRegion.getMessage().startsWith("Línea 1"), unknownRegion.getMessage());
+
+        IOException misalignedSlot = assertThrows(IOException.class, () -> SpeedProfileLoader.loadCsv(
+                new StringReader("# cabecera\nspeed,*,CAR,*,07:10,09:00,40\n"), 0.01));
+        assertTrue(misalignedSlot.getMessage().startsWith("Línea 2"), misalignedSlot.getMessage());
+    }
+}
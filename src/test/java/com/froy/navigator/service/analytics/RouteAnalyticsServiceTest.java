@@ -0,0 +1,241 @@
+package com.froy.navigator.service.analytics;
+
+import com.froy.navigator.dto.CellAnalytics;
+import com.froy.navigator.dto.RouteAnalyticsSummary;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.repository.TestDatabase;
+import com.froy.navigator.util.GeoHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link RouteAnalyticsService} class.
+ */
+class RouteAnalyticsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+    /** Origins in three different precision-5 geohash cells (~5 km apart). */
+    private static final double[] CENTER = {20.6736, -103.3440};
+    private static final double[] NORTH = {20.7736, -103.3440};
+    private static final double[] EAST = {20.6736, -103.2440};
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final RouteAnalyticsService service = service(new RouteStatsJdbcRepository(null), Duration.ofHours(3));
+
+    @Test
+    @DisplayName("Should bucket trips by hour and mode and merge them in summaries")
+    void shouldSummarizeAcrossHoursAndModes() {
+        record(CENTER, "CAR", 10, 20, at(8, 10));
+        record(CENTER, "CAR", 20, 40, at(8, 59));
+        record(CENTER, "BIKE", 2, 10, at(8, 20));
+        record(CENTER, "CAR", 30, 30, at(9, 0));
+        record(CENTER, "MOTORCYCLE", 5, 5, at(10, 0));
+
+        RouteAnalyticsSummary all = service.summary(null, at(8, 0), at(11, 0));
+        assertEquals(5, all.trips());
+        assertEquals(13.4, all.avgDistanceKm());
+        assertEquals(21.0, all.avgDurationMinutes());
+        assertEquals(RouteAnalyticsService.ALL_MODES, all.mode());
+
+        RouteAnalyticsSummary car = service.summary(TransportMode.CAR, at(8, 0), at(11, 0));
+        assertEquals(3, car.trips());
+        assertEquals(20.0, car.avgDistanceKm());
+        assertEquals(30.0, car.avgDurationMinutes());
+        assertEquals("CAR", car.mode());
+
+        RouteAnalyticsSummary none = service.summary(TransportMode.BIKE, at(9, 0), at(11, 0));
+        assertEquals(0, none.trips());
+        assertNull(none.distanceKm());
+    }
+
+    @Test
+    @DisplayName("Should truncate the start and round the end of the interval up to whole hours")
+    void shouldAlignIntervalToHours() {
+        record(CENTER, "CAR", 10, 20, at(8, 10));
+        record(CENTER, "CAR", 10, 20, at(9, 0));
+        record(CENTER, "CAR", 10, 20, at(10, 15));
+
+        RouteAnalyticsSummary exactEnd = service.summary(null, at(8, 45), at(9, 0));
+        assertEquals(1, exactEnd.trips());
+        assertEquals(at(8, 0), exactEnd.from());
+        assertEquals(at(9, 0), exactEnd.to());
+
+        RouteAnalyticsSummary partialEnd = service.summary(null, at(8, 45), at(9, 0).plusSeconds(1));
+        assertEquals(2, partialEnd.trips());
+        assertEquals(at(10, 0), partialEnd.to());
+
+        assertEquals(1, service.summary(null, at(10, 59), at(10, 59)).trips());
+        assertEquals(0, service.summary(null, at(10, 0), at(10, 0)).trips());
+    }
+
+    @Test
+    @DisplayName("Should return one entry per hour with trips, in order, for the requested mode")
+    void shouldReturnHourlySeries() {
+        record(CENTER, "CAR", 10, 20, at(8, 10));
+        record(CENTER, "BIKE", 2, 10, at(8, 20));
+        record(CENTER, "CAR", 30, 30, at(10, 5));
+
+        List<RouteAnalyticsSummary> all = service.hourly(null, at(7, 0), at(10, 30));
+        assertEquals(List.of(at(8, 0), at(10, 0)), all.stream().map(RouteAnalyticsSummary::from).toList());
+        assertEquals(List.of(2L, 1L), all.stream().map(RouteAnalyticsSummary::trips).toList());
+        assertEquals(at(9, 0), all.get(0).to());
+
+        List<RouteAnalyticsSummary> bikes = service.hourly(TransportMode.BIKE, at(7, 0), at(11, 0));
+        assertEquals(1, bikes.size());
+        assertEquals(2.0, bikes.get(0).avgDistanceKm());
+        assertEquals("BIKE", bikes.get(0).mode());
+    }
+
+    @Test
+    @DisplayName("Should estimate percentiles from the merged histograms")
+    void shouldEstimatePercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            record(CENTER, i % 2 == 0 ? "CAR" : "BIKE", i, i, at(8 + i % 3, 0));
+        }
+
+        RouteAnalyticsSummary summary = service.summary(null, at(8, 0), at(11, 0));
+
+        assertEquals(100, summary.trips());
+        assertEquals(50, summary.distanceKm().p50(), 50 * 0.03);
+        assertEquals(90, summary.distanceKm().p90(), 90 * 0.03);
+        assertEquals(99, summary.durationMinutes().p99(), 99 * 0.03);
+    }
+
+    @Test
+    @DisplayName("Should rank origin cells by trips, merging hours and modes")
+    void shouldRankTopCells() {
+        record(NORTH, "CAR", 10, 10, at(8, 0));
+        record(NORTH, "BIKE", 20, 30, at(9, 0));
+        record(NORTH, "CAR", 30, 20, at(10, 0));
+        record(CENTER, "BIKE", 1, 5, at(8, 0));
+        record(CENTER, "BIKE", 3, 7, at(9, 0));
+        record(EAST, "MOTORCYCLE", 7, 7, at(10, 0));
+
+        List<CellAnalytics> top = service.topCells(null, at(8, 0), at(11, 0), 2);
+        assertEquals(List.of(new CellAnalytics(cell(NORTH), 3, 20.0, 20.0), new CellAnalytics(cell(CENTER), 2, 2.0, 6.0)),
+                top);
+
+        List<CellAnalytics> bikes = service.topCells(TransportMode.BIKE, at(8, 0), at(11, 0), 10);
+        assertEquals(List.of(cell(CENTER), cell(NORTH)), bikes.stream().map(CellAnalytics::cell).toList());
+
+        assertEquals(List.of(new CellAnalytics(cell(EAST), 1, 7.0, 7.0)),
+                service.topCells(null, at(10, 0), at(11, 0), 10).stream()
+                        .filter(c -> c.cell().equals(cell(EAST))).toList());
+        assertEquals(List.of(), service.topCells(null, at(8, 0), at(11, 0), 0));
+    }
+
+    @Test
+    @DisplayName("Should skip trips older than the retention and trips with an unknown mode")
+    void shouldSkipTripsOutsideRetention() {
+        record(CENTER, "CAR", 10, 10, at(7, 0));
+        record(CENTER, "CAR", 10, 10, at(6, 59));
+        record(CENTER, "WALK", 10, 10, at(9, 0));
+
+        assertEquals(at(7, 0), service.oldestRetainedHourStart());
+        assertEquals(1, service.summary(null, at(0, 0), at(12, 0)).trips());
+    }
+
+    @Test
+    @DisplayName("Should evict hours that leave the retention when a new hour starts")
+    void shouldEvictExpiredHours() {
+        record(CENTER, "CAR", 10, 10, at(7, 30));
+        record(CENTER, "CAR", 10, 10, at(8, 30));
+        record(CENTER, "CAR", 10, 10, at(10, 30));
+
+        clock.set(at(11, 5));
+        // Same hour as an existing one: nothing is evicted yet
+        record(CENTER, "CAR", 10, 10, at(10, 40));
+        assertEquals(4, service.summary(null, at(0, 0), at(12, 0)).trips());
+
+        record(CENTER, "CAR", 10, 10, at(11, 5));
+        assertEquals(at(8, 0), service.oldestRetainedHourStart());
+        assertEquals(List.of(at(8, 0), at(10, 0), at(11, 0)),
+                service.hourly(null, at(0, 0), at(12, 0)).stream().map(RouteAnalyticsSummary::from).toList());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the route_stats rows inside the retention")
+    void shouldRebuildFromTable() {
+        JdbcTemplate jdbcTemplate = TestDatabase.create();
+        TestDatabase.createRouteStats(jdbcTemplate);
+        RouteStatsJdbcRepository repository = new RouteStatsJdbcRepository(jdbcTemplate);
+        repository.insertAll(List.of(stats(CENTER, "CAR", 10, 10, at(6, 30)), stats(CENTER, "CAR", 10, 10, at(7, 0)),
+                stats(NORTH, "BIKE", 4, 8, at(9, 15))), 10);
+
+        RouteAnalyticsService rebuilt = service(repository, Duration.ofHours(3));
+        rebuilt.rebuild();
+
+        assertEquals(2, rebuilt.summary(null, at(0, 0), at(12, 0)).trips());
+        assertEquals(1, rebuilt.summary(TransportMode.BIKE, at(0, 0), at(12, 0)).trips());
+    }
+
+    private RouteAnalyticsService service(RouteStatsJdbcRepository repository, Duration retention) {
+        return new RouteAnalyticsService(repository, new SimpleMeterRegistry(), retention, 5, true, clock);
+    }
+
+    private void record(double[] origin, String mode, double distanceKm, int minutes, LocalDateTime time) {
+        service.record(stats(origin, mode, distanceKm, minutes, time));
+    }
+
+    private static RouteStats stats(double[] origin, String mode, double distanceKm, int minutes, LocalDateTime time) {
+        RouteStats stats = new RouteStats(origin[0], origin[1], origin[0] + 0.05, origin[1] + 0.05, mode, distanceKm,
+                minutes);
+        stats.setCalculationTime(time);
+        return stats;
+    }
+
+    private static String cell(double[] origin) {
+        return GeoHash.toBase32(GeoHash.encode(origin[0], origin[1], 5), 5);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return NOW.withHour(hour).withMinute(minute);
+    }
+
+    /**
+     * Clock that stays where the test puts it; the service reads it as local time.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.froy.navigator.service.auditing;
+
+import com.froy.navigator.entity.AuditEntry;
+import com.froy.navigator.model.OverflowPolicy;
+import com.froy.navigator.repository.AuditEntryJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link AsyncAuditSink} class.
+ */
+class AsyncAuditSinkTest {
+
+    private final RecordingRepository repository = new RecordingRepository();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should write submitted events in batches and flush the rest on shutdown")
+    void shouldWriteSubmittedEvents() throws Exception {
+        AsyncAuditSink sink = sink(64, OverflowPolicy.BLOCK);
+        sink.start();
+
+        for (int i = 0; i < 10; i++) {
+            sink.submit(event());
+        }
+        sink.shutdown();
+
+        assertEquals(10, repository.written());
+        assertEquals(10, counter("written"));
+    }
+
+    @Test
+    @DisplayName("Should write events submitted after the shutdown synchronously")
+    void shouldWriteSynchronouslyAfterShutdown() throws Exception {
+        AsyncAuditSink sink = sink(64, OverflowPolicy.DROP);
+        sink.start();
+        sink.shutdown();
+
+        sink.submit(event());
+
+        assertEquals(List.of(1), repository.batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should not lose events submitted concurrently with the shutdown")
+    void shouldFlushEverythingOnShutdown() throws Exception {
+        AsyncAuditSink sink = sink(64, OverflowPolicy.BLOCK);
+        sink.start();
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        sink.submit(event());
+                    }
+                }));
+            }
+            while (repository.written() < producers * perProducer / 4) {
+                Thread.onSpinWait();
+            }
+            sink.shutdown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every event is either written (by the writer, the final drain or synchronously) or counted as dropped
+        assertEquals(producers * perProducer, repository.written() + (long) counter("dropped"));
+    }
+
+    private AsyncAuditSink sink(int capacity, OverflowPolicy policy) {
+        return new AsyncAuditSink(repository, meterRegistry, capacity, 20, Duration.ofMillis(1), policy,
+                Duration.ofMillis(100), Duration.ofSeconds(5));
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("navigator.audit.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static AuditEvent event() {
+        return new AuditEvent("Route Planned", "planRoute", new Object[] {"request"}, "response", null,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Repository double that keeps the size of every batch instead of writing to a database.
+     */
+    private static final class RecordingRepository extends AuditEntryJdbcRepository {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public int insertAll(List<AuditEntry> entries) {
+            batchSizes.add(entries.size());
+            return entries.size();
+        }
+
+        long written() {
+            return batchSizes.stream().mapToLong(Integer::longValue).sum();
+        }
+    }
+}
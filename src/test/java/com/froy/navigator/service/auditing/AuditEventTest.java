@@ -0,0 +1,64 @@
+package com.froy.navigator.service.auditing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link AuditEvent} record.
+ */
+class AuditEventTest {
+
+    @Test
+    @DisplayName("Should summarize a large list returned inside a ResponseEntity and not keep a reference to it")
+    void shouldSummarizeResponseEntityBody() {
+        List<String> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add("result-" + i);
+        }
+
+        AuditEvent event = event(new Object[] {results}, ResponseEntity.ok(results));
+
+        assertEquals("Método: planRouteBatch, Argumentos: [ArrayList[50 elementos]], "
+                + "Resultado: <200 OK,ArrayList[50 elementos]>", event.formatMessage());
+        assertEquals("<200 OK,ArrayList[50 elementos]>", event.result());
+    }
+
+    @Test
+    @DisplayName("Should keep small values as they are and format them lazily")
+    void shouldKeepSmallValues() {
+        ResponseEntity<List<String>> response = ResponseEntity.ok(List.of("a", "b"));
+        Object[] args = {"request"};
+
+        AuditEvent event = event(args, response);
+
+        assertSame(response, event.result());
+        assertSame(args, event.args());
+        assertEquals("Método: planRouteBatch, Argumentos: [request], Resultado: " + response, event.formatMessage());
+    }
+
+    @Test
+    @DisplayName("Should summarize large arrays inside an Optional and truncate long descriptions")
+    void shouldSummarizeOptionalAndTruncate() {
+        AuditEvent optional = event(new Object[0], Optional.of(new int[100]));
+        assertEquals("Optional[int[100 elementos]]", optional.result());
+
+        AuditEvent longResult = event(new Object[0], "x".repeat(5000));
+        String message = longResult.formatMessage();
+        assertTrue(message.endsWith("… (5000 caracteres)"), message);
+        assertTrue(message.length() < 1100, "length " + message.length());
+    }
+
+    private static AuditEvent event(Object[] args, Object result) {
+        return new AuditEvent("Route Batch Planned", "planRouteBatch", args, result, null, LocalDateTime.now());
+    }
+}
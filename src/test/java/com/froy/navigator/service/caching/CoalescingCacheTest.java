@@ -0,0 +1,138 @@
+package com.froy.navigator.service.caching;
+
+import com.froy.navigator.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link CoalescingCache} class.
+ */
+class CoalescingCacheTest {
+
+    private static final int CALLERS = 4;
+
+    @Test
+    @DisplayName("Should record a single miss per missing lookup in the Caffeine statistics")
+    void shouldRecordOneMissPerMiss() {
+        CoalescingCache cache = cache(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("route", cache.get("key", () -> {
+                loads.incrementAndGet();
+                return "route";
+            }));
+        }
+
+        CacheStats stats = cache.getNativeCache().stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.missCount());
+        assertEquals(3, stats.hitCount());
+        assertEquals(0.75, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should propagate loader failures without caching anything and retry on the next call")
+    void shouldPropagateFailureAndRetry() {
+        for (boolean coalesce : new boolean[]{true, false}) {
+            CoalescingCache cache = cache(coalesce);
+
+            Cache.ValueRetrievalException failure = assertThrows(Cache.ValueRetrievalException.class,
+                    () -> cache.get("key", () -> {
+                        throw new IllegalStateException("boom");
+                    }));
+
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertNull(cache.get("key"));
+            assertEquals("fresh", cache.get("key", () -> "fresh"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses only when coalescing is enabled")
+    void shouldCoalesceOnlyWhenEnabled() throws Exception {
+        assertEquals(1, concurrentLoads(cache(true)));
+        assertEquals(CALLERS, concurrentLoads(cache(false)));
+    }
+
+    @Test
+    @DisplayName("Should not block other keys while a load is running when coalescing is disabled")
+    void shouldNotBlockOtherKeysWhenUncoalesced() throws Exception {
+        CoalescingCache cache = cache(false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> cache.get("slow", () -> {
+                started.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                return "slow";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Would wait on the slow load if it ran inside Caffeine's per-key compute of the same bin
+            for (int i = 0; i < 100; i++) {
+                String key = "other-" + i;
+                assertEquals(key, cache.get(key, () -> key));
+            }
+            release.countDown();
+            assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int concurrentLoads(CoalescingCache cache) throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch arrived = new CountDownLatch(CALLERS);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return cache.get("hot", () -> {
+                        loads.incrementAndGet();
+                        assertTrue(release.await(5, TimeUnit.SECONDS));
+                        return "route";
+                    });
+                }));
+            }
+            assertTrue(arrived.await(5, TimeUnit.SECONDS));
+            // Give every caller time to miss and either load or join the in-flight load
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("route", result.get(5, TimeUnit.SECONDS));
+            }
+            return loads.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CoalescingCache cache(boolean coalesce) {
+        CaffeineCache delegate = new CaffeineCache("routes", Caffeine.newBuilder().recordStats().build());
+        return new CoalescingCache(delegate, coalesce ? new SingleFlight<>() : null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.froy.navigator.service.eta;
+
+import com.froy.navigator.model.TransportMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link EtaCorrectionFitter} class.
+ */
+class EtaCorrectionFitterTest {
+
+    private static final double DOWNTOWN_LAT = 20.6736;
+    private static final double DOWNTOWN_LON = -103.344;
+    private static final double ZAPOPAN_LAT = 20.7214;
+    private static final double ZAPOPAN_LON = -103.3918;
+
+    @Test
+    @DisplayName("Should learn per-cell factors shrunk towards the factor of their mode")
+    void shouldLearnCellFactorsShrunkTowardsModeFactor() {
+        EtaCorrectionFitter fitter = new EtaCorrectionFitter(5, 20, 3);
+        for (int i = 0; i < 980; i++) {
+            fitter.add(TransportMode.CAR, DOWNTOWN_LAT, DOWNTOWN_LON, 20, 30, 1); // 50 % slower
+        }
+        for (int i = 0; i < 20; i++) {
+            fitter.add(TransportMode.CAR, ZAPOPAN_LAT, ZAPOPAN_LON, 20, 20, 1); // as estimated
+        }
+
+        EtaCorrectionModel model = fitter.build();
+
+        double modeFactor = model.modeFactor(TransportMode.CAR);
+        double downtown = model.factor(TransportMode.CAR, DOWNTOWN_LAT, DOWNTOWN_LON);
+        double zapopan = model.factor(TransportMode.CAR, ZAPOPAN_LAT, ZAPOPAN_LON);
+        assertEquals(1.5, downtown, 0.01);
+        assertTrue(modeFactor > 1.4 && modeFactor < 1.5, "mode factor " + modeFactor);
+        // As many observations as the prior weight: the cell lands halfway on a log scale
+        assertEquals(Math.sqrt(modeFactor), zapopan, 0.01);
+        assertEquals(modeFactor, model.factor(TransportMode.CAR, 21.5, -104.9), 1e-6);
+        assertEquals(1.0, model.factor(TransportMode.BIKE, DOWNTOWN_LAT, DOWNTOWN_LON), 1e-9);
+        assertEquals(2, model.cellCount());
+    }
+
+    @Test
+    @DisplayName("Should clamp outliers and forget observations as they decay")
+    void shouldClampOutliersAndDecay() {
+        EtaCorrectionFitter fitter = new EtaCorrectionFitter(5, 0, 3);
+        fitter.add(TransportMode.BIKE, DOWNTOWN_LAT, DOWNTOWN_LON, 10, 600, 1);
+        assertEquals(3.0, fitter.build().factor(TransportMode.BIKE, DOWNTOWN_LAT, DOWNTOWN_LON), 1e-5);
+
+        fitter.decay(0.1);
+        fitter.add(TransportMode.BIKE, DOWNTOWN_LAT, DOWNTOWN_LON, 10, 10, 1);
+        // The old observation weighs 0.1 against 1 for the new one: 3^(0.1 / 1.1)
+        assertEquals(Math.pow(3, 0.1 / 1.1), fitter.build().factor(TransportMode.BIKE, DOWNTOWN_LAT, DOWNTOWN_LON),
+                1e-5);
+
+        fitter.decay(0.1);
+        fitter.decay(0.1);
+        assertEquals(0, fitter.build().cellCount());
+    }
+}
@@ -0,0 +1,145 @@
+package com.froy.navigator.service.eta;
+
+import com.froy.navigator.entity.TripObservation;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.repository.TestDatabase;
+import com.froy.navigator.repository.TripObservationJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link EtaCorrectionService} class.
+ */
+class EtaCorrectionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final Duration SETTLE = Duration.ofSeconds(30);
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+    private static final Duration HORIZON = Duration.ofDays(1);
+    private static final double LAT = 20.6736;
+    private static final double LON = -103.344;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final TripObservationJdbcRepository repository;
+    private final EtaCorrectionService service;
+
+    EtaCorrectionServiceTest() {
+        JdbcTemplate jdbcTemplate = TestDatabase.create();
+        TestDatabase.createTripObservations(jdbcTemplate);
+        repository = new TripObservationJdbcRepository(jdbcTemplate);
+        service = new EtaCorrectionService(repository, null, null, new SimpleMeterRegistry(), true, Duration.ZERO,
+                HALF_LIFE, HORIZON, SETTLE, 5, 0, 10, 1000, clock);
+    }
+
+    @Test
+    @DisplayName("Should read each settled observation exactly once across refits, stopping at the first unsettled one")
+    void shouldReadEachObservationOnceAcrossRefits() {
+        TripObservation a = insert(NOW.minusMinutes(10), 20);
+        // Not settled yet: the first refit stops here, so the settled row inserted after it waits too
+        TripObservation b = insert(NOW.minusSeconds(10), 40);
+        TripObservation c = insert(NOW.minusMinutes(20), 10);
+
+        service.refit();
+        assertFactor(NOW, a);
+
+        clock.set(NOW.plusHours(1));
+        TripObservation d = insert(NOW.plusMinutes(30), 15);
+        service.refit();
+        // Same weights as a single fit at the new time: the first refit's sums decayed instead of being re-read
+        assertFactor(NOW.plusHours(1), a, b, c, d);
+
+        service.refit();
+        assertFactor(NOW.plusHours(1), a, b, c, d);
+
+        clock.set(NOW.plusHours(2));
+        TripObservation e = insert(NOW.plusMinutes(90), 30);
+        service.refit();
+        assertFactor(NOW.plusHours(2), a, b, c, d, e);
+    }
+
+    @Test
+    @DisplayName("Should skip observations older than the horizon on the first and on incremental refits")
+    void shouldSkipObservationsBeyondHorizon() {
+        insert(NOW.minus(HORIZON).minusMinutes(1), 80);
+        TripObservation a = insert(NOW.minusMinutes(10), 20);
+
+        service.refit();
+        assertFactor(NOW, a);
+
+        clock.set(NOW.plusHours(1));
+        // Arrives late with a higher id than the watermark, but was recorded before the horizon
+        insert(NOW.plusHours(1).minus(HORIZON).minusMinutes(1), 80);
+        TripObservation b = insert(NOW.plusMinutes(30), 10);
+        service.refit();
+        assertFactor(NOW.plusHours(1), a, b);
+    }
+
+    /**
+     * Checks the fitted factor against one computed directly from the observations, each weighted by its
+     * age at the end of the refit ({@code now - settle}).
+     */
+    private void assertFactor(LocalDateTime now, TripObservation... observations) {
+        LocalDateTime until = now.minus(SETTLE);
+        double weights = 0;
+        double logSum = 0;
+        for (TripObservation observation : observations) {
+            double age = Duration.between(observation.getRecordedTime(), until).toMillis();
+            double weight = Math.pow(0.5, age / HALF_LIFE.toMillis());
+            weights += weight;
+            logSum += weight * Math.log((double) observation.getActualMinutes() / observation.getPredictedMinutes());
+        }
+        double expected = Math.exp(logSum / weights);
+        assertEquals(expected, service.model().factor(TransportMode.CAR, LAT, LON), expected * 1e-6);
+    }
+
+    private TripObservation insert(LocalDateTime recorded, int actualMinutes) {
+        TripObservation observation = new TripObservation(LAT, LON, LAT + 0.05, LON + 0.05, "CAR", 10, 1,
+                actualMinutes);
+        observation.setRecordedTime(recorded);
+        repository.insertAll(List.of(observation), 10);
+        return observation;
+    }
+
+    /**
+     * Clock that stays where the test puts it; the service reads it as local time.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.PartitionInterval;
+import com.froy.navigator.model.StatsStorage;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.repository.RouteStatsPartitionRepository;
+import com.froy.navigator.repository.TestDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link RouteStatsRetentionService} class.
+ */
+class RouteStatsRetentionServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 5, 10, 15, 0);
+
+    private final CountingJdbcTemplate jdbcTemplate = new CountingJdbcTemplate(TestDatabase.create().getDataSource());
+    private final RouteStatsJdbcRepository repository = new RouteStatsJdbcRepository(jdbcTemplate);
+    private final FakePartitionRepository partitions = new FakePartitionRepository();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    RouteStatsRetentionServiceTest() {
+        TestDatabase.createRouteStats(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should delete rows before the exact cutoff in chunks with plain storage")
+    void shouldDeleteInChunksUpToExactCutoff() {
+        insert(CUTOFF.minusDays(30), CUTOFF.minusDays(2), CUTOFF.minusHours(5), CUTOFF.minusMinutes(1),
+                CUTOFF.minusSeconds(1), CUTOFF, CUTOFF.plusDays(1));
+
+        long deleted = service(StatsStorage.PLAIN, PartitionInterval.DAILY, 2).purgeOlderThan(CUTOFF);
+
+        assertEquals(5, deleted);
+        assertEquals(List.of(CUTOFF, CUTOFF.plusDays(1)), remaining());
+        // 2 + 2 + 1: the loop stops at the first chunk smaller than the chunk size
+        assertEquals(3, jdbcTemplate.deletes);
+        assertEquals(5, counter("navigator.stats.retention.rows"));
+        assertEquals(0, counter("navigator.stats.retention.partitions"));
+    }
+
+    @Test
+    @DisplayName("Should run one extra empty chunk when the rows are an exact multiple of the chunk size")
+    void shouldStopAfterEmptyChunk() {
+        insert(CUTOFF.minusDays(4), CUTOFF.minusDays(3), CUTOFF.minusDays(2), CUTOFF.minusDays(1));
+
+        long deleted = service(StatsStorage.PLAIN, PartitionInterval.DAILY, 2).purgeOlderThan(CUTOFF);
+
+        assertEquals(4, deleted);
+        assertEquals(3, jdbcTemplate.deletes);
+        assertEquals(List.of(), remaining());
+    }
+
+    @Test
+    @DisplayName("Should align the cutoff to the start of its day without partitions to drop")
+    void shouldAlignCutoffToDayWithoutPartitioning() {
+        LocalDateTime dayStart = CUTOFF.toLocalDate().atStartOfDay();
+        insert(dayStart.minusDays(1), dayStart.minusSeconds(1), dayStart, CUTOFF.minusHours(1));
+
+        long deleted = service(StatsStorage.PARTITIONED, PartitionInterval.DAILY, 10).purgeOlderThan(CUTOFF);
+
+        assertEquals(2, deleted);
+        assertEquals(List.of(dayStart, CUTOFF.minusHours(1)), remaining());
+        assertEquals(List.of(), partitions.dropped);
+    }
+
+    @Test
+    @DisplayName("Should align the cutoff to the start of its month with monthly partitions")
+    void shouldAlignCutoffToMonthWithoutPartitioning() {
+        LocalDateTime monthStart = LocalDateTime.of(2024, 5, 1, 0, 0);
+        insert(monthStart.minusHours(1), monthStart, CUTOFF.minusDays(1));
+
+        long deleted = service(StatsStorage.PARTITIONED, PartitionInterval.MONTHLY, 10).purgeOlderThan(CUTOFF);
+
+        assertEquals(1, deleted);
+        assertEquals(List.of(monthStart, CUTOFF.minusDays(1)), remaining());
+    }
+
+    @Test
+    @DisplayName("Should drop only the daily partitions that end on or before the aligned cutoff")
+    void shouldDropDailyPartitionsBeforeBoundary() {
+        partitions.partitioned = true;
+        partitions.names.addAll(List.of("route_stats_default", "route_stats_p20240508", "route_stats_p20240509",
+                "route_stats_p20240510", "route_stats_p20240511", "route_stats_p202404"));
+        // Rows left in the default partition are still deleted in chunks up to the aligned cutoff
+        insert(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 5, 10, 0, 0));
+
+        long deleted = service(StatsStorage.PARTITIONED, PartitionInterval.DAILY, 10).purgeOlderThan(CUTOFF);
+
+        assertEquals(List.of("20240508", "20240509"), partitions.dropped);
+        assertEquals(1, deleted);
+        assertEquals(2, counter("navigator.stats.retention.partitions"));
+    }
+
+    @Test
+    @DisplayName("Should keep the partition that starts exactly at a cutoff on a period boundary")
+    void shouldKeepPartitionStartingAtBoundary() {
+        partitions.partitioned = true;
+        partitions.names.addAll(List.of("route_stats_p20240509", "route_stats_p20240510"));
+
+        service(StatsStorage.PARTITIONED, PartitionInterval.DAILY, 10)
+                .purgeOlderThan(LocalDateTime.of(2024, 5, 10, 0, 0));
+
+        assertEquals(List.of("20240509"), partitions.dropped);
+    }
+
+    @Test
+    @DisplayName("Should drop whole months and ignore partitions named for another interval")
+    void shouldDropMonthlyPartitionsBeforeBoundary() {
+        partitions.partitioned = true;
+        partitions.names.addAll(List.of("route_stats_p202403", "route_stats_p202404", "route_stats_p202405",
+                "route_stats_p20240401", "route_stats_default"));
+
+        service(StatsStorage.PARTITIONED, PartitionInterval.MONTHLY, 10).purgeOlderThan(CUTOFF);
+
+        assertEquals(List.of("202403", "202404"), partitions.dropped);
+    }
+
+    @Test
+    @DisplayName("Should pre-create contiguous partitions from the current period through the look-ahead")
+    void shouldPrecreatePartitions() {
+        partitions.partitioned = true;
+        LocalDate today = LocalDate.now();
+
+        service(StatsStorage.PARTITIONED, PartitionInterval.DAILY, 10).init();
+
+        assertEquals(4, partitions.created.size());
+        assertEquals(List.of(PartitionInterval.DAILY.suffix(today), today, today.plusDays(1)), partitions.created.get(0));
+        assertEquals(List.of(PartitionInterval.DAILY.suffix(today.plusDays(3)), today.plusDays(3), today.plusDays(4)),
+                partitions.created.get(3));
+        assertContiguous(partitions.created);
+
+        partitions.created.clear();
+        service(StatsStorage.PARTITIONED, PartitionInterval.MONTHLY, 10).init();
+
+        assertEquals(today.withDayOfMonth(1), partitions.created.get(0).get(1));
+        LocalDate last = today.plusDays(3);
+        List<Object> lastPartition = partitions.created.get(partitions.created.size() - 1);
+        assertTrue(!last.isBefore((LocalDate) lastPartition.get(1)) && last.isBefore((LocalDate) lastPartition.get(2)));
+        assertContiguous(partitions.created);
+    }
+
+    @Test
+    @DisplayName("Should not create partitions with plain storage or when the table is not partitioned")
+    void shouldSkipPrecreationWithoutPartitioning() {
+        service(StatsStorage.PARTITIONED, PartitionInterval.DAILY, 10).init();
+        partitions.partitioned = true;
+        service(StatsStorage.PLAIN, PartitionInterval.DAILY, 10).init();
+
+        assertEquals(List.of(), partitions.created);
+    }
+
+    @Test
+    @DisplayName("Should purge relative to now only when retention is enabled")
+    void shouldPurgeOnMaintenanceWhenEnabled() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        insert(now.minusDays(100), now.minusDays(1));
+
+        new RouteStatsRetentionService(repository, partitions, meterRegistry, StatsStorage.PLAIN,
+                PartitionInterval.DAILY, 3, false, Duration.ofDays(90), 10).maintain();
+        assertEquals(2, remaining().size());
+
+        new RouteStatsRetentionService(repository, partitions, meterRegistry, StatsStorage.PLAIN,
+                PartitionInterval.DAILY, 3, true, Duration.ofDays(90), 10).maintain();
+        assertEquals(List.of(now.minusDays(1)), remaining());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive horizon or chunk size")
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RouteStatsRetentionService(repository, partitions,
+                meterRegistry, StatsStorage.PLAIN, PartitionInterval.DAILY, 3, true, Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RouteStatsRetentionService(repository, partitions,
+                meterRegistry, StatsStorage.PLAIN, PartitionInterval.DAILY, 3, true, Duration.ofDays(1), 0));
+    }
+
+    private RouteStatsRetentionService service(StatsStorage storage, PartitionInterval interval, int chunkSize) {
+        return new RouteStatsRetentionService(repository, partitions, meterRegistry, storage, interval, 3, true,
+                Duration.ofDays(90), chunkSize);
+    }
+
+    private void insert(LocalDateTime... times) {
+        List<RouteStats> stats = new ArrayList<>();
+        for (LocalDateTime time : times) {
+            RouteStats s = new RouteStats(20.6, -103.3, 20.7, -103.4, "CAR", 10, 12);
+            s.setCalculationTime(time);
+            stats.add(s);
+        }
+        repository.insertAll(stats, 100);
+    }
+
+    private List<LocalDateTime> remaining() {
+        return jdbcTemplate.queryForList("SELECT calculation_time FROM route_stats ORDER BY calculation_time",
+                LocalDateTime.class);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static void assertContiguous(List<List<Object>> created) {
+        for (int i = 1; i < created.size(); i++) {
+            assertEquals(created.get(i - 1).get(2), created.get(i).get(1), created.toString());
+        }
+    }
+
+    /**
+     * JdbcTemplate that counts the chunked DELETE statements.
+     */
+    private static final class CountingJdbcTemplate extends JdbcTemplate {
+
+        private int deletes;
+
+        CountingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.stripLeading().startsWith("DELETE")) {
+                deletes++;
+            }
+            return super.update(sql, args);
+        }
+    }
+
+    /**
+     * In-memory partition catalog standing in for PostgreSQL.
+     */
+    private static final class FakePartitionRepository extends RouteStatsPartitionRepository {
+
+        private boolean partitioned;
+        private final TreeSet<String> names = new TreeSet<>();
+        private final List<List<Object>> created = new ArrayList<>();
+        private final List<String> dropped = new ArrayList<>();
+
+        FakePartitionRepository() {
+            super(null);
+        }
+
+        @Override
+        public boolean isPartitioned() {
+            return partitioned;
+        }
+
+        @Override
+        public List<String> findPartitionNames() {
+            return List.copyOf(names);
+        }
+
+        @Override
+        public void createPartition(String suffix, LocalDate from, LocalDate to) {
+            names.add(partitionName(suffix));
+            created.add(Stream.<Object>of(suffix, from, to).toList());
+        }
+
+        @Override
+        public void dropPartition(String suffix) {
+            names.remove(partitionName(suffix));
+            dropped.add(suffix);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.froy.navigator.service.stats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.exception.BusinessException;
+import com.froy.navigator.model.StatsFormat;
+import com.froy.navigator.model.TransportMode;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.repository.TestDatabase;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link RouteStatsTransferService} class.
+ */
+class RouteStatsTransferServiceTest {
+
+    private static final String CSV_HEADER = String.join(",", RouteStatsTransferService.CSV_COLUMNS);
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private JdbcTemplate jdbcTemplate;
+    private RouteStatsJdbcRepository repository;
+    private RouteAnalyticsService analytics;
+    private RouteStatsTransferService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = TestDatabase.create();
+        TestDatabase.createRouteStats(jdbcTemplate);
+        repository = new RouteStatsJdbcRepository(jdbcTemplate);
+        analytics = new RouteAnalyticsService(repository, new SimpleMeterRegistry(), Duration.ofHours(72), 5, false);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        service = new RouteStatsTransferService(repository, analytics, objectMapper, 2, 2);
+    }
+
+    @ParameterizedTest(name = "{0}, gzip={1}")
+    @CsvSource({"CSV, false", "CSV, true", "NDJSON, false", "NDJSON, true"})
+    @DisplayName("Should re-import exactly the rows it exported")
+    void shouldRoundTrip(StatsFormat format, boolean gzip) throws IOException {
+        List<RouteStats> original = List.of(
+                stats(20.6736, -103.344, "CAR", 6.18, 4, now.minusHours(2)),
+                stats(19.4326, -99.1332, "BIKE", 0.5, 0, now.minusMinutes(30).withNano(123_456_000)),
+                stats(-33.45, 151.2, "WALK, \"slow\"", 12.25, 150, now),
+                stats(25.6866, -100.3161, "MOTORCYCLE", 1234.5, 999, now.minusDays(400)),
+                stats(0, 0, "CAR", 0, 0, now.minusHours(1)));
+        repository.insertAll(original, 10);
+        List<String> before = rows();
+
+        byte[] exported = export(format, gzip);
+        jdbcTemplate.update("DELETE FROM route_stats");
+        long imported = service.importStats(format, input(exported, gzip));
+
+        assertEquals(original.size(), imported);
+        assertEquals(before, rows());
+        // Only the rows with a known mode inside the retention reach the analytics
+        assertEquals(3, analytics.summary(null, now.minusDays(1), now.plusHours(1)).trips());
+        assertEquals(1, analytics.summary(TransportMode.BIKE, now.minusDays(1), now.plusHours(1)).trips());
+    }
+
+    @Test
+    @DisplayName("Should write one header and quote fields that contain commas or quotes in CSV")
+    void shouldWriteCsv() throws IOException {
+        RouteStats stats = new RouteStats(1.5, 2.5, 3.5, 4.5, "A,\"B\"", 3.0, 4);
+        stats.setCalculationTime(now);
+        repository.insertAll(List.of(stats), 10);
+
+        String[] lines = new String(export(StatsFormat.CSV, false), StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(CSV_HEADER, lines[0]);
+        assertTrue(lines[1].endsWith(",1.5,2.5,3.5,4.5,\"A,\"\"B\"\"\",3.0,4," + now), lines[1]);
+        assertEquals(List.of("1", "A,\"B\"", ""), RouteStatsTransferService.splitCsvLine("1,\"A,\"\"B\"\"\","));
+    }
+
+    @Test
+    @DisplayName("Should accept CSV columns in any order, without the id column, with a BOM and blank lines")
+    void shouldImportReorderedCsv() {
+        String csv = "\uFEFFcalculation_time,mode_used,distance_km,duration_minutes,origin_lat,origin_lon,"
+                + "destination_lat,destination_lon\n"
+                + now + ",CAR,5.5,7,20.1,-103.1,20.2,-103.2\n"
+                + "\n"
+                + now + ",BIKE, 1.0 ,3,20.3,-103.3,20.4,-103.4\n";
+
+        long imported = service.importStats(StatsFormat.CSV, bytes(csv));
+
+        assertEquals(2, imported);
+        assertEquals(List.of("20.1,-103.1,20.2,-103.2,CAR,5.5,7," + now, "20.3,-103.3,20.4,-103.4,BIKE,1.0,3," + now),
+                rows());
+    }
+
+    @Test
+    @DisplayName("Should import nothing from an empty body")
+    void shouldImportEmptyBody() {
+        assertEquals(0, service.importStats(StatsFormat.CSV, bytes("")));
+        assertEquals(0, service.importStats(StatsFormat.NDJSON, bytes("")));
+        assertEquals(List.of(), rows());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header without a required column")
+    void shouldRejectMissingCsvColumn() {
+        String csv = "id,origin_lat,origin_lon,destination_lat,destination_lon,mode_used,distance_km,calculation_time\n";
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.importStats(StatsFormat.CSV, bytes(csv)));
+
+        assertTrue(e.getMessage().contains("duration_minutes"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed CSV row and keep the batches committed before it")
+    void shouldRejectMalformedCsvRow() {
+        String csv = CSV_HEADER + "\n"
+                + csvRow("CAR", "1.0", "1") + csvRow("CAR", "2.0", "2") + csvRow("CAR", "3.0", "3")
+                + csvRow("CAR", "abc", "4")
+                + csvRow("CAR", "5.0", "5");
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.importStats(StatsFormat.CSV, bytes(csv)));
+
+        assertTrue(e.getMessage().startsWith("Fila CSV 4 inválida"), e.getMessage());
+        assertTrue(e.getMessage().contains("ya se importaron 2 filas"), e.getMessage());
+        assertEquals(2, rows().size());
+    }
+
+    @Test
+    @DisplayName("Should reject CSV rows with missing fields or an invalid timestamp")
+    void shouldRejectIncompleteCsvRows() {
+        String shortRow = CSV_HEADER + "\n1,20.1,-103.1,20.2\n";
+        String badTime = CSV_HEADER + "\n1,20.1,-103.1,20.2,-103.2,CAR,1.0,1,yesterday\n";
+
+        assertThrows(BusinessException.class, () -> service.importStats(StatsFormat.CSV, bytes(shortRow)));
+        assertThrows(BusinessException.class, () -> service.importStats(StatsFormat.CSV, bytes(badTime)));
+        assertEquals(List.of(), rows());
+    }
+
+    @Test
+    @DisplayName("Should reject rows that parse but are out of range")
+    void shouldRejectInvalidValues() {
+        String latitude = CSV_HEADER + "\n1,95.0,-103.1,20.2,-103.2,CAR,1.0,1," + now + "\n";
+        String distance = "{\"originLat\":20.1,\"originLon\":-103.1,\"destinationLat\":20.2,\"destinationLon\":-103.2,"
+                + "\"modeUsed\":\"CAR\",\"distanceKm\":-1.0,\"durationMinutes\":1,\"calculationTime\":\"" + now + "\"}\n";
+        String mode = "{\"originLat\":20.1,\"originLon\":-103.1,\"destinationLat\":20.2,\"destinationLon\":-103.2,"
+                + "\"modeUsed\":\" \",\"distanceKm\":1.0,\"durationMinutes\":1,\"calculationTime\":\"" + now + "\"}\n";
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.importStats(StatsFormat.CSV, bytes(latitude)));
+        assertTrue(e.getMessage().contains("latitud"), e.getMessage());
+        e = assertThrows(BusinessException.class, () -> service.importStats(StatsFormat.NDJSON, bytes(distance)));
+        assertTrue(e.getMessage().contains("negativas"), e.getMessage());
+        e = assertThrows(BusinessException.class, () -> service.importStats(StatsFormat.NDJSON, bytes(mode)));
+        assertTrue(e.getMessage().contains("modo de transporte"), e.getMessage());
+        assertEquals(List.of(), rows());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed NDJSON line with its row number")
+    void shouldRejectMalformedNdjsonLine() {
+        String line = "{\"originLat\":20.1,\"originLon\":-103.1,\"destinationLat\":20.2,\"destinationLon\":-103.2,"
+                + "\"modeUsed\":\"CAR\",\"distanceKm\":1.0,\"durationMinutes\":1,\"calculationTime\":\"" + now + "\"}\n";
+        String ndjson = line + line + line + "{\"originLat\": \"north\"}\n" + line;
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.importStats(StatsFormat.NDJSON, bytes(ndjson)));
+
+        assertTrue(e.getMessage().startsWith("Cuerpo NDJSON inválido en la fila 4"), e.getMessage());
+        assertTrue(e.getMessage().contains("ya se importaron 2 filas"), e.getMessage());
+        assertEquals(2, rows().size());
+    }
+
+    private byte[] export(StatsFormat format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (gzip) {
+            // Same wrapping as the controller: the service does not close the stream, the caller finishes it
+            GZIPOutputStream compressed = new GZIPOutputStream(out);
+            service.export(format, compressed);
+            compressed.finish();
+        } else {
+            service.export(format, out);
+        }
+        return out.toByteArray();
+    }
+
+    private static InputStream input(byte[] body, boolean gzip) throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        return gzip ? new GZIPInputStream(in) : in;
+    }
+
+    private static InputStream bytes(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String csvRow(String mode, String distanceKm, String durationMinutes) {
+        return "0,20.1,-103.1,20.2,-103.2," + mode + "," + distanceKm + "," + durationMinutes + "," + now + "\n";
+    }
+
+    /** Every column except the id, which the import reassigns, in id order. */
+    private List<String> rows() {
+        return jdbcTemplate.query("""
+                        SELECT origin_lat, origin_lon, destination_lat, destination_lon, mode_used, distance_km,
+                               duration_minutes, calculation_time
+                        FROM route_stats ORDER BY id""",
+                (rs, i) -> rs.getDouble(1) + "," + rs.getDouble(2) + "," + rs.getDouble(3) + "," + rs.getDouble(4)
+                        + "," + rs.getString(5) + "," + rs.getDouble(6) + "," + rs.getInt(7) + ","
+                        + rs.getTimestamp(8).toLocalDateTime());
+    }
+
+    private static RouteStats stats(double lat, double lon, String mode, double distanceKm, int minutes,
+                                    LocalDateTime calculationTime) {
+        RouteStats stats = new RouteStats(lat, lon, lat + 0.01, lon - 0.01, mode, distanceKm, minutes);
+        stats.setCalculationTime(calculationTime);
+        return stats;
+    }
+}
@@ -0,0 +1,163 @@
+package com.froy.navigator.service.stats;
+
+import com.froy.navigator.entity.RouteStats;
+import com.froy.navigator.model.OverflowPolicy;
+import com.froy.navigator.repository.RouteStatsJdbcRepository;
+import com.froy.navigator.service.analytics.RouteAnalyticsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link WriteBehindRouteStatsSink} class.
+ */
+class WriteBehindRouteStatsSinkTest {
+
+    private final RecordingRepository repository = new RecordingRepository();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should write queued stats in batches no larger than the batch size")
+    void shouldWriteInBatches() throws Exception {
+        WriteBehindRouteStatsSink sink = sink(100, 3, Duration.ofSeconds(1), OverflowPolicy.BLOCK);
+        sink.start();
+
+        sink.recordAll(stats(7));
+        waitForWrites(6);
+        sink.shutdown();
+
+        assertEquals(7, repository.written());
+        assertEquals(List.of(3, 3), repository.batchSizes.subList(0, 2));
+        assertTrue(repository.batchSizes.stream().allMatch(size -> size <= 3), repository.batchSizes.toString());
+        assertEquals(7, counter("written"));
+    }
+
+    @Test
+    @DisplayName("Should drop what does not fit with the DROP policy")
+    void shouldDropOverflow() {
+        WriteBehindRouteStatsSink sink = sink(2, 10, Duration.ZERO, OverflowPolicy.DROP);
+
+        sink.recordAll(stats(5));
+
+        assertEquals(3, counter("dropped"));
+        assertEquals(0, repository.written());
+    }
+
+    @Test
+    @DisplayName("Should write what does not fit in the calling thread with the CALLER_RUNS policy")
+    void shouldWriteOverflowInCaller() {
+        WriteBehindRouteStatsSink sink = sink(2, 10, Duration.ZERO, OverflowPolicy.CALLER_RUNS);
+
+        sink.recordAll(stats(5));
+
+        assertEquals(List.of(3), repository.batchSizes);
+        assertEquals(0, counter("dropped"));
+    }
+
+    @Test
+    @DisplayName("Should bound the total wait of a whole list by the offer timeout with the BLOCK policy")
+    void shouldBoundTotalWaitWhenBlocking() {
+        WriteBehindRouteStatsSink sink = sink(2, 10, Duration.ZERO, OverflowPolicy.BLOCK);
+
+        long start = System.nanoTime();
+        sink.recordAll(stats(20));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 18 items over capacity: one shared 100 ms wait, not 18 of them
+        assertTrue(elapsedMillis >= 90 && elapsedMillis < 1000, "took " + elapsedMillis + " ms");
+        assertEquals(18, counter("dropped"));
+    }
+
+    @Test
+    @DisplayName("Should not lose stats recorded concurrently with the shutdown")
+    void shouldFlushEverythingOnShutdown() throws Exception {
+        WriteBehindRouteStatsSink sink = sink(50, 20, Duration.ofMillis(5), OverflowPolicy.BLOCK);
+        sink.start();
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    for (RouteStats s : stats(perProducer)) {
+                        sink.record(s);
+                    }
+                }));
+            }
+            while (repository.written() < producers * perProducer / 4) {
+                Thread.onSpinWait();
+            }
+            sink.shutdown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every stat is either written (by the writer, the final drain or synchronously) or counted as dropped
+        assertEquals(producers * perProducer, repository.written() + (long) counter("dropped"));
+    }
+
+    private WriteBehindRouteStatsSink sink(int capacity, int batchSize, Duration linger, OverflowPolicy policy) {
+        RouteAnalyticsService analytics = new RouteAnalyticsService(repository, meterRegistry,
+                Duration.ofHours(72), 5, false);
+        return new WriteBehindRouteStatsSink(repository, analytics, meterRegistry, capacity, batchSize, linger,
+                policy, Duration.ofMillis(100), Duration.ofSeconds(5));
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("navigator.stats.records").tag("outcome", outcome).counter().count();
+    }
+
+    private void waitForWrites(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.written() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<RouteStats> stats(int count) {
+        List<RouteStats> stats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stats.add(new RouteStats(20.67, -103.34, 20.72, -103.39, "CAR", 7.3, 10));
+        }
+        return stats;
+    }
+
+    /**
+     * Repository double that keeps the size of every batch instead of writing to a database.
+     */
+    private static final class RecordingRepository extends RouteStatsJdbcRepository {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public int insertAll(List<RouteStats> stats, int batchSize) {
+            batchSizes.add(stats.size());
+            return stats.size();
+        }
+
+        long written() {
+            return batchSizes.stream().mapToLong(Integer::longValue).sum();
+        }
+    }
+}
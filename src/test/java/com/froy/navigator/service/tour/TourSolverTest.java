@@ -0,0 +1,104 @@
+package com.froy.navigator.service.tour;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link TourSolver} class.
+ */
+class TourSolverTest {
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should find the optimal closed tour of points on a circle")
+    void shouldFindOptimalTourOnCircle() {
+        int n = 60;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        Integer[] shuffled = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            shuffled[i] = i;
+        }
+        Collections.shuffle(Arrays.asList(shuffled), new Random(7));
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * shuffled[i] / n;
+            xs[i] = Math.cos(angle);
+            ys[i] = Math.sin(angle);
+        }
+        TourSolver solver = new TourSolver(euclidean(xs, ys), n, true);
+
+        int[] tour = solver.solve(executor, 2, TimeUnit.SECONDS.toNanos(2));
+
+        double perimeter = n * 2 * Math.sin(Math.PI / n);
+        assertEquals(perimeter, solver.cost(tour), 1e-9);
+        assertValidTour(tour, n);
+    }
+
+    @Test
+    @DisplayName("Should improve on nearest neighbour and stop within the time budget")
+    void shouldImproveAndRespectTimeBudget() {
+        int n = 301;
+        Random random = new Random(42);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+        }
+        TourSolver solver = new TourSolver(euclidean(xs, ys), n, false);
+        double nearestNeighbourCost = solver.cost(solver.search(0, System.nanoTime()));
+
+        long start = System.nanoTime();
+        int[] tour = solver.solve(executor, 2, TimeUnit.MILLISECONDS.toNanos(200));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + " ms");
+        assertTrue(solver.cost(tour) < nearestNeighbourCost * 0.95,
+                solver.cost(tour) + " vs nearest neighbour " + nearestNeighbourCost);
+        assertValidTour(tour, n);
+    }
+
+    private static void assertValidTour(int[] tour, int n) {
+        assertEquals(0, tour[0]);
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        int[] expected = new int[n];
+        Arrays.setAll(expected, i -> i);
+        assertArrayEquals(expected, sorted);
+    }
+
+    private static double[] euclidean(double[] xs, double[] ys) {
+        int n = xs.length;
+        double[] costs = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i * n + j] = Math.hypot(xs[i] - xs[j], ys[i] - ys[j]);
+            }
+        }
+        return costs;
+    }
+}
@@ -0,0 +1,104 @@
+package com.froy.navigator.strategy;
+
+import com.froy.navigator.dto.RouteRequest;
+import com.froy.navigator.dto.RouteResponse;
+import com.froy.navigator.model.TransportMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link RouteStrategyRegistry} class.
+ */
+class RouteStrategyRegistryTest {
+
+    private static final double[] AREA = {20.60, -103.45, 20.75, -103.25};
+
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should warm a strategy before publishing it and replace the previous one")
+    void shouldWarmAndReplaceStrategy() {
+        FakeStrategy initial = new FakeStrategy(TransportMode.CAR, false);
+        RouteStrategyRegistry registry = registry(List.of(initial));
+        FakeStrategy replacement = new FakeStrategy(TransportMode.CAR, false);
+
+        assertSame(initial, registry.register(replacement));
+
+        assertEquals(10, initial.calls.get());
+        assertEquals(10, replacement.calls.get());
+        assertSame(replacement, registry.find(TransportMode.CAR).strategy());
+        assertEquals(List.of(new RouteStrategyChangedEvent(TransportMode.CAR, initial, replacement)), events);
+    }
+
+    @Test
+    @DisplayName("Should disable a mode and keep the others")
+    void shouldDisableMode() {
+        FakeStrategy car = new FakeStrategy(TransportMode.CAR, false);
+        FakeStrategy bike = new FakeStrategy(TransportMode.BIKE, false);
+        RouteStrategyRegistry registry = registry(List.of(car, bike));
+
+        assertSame(car, registry.disable(TransportMode.CAR));
+
+        assertNull(registry.find(TransportMode.CAR));
+        assertSame(bike, registry.find(TransportMode.BIKE).strategy());
+        assertNull(registry.disable(TransportMode.CAR));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    @DisplayName("Should not publish a strategy that fails every warm-up request")
+    void shouldRejectBrokenStrategy() {
+        FakeStrategy car = new FakeStrategy(TransportMode.CAR, false);
+        RouteStrategyRegistry registry = registry(List.of(car));
+
+        assertThrows(IllegalStateException.class, () -> registry.register(new FakeStrategy(TransportMode.CAR, true)));
+
+        assertSame(car, registry.find(TransportMode.CAR).strategy());
+        assertEquals(List.of(), events);
+    }
+
+    private RouteStrategyRegistry registry(List<RouteStrategy> strategies) {
+        return new RouteStrategyRegistry(strategies, events::add, new SimpleMeterRegistry(), 8, AREA);
+    }
+
+    private static final class FakeStrategy implements RouteStrategy {
+
+        private final TransportMode mode;
+        private final boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FakeStrategy(TransportMode mode, boolean failing) {
+            this.mode = mode;
+            this.failing = failing;
+        }
+
+        @Override
+        public RouteResponse compute(RouteRequest request) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("broken");
+            }
+            return new RouteResponse(1.0, 1, List.of(), mode.name());
+        }
+
+        @Override
+        public double getAverageSpeedKmh() {
+            return 50;
+        }
+
+        @Override
+        public TransportMode getMode() {
+            return mode;
+        }
+    }
+}
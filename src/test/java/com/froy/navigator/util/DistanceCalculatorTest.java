@@ -4,7 +4,11 @@ import com.froy.navigator.dto.GeoPoint;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -88,4 +92,95 @@ class DistanceCalculatorTest {
                 "Distance calculation with negative coordinates should be accurate");
     }
 
+    @Test
+    @DisplayName("Should match the Haversine distance when computed from precomputed sines and cosines")
+    void shouldMatchHaversineWhenComputedFromPrecomputedTrig() {
+        GeoPoint[] points = {
+                new GeoPoint(20.6736, -103.344), // Guadalajara
+                new GeoPoint(19.4326, -99.1332), // Mexico City
+                new GeoPoint(-34.6037, -58.3816), // Buenos Aires
+                new GeoPoint(20.67361, -103.34401), // ~1.5 m from Guadalajara
+                new GeoPoint(0.0, 179.9999) // Close to the antimeridian
+        };
+
+        for (GeoPoint p1 : points) {
+            for (GeoPoint p2 : points) {
+                double lat1 = Math.toRadians(p1.lat());
+                double lon1 = Math.toRadians(p1.lon());
+                double lat2 = Math.toRadians(p2.lat());
+                double lon2 = Math.toRadians(p2.lon());
+
+                double fromTrig = DistanceCalculator.calculateDistanceFromTrig(
+                        Math.sin(lat1), Math.cos(lat1), Math.sin(lon1), Math.cos(lon1),
+                        Math.sin(lat2), Math.cos(lat2), Math.sin(lon2), Math.cos(lon2));
+
+                assertEquals(DistanceCalculator.calculateDistance(p1, p2), fromTrig, 1e-6,
+                        "Distance from precomputed trigonometry should match for " + p1 + " -> " + p2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the same result from primitives, bulk arrays, buffers and prepared points")
+    void shouldMatchScalarHaversineInEveryVariant() {
+        double[] lats = {20.6736, 19.4326, -34.6037, 20.67361, 0.0, 89.9};
+        double[] lons = {-103.344, -99.1332, -58.3816, -103.34401, 179.9999, -179.9};
+        DoubleBuffer interleaved = DoubleBuffer.allocate(lats.length * 2);
+        for (int i = 0; i < lats.length; i++) {
+            interleaved.put(lats[i]).put(lons[i]);
+        }
+
+        for (int i = 0; i < lats.length; i++) {
+            double[] fromArrays = new double[lats.length];
+            double[] fromBuffer = new double[lats.length];
+            DistanceCalculator.calculateDistances(lats[i], lons[i], lats, lons, fromArrays);
+            DistanceCalculator.calculateDistances(lats[i], lons[i], interleaved, fromBuffer);
+            PreparedPoint origin = PreparedPoint.of(lats[i], lons[i]);
+
+            for (int j = 0; j < lats.length; j++) {
+                double expected = DistanceCalculator.calculateDistance(
+                        new GeoPoint(lats[i], lons[i]), new GeoPoint(lats[j], lons[j]));
+                assertEquals(expected, DistanceCalculator.calculateDistance(lats[i], lons[i], lats[j], lons[j]));
+                assertEquals(expected, fromArrays[j]);
+                assertEquals(expected, fromBuffer[j]);
+                assertEquals(expected, origin.distanceTo(PreparedPoint.of(lats[j], lons[j])), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the equirectangular approximation within its documented error bound")
+    void shouldKeepApproximationWithinErrorBound() {
+        Random random = new Random(7);
+        double[] lats = new double[1000];
+        double[] lons = new double[1000];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = 20.6736 + (random.nextDouble() - 0.5) * 0.6;
+            lons[i] = -103.344 + (random.nextDouble() - 0.5) * 0.6;
+        }
+        double[] approximate = new double[lats.length];
+        DistanceCalculator.approximateDistances(20.6736, -103.344, lats, lons, approximate);
+        PreparedPoint origin = PreparedPoint.of(20.6736, -103.344);
+
+        for (int i = 0; i < lats.length; i++) {
+            double exact = DistanceCalculator.calculateDistance(20.6736, -103.344, lats[i], lons[i]);
+            double tolerance = Math.max(1e-6, exact * 5e-5);
+            assertEquals(exact, DistanceCalculator.approximateDistance(20.6736, -103.344, lats[i], lons[i]),
+                    tolerance);
+            assertEquals(exact, approximate[i], tolerance);
+            assertEquals(exact, origin.approximateDistanceTo(PreparedPoint.of(lats[i], lons[i])), tolerance);
+        }
+        // Across the antimeridian the short way round is used
+        assertEquals(DistanceCalculator.calculateDistance(0.0, 179.99, 0.0, -179.99),
+                DistanceCalculator.approximateDistance(0.0, 179.99, 0.0, -179.99), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should reject bulk inputs shorter than the output array")
+    void shouldRejectShortBulkInputs() {
+        assertThrows(IllegalArgumentException.class, () -> DistanceCalculator.calculateDistances(
+                0, 0, new double[2], new double[3], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> DistanceCalculator.approximateDistances(
+                0, 0, DoubleBuffer.allocate(5), new double[3]));
+    }
 }
@@ -0,0 +1,42 @@
+package com.froy.navigator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link GeoHash} utility class.
+ */
+class GeoHashTest {
+
+    @Test
+    @DisplayName("Should encode coordinates to the standard base32 geohash")
+    void shouldEncodeToStandardGeohash() {
+        // Reference values from the original geohash.org examples
+        assertEquals("u4pruydqqvj", GeoHash.toBase32(GeoHash.encode(57.64911, 10.40744, 11), 11));
+        assertEquals("9ewt8", GeoHash.toBase32(GeoHash.encode(20.6736, -103.344, 5), 5)); // Guadalajara
+    }
+
+    @Test
+    @DisplayName("Should map nearby points to the same cell and distant points to different cells")
+    void shouldGroupNearbyPointsInSameCell() {
+        // Two points about 3 metres apart in Guadalajara
+        long cell1 = GeoHash.encode(20.67360, -103.34400, 7);
+        long cell2 = GeoHash.encode(20.67362, -103.34402, 7);
+        // A point about 1 km away
+        long cell3 = GeoHash.encode(20.68260, -103.34400, 7);
+
+        assertEquals(cell1, cell2, "Points a few metres apart should share a precision-7 cell");
+        assertNotEquals(cell1, cell3, "Points a kilometre apart should not share a precision-7 cell");
+    }
+
+    @Test
+    @DisplayName("Should reject precisions outside the supported range")
+    void shouldRejectInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, GeoHash.MAX_PRECISION + 1));
+    }
+}
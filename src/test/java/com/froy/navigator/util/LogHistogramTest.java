@@ -0,0 +1,57 @@
+package com.froy.navigator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link LogHistogram} class.
+ */
+class LogHistogramTest {
+
+    @Test
+    @DisplayName("Should estimate percentiles within the configured relative error")
+    void shouldEstimatePercentilesWithinRelativeError() {
+        LogHistogram histogram = new LogHistogram(0.01, 20_000, 0.02);
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 2); // log-normal, like trip distances
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        long[] counts = histogram.snapshot();
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            double exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            double estimate = histogram.percentile(counts, p);
+            assertTrue(Math.abs(estimate - exact) / exact <= 0.021, "p" + p + ": " + estimate + " vs " + exact);
+        }
+    }
+
+    @Test
+    @DisplayName("Should combine several histograms and clamp out-of-range values")
+    void shouldCombineHistogramsAndClampOutOfRange() {
+        LogHistogram first = new LogHistogram(1, 100, 0.02);
+        LogHistogram second = new LogHistogram(1, 100, 0.02);
+        first.record(10);
+        second.record(10);
+        second.record(1_000_000);
+        second.record(0);
+
+        long[] combined = new long[first.bucketCount()];
+        first.addTo(combined);
+        second.addTo(combined);
+
+        assertEquals(4, Arrays.stream(combined).sum());
+        assertEquals(10, first.percentile(combined, 50), 0.2);
+        assertTrue(first.percentile(combined, 100) >= 100);
+        assertTrue(first.percentile(combined, 1) <= 1.05);
+        assertTrue(Double.isNaN(first.percentile(new long[first.bucketCount()], 50)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.froy.navigator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link RingBuffer} class.
+ */
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two and reject offers when full")
+    void shouldRoundCapacityAndRejectWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i), "Offer " + i + " should fit");
+        }
+        assertFalse(buffer.offer(4), "Offer beyond capacity should be rejected");
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should return elements in FIFO order across wrap-arounds")
+    void shouldReturnElementsInFifoOrder() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                buffer.offer(round * 10 + i);
+            }
+            List<Integer> drained = new ArrayList<>();
+            assertEquals(3, buffer.drainTo(drained, 10));
+            assertEquals(List.of(round * 10, round * 10 + 1, round * 10 + 2), drained);
+        }
+        assertNull(buffer.poll(), "Buffer should be empty after draining");
+    }
+
+    @Test
+    @DisplayName("Should deliver every element exactly once with concurrent producers")
+    void shouldDeliverEveryElementOnceWithConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        BitSet seen = new BitSet(producers * perProducer);
+        int received = 0;
+        while (received < producers * perProducer) {
+            Integer value = buffer.poll();
+            if (value == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(seen.get(value), "Element " + value + " was delivered twice");
+            seen.set(value);
+            received++;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(producers * perProducer, seen.cardinality());
+    }
+}
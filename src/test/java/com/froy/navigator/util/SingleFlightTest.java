@@ -0,0 +1,93 @@
+package com.froy.navigator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link SingleFlight} class.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Should run one computation for concurrent callers with the same key and share its result")
+    void shouldCoalesceConcurrentCallers() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("hot", () -> {
+                    computations.incrementAndGet();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                    return new Object();
+                })));
+            }
+            while (singleFlight.executedCount() + singleFlight.coalescedCount() < CALLERS) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Object shared = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(shared, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(CALLERS - 1, singleFlight.coalescedCount());
+            assertEquals(0, singleFlight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate the failure to waiting callers and release the key afterwards")
+    void shouldPropagateFailureAndReleaseKey() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                throw new IllegalStateException("boom");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "unused"));
+            while (singleFlight.coalescedCount() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : List.of(leader, follower)) {
+                ExecutionException failure = assertThrows(ExecutionException.class,
+                        () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+            }
+            assertEquals("fresh", singleFlight.execute("key", () -> "fresh"));
+            assertEquals(2, singleFlight.executedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}